@@ -7,12 +7,22 @@ import org.springframework.boot.context.properties.EnableConfigurationProperties
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import xyz.catuns.edupulse.engagement.config.properties.AppProperties;
+import xyz.catuns.edupulse.engagement.config.properties.EnvelopeProperties;
+import xyz.catuns.edupulse.engagement.config.properties.QuarantineProperties;
+import xyz.catuns.edupulse.engagement.config.properties.QueryProperties;
+import xyz.catuns.edupulse.engagement.config.properties.RocksDBProperties;
 import xyz.catuns.edupulse.engagement.config.properties.ScoringProperties;
+import xyz.catuns.edupulse.engagement.config.properties.TopologyProperties;
 
 @Configuration
 @EnableConfigurationProperties(value = {
         AppProperties.class,
-        ScoringProperties.class})
+        ScoringProperties.class,
+        TopologyProperties.class,
+        QueryProperties.class,
+        RocksDBProperties.class,
+        EnvelopeProperties.class,
+        QuarantineProperties.class})
 class AppConfig {
 
 	@Bean
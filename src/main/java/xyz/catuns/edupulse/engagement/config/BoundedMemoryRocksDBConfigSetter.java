@@ -0,0 +1,121 @@
+package xyz.catuns.edupulse.engagement.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.streams.state.RocksDBConfigSetter;
+import org.rocksdb.BlockBasedTableConfig;
+import org.rocksdb.BloomFilter;
+import org.rocksdb.Cache;
+import org.rocksdb.CompressionType;
+import org.rocksdb.LRUCache;
+import org.rocksdb.Options;
+import org.rocksdb.WriteBufferManager;
+
+import java.util.Map;
+
+/**
+ * Caps RocksDB off-heap memory for the whole instance.
+ * <p>
+ * Kafka Streams opens one RocksDB per store, task and window segment, each with its own
+ * block cache and memtables by default, so memory grows with threads and segments. Here
+ * every store shares one LRU cache and one write buffer manager charged against it, index
+ * and filter blocks live in the cache, and the total is bounded by {@code app.rocksdb.total-memory}.
+ * <p>
+ * Kafka Streams instantiates this class reflectively; settings are passed through the
+ * streams config by {@link KafkaConfig} under the {@code engagement.rocksdb.*} keys.
+ */
+@Slf4j
+public class BoundedMemoryRocksDBConfigSetter implements RocksDBConfigSetter {
+
+    static final String TOTAL_MEMORY_CONFIG = "engagement.rocksdb.total.memory.bytes";
+    static final String TOTAL_MEMTABLE_MEMORY_CONFIG = "engagement.rocksdb.total.memtable.memory.bytes";
+    static final String INDEX_FILTER_BLOCK_RATIO_CONFIG = "engagement.rocksdb.index.filter.block.ratio";
+    static final String WRITE_BUFFER_SIZE_CONFIG = "engagement.rocksdb.write.buffer.size.bytes";
+    static final String MAX_WRITE_BUFFERS_CONFIG = "engagement.rocksdb.max.write.buffers";
+    static final String BLOCK_SIZE_CONFIG = "engagement.rocksdb.block.size.bytes";
+    static final String BLOOM_FILTER_BITS_CONFIG = "engagement.rocksdb.bloom.filter.bits.per.key";
+    static final String COMPRESSION_CONFIG = "engagement.rocksdb.compression";
+    static final String BOTTOMMOST_COMPRESSION_CONFIG = "engagement.rocksdb.bottommost.compression";
+
+    // Shared by every store of the instance; created once, never closed while the JVM runs
+    private static Cache sharedCache;
+    private static WriteBufferManager writeBufferManager;
+    private static long sharedCacheCapacity;
+
+    private BloomFilter filter;
+
+    @Override
+    public void setConfig(String storeName, Options options, Map<String, Object> configs) {
+        initShared(configs);
+
+        BlockBasedTableConfig tableConfig = (BlockBasedTableConfig) options.tableFormatConfig();
+        tableConfig.setBlockCache(sharedCache);
+        tableConfig.setCacheIndexAndFilterBlocks(true);
+        tableConfig.setCacheIndexAndFilterBlocksWithHighPriority(true);
+        tableConfig.setPinTopLevelIndexAndFilter(true);
+        tableConfig.setBlockSize(longConfig(configs, BLOCK_SIZE_CONFIG, 16 * 1024L));
+
+        double bitsPerKey = doubleConfig(configs, BLOOM_FILTER_BITS_CONFIG, 10);
+        if (bitsPerKey > 0) {
+            filter = new BloomFilter(bitsPerKey);
+            tableConfig.setFilterPolicy(filter);
+        }
+        options.setTableFormatConfig(tableConfig);
+
+        options.setWriteBufferManager(writeBufferManager);
+        options.setWriteBufferSize(longConfig(configs, WRITE_BUFFER_SIZE_CONFIG, 8 * 1024 * 1024L));
+        options.setMaxWriteBufferNumber((int) longConfig(configs, MAX_WRITE_BUFFERS_CONFIG, 2));
+
+        options.setCompressionType(compressionConfig(configs, COMPRESSION_CONFIG, CompressionType.LZ4_COMPRESSION));
+        options.setBottommostCompressionType(
+                compressionConfig(configs, BOTTOMMOST_COMPRESSION_CONFIG, CompressionType.ZSTD_COMPRESSION));
+    }
+
+    @Override
+    public void close(String storeName, Options options) {
+        // The shared cache and write buffer manager outlive individual stores
+        if (filter != null) {
+            filter.close();
+        }
+    }
+
+    /**
+     * Shared block cache, or {@code null} before the first store was opened
+     */
+    public static Cache sharedCache() {
+        return sharedCache;
+    }
+
+    public static long sharedCacheCapacity() {
+        return sharedCacheCapacity;
+    }
+
+    private static synchronized void initShared(Map<String, Object> configs) {
+        if (sharedCache != null) {
+            return;
+        }
+        long totalMemory = longConfig(configs, TOTAL_MEMORY_CONFIG, 256 * 1024 * 1024L);
+        long totalMemtableMemory = longConfig(configs, TOTAL_MEMTABLE_MEMORY_CONFIG, 64 * 1024 * 1024L);
+        double indexFilterBlockRatio = doubleConfig(configs, INDEX_FILTER_BLOCK_RATIO_CONFIG, 0.1);
+
+        sharedCache = new LRUCache(totalMemory, -1, false, indexFilterBlockRatio);
+        writeBufferManager = new WriteBufferManager(totalMemtableMemory, sharedCache);
+        sharedCacheCapacity = totalMemory;
+        log.info("RocksDB bounded memory: total={} bytes, memtables={} bytes, indexFilterRatio={}",
+                totalMemory, totalMemtableMemory, indexFilterBlockRatio);
+    }
+
+    private static long longConfig(Map<String, Object> configs, String key, long defaultValue) {
+        Object value = configs.get(key);
+        return value != null ? Long.parseLong(value.toString()) : defaultValue;
+    }
+
+    private static double doubleConfig(Map<String, Object> configs, String key, double defaultValue) {
+        Object value = configs.get(key);
+        return value != null ? Double.parseDouble(value.toString()) : defaultValue;
+    }
+
+    private static CompressionType compressionConfig(Map<String, Object> configs, String key, CompressionType defaultValue) {
+        Object value = configs.get(key);
+        return value != null ? CompressionType.valueOf(value.toString()) : defaultValue;
+    }
+}
@@ -0,0 +1,36 @@
+package xyz.catuns.edupulse.engagement.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import xyz.catuns.edupulse.engagement.config.properties.EnvelopeProperties;
+import xyz.catuns.edupulse.engagement.service.envelope.CoarseClock;
+import xyz.catuns.edupulse.engagement.service.envelope.EnvelopeClock;
+import xyz.catuns.edupulse.engagement.service.envelope.EnvelopeIdGenerator;
+import xyz.catuns.edupulse.engagement.service.envelope.UuidV7Generator;
+
+@Slf4j
+@Configuration
+public class EnvelopeConfig {
+
+    /**
+     * A {@link CoarseClock} is closed with the context, which stops its ticker thread
+     */
+    @Bean
+    EnvelopeClock envelopeClock(EnvelopeProperties envelopeProperties) {
+        log.info("Envelope clock: {}", envelopeProperties.getClock());
+        return switch (envelopeProperties.getClock()) {
+            case SYSTEM -> EnvelopeClock.system();
+            case COARSE -> new CoarseClock(envelopeProperties.getCoarseClockResolution());
+        };
+    }
+
+    @Bean
+    EnvelopeIdGenerator envelopeIdGenerator(EnvelopeProperties envelopeProperties, EnvelopeClock envelopeClock) {
+        log.info("Envelope id strategy: {}", envelopeProperties.getIdStrategy());
+        return switch (envelopeProperties.getIdStrategy()) {
+            case RANDOM_UUID -> EnvelopeIdGenerator.randomUuid();
+            case UUID_V7 -> new UuidV7Generator(envelopeClock);
+        };
+    }
+}
@@ -1,7 +1,14 @@
 package xyz.catuns.edupulse.engagement.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.streams.StreamsConfig;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
 import org.springframework.boot.ssl.SslBundles;
 import org.springframework.context.annotation.Bean;
@@ -9,10 +16,18 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.annotation.EnableKafkaStreams;
 import org.springframework.kafka.annotation.KafkaStreamsDefaultConfiguration;
 import org.springframework.kafka.config.KafkaStreamsConfiguration;
+import org.springframework.kafka.config.StreamsBuilderFactoryBean;
 import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.streams.KafkaStreamsInteractiveQueryService;
 import xyz.catuns.edupulse.engagement.config.properties.AppProperties;
+import xyz.catuns.edupulse.engagement.config.properties.QuarantineProperties;
+import xyz.catuns.edupulse.engagement.config.properties.RocksDBProperties;
+import xyz.catuns.edupulse.engagement.exception.DefaultDeserializationExceptionHandler;
+import xyz.catuns.edupulse.engagement.service.quarantine.QuarantinePublisher;
+import xyz.catuns.edupulse.engagement.service.scaling.StreamThreadSizing;
 import xyz.catuns.spring.base.properties.KafkaTopicProperties;
 
+import java.util.HashMap;
 import java.util.Map;
 
 @Configuration
@@ -26,11 +41,60 @@ class KafkaConfig {
 	private String streamsAppId;
 
     @Bean(name = KafkaStreamsDefaultConfiguration.DEFAULT_STREAMS_CONFIG_BEAN_NAME)
-    public KafkaStreamsConfiguration defaultKafkaStreamsConfig(KafkaProperties kafkaProperties) {
+    public KafkaStreamsConfiguration defaultKafkaStreamsConfig(KafkaProperties kafkaProperties,
+                                                               RocksDBProperties rocksDBProperties,
+                                                               ObjectProvider<QuarantinePublisher> quarantinePublisher,
+                                                               StreamThreadSizing streamThreadSizing) {
         Map<String, Object> props = kafkaProperties.buildStreamsProperties((SslBundles) null);
+        props.put(StreamsConfig.NUM_STREAM_THREADS_CONFIG, streamThreadSizing.decide().threads());
+        if (rocksDBProperties.isEnabled()) {
+            props.put(StreamsConfig.ROCKSDB_CONFIG_SETTER_CLASS_CONFIG, BoundedMemoryRocksDBConfigSetter.class);
+            props.putAll(rocksDBConfig(rocksDBProperties));
+        }
+        // Handed to DefaultDeserializationExceptionHandler#configure as is
+        quarantinePublisher.ifAvailable(publisher ->
+                props.put(DefaultDeserializationExceptionHandler.PUBLISHER_CONFIG, publisher));
         return new KafkaStreamsConfiguration(props);
     }
 
+    /**
+     * Dedicated byte-array producer for records that fail deserialization, closed with the context
+     * after the streams instance has stopped
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "app.quarantine", name = "enabled", havingValue = "true", matchIfMissing = true)
+    QuarantinePublisher quarantinePublisher(KafkaProperties kafkaProperties,
+                                            QuarantineProperties quarantineProperties,
+                                            MeterRegistry meterRegistry) {
+        Map<String, Object> props = new HashMap<>(kafkaProperties.buildProducerProperties((SslBundles) null));
+        props.put(ProducerConfig.CLIENT_ID_CONFIG, streamsAppId + "-quarantine");
+        props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
+        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
+        props.put(ProducerConfig.ACKS_CONFIG, "all");
+        props.put(ProducerConfig.BUFFER_MEMORY_CONFIG, quarantineProperties.getBufferMemory().toBytes());
+        props.put(ProducerConfig.MAX_BLOCK_MS_CONFIG, quarantineProperties.getMaxBlock().toMillis());
+        return new QuarantinePublisher(quarantineTopicName, new KafkaProducer<>(props), quarantineProperties, meterRegistry);
+    }
+
+    private static Map<String, Object> rocksDBConfig(RocksDBProperties rocksDB) {
+        return Map.of(
+                BoundedMemoryRocksDBConfigSetter.TOTAL_MEMORY_CONFIG, rocksDB.getTotalMemory().toBytes(),
+                BoundedMemoryRocksDBConfigSetter.TOTAL_MEMTABLE_MEMORY_CONFIG, rocksDB.getTotalMemtableMemory().toBytes(),
+                BoundedMemoryRocksDBConfigSetter.INDEX_FILTER_BLOCK_RATIO_CONFIG, rocksDB.getIndexFilterBlockRatio(),
+                BoundedMemoryRocksDBConfigSetter.WRITE_BUFFER_SIZE_CONFIG, rocksDB.getWriteBufferSize().toBytes(),
+                BoundedMemoryRocksDBConfigSetter.MAX_WRITE_BUFFERS_CONFIG, rocksDB.getMaxWriteBuffers(),
+                BoundedMemoryRocksDBConfigSetter.BLOCK_SIZE_CONFIG, rocksDB.getBlockSize().toBytes(),
+                BoundedMemoryRocksDBConfigSetter.BLOOM_FILTER_BITS_CONFIG, rocksDB.getBloomFilterBitsPerKey(),
+                BoundedMemoryRocksDBConfigSetter.COMPRESSION_CONFIG, rocksDB.getCompression(),
+                BoundedMemoryRocksDBConfigSetter.BOTTOMMOST_COMPRESSION_CONFIG, rocksDB.getBottommostCompression()
+        );
+    }
+
+    @Bean
+    KafkaStreamsInteractiveQueryService kafkaStreamsInteractiveQueryService(StreamsBuilderFactoryBean streamsBuilderFactoryBean) {
+        return new KafkaStreamsInteractiveQueryService(streamsBuilderFactoryBean);
+    }
+
     @Value("${app.kafka.topics.engagement}")
     private String engagementTopicName;
 
@@ -42,4 +106,99 @@ class KafkaConfig {
                 .partitions(topicProperties.getPartitions())
                 .build();
     }
+
+    @Value("${app.kafka.topics.skill-mastery}")
+    private String skillMasteryTopicName;
+
+    @Bean
+    NewTopic skillMasteryTopic(AppProperties appProperties) {
+        KafkaTopicProperties topicProperties = appProperties.getKafka();
+        return TopicBuilder.name(skillMasteryTopicName)
+                .replicas(topicProperties.getReplicas())
+                .partitions(topicProperties.getPartitions())
+                .build();
+    }
+
+    @Value("${app.kafka.topics.cohort}")
+    private String cohortTopicName;
+
+    @Bean
+    NewTopic cohortTopic(AppProperties appProperties) {
+        KafkaTopicProperties topicProperties = appProperties.getKafka();
+        return TopicBuilder.name(cohortTopicName)
+                .replicas(topicProperties.getReplicas())
+                .partitions(topicProperties.getPartitions())
+                .build();
+    }
+
+    @Value("${app.kafka.topics.alerts}")
+    private String alertsTopicName;
+
+    @Bean
+    NewTopic alertsTopic(AppProperties appProperties) {
+        KafkaTopicProperties topicProperties = appProperties.getKafka();
+        return TopicBuilder.name(alertsTopicName)
+                .replicas(topicProperties.getReplicas())
+                .partitions(topicProperties.getPartitions())
+                .build();
+    }
+
+    @Value("${app.kafka.topics.late-events}")
+    private String lateEventsTopicName;
+
+    @Bean
+    NewTopic lateEventsTopic(AppProperties appProperties) {
+        KafkaTopicProperties topicProperties = appProperties.getKafka();
+        return TopicBuilder.name(lateEventsTopicName)
+                .replicas(topicProperties.getReplicas())
+                .partitions(topicProperties.getPartitions())
+                .build();
+    }
+
+    @Value("${app.kafka.topics.quarantine}")
+    private String quarantineTopicName;
+
+    /**
+     * Raw bytes of records that failed deserialization, with error headers
+     */
+    @Bean
+    NewTopic quarantineTopic(AppProperties appProperties) {
+        KafkaTopicProperties topicProperties = appProperties.getKafka();
+        return TopicBuilder.name(quarantineTopicName)
+                .replicas(topicProperties.getReplicas())
+                .partitions(topicProperties.getPartitions())
+                .build();
+    }
+
+    @Value("${app.kafka.topics.skill-dictionary}")
+    private String skillDictionaryTopicName;
+
+    /**
+     * Skill id to tag; compacted so the global store restores one entry per skill
+     */
+    @Bean
+    NewTopic skillDictionaryTopic(AppProperties appProperties) {
+        KafkaTopicProperties topicProperties = appProperties.getKafka();
+        return TopicBuilder.name(skillDictionaryTopicName)
+                .replicas(topicProperties.getReplicas())
+                .partitions(1)
+                .compact()
+                .build();
+    }
+
+    @Value("${app.kafka.topics.scoring-config}")
+    private String scoringConfigTopicName;
+
+    /**
+     * Runtime scoring configuration; compacted so the global store restores the latest version
+     */
+    @Bean
+    NewTopic scoringConfigTopic(AppProperties appProperties) {
+        KafkaTopicProperties topicProperties = appProperties.getKafka();
+        return TopicBuilder.name(scoringConfigTopicName)
+                .replicas(topicProperties.getReplicas())
+                .partitions(1)
+                .compact()
+                .build();
+    }
 }
@@ -6,13 +6,35 @@ import org.apache.kafka.common.serialization.Serde;
 import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.support.serializer.JsonSerde;
 import xyz.catuns.edupulse.common.messaging.events.engagement.EngagementScore;
 import xyz.catuns.edupulse.common.messaging.events.quiz.QuizAnswer;
 import xyz.catuns.edupulse.common.messaging.events.quiz.QuizAnswerKey;
 import xyz.catuns.edupulse.common.messaging.events.session.SessionEvent;
 import xyz.catuns.edupulse.common.messaging.events.session.SessionEventKey;
+import xyz.catuns.edupulse.engagement.config.properties.TopologyProperties;
+import xyz.catuns.edupulse.engagement.domain.dto.CohortEngagement;
+import xyz.catuns.edupulse.engagement.domain.dto.EngagementAlert;
+import xyz.catuns.edupulse.engagement.domain.dto.LateEvent;
+import xyz.catuns.edupulse.engagement.domain.dto.ScoringConfig;
+import xyz.catuns.edupulse.engagement.domain.dto.SkillMastery;
+import xyz.catuns.edupulse.engagement.domain.events.EnrichedEvent;
+import xyz.catuns.edupulse.engagement.domain.model.AlertState;
+import xyz.catuns.edupulse.engagement.domain.model.CohortDelta;
+import xyz.catuns.edupulse.engagement.domain.model.CohortMember;
+import xyz.catuns.edupulse.engagement.domain.model.CohortStats;
+import xyz.catuns.edupulse.engagement.domain.model.RollupState;
+import xyz.catuns.edupulse.engagement.domain.model.ScoreHistory;
 import xyz.catuns.edupulse.engagement.domain.model.StudentEngagementState;
+import xyz.catuns.edupulse.engagement.domain.serde.AlertStateSerde;
+import xyz.catuns.edupulse.engagement.domain.serde.CohortDeltaSerde;
+import xyz.catuns.edupulse.engagement.domain.serde.CohortMemberSerde;
+import xyz.catuns.edupulse.engagement.domain.serde.CohortStatsSerde;
+import xyz.catuns.edupulse.engagement.domain.serde.EnrichedEventSerde;
+import xyz.catuns.edupulse.engagement.domain.serde.RollupStateSerde;
+import xyz.catuns.edupulse.engagement.domain.serde.ScoreHistorySerde;
 import xyz.catuns.edupulse.engagement.domain.serde.StudentEngagementStateSerde;
+import xyz.catuns.edupulse.engagement.domain.serde.StudentIdKeySerde;
 
 import java.util.Map;
 
@@ -21,8 +43,11 @@ public class SerdeConfig {
 
     private final Map<String, String> schemaConfigProps;
 
-    public SerdeConfig(KafkaProperties kafkaProperties) {
+    private final TopologyProperties topologyProperties;
+
+    public SerdeConfig(KafkaProperties kafkaProperties, TopologyProperties topologyProperties) {
         this.schemaConfigProps = kafkaProperties.getProperties();
+        this.topologyProperties = topologyProperties;
     }
 
     @Bean
@@ -55,6 +80,71 @@ public class SerdeConfig {
         return new StudentEngagementStateSerde();
     }
 
+    @Bean
+    public Serde<EnrichedEvent> enrichedEventSerde() {
+        return new EnrichedEventSerde();
+    }
+
+    @Bean
+    public Serde<ScoreHistory> scoreHistorySerde() {
+        return new ScoreHistorySerde();
+    }
+
+    @Bean
+    public Serde<RollupState> rollupStateSerde() {
+        return new RollupStateSerde();
+    }
+
+    @Bean
+    public Serde<SkillMastery> skillMasterySerde() {
+        return new JsonSerde<>(SkillMastery.class).noTypeInfo();
+    }
+
+    @Bean
+    public Serde<CohortMember> cohortMemberSerde() {
+        return new CohortMemberSerde();
+    }
+
+    @Bean
+    public Serde<CohortDelta> cohortDeltaSerde() {
+        return new CohortDeltaSerde();
+    }
+
+    @Bean
+    public Serde<CohortStats> cohortStatsSerde() {
+        return new CohortStatsSerde();
+    }
+
+    @Bean
+    public Serde<CohortEngagement> cohortEngagementSerde() {
+        return new JsonSerde<>(CohortEngagement.class).noTypeInfo();
+    }
+
+    @Bean
+    public Serde<AlertState> alertStateSerde() {
+        return new AlertStateSerde();
+    }
+
+    @Bean
+    public Serde<EngagementAlert> engagementAlertSerde() {
+        return new JsonSerde<>(EngagementAlert.class).noTypeInfo();
+    }
+
+    @Bean
+    public Serde<LateEvent> lateEventSerde() {
+        return new JsonSerde<>(LateEvent.class).noTypeInfo();
+    }
+
+    @Bean
+    public Serde<ScoringConfig> scoringConfigSerde() {
+        return new JsonSerde<>(ScoringConfig.class).noTypeInfo();
+    }
+
+    @Bean
+    public StudentIdKeySerde studentIdKeySerde() {
+        return new StudentIdKeySerde(schemaConfigProps, topologyProperties.getPartitioning().getStudentKeyField());
+    }
+
 
     private static <T extends SpecificRecord> SpecificAvroSerde<T> getSpecificAvroSerde(Map<String, String> serdeConfig, boolean isKey) {
         SpecificAvroSerde<T> serde = new SpecificAvroSerde<>();
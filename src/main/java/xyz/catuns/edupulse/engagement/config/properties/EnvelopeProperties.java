@@ -0,0 +1,46 @@
+package xyz.catuns.edupulse.engagement.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.envelope")
+public class EnvelopeProperties {
+
+    /**
+     * How the envelope id of emitted events is generated
+     */
+    private IdStrategy idStrategy = IdStrategy.UUID_V7;
+    /**
+     * Clock for envelope timestamps (and UUIDv7 ids)
+     */
+    private ClockMode clock = ClockMode.SYSTEM;
+    /**
+     * Refresh interval of the COARSE clock
+     */
+    private Duration coarseClockResolution = Duration.ofMillis(1);
+
+    public enum IdStrategy {
+        /**
+         * {@link java.util.UUID#randomUUID()}: random v4 UUIDs from the shared SecureRandom
+         */
+        RANDOM_UUID,
+        /**
+         * Time-ordered v7 UUIDs from a thread-local random generator
+         */
+        UUID_V7
+    }
+
+    public enum ClockMode {
+        /**
+         * Read the system clock for every envelope
+         */
+        SYSTEM,
+        /**
+         * Read a timestamp refreshed every {@code coarse-clock-resolution} by a background thread
+         */
+        COARSE
+    }
+}
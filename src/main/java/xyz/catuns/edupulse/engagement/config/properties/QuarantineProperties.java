@@ -0,0 +1,37 @@
+package xyz.catuns.edupulse.engagement.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.quarantine")
+public class QuarantineProperties {
+
+    /**
+     * Publish records that fail deserialization to the quarantine topic; otherwise they are only logged
+     */
+    private boolean enabled = true;
+    /**
+     * Records waiting for the quarantine producer; further records are dropped and counted
+     */
+    private int bufferCapacity = 10_000;
+    /**
+     * {@code buffer.memory} of the quarantine producer
+     */
+    private DataSize bufferMemory = DataSize.ofMegabytes(8);
+    /**
+     * {@code max.block.ms} of the quarantine producer; only its sender thread ever waits
+     */
+    private Duration maxBlock = Duration.ofSeconds(10);
+    /**
+     * At most one quarantine warning per interval; the others are counted in the next one
+     */
+    private Duration logInterval = Duration.ofSeconds(30);
+    /**
+     * Time given to buffered records on shutdown
+     */
+    private Duration closeTimeout = Duration.ofSeconds(5);
+}
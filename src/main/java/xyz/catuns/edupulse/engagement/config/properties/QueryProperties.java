@@ -0,0 +1,29 @@
+package xyz.catuns.edupulse.engagement.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.query")
+public class QueryProperties {
+
+    /**
+     * How long a served student view is reused before the store is read again
+     */
+    private Duration cacheTtl = Duration.ofSeconds(2);
+    /**
+     * Maximum number of cached student views per instance
+     */
+    private long cacheMaxSize = 10_000;
+    /**
+     * Timeout for requests forwarded to the instance owning a student key
+     */
+    private Duration remoteTimeout = Duration.ofSeconds(2);
+    /**
+     * Maximum number of student ids accepted by the batch endpoint
+     */
+    private int maxBatchSize = 500;
+
+}
@@ -0,0 +1,53 @@
+package xyz.catuns.edupulse.engagement.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+@Data
+@ConfigurationProperties(prefix = "app.rocksdb")
+public class RocksDBProperties {
+
+    /**
+     * Install the bounded-memory config setter for all RocksDB state stores
+     */
+    private boolean enabled = true;
+    /**
+     * Off-heap memory shared by every store, thread and segment of this instance:
+     * block cache, index / filter blocks and memtables
+     */
+    private DataSize totalMemory = DataSize.ofMegabytes(256);
+    /**
+     * Part of {@code total-memory} that memtables may use before they are flushed
+     */
+    private DataSize totalMemtableMemory = DataSize.ofMegabytes(64);
+    /**
+     * Share of the block cache reserved for index and filter blocks (high priority pool)
+     */
+    private double indexFilterBlockRatio = 0.1;
+    /**
+     * Size of a single memtable
+     */
+    private DataSize writeBufferSize = DataSize.ofMegabytes(8);
+    /**
+     * Memtables per store before writes stall
+     */
+    private int maxWriteBuffers = 2;
+    /**
+     * Data block size; larger blocks mean smaller indexes
+     */
+    private DataSize blockSize = DataSize.ofKilobytes(16);
+    /**
+     * Bloom filter bits per key, 0 disables the filter
+     */
+    private double bloomFilterBitsPerKey = 10;
+    /**
+     * Compression of upper levels: NO_COMPRESSION, SNAPPY_COMPRESSION, LZ4_COMPRESSION, ZSTD_COMPRESSION, ...
+     */
+    private String compression = "LZ4_COMPRESSION";
+    /**
+     * Compression of the bottommost level, which holds most of the data
+     */
+    private String bottommostCompression = "ZSTD_COMPRESSION";
+
+}
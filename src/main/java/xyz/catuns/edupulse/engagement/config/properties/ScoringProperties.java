@@ -3,6 +3,14 @@ package xyz.catuns.edupulse.engagement.config.properties;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.context.properties.NestedConfigurationProperty;
+import xyz.catuns.edupulse.engagement.domain.model.BehavioralPattern;
+import xyz.catuns.edupulse.engagement.domain.model.HyperLogLog;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
 
 @Data
 @ConfigurationProperties(prefix = "app.scoring")
@@ -20,6 +28,18 @@ public class ScoringProperties {
      * Scoring Window
      */
     private Window window = new Window();
+    /*
+     * Cross-window trend detection
+     */
+    private Trend trend = new Trend();
+    /*
+     * Distinct page tracking
+     */
+    private Pages pages = new Pages();
+    /*
+     * Alert transitions published to the alerts topic
+     */
+    private Alerts alerts = new Alerts();
 
 
     /**
@@ -98,6 +118,42 @@ public class ScoringProperties {
              * Consecutive incorrect answers
              */
             private int consecutiveIncorrect = 3;
+            /**
+             * Answers in the window before the rate based rules (struggling, rushing, hints) apply
+             */
+            private int minAnswers = 3;
+            /**
+             * STRUGGLING_EXTENSIVELY: correctness below this while the average answer time exceeds
+             * {@code time.struggling-ms}
+             */
+            private double strugglingMaxCorrectness = 0.5;
+            /**
+             * EXCESSIVE_HINTS: hints per answer
+             */
+            private double excessiveHintsPerAnswer = 1.0;
+            /**
+             * FREQUENT_PAUSES: pauses within a window
+             */
+            private int frequentPauses = 3;
+            /**
+             * MINIMAL_ENGAGEMENT: silence between two events of the same window
+             */
+            private long idleGapMs = 120_000;
+            /**
+             * Score multiplier applied once per detected pattern
+             */
+            private Map<BehavioralPattern, Double> penalties = defaultPenalties();
+
+            private static Map<BehavioralPattern, Double> defaultPenalties() {
+                Map<BehavioralPattern, Double> penalties = new EnumMap<>(BehavioralPattern.class);
+                penalties.put(BehavioralPattern.RAPID_INCORRECT_SUBMISSIONS, 0.8);
+                penalties.put(BehavioralPattern.STRUGGLING_EXTENSIVELY, 0.85);
+                penalties.put(BehavioralPattern.RUSHING_THROUGH, 0.9);
+                penalties.put(BehavioralPattern.EXCESSIVE_HINTS, 0.9);
+                penalties.put(BehavioralPattern.FREQUENT_PAUSES, 0.95);
+                penalties.put(BehavioralPattern.MINIMAL_ENGAGEMENT, 0.9);
+                return penalties;
+            }
         }
 
         @Data
@@ -115,6 +171,10 @@ public class ScoringProperties {
 
     @Data
     public static class Window {
+        /**
+         * TUMBLING, HOPPING, SLIDING or SESSION
+         */
+        private WindowType type = WindowType.TUMBLING;
         /**
          *
          */
@@ -123,6 +183,95 @@ public class ScoringProperties {
          *
          */
         private long gracePeriodSeconds = 5;
+        /**
+         * Hop of a HOPPING window, or the resolution a SLIDING window moves in.
+         * Ignored for TUMBLING windows
+         */
+        private long advanceSeconds = 30;
+        /**
+         * Coarser tumbling resolutions rolled up from the same panes, e.g. [300, 1800].
+         * Each must be a multiple of the pane size
+         */
+        private List<Long> rollupSeconds = new ArrayList<>();
+        /**
+         * Inactivity that ends a learning session. SESSION windows only
+         */
+        private long inactivityGapSeconds = 300;
+    }
+
+    public enum WindowType {
+        /**
+         * Non-overlapping windows of {@code duration-seconds}
+         */
+        TUMBLING,
+        /**
+         * Windows of {@code duration-seconds} starting every {@code advance-seconds}
+         */
+        HOPPING,
+        /**
+         * The trailing {@code duration-seconds} up to the latest update, in steps of {@code advance-seconds}
+         */
+        SLIDING,
+        /**
+         * One window per learning session (student + sessionId), closed by {@code inactivity-gap-seconds}
+         */
+        SESSION
+    }
+
+    @Data
+    public static class Trend {
+        /**
+         * EWMA smoothing factor applied to each closed window score
+         */
+        private double ewmaAlpha = 0.3;
+        /**
+         * Deviation from the EWMA (plus its slope) that counts as rising or declining
+         */
+        private double minDelta = 0.05;
+        /**
+         * Closed windows required before history replaces the per-window heuristics
+         */
+        private int minWindows = 2;
+        /**
+         * Number of recent window scores retained per student
+         */
+        private int historySize = 8;
+    }
+
+    @Data
+    public static class Pages {
+        /**
+         * EXACT keeps the first 64 distinct page ids of a window; APPROXIMATE keeps a
+         * fixed-size HyperLogLog sketch, bounded no matter how many pages are visited
+         */
+        private PageTrackingMode mode = PageTrackingMode.EXACT;
+        /**
+         * log2 of the sketch's one-byte registers (4-16); standard error is about 1.04 / sqrt(2^precision)
+         */
+        private int sketchPrecision = HyperLogLog.DEFAULT_PRECISION;
+    }
+
+    public enum PageTrackingMode {
+        EXACT,
+        APPROXIMATE
+    }
+
+    @Data
+    public static class Alerts {
+        /**
+         * How long (score event time) a student must stay below, or back above, the alert
+         * threshold before the transition is published. 0 publishes on the first score
+         */
+        private Duration debounce = Duration.ofSeconds(30);
+        /**
+         * Minimum time between two transitions of the same student; a transition due during
+         * the cooldown is published with the first score after it
+         */
+        private Duration cooldown = Duration.ofMinutes(5);
+        /**
+         * A CRITICAL student clears once the score reaches {@code thresholds.alert + clear-margin}
+         */
+        private double clearMargin = 0.05;
     }
 
 }
@@ -0,0 +1,132 @@
+package xyz.catuns.edupulse.engagement.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.topology")
+public class TopologyProperties {
+
+    /*
+     * Input partitioning
+     */
+    private Partitioning partitioning = new Partitioning();
+    /*
+     * Score emission
+     */
+    private Emit emit = new Emit();
+    /*
+     * Events arriving after their window closed
+     */
+    private LateEvents lateEvents = new LateEvents();
+    /*
+     * Stream thread sizing
+     */
+    private Threads threads = new Threads();
+
+
+    @Data
+    public static class Partitioning {
+        /**
+         * Input topics are already keyed and partitioned by student, so the
+         * topology reads the student id from the record key and aggregates
+         * without a repartition topic. Validated against topic metadata at startup.
+         */
+        private boolean coPartitioned = false;
+        /**
+         * Field of the Avro record key that holds the student id
+         */
+        private String studentKeyField = "studentId";
+    }
+
+    @Data
+    public static class Emit {
+        /**
+         * When windowed aggregates are turned into engagement scores
+         */
+        private EmitMode mode = EmitMode.EVERY_UPDATE;
+        /**
+         * Minimum time between two scores for the same student window in INTERVAL mode
+         */
+        private Duration interval = Duration.ofSeconds(10);
+        /**
+         * In-memory suppression buffer in INTERVAL mode; emits early when full
+         */
+        private DataSize bufferMaxBytes = DataSize.ofMegabytes(16);
+    }
+
+    @Data
+    public static class LateEvents {
+        /**
+         * What happens to events whose window already closed (end + grace)
+         */
+        private LateEventMode mode = LateEventMode.REPORT;
+        /**
+         * How long after it closed a tumbling window can still be corrected in CORRECT mode.
+         * The aggregate store retains windows this much longer.
+         */
+        private Duration correctionHorizon = Duration.ofHours(1);
+    }
+
+    @Data
+    public static class Threads {
+        /**
+         * How {@code num.stream.threads} is chosen at startup
+         */
+        private ThreadMode mode = ThreadMode.AUTO;
+        /**
+         * Stream threads in FIXED mode
+         */
+        private int count = 1;
+        /**
+         * Busy capacity the recommended partition count provides, as a multiple of the observed load
+         */
+        private double headroom = 2.0;
+    }
+
+    public enum ThreadMode {
+        /**
+         * One thread per available core, but no more than input partitions (tasks)
+         */
+        AUTO,
+        /**
+         * {@link Threads#getCount()} threads
+         */
+        FIXED
+    }
+
+    public enum LateEventMode {
+        /**
+         * Late events are dropped by the windowed aggregation, unreported
+         */
+        OFF,
+        /**
+         * Lateness is measured for every event; late events are published to the late events topic
+         */
+        REPORT,
+        /**
+         * As REPORT, and late events within {@link LateEvents#getCorrectionHorizon()} are folded
+         * into their closed window, which is scored again as a correction. TUMBLING windows only.
+         */
+        CORRECT
+    }
+
+    public enum EmitMode {
+        /**
+         * Every aggregate update that passes the record cache (flushed on commit)
+         */
+        EVERY_UPDATE,
+        /**
+         * At most one score per student window per {@link Emit#getInterval()}
+         */
+        INTERVAL,
+        /**
+         * One final score per student window once the window closes (end + grace)
+         */
+        ON_WINDOW_CLOSE
+    }
+
+}
@@ -0,0 +1,56 @@
+package xyz.catuns.edupulse.engagement.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.apache.kafka.streams.errors.InvalidStateStoreException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import xyz.catuns.edupulse.engagement.config.properties.QueryProperties;
+import xyz.catuns.edupulse.engagement.domain.dto.StudentEngagementView;
+import xyz.catuns.edupulse.engagement.service.query.EngagementQueryService;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+@RestController
+@RequestMapping(EngagementQueryService.STUDENTS_PATH)
+@RequiredArgsConstructor
+public class EngagementQueryController {
+
+    private final EngagementQueryService queryService;
+    private final QueryProperties queryProperties;
+
+    /**
+     * Current window state and score for one student
+     */
+    @GetMapping("/{studentId}")
+    public ResponseEntity<StudentEngagementView> getStudent(
+            @PathVariable String studentId,
+            @RequestParam(defaultValue = "false") boolean local
+    ) {
+        return ResponseEntity.of(queryService.findStudent(studentId, local));
+    }
+
+    /**
+     * Current window state and score for a batch of students; unknown students are omitted
+     */
+    @GetMapping
+    public ResponseEntity<List<StudentEngagementView>> getStudents(
+            @RequestParam List<String> ids,
+            @RequestParam(defaultValue = "false") boolean local
+    ) {
+        Set<String> studentIds = new LinkedHashSet<>(ids);
+        if (studentIds.size() > queryProperties.getMaxBatchSize()) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(queryService.findStudents(studentIds, local));
+    }
+
+    @ExceptionHandler(InvalidStateStoreException.class)
+    public ProblemDetail handleStoreUnavailable(InvalidStateStoreException exception) {
+        // Store is migrating or restoring during a rebalance; clients should retry
+        return ProblemDetail.forStatusAndDetail(HttpStatus.SERVICE_UNAVAILABLE, exception.getMessage());
+    }
+}
@@ -0,0 +1,128 @@
+package xyz.catuns.edupulse.engagement.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import xyz.catuns.edupulse.engagement.config.properties.ScoringProperties;
+import xyz.catuns.edupulse.engagement.domain.dto.ScoringConfig;
+import xyz.catuns.edupulse.engagement.service.plan.ScoringPlan;
+import xyz.catuns.edupulse.engagement.service.plan.ScoringPlanRegistry;
+import xyz.catuns.edupulse.engagement.topology.processor.ScoringConfigProcessor;
+
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * {@code /actuator/scoring}: the scoring plan in effect on this instance, and runtime changes.
+ * <p>
+ * Changes are validated here and published to the compacted scoring config topic, which every
+ * instance applies through {@link ScoringConfigProcessor}, so all instances converge on the
+ * same plan without a restart. Write and delete are disabled by default
+ * ({@code management.endpoint.scoring.access: read-only}) since they affect the whole fleet.
+ */
+@Component
+@Endpoint(id = "scoring")
+public class ScoringPlanEndpoint {
+
+    private static final long SEND_TIMEOUT_SECONDS = 10;
+
+    private final ScoringPlanRegistry plans;
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final ObjectMapper objectMapper;
+    // Updates nested sections field by field instead of replacing them
+    private final ObjectMapper mergingMapper;
+
+    @Value("${app.kafka.topics.scoring-config}")
+    private String scoringConfigTopic;
+
+    public ScoringPlanEndpoint(ScoringPlanRegistry plans,
+                               KafkaTemplate<String, String> kafkaTemplate,
+                               ObjectMapper objectMapper) {
+        this.plans = plans;
+        this.kafkaTemplate = kafkaTemplate;
+        this.objectMapper = objectMapper;
+        this.mergingMapper = objectMapper.copy().setDefaultMergeable(true);
+    }
+
+    @ReadOperation
+    public ScoringPlan plan() {
+        return plans.current();
+    }
+
+    /**
+     * Publish new weights, thresholds and/or trend settings. The given fields are merged onto the configuration
+     * in effect, so omitted sections and fields keep their current value, and the complete
+     * configuration is published.
+     */
+    @WriteOperation
+    public Map<String, Object> update(@Nullable Map<String, Object> weights,
+                                      @Nullable Map<String, Object> thresholds,
+                                      @Nullable Map<String, Object> trend) {
+        ScoringConfig current = plans.currentConfig();
+        ScoringConfig config;
+        try {
+            config = new ScoringConfig(
+                    merge(current.getWeights(), weights, ScoringProperties.Weight.class),
+                    merge(current.getThresholds(), thresholds, ScoringProperties.Threshold.class),
+                    merge(current.getTrend(), trend, ScoringProperties.Trend.class));
+            plans.validate(config);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidEndpointRequestException(e.getMessage(), e.getMessage());
+        }
+        try {
+            publish(objectMapper.writeValueAsString(config));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize scoring config", e);
+        }
+        return Map.of("status", "published", "topic", scoringConfigTopic, "currentVersion", plans.current().version());
+    }
+
+    /**
+     * Revert every instance to {@code app.scoring}
+     */
+    @DeleteOperation
+    public Map<String, Object> reset() {
+        publish(null);
+        return Map.of("status", "published", "topic", scoringConfigTopic, "currentVersion", plans.current().version());
+    }
+
+    /**
+     * A copy of {@code current} with {@code changes} applied; an explicit null clears a field
+     *
+     * @throws IllegalArgumentException if {@code changes} does not fit the section
+     */
+    private <T> T merge(T current, @Nullable Map<String, Object> changes, Class<T> section) {
+        T merged = objectMapper.convertValue(current, section);
+        if (changes == null) {
+            return merged;
+        }
+        try {
+            return mergingMapper.updateValue(merged, changes);
+        } catch (JsonMappingException e) {
+            throw new IllegalArgumentException("Invalid scoring configuration: " + e.getOriginalMessage(), e);
+        }
+    }
+
+    private void publish(String value) {
+        try {
+            kafkaTemplate.send(scoringConfigTopic, ScoringConfigProcessor.KEY, value)
+                    .get(SEND_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted publishing scoring config", e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new IllegalStateException("Cannot publish scoring config to " + scoringConfigTopic, e);
+        }
+    }
+}
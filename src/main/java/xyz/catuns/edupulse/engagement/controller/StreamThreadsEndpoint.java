@@ -0,0 +1,25 @@
+package xyz.catuns.edupulse.engagement.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+import xyz.catuns.edupulse.engagement.domain.dto.StreamScalingReport;
+import xyz.catuns.edupulse.engagement.service.scaling.StreamScalingService;
+
+/**
+ * {@code /actuator/streamthreads}: stream thread sizing, task assignment and per-thread load of
+ * this instance, with a recommended input partition count for the observed event rate
+ */
+@Component
+@Endpoint(id = "streamthreads")
+@RequiredArgsConstructor
+public class StreamThreadsEndpoint {
+
+    private final StreamScalingService scalingService;
+
+    @ReadOperation
+    public StreamScalingReport threads() {
+        return scalingService.report();
+    }
+}
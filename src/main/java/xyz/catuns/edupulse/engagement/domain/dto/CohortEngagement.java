@@ -0,0 +1,42 @@
+package xyz.catuns.edupulse.engagement.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import xyz.catuns.edupulse.engagement.domain.model.CohortStats;
+
+/**
+ * Engagement of a cohort (students sharing a session), counting each student's latest
+ * window score once, published to the cohort topic keyed by cohort id
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CohortEngagement {
+
+    private String cohortId;
+    private int studentCount;
+    private double meanScore;
+    /**
+     * Students per score bucket of width 0.1, from [0.0, 0.1) to [0.9, 1.0]
+     */
+    private int[] scoreDistribution;
+    /**
+     * Students whose latest score crossed the alert threshold
+     */
+    private int atRiskCount;
+    private long updatedAt;
+
+    public static CohortEngagement from(CohortStats stats) {
+        return CohortEngagement.builder()
+                .cohortId(stats.getCohortId())
+                .studentCount(stats.getStudentCount())
+                .meanScore(stats.getMeanScore())
+                .scoreDistribution(stats.getDistribution().clone())
+                .atRiskCount(stats.getAtRiskCount())
+                .updatedAt(stats.getUpdatedAt())
+                .build();
+    }
+}
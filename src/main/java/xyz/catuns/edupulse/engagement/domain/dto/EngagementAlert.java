@@ -0,0 +1,27 @@
+package xyz.catuns.edupulse.engagement.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A student entering or leaving CRITICAL engagement, published to the alerts topic keyed by student id
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EngagementAlert {
+
+    public enum Type {
+        RAISED,
+        CLEARED
+    }
+
+    private String studentId;
+    private String sessionId;
+    private Type type;
+    private double score;
+    private long timestamp;
+}
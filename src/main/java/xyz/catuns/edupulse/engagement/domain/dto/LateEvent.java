@@ -0,0 +1,44 @@
+package xyz.catuns.edupulse.engagement.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import xyz.catuns.edupulse.engagement.domain.events.EnrichedEvent;
+
+/**
+ * An event that arrived after its window closed, published to the late events topic keyed by student id
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LateEvent {
+
+    public enum Action {
+        /**
+         * Dropped by the windowed aggregation
+         */
+        DROPPED,
+        /**
+         * Folded into its closed window, which is scored again as a correction
+         */
+        CORRECTED
+    }
+
+    private String studentId;
+    private String topic;
+    private Action action;
+    private long eventTimestamp;
+    /**
+     * Stream time when the event arrived; {@code latenessMs} is the difference
+     */
+    private long streamTime;
+    private long latenessMs;
+    /**
+     * Window the event belonged to; for session windows the event's own session
+     */
+    private long windowStart;
+    private long windowEnd;
+    private EnrichedEvent event;
+}
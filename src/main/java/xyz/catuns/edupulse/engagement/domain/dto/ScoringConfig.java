@@ -0,0 +1,22 @@
+package xyz.catuns.edupulse.engagement.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import xyz.catuns.edupulse.engagement.config.properties.ScoringProperties;
+
+/**
+ * Scoring parameters published to the scoring config topic. The scoring endpoint always publishes
+ * every section complete, merged onto the configuration in effect. In a record written to the topic
+ * directly, a missing section keeps the value of {@code app.scoring}; within a section, missing
+ * fields take their defaults
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScoringConfig {
+
+    private ScoringProperties.Weight weights;
+    private ScoringProperties.Threshold thresholds;
+    private ScoringProperties.Trend trend;
+}
@@ -0,0 +1,35 @@
+package xyz.catuns.edupulse.engagement.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Mastery of one skill by one student within a scoring window, published to the
+ * skill mastery topic keyed by student id
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SkillMastery {
+
+    // Identity
+    private String studentId;
+    private String skillTag;
+    private int skillId;
+    private long windowStart;
+    private long windowEnd;
+
+    // Window counters
+    private int attempts;
+    private int correctAnswers;
+    private double correctnessRate;
+    private Double averageTimeSpentMs;  // null when no attempt reported its time
+
+    /**
+     * Correctness smoothed towards 0.5 for few attempts: (correct + 1) / (attempts + 2)
+     */
+    private double mastery;
+}
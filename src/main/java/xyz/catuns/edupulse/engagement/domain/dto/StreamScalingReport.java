@@ -0,0 +1,71 @@
+package xyz.catuns.edupulse.engagement.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Stream thread sizing, task assignment and load of one instance, with the partition count
+ * the observed event rate calls for
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StreamScalingReport {
+
+    private String state;
+    private String threadMode;
+    private int configuredThreads;
+    private int availableProcessors;
+    /**
+     * Partitions of the larger input topic, and where that count was read at startup
+     */
+    private int inputPartitions;
+    private String inputPartitionsSource;
+    /**
+     * Input topic partitions whose tasks are active on this instance, counted per topic, and the
+     * fraction of the input they make up
+     */
+    private int localInputPartitions;
+    private double localShare;
+    private List<ThreadLoad> threads;
+
+    /**
+     * Input events consumed per second by this instance, and extrapolated to all input partitions
+     */
+    private double inputEventRate;
+    private double estimatedTotalEventRate;
+    /**
+     * Sum of the process ratios of this instance's threads: fully busy threads the local load needs
+     */
+    private double busyThreads;
+    /**
+     * Records per second one fully busy thread processes, as measured; 0 while idle
+     */
+    private double threadCapacity;
+    private double headroom;
+    private int recommendedPartitions;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ThreadLoad {
+        private String name;
+        private String state;
+        /**
+         * Task id to its input partitions
+         */
+        private Map<String, List<String>> activeTasks;
+        private Map<String, List<String>> standbyTasks;
+        private double processRate;
+        private double processRatio;
+        private double pollRatio;
+        private double commitRatio;
+    }
+}
@@ -0,0 +1,48 @@
+package xyz.catuns.edupulse.engagement.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Current window state and computed score for one student, served from the local
+ * {@code engagement-aggregate-store} of the instance owning the student key
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentEngagementView {
+
+    // Identity
+    private String studentId;
+    private String sessionId;
+    private long windowStart;
+    private long windowEnd;
+
+    // Window state
+    private int totalAnswers;
+    private int correctAnswers;
+    private double correctnessRate;
+    private double averageTimeSpentMs;
+    private double questionsPerMinute;
+    private int navigationEvents;
+    private int pauseEvents;
+    private int uniquePagesVisited;
+    private int totalHintsUsed;
+    private Long lastEventTimestamp;
+
+    // Score
+    private double score;
+    private double accuracyScore;
+    private double dwellScore;
+    private double pacingScore;
+    private String trend;
+    private boolean alertThresholdCrossed;
+
+    /**
+     * host:port of the instance that served the state
+     */
+    private String servedBy;
+}
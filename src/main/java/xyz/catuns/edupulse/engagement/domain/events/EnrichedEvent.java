@@ -13,6 +13,7 @@ public class EnrichedEvent {
     private String sessionId;
     private Instant timestamp;
     private String eventType;  // "quiz.answered" or "session.navigation", etc.
+    private EventKind kind;
 
     // Quiz-specific fields (null if from session event)
     private String questionId;
@@ -0,0 +1,9 @@
+package xyz.catuns.edupulse.engagement.domain.events;
+
+/**
+ * Source of an {@link EnrichedEvent}; written as the tag byte of the repartition format
+ */
+public enum EventKind {
+    QUIZ_ANSWER,
+    SESSION
+}
@@ -17,6 +17,7 @@ import static org.mapstruct.ReportingPolicy.IGNORE;
 public interface EnrichedEventMapper {
 
     @EnvelopeSourceMapping
+    @Mapping(target = "kind", constant = "QUIZ_ANSWER")
     @Mapping(target = "questionId", source = "questionId")
     @Mapping(target = "isCorrect", source = "isCorrect")
     @Mapping(target = "timeSpentMs", source = "timeSpentMs")
@@ -26,6 +27,7 @@ public interface EnrichedEventMapper {
     EnrichedEvent fromQuizAnswer(QuizAnswer quizAnswer);
 
     @EnvelopeSourceMapping
+    @Mapping(target = "kind", constant = "SESSION")
     @Mapping(target = "sessionEventType", source = "eventType")
     @Mapping(target = "pageId", source = "pageId")
     @Mapping(target = "dwellTimeMs", source = "dwellTimeMs")
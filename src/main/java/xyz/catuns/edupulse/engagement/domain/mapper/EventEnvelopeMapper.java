@@ -1,11 +1,11 @@
 package xyz.catuns.edupulse.engagement.domain.mapper;
 
 import org.mapstruct.Mapper;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import xyz.catuns.edupulse.common.messaging.events.EventEnvelope;
-
-import java.time.Instant;
-import java.util.UUID;
+import xyz.catuns.edupulse.engagement.service.envelope.EnvelopeClock;
+import xyz.catuns.edupulse.engagement.service.envelope.EnvelopeIdGenerator;
 
 import static org.mapstruct.InjectionStrategy.CONSTRUCTOR;
 import static org.mapstruct.MappingConstants.ComponentModel.SPRING;
@@ -20,11 +20,24 @@ public abstract class EventEnvelopeMapper {
     @Value("${spring.application.name}")
     private String applicationName;
 
+    // Defaults for instances created outside Spring, e.g. in benchmarks
+    private EnvelopeIdGenerator idGenerator = EnvelopeIdGenerator.randomUuid();
+    private EnvelopeClock clock = EnvelopeClock.system();
+
+    /**
+     * Configured in {@code EnvelopeConfig} from {@code app.envelope}
+     */
+    @Autowired
+    public void setEnvelopeStrategy(EnvelopeIdGenerator idGenerator, EnvelopeClock clock) {
+        this.idGenerator = idGenerator;
+        this.clock = clock;
+    }
+
     public EventEnvelope.Builder envelopeBuilder() {
         return EventEnvelope.newBuilder()
-                .setId(UUID.randomUUID().toString())
+                .setId(idGenerator.nextId())
                 .setSource(applicationName)
                 .setSpecversion("1.0")
-                .setTimestamp(Instant.now());
+                .setTimestamp(clock.now());
     }
 }
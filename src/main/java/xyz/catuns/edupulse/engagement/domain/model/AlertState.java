@@ -0,0 +1,16 @@
+package xyz.catuns.edupulse.engagement.domain.model;
+
+import lombok.Data;
+
+/**
+ * Per-student alert state: whether the student is currently in CRITICAL, when a pending
+ * transition was first observed (debounce) and when the last transition was emitted (cooldown).
+ * Timestamps are score record (event) times, -1 if none.
+ */
+@Data
+public class AlertState {
+
+    private boolean critical;
+    private long pendingSince = -1L;
+    private long lastTransitionAt = -1L;
+}
@@ -2,6 +2,9 @@ package xyz.catuns.edupulse.engagement.domain.model;
 
 import lombok.Getter;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Getter
 public enum BehavioralPattern {
     NORMAL("normal"),
@@ -12,10 +15,36 @@ public enum BehavioralPattern {
     FREQUENT_PAUSES("frequent_pauses"),
     MINIMAL_ENGAGEMENT("minimal_engagement");
 
+    private static final BehavioralPattern[] VALUES = values();
+
     private final String code;
 
     BehavioralPattern(String code) {
         this.code = code;
     }
 
+    /**
+     * Bit of this pattern in {@link StudentEngagementState#getDetectedPatterns()}
+     */
+    public int mask() {
+        return 1 << ordinal();
+    }
+
+    public boolean isIn(int patterns) {
+        return (patterns & mask()) != 0;
+    }
+
+    /**
+     * Patterns whose bit is set in {@code patterns}, in declaration order
+     */
+    public static List<BehavioralPattern> fromMask(int patterns) {
+        List<BehavioralPattern> detected = new ArrayList<>(Integer.bitCount(patterns));
+        for (BehavioralPattern pattern : VALUES) {
+            if (pattern.isIn(patterns)) {
+                detected.add(pattern);
+            }
+        }
+        return detected;
+    }
+
 }
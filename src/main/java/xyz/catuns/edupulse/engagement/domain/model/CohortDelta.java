@@ -0,0 +1,19 @@
+package xyz.catuns.edupulse.engagement.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Change of one student's contribution to a cohort: the contribution that leaves
+ * the cohort statistics and the one that replaces it, either of which may be null
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CohortDelta {
+
+    private CohortMember left;
+    private CohortMember joined;
+    private long timestamp;
+}
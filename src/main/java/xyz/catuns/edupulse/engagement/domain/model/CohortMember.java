@@ -0,0 +1,19 @@
+package xyz.catuns.edupulse.engagement.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A student's current contribution to a cohort: the score of their latest window
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CohortMember {
+
+    private String cohortId;
+    private long windowStart;
+    private double score;
+    private boolean atRisk;
+}
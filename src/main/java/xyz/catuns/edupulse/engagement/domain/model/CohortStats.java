@@ -0,0 +1,58 @@
+package xyz.catuns.edupulse.engagement.domain.model;
+
+import lombok.Data;
+
+/**
+ * Running engagement statistics of a cohort (students sharing a session), counting each
+ * student's latest window score once.
+ * <p>
+ * Updates are O(1): a {@link CohortDelta} subtracts the student's previous score and adds
+ * the new one. Scores are summed in fixed point so that subtracting a score exactly
+ * cancels adding it, and the mean does not drift however long the cohort runs.
+ */
+@Data
+public class CohortStats {
+
+    /**
+     * Score distribution buckets of width 0.1; the last one includes 1.0
+     */
+    public static final int BUCKETS = 10;
+
+    static final double SCORE_SCALE = 1_000_000.0;
+
+    private String cohortId;
+    private int studentCount;
+    private long scoreSumMicros;
+    private int[] distribution = new int[BUCKETS];
+    private int atRiskCount;
+    private long updatedAt;
+
+    public CohortStats apply(String cohortId, CohortDelta delta) {
+        this.cohortId = cohortId;
+        if (delta.getLeft() != null) {
+            update(delta.getLeft(), -1);
+        }
+        if (delta.getJoined() != null) {
+            update(delta.getJoined(), 1);
+        }
+        this.updatedAt = Math.max(updatedAt, delta.getTimestamp());
+        return this;
+    }
+
+    private void update(CohortMember member, int sign) {
+        studentCount += sign;
+        scoreSumMicros += sign * Math.round(member.getScore() * SCORE_SCALE);
+        distribution[bucketOf(member.getScore())] += sign;
+        if (member.isAtRisk()) {
+            atRiskCount += sign;
+        }
+    }
+
+    public double getMeanScore() {
+        return studentCount == 0 ? 0.0 : scoreSumMicros / SCORE_SCALE / studentCount;
+    }
+
+    static int bucketOf(double score) {
+        return Math.max(0, Math.min(BUCKETS - 1, (int) (score * BUCKETS)));
+    }
+}
@@ -0,0 +1,198 @@
+package xyz.catuns.edupulse.engagement.domain.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-size HyperLogLog sketch estimating the number of distinct strings added.
+ * <p>
+ * {@code 2^precision} one-byte registers; the standard error is about
+ * {@code 1.04 / sqrt(2^precision)} (6.5% at the default precision 8, 256 bytes).
+ * Sketches are merged by taking the register-wise maximum, so the estimate of merged
+ * panes or windows equals the estimate of their combined pages. Sketches of different
+ * precision are merged at the lower one.
+ */
+public final class HyperLogLog {
+
+    public static final int MIN_PRECISION = 4;
+    public static final int MAX_PRECISION = 16;
+    public static final int DEFAULT_PRECISION = 8;
+
+    private final int precision;
+    private final byte[] registers;
+
+    public HyperLogLog() {
+        this(DEFAULT_PRECISION);
+    }
+
+    public HyperLogLog(int precision) {
+        if (precision < MIN_PRECISION || precision > MAX_PRECISION) {
+            throw new IllegalArgumentException("precision must be within [" + MIN_PRECISION + ", "
+                    + MAX_PRECISION + "]: " + precision);
+        }
+        this.precision = precision;
+        this.registers = new byte[1 << precision];
+    }
+
+    @JsonCreator
+    public static HyperLogLog of(@JsonProperty("precision") int precision, @JsonProperty("registers") byte[] registers) {
+        HyperLogLog sketch = new HyperLogLog(precision);
+        if (registers.length != sketch.registers.length) {
+            throw new IllegalArgumentException("expected " + sketch.registers.length + " registers: " + registers.length);
+        }
+        System.arraycopy(registers, 0, sketch.registers, 0, registers.length);
+        return sketch;
+    }
+
+    public void add(String value) {
+        addHash(mix(value.hashCode()));
+    }
+
+    /**
+     * @param hash well mixed 32-bit hash of the value
+     */
+    void addHash(int hash) {
+        int index = hash >>> (32 - precision);
+        // Rank of the remaining bits; the sentinel bit caps it when they are all zero
+        int rank = Integer.numberOfLeadingZeros((hash << precision) | (1 << (precision - 1))) + 1;
+        update(index, rank);
+    }
+
+    /**
+     * Raise a register to {@code rank} if it is lower, e.g. when decoding
+     */
+    public void update(int index, int rank) {
+        if (rank > registers[index]) {
+            registers[index] = (byte) rank;
+        }
+    }
+
+    /**
+     * Fold {@code other} into this sketch. When precisions differ the result keeps the
+     * lower one, so the returned sketch may be a new instance.
+     */
+    public HyperLogLog merge(HyperLogLog other) {
+        HyperLogLog target = other.precision < precision ? reduceTo(other.precision) : this;
+        HyperLogLog source = other.reduceTo(target.precision);
+        for (int i = 0; i < target.registers.length; i++) {
+            target.update(i, source.registers[i]);
+        }
+        return target;
+    }
+
+    /**
+     * Same sketch at a lower precision, as if every value had been added to it directly
+     */
+    public HyperLogLog reduceTo(int lowerPrecision) {
+        if (lowerPrecision == precision) {
+            return this;
+        }
+        if (lowerPrecision > precision) {
+            throw new IllegalArgumentException("cannot raise precision " + precision + " to " + lowerPrecision);
+        }
+        HyperLogLog reduced = new HyperLogLog(lowerPrecision);
+        int droppedBits = precision - lowerPrecision;
+        int droppedMask = (1 << droppedBits) - 1;
+        for (int i = 0; i < registers.length; i++) {
+            if (registers[i] == 0) {
+                continue;
+            }
+            // Index bits dropped by the lower precision become the leading bits of the rank
+            int dropped = i & droppedMask;
+            int rank = dropped != 0
+                    ? Integer.numberOfLeadingZeros(dropped) - (32 - droppedBits) + 1
+                    : droppedBits + registers[i];
+            reduced.update(i >>> droppedBits, rank);
+        }
+        return reduced;
+    }
+
+    /**
+     * Estimated number of distinct values, with linear counting for small cardinalities
+     */
+    public long estimate() {
+        int m = registers.length;
+        double sum = 0.0;
+        int zeros = 0;
+        for (byte register : registers) {
+            sum += 1.0 / (1L << register);
+            if (register == 0) {
+                zeros++;
+            }
+        }
+        double estimate = alpha(m) * m * m / sum;
+        if (estimate <= 2.5 * m && zeros > 0) {
+            estimate = m * Math.log((double) m / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    @JsonProperty("precision")
+    public int precision() {
+        return precision;
+    }
+
+    public int size() {
+        return registers.length;
+    }
+
+    public int register(int index) {
+        return registers[index];
+    }
+
+    public int nonZeroRegisters() {
+        int count = 0;
+        for (byte register : registers) {
+            if (register != 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @JsonProperty("registers")
+    byte[] registers() {
+        return registers;
+    }
+
+    private static double alpha(int m) {
+        return switch (m) {
+            case 16 -> 0.673;
+            case 32 -> 0.697;
+            case 64 -> 0.709;
+            default -> 0.7213 / (1.0 + 1.079 / m);
+        };
+    }
+
+    /**
+     * Murmur3 finalizer: spreads {@link String#hashCode()}, which is stable across JVMs
+     * but poorly distributed in its high bits for short strings
+     */
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof HyperLogLog other)) return false;
+        return precision == other.precision && Arrays.equals(registers, other.registers);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * precision + Arrays.hashCode(registers);
+    }
+
+    @Override
+    public String toString() {
+        return "HyperLogLog{precision=" + precision + ", estimate=" + estimate() + '}';
+    }
+}
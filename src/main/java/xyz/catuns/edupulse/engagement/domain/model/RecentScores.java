@@ -0,0 +1,85 @@
+package xyz.catuns.edupulse.engagement.domain.model;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-capacity ring buffer of the most recent window scores
+ */
+public final class RecentScores {
+
+    public static final int DEFAULT_CAPACITY = 8;
+
+    private final double[] values;
+    private int head;  // next write slot
+    private int size;
+
+    public RecentScores() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public RecentScores(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        this.values = new double[capacity];
+    }
+
+    public void add(double score) {
+        values[head] = score;
+        head = (head + 1) % values.length;
+        if (size < values.length) {
+            size++;
+        }
+    }
+
+    /**
+     * @param index 0 for the oldest retained score, {@code size() - 1} for the newest
+     */
+    public double get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index " + index + " out of bounds for size " + size);
+        }
+        int oldest = (head - size + values.length) % values.length;
+        return values[(oldest + index) % values.length];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return values.length;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return retained scores, oldest first
+     */
+    public double[] toArray() {
+        double[] copy = new double[size];
+        for (int i = 0; i < size; i++) {
+            copy[i] = get(i);
+        }
+        return copy;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof RecentScores other)) return false;
+        return values.length == other.values.length && Arrays.equals(toArray(), other.toArray());
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * values.length + Arrays.hashCode(toArray());
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+}
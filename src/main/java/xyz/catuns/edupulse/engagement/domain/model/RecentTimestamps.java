@@ -0,0 +1,107 @@
+package xyz.catuns.edupulse.engagement.domain.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-capacity ring buffer of the most recent epoch-millis timestamps.
+ * Older entries are overwritten once the buffer is full, so memory and
+ * serialized size stay constant regardless of how many values are added.
+ */
+public final class RecentTimestamps {
+
+    public static final int DEFAULT_CAPACITY = 8;
+
+    private final long[] values;
+    private int head;  // next write slot
+    private int size;
+
+    public RecentTimestamps() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public RecentTimestamps(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        this.values = new long[capacity];
+    }
+
+    /**
+     * Rebuilds a buffer with {@link #DEFAULT_CAPACITY} from timestamps ordered oldest first
+     */
+    @JsonCreator
+    public static RecentTimestamps of(long... timestamps) {
+        RecentTimestamps recent = new RecentTimestamps();
+        for (long timestamp : timestamps) {
+            recent.add(timestamp);
+        }
+        return recent;
+    }
+
+    public void add(long timestamp) {
+        values[head] = timestamp;
+        head = (head + 1) % values.length;
+        if (size < values.length) {
+            size++;
+        }
+    }
+
+    /**
+     * @param index 0 for the oldest retained timestamp, {@code size() - 1} for the newest
+     */
+    public long get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index " + index + " out of bounds for size " + size);
+        }
+        int oldest = (head - size + values.length) % values.length;
+        return values[(oldest + index) % values.length];
+    }
+
+    public long last() {
+        return get(size - 1);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return values.length;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return retained timestamps, oldest first
+     */
+    @JsonValue
+    public long[] toArray() {
+        long[] copy = new long[size];
+        for (int i = 0; i < size; i++) {
+            copy[i] = get(i);
+        }
+        return copy;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof RecentTimestamps other)) return false;
+        return values.length == other.values.length && Arrays.equals(toArray(), other.toArray());
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * values.length + Arrays.hashCode(toArray());
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+}
@@ -0,0 +1,85 @@
+package xyz.catuns.edupulse.engagement.domain.model;
+
+import lombok.Data;
+
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Running roll-up of one coarse window from its panes.
+ * <p>
+ * Panes that can no longer change (end + grace passed) are folded once into {@link #sealed};
+ * only the few panes still within grace are kept individually, since an update replaces
+ * the pane's previous value rather than adding to it. The coarse window is therefore
+ * {@code sealed + openPanes}, built without re-reading or re-aggregating closed panes.
+ */
+@Data
+public class RollupState {
+
+    /**
+     * Start of the coarse window being rolled up, -1 if none
+     */
+    private long windowStart = -1L;
+    /**
+     * Panes starting before this have been folded into {@link #sealed}
+     */
+    private long sealedThrough = -1L;
+    private StudentEngagementState sealed = new StudentEngagementState();
+    private NavigableMap<Long, StudentEngagementState> openPanes = new TreeMap<>();
+
+    /**
+     * Move to the coarse window starting at {@code windowStart}, discarding the previous one
+     *
+     * @return false if {@code windowStart} is older than the current window (late pane)
+     */
+    public boolean advanceTo(long windowStart) {
+        if (windowStart < this.windowStart) {
+            return false;
+        }
+        if (windowStart > this.windowStart) {
+            this.windowStart = windowStart;
+            this.sealedThrough = windowStart;
+            this.sealed = new StudentEngagementState();
+            this.openPanes = new TreeMap<>();
+        }
+        return true;
+    }
+
+    /**
+     * @return false if the pane was already sealed
+     */
+    public boolean updatePane(long paneStart, StudentEngagementState pane) {
+        if (paneStart < sealedThrough) {
+            return false;
+        }
+        openPanes.put(paneStart, pane);
+        return true;
+    }
+
+    /**
+     * Fold open panes starting at or before {@code lastClosedPaneStart} into the sealed state, in order
+     *
+     * @param rapidSubmissionMs see {@link StudentEngagementState#mergeFrom}
+     */
+    public void sealThrough(long lastClosedPaneStart, long paneSizeMs, long rapidSubmissionMs) {
+        NavigableMap<Long, StudentEngagementState> closed = openPanes.headMap(lastClosedPaneStart, true);
+        for (Map.Entry<Long, StudentEngagementState> pane : closed.entrySet()) {
+            sealed.mergeFrom(pane.getValue(), rapidSubmissionMs);
+            sealedThrough = pane.getKey() + paneSizeMs;
+        }
+        closed.clear();
+    }
+
+    /**
+     * Current value of the coarse window: the sealed prefix merged with the open panes
+     *
+     * @param rapidSubmissionMs see {@link StudentEngagementState#mergeFrom}
+     */
+    public StudentEngagementState view(long rapidSubmissionMs) {
+        StudentEngagementState view = new StudentEngagementState();
+        view.mergeFrom(sealed, rapidSubmissionMs);
+        openPanes.values().forEach(pane -> view.mergeFrom(pane, rapidSubmissionMs));
+        return view;
+    }
+}
@@ -0,0 +1,63 @@
+package xyz.catuns.edupulse.engagement.domain.model;
+
+import lombok.Data;
+
+/**
+ * Constant-size summary of a student's scores across previous windows.
+ * <p>
+ * The score of the window currently being updated is held separately and only folded
+ * into the EWMA / slope / recent buffer once a newer window starts, so repeated
+ * updates of the same window do not skew the history.
+ * <p>
+ * For hopping and sliding windows, each reported window is folded with the score it had
+ * when the next window started. Consecutive windows overlap by {@code duration - advance},
+ * so they share panes and the EWMA follows changes more slowly than over tumbling windows.
+ * A late pane update re-scoring an already folded window does not change the history.
+ */
+@Data
+public class ScoreHistory {
+
+    /**
+     * Start of the window whose score is held in {@link #currentWindowScore}, -1 if none
+     */
+    private long currentWindowStart = -1L;
+    private double currentWindowScore;
+
+    // Summary of closed windows
+    private int windowCount;
+    private double ewmaScore;
+    private double ewmaSlope;
+    private RecentScores recentScores = new RecentScores();
+
+    /**
+     * Move to the window starting at {@code windowStart}, folding the previous window's
+     * last score into the summary.
+     *
+     * @return false if {@code windowStart} is older than the current window (late update)
+     */
+    public boolean advanceTo(long windowStart, double alpha) {
+        if (windowStart < currentWindowStart) {
+            return false;
+        }
+        if (windowStart > currentWindowStart) {
+            if (currentWindowStart >= 0) {
+                fold(currentWindowScore, alpha);
+            }
+            currentWindowStart = windowStart;
+        }
+        return true;
+    }
+
+    private void fold(double score, double alpha) {
+        if (windowCount == 0) {
+            ewmaScore = score;
+            ewmaSlope = 0.0;
+        } else {
+            double previous = ewmaScore;
+            ewmaScore = alpha * score + (1 - alpha) * ewmaScore;
+            ewmaSlope = alpha * (ewmaScore - previous) + (1 - alpha) * ewmaSlope;
+        }
+        recentScores.add(score);
+        windowCount++;
+    }
+}
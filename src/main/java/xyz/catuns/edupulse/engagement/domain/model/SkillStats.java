@@ -0,0 +1,225 @@
+package xyz.catuns.edupulse.engagement.domain.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+import org.apache.kafka.common.utils.Utils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Per-skill attempts, correct answers and answer time, keyed by dictionary-encoded skill id.
+ * <p>
+ * Skill tags are never stored: {@link #idOf(String)} maps a tag to a stable int id (the same
+ * on every instance and across restarts), and the tag is resolved again only when mastery is
+ * published. Entries live in parallel primitive arrays sorted by id, so lookups are a binary
+ * search, there is no boxing, and the number of tracked skills is capped.
+ */
+public final class SkillStats {
+
+    public static final int DEFAULT_CAPACITY = 32;
+
+    private static final int INITIAL_SLOTS = 4;
+
+    private final int capacity;
+    private int[] ids = new int[INITIAL_SLOTS];
+    private int[] attempts = new int[INITIAL_SLOTS];
+    private int[] correct = new int[INITIAL_SLOTS];
+    private int[] timed = new int[INITIAL_SLOTS];  // attempts that reported timeSpentMs
+    private long[] timeSpentMs = new long[INITIAL_SLOTS];
+    private int size;
+
+    public SkillStats() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public SkillStats(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+    }
+
+    /**
+     * Rebuilds stats with {@link #DEFAULT_CAPACITY} from {@link #toArray()} rows
+     */
+    @JsonCreator
+    public static SkillStats of(long[][] rows) {
+        SkillStats skills = new SkillStats();
+        for (long[] row : rows) {
+            skills.add((int) row[0], (int) row[1], (int) row[2], (int) row[3], row[4]);
+        }
+        return skills;
+    }
+
+    /**
+     * Stable, non-negative id of a skill tag (murmur2 of its UTF-8 bytes).
+     * Collisions are possible but negligible for a catalog of hundreds of tags.
+     */
+    public static int idOf(String skillTag) {
+        return Utils.toPositive(Utils.murmur2(skillTag.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Record one answer for a skill
+     *
+     * @return false when the skill is not tracked because {@link #capacity()} skills already are
+     */
+    public boolean record(int skillId, boolean isCorrect, Long answerTimeMs) {
+        return add(skillId, 1, isCorrect ? 1 : 0, answerTimeMs != null ? 1 : 0, answerTimeMs != null ? answerTimeMs : 0L);
+    }
+
+    /**
+     * Add counters for a skill, e.g. when merging or decoding state
+     *
+     * @return false when the skill is not tracked because {@link #capacity()} skills already are
+     */
+    public boolean add(int skillId, int attempts, int correct, int timed, long timeSpentMs) {
+        int index = Arrays.binarySearch(ids, 0, size, skillId);
+        if (index < 0) {
+            if (size == capacity) {
+                return false;
+            }
+            index = insertAt(-index - 1, skillId);
+        }
+        this.attempts[index] += attempts;
+        this.correct[index] += correct;
+        this.timed[index] += timed;
+        this.timeSpentMs[index] += timeSpentMs;
+        return true;
+    }
+
+    /**
+     * Add every skill of {@code other}, in id order
+     *
+     * @param untracked receives the attempts of skills dropped by the capacity
+     */
+    public void addAll(SkillStats other, IntConsumer untracked) {
+        for (int i = 0; i < other.size; i++) {
+            if (!add(other.ids[i], other.attempts[i], other.correct[i], other.timed[i], other.timeSpentMs[i])) {
+                untracked.accept(other.attempts[i]);
+            }
+        }
+    }
+
+    /**
+     * Attempts recorded for a skill, 0 if it is not tracked
+     */
+    public int attempts(int skillId) {
+        int index = Arrays.binarySearch(ids, 0, size, skillId);
+        return index < 0 ? 0 : attempts[index];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @param index 0 to {@code size() - 1}, in ascending id order
+     */
+    public int idAt(int index) {
+        return ids[checkIndex(index)];
+    }
+
+    public int attemptsAt(int index) {
+        return attempts[checkIndex(index)];
+    }
+
+    public int correctAt(int index) {
+        return correct[checkIndex(index)];
+    }
+
+    public int timedAt(int index) {
+        return timed[checkIndex(index)];
+    }
+
+    public long timeSpentMsAt(int index) {
+        return timeSpentMs[checkIndex(index)];
+    }
+
+    /**
+     * @return one {@code [id, attempts, correct, timed, timeSpentMs]} row per skill, in id order
+     */
+    @JsonValue
+    public long[][] toArray() {
+        long[][] rows = new long[size][];
+        for (int i = 0; i < size; i++) {
+            rows[i] = new long[]{ids[i], attempts[i], correct[i], timed[i], timeSpentMs[i]};
+        }
+        return rows;
+    }
+
+    private int insertAt(int index, int skillId) {
+        if (size == ids.length) {
+            int slots = Math.min(capacity, ids.length * 2);
+            ids = Arrays.copyOf(ids, slots);
+            attempts = Arrays.copyOf(attempts, slots);
+            correct = Arrays.copyOf(correct, slots);
+            timed = Arrays.copyOf(timed, slots);
+            timeSpentMs = Arrays.copyOf(timeSpentMs, slots);
+        }
+        int tail = size - index;
+        System.arraycopy(ids, index, ids, index + 1, tail);
+        System.arraycopy(attempts, index, attempts, index + 1, tail);
+        System.arraycopy(correct, index, correct, index + 1, tail);
+        System.arraycopy(timed, index, timed, index + 1, tail);
+        System.arraycopy(timeSpentMs, index, timeSpentMs, index + 1, tail);
+        ids[index] = skillId;
+        attempts[index] = 0;
+        correct[index] = 0;
+        timed[index] = 0;
+        timeSpentMs[index] = 0L;
+        size++;
+        return index;
+    }
+
+    private int checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index " + index + " out of bounds for size " + size);
+        }
+        return index;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof SkillStats other)) return false;
+        return capacity == other.capacity
+                && size == other.size
+                && Arrays.equals(ids, 0, size, other.ids, 0, size)
+                && Arrays.equals(attempts, 0, size, other.attempts, 0, size)
+                && Arrays.equals(correct, 0, size, other.correct, 0, size)
+                && Arrays.equals(timed, 0, size, other.timed, 0, size)
+                && Arrays.equals(timeSpentMs, 0, size, other.timeSpentMs, 0, size);
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = capacity;
+        for (int i = 0; i < size; i++) {
+            hash = 31 * hash + ids[i];
+            hash = 31 * hash + attempts[i];
+            hash = 31 * hash + correct[i];
+        }
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("{");
+        for (int i = 0; i < size; i++) {
+            if (i > 0) sb.append(", ");
+            sb.append(ids[i]).append('=').append(correct[i]).append('/').append(attempts[i]);
+        }
+        return sb.append('}').toString();
+    }
+}
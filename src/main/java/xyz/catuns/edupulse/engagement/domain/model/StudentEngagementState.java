@@ -4,12 +4,18 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import xyz.catuns.edupulse.common.messaging.events.session.SessionEventType;
 import xyz.catuns.edupulse.engagement.domain.events.EnrichedEvent;
 
 import java.util.*;
 
 /**
- * Stateful aggregation of student engagement signals within a time window
+ * Stateful aggregation of student engagement signals within a time window.
+ * <p>
+ * The representation is bounded: quiz timings are kept as running sums and counts,
+ * only the most recent answer timestamps are retained, skill tracking is capped and
+ * pages are either capped or counted by a fixed-size sketch. Per-event cost and serialized size therefore stay constant no matter how
+ * many events a student produces within a window.
  */
 @Data
 @Builder
@@ -17,7 +23,20 @@ import java.util.*;
 @AllArgsConstructor
 public class StudentEngagementState {
 
-    private static long RAPID_SUBMISSION_INTERVAL = 5000; // 5 seconds
+    /**
+     * Absent optional duration of an event passed as a primitive
+     */
+    public static final long NO_VALUE = Long.MIN_VALUE;
+
+    /**
+     * Maximum number of distinct page ids retained in {@link #pagesVisited}
+     */
+    public static final int MAX_TRACKED_PAGES = 64;
+
+    /**
+     * Maximum number of distinct skills retained in {@link #skills}
+     */
+    public static final int MAX_TRACKED_SKILLS = SkillStats.DEFAULT_CAPACITY;
 
     // Identity
     private String studentId;
@@ -30,9 +49,8 @@ public class StudentEngagementState {
     private int correctAnswers;
     private int incorrectAnswers;
     @Builder.Default
-    private List<Long> answerTimestamps = new ArrayList<>();
-    @Builder.Default
-    private List<Long> timeSpentValues = new ArrayList<>();  // timeSpentMs for each answer
+    private RecentTimestamps recentAnswerTimestamps = new RecentTimestamps();
+    private int timedAnswers;  // answers that reported timeSpentMs
     private long totalTimeSpent;
 
     // Session activity metrics
@@ -41,14 +59,18 @@ public class StudentEngagementState {
     private int resumeEvents;
     private long totalDwellTime;
     @Builder.Default
-    private Set<String> pagesVisited = new HashSet<>();
+    private Set<String> pagesVisited = new HashSet<>();  // capped at MAX_TRACKED_PAGES
+    private int untrackedPageVisits;  // navigation to pages beyond the cap
+    private HyperLogLog pageSketch;  // replaces pagesVisited once pages are tracked approximately
 
     // Pattern detection
     private int consecutiveIncorrect;
-    private int rapidSubmissions;  // Submissions < 5 seconds apart
+    private int rapidSubmissions;  // Submissions closer than thresholds.pattern.rapid-submission-ms
 
+    // Per-skill attempts, correct answers and time, keyed by SkillStats.idOf(skillTag)
     @Builder.Default
-    private Map<String, Integer> skillTagAttempts = new HashMap<>();  // Track attempts per skill
+    private SkillStats skills = new SkillStats(MAX_TRACKED_SKILLS);
+    private int untrackedSkillAttempts;  // attempts on skills beyond the cap
 
     // Temporal tracking
     private Long firstEventTimestamp;
@@ -57,14 +79,37 @@ public class StudentEngagementState {
     // Hints and support
     private int totalHintsUsed;
 
+    // Event-local behavioral patterns detected within the window, one bit per BehavioralPattern
+    private int detectedPatterns;
+
 
     /**
      * Add quiz answer to state
+     *
+     * @param rapidSubmissionMs answers closer than this to the previous one count as rapid submissions
      */
-    public void addQuizAnswer(EnrichedEvent event) {
+    public void addQuizAnswer(EnrichedEvent event, long rapidSubmissionMs) {
+        addQuizAnswer(
+                event.getTimestamp().toEpochMilli(),
+                Boolean.TRUE.equals(event.getIsCorrect()),
+                event.getTimeSpentMs() != null ? event.getTimeSpentMs() : NO_VALUE,
+                event.getHintsUsed() != null ? event.getHintsUsed() : 0,
+                event.getSkillTag(),
+                rapidSubmissionMs);
+    }
+
+    /**
+     * Add quiz answer to state from primitive values, e.g. read directly from the input record
+     *
+     * @param timeSpentMs       {@link #NO_VALUE} if the answer time was not reported
+     * @param skillTag          null if the question has no skill
+     * @param rapidSubmissionMs answers closer than this to the previous one count as rapid submissions
+     */
+    public void addQuizAnswer(long timestamp, boolean isCorrect, long timeSpentMs, int hintsUsed,
+                              String skillTag, long rapidSubmissionMs) {
         this.totalAnswers++;
 
-        if (Boolean.TRUE.equals(event.getIsCorrect())) {
+        if (isCorrect) {
             this.correctAnswers++;
             this.consecutiveIncorrect = 0;  // Reset
         } else {
@@ -72,34 +117,29 @@ public class StudentEngagementState {
             this.consecutiveIncorrect++;
         }
 
-        if (event.getTimeSpentMs() != null) {
-            this.timeSpentValues.add(event.getTimeSpentMs());
-            this.totalTimeSpent += event.getTimeSpentMs();
+        boolean timed = timeSpentMs != NO_VALUE;
+        if (timed) {
+            this.timedAnswers++;
+            this.totalTimeSpent += timeSpentMs;
         }
 
-        // Track timestamps
-        this.answerTimestamps.add(event.getTimestamp().toEpochMilli());
-
-        // Detect rapid submissions
-        if (answerTimestamps.size() > 1) {
-            int lastIndex = answerTimestamps.size() - 1;
-            long timeDiff = answerTimestamps.get(lastIndex) - answerTimestamps.get(lastIndex - 1);
-            if (timeDiff < RAPID_SUBMISSION_INTERVAL) {
-                this.rapidSubmissions++;
-            }
+        // Detect rapid submissions against the previous answer
+        if (!recentAnswerTimestamps.isEmpty()
+                && timestamp - recentAnswerTimestamps.last() < rapidSubmissionMs) {
+            this.rapidSubmissions++;
         }
+        this.recentAnswerTimestamps.add(timestamp);
 
         // Track skill attempts
-        if (event.getSkillTag() != null) {
-            this.skillTagAttempts.merge(event.getSkillTag(), 1, Integer::sum);
+        if (skillTag != null
+                && !skills.add(SkillStats.idOf(skillTag), 1, isCorrect ? 1 : 0, timed ? 1 : 0, timed ? timeSpentMs : 0L)) {
+            this.untrackedSkillAttempts++;
         }
 
         // Track hints
-        if (event.getHintsUsed() != null) {
-            this.totalHintsUsed += event.getHintsUsed();
-        }
+        this.totalHintsUsed += hintsUsed;
 
-        updateTimestamps(event.getTimestamp().toEpochMilli());
+        updateTimestamps(timestamp);
 
     }
 
@@ -107,12 +147,26 @@ public class StudentEngagementState {
      * Add session event to state
      */
     public void addSessionEvent(EnrichedEvent event) {
+        addSessionEvent(
+                event.getSessionEventType(),
+                event.getTimestamp().toEpochMilli(),
+                event.getPageId(),
+                event.getDwellTimeMs() != null ? event.getDwellTimeMs() : NO_VALUE);
+    }
+
+    /**
+     * Add session event to state from primitive values, e.g. read directly from the input record
+     *
+     * @param pageId      null if the event has no page
+     * @param dwellTimeMs {@link #NO_VALUE} if the event reports no dwell time
+     */
+    public void addSessionEvent(SessionEventType type, long timestamp, String pageId, long dwellTimeMs) {
 
-        switch (event.getSessionEventType()) {
+        switch (type) {
             case NAVIGATION -> {
                 this.navigationEvents++;
-                if (event.getPageId() != null) {
-                    this.pagesVisited.add(event.getPageId());
+                if (pageId != null) {
+                    trackPageVisit(pageId);
                 }
             }
             case PAUSED -> {
@@ -122,13 +176,118 @@ public class StudentEngagementState {
                 this.resumeEvents++;
             }
             case DWELL -> {
-                if (event.getDwellTimeMs() != null) {
-                    this.totalDwellTime += event.getDwellTimeMs();
+                if (dwellTimeMs != NO_VALUE) {
+                    this.totalDwellTime += dwellTimeMs;
                 }
             }
         }
 
-        updateTimestamps(event.getTimestamp().toEpochMilli());
+        updateTimestamps(timestamp);
+    }
+
+    /**
+     * Fold a later, adjacent aggregate (e.g. the next pane of a hopping window) into this one.
+     * <p>
+     * Counters are summed and capped tracking is re-applied; rapid submissions and the
+     * consecutive-incorrect run are stitched across the boundary, so merging panes in
+     * chronological order matches aggregating their events directly (up to the caps).
+     * Window bounds are left to the caller.
+     *
+     * @param rapidSubmissionMs answers closer than this across the boundary count as a rapid submission;
+     *                          the value the panes were aggregated with
+     */
+    public void mergeFrom(StudentEngagementState other, long rapidSubmissionMs) {
+        if (this.studentId == null) {
+            this.studentId = other.studentId;
+        }
+        if (other.sessionId != null) {
+            this.sessionId = other.sessionId;
+        }
+
+        // Quiz answers
+        if (other.totalAnswers > 0) {
+            this.consecutiveIncorrect = other.consecutiveIncorrect == other.totalAnswers
+                    ? this.consecutiveIncorrect + other.consecutiveIncorrect
+                    : other.consecutiveIncorrect;
+        }
+        this.totalAnswers += other.totalAnswers;
+        this.correctAnswers += other.correctAnswers;
+        this.incorrectAnswers += other.incorrectAnswers;
+        this.timedAnswers += other.timedAnswers;
+        this.totalTimeSpent += other.totalTimeSpent;
+        this.rapidSubmissions += other.rapidSubmissions;
+        this.totalHintsUsed += other.totalHintsUsed;
+
+        RecentTimestamps otherTimestamps = other.recentAnswerTimestamps;
+        // other's first answer is only known if none of its timestamps were evicted
+        if (!recentAnswerTimestamps.isEmpty()
+                && !otherTimestamps.isEmpty()
+                && other.totalAnswers == otherTimestamps.size()
+                && otherTimestamps.get(0) - recentAnswerTimestamps.last() < rapidSubmissionMs) {
+            this.rapidSubmissions++;
+        }
+        for (int i = 0; i < otherTimestamps.size(); i++) {
+            this.recentAnswerTimestamps.add(otherTimestamps.get(i));
+        }
+
+        // Session activity
+        this.navigationEvents += other.navigationEvents;
+        this.pauseEvents += other.pauseEvents;
+        this.resumeEvents += other.resumeEvents;
+        this.totalDwellTime += other.totalDwellTime;
+        if (other.pageSketch != null) {
+            if (this.pageSketch == null) {
+                trackPagesApproximately(other.pageSketch.precision());
+            }
+            this.pageSketch = this.pageSketch.merge(other.pageSketch);
+        }
+        other.pagesVisited.forEach(this::trackPageVisit);
+        this.untrackedPageVisits += other.untrackedPageVisits;
+
+        this.skills.addAll(other.skills, attempts -> this.untrackedSkillAttempts += attempts);
+        this.untrackedSkillAttempts += other.untrackedSkillAttempts;
+
+        if (other.firstEventTimestamp != null) {
+            updateTimestamps(other.firstEventTimestamp);
+        }
+        if (other.lastEventTimestamp != null) {
+            updateTimestamps(other.lastEventTimestamp);
+        }
+
+        this.detectedPatterns |= other.detectedPatterns;
+    }
+
+    /**
+     * Record detected patterns; detection is sticky for the rest of the window
+     *
+     * @return bits of {@code patterns} that were not detected before
+     */
+    public int markDetected(int patterns) {
+        int added = patterns & ~detectedPatterns;
+        detectedPatterns |= patterns;
+        return added;
+    }
+
+    /**
+     * Switch distinct page tracking to a HyperLogLog sketch, folding in the pages tracked so far
+     */
+    public void trackPagesApproximately(int precision) {
+        if (pageSketch != null) {
+            return;
+        }
+        pageSketch = new HyperLogLog(precision);
+        pagesVisited.forEach(pageSketch::add);
+        pagesVisited.clear();
+    }
+
+    private void trackPageVisit(String pageId) {
+        if (pageSketch != null) {
+            pageSketch.add(pageId);
+        } else if (pagesVisited.size() < MAX_TRACKED_PAGES || pagesVisited.contains(pageId)) {
+            pagesVisited.add(pageId);
+        } else {
+            untrackedPageVisits++;
+        }
     }
 
     private void updateTimestamps(Long eventTimestamp) {
@@ -150,8 +309,8 @@ public class StudentEngagementState {
     }
 
     public double getAverageTimeSpent() {
-        if (timeSpentValues.isEmpty()) return 0.0;
-        return (double) totalTimeSpent / timeSpentValues.size();
+        if (timedAnswers == 0) return 0.0;
+        return (double) totalTimeSpent / timedAnswers;
     }
 
     public double getQuestionsPerMinute() {
@@ -170,8 +329,22 @@ public class StudentEngagementState {
         return getAverageTimeSpent() > 20000 && getCorrectnessRate() < 0.5;
     }
 
+    /**
+     * Lower bound once more than {@link #MAX_TRACKED_SKILLS} skills were attempted
+     */
     public int getUniqueSkillsAttempted() {
-        return skillTagAttempts.size();
+        return skills.size();
+    }
+
+    /**
+     * Estimate when pages are tracked approximately, otherwise a lower bound once more
+     * than {@link #MAX_TRACKED_PAGES} pages were visited
+     */
+    public int getUniquePagesVisited() {
+        if (pageSketch != null) {
+            return (int) Math.min(Integer.MAX_VALUE, pageSketch.estimate());
+        }
+        return pagesVisited.size();
     }
 
     public long getActiveTimeMs() {
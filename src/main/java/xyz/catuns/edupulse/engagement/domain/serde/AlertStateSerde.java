@@ -0,0 +1,49 @@
+package xyz.catuns.edupulse.engagement.domain.serde;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.common.serialization.Serde;
+import org.apache.kafka.common.serialization.Serializer;
+import xyz.catuns.edupulse.engagement.domain.model.AlertState;
+
+/**
+ * Binary serde for {@link AlertState} in {@code engagement-alert-state-store}
+ */
+public class AlertStateSerde implements Serde<AlertState> {
+
+    static final byte VERSION = 1;
+
+    @Override
+    public Serializer<AlertState> serializer() {
+        return (topic, state) -> {
+            if (state == null) {
+                return null;
+            }
+            BinaryWriter out = new BinaryWriter(24);
+            out.writeByte(VERSION);
+            out.writeBoolean(state.isCritical());
+            out.writeZigZagLong(state.getPendingSince());
+            out.writeZigZagLong(state.getLastTransitionAt());
+            return out.toByteArray();
+        };
+    }
+
+    @Override
+    public Deserializer<AlertState> deserializer() {
+        return (topic, data) -> {
+            if (data == null || data.length == 0) {
+                return null;
+            }
+            BinaryReader in = new BinaryReader(data);
+            int version = in.readByte();
+            if (version != VERSION) {
+                throw new SerializationException("Unsupported AlertState version: " + version);
+            }
+            AlertState state = new AlertState();
+            state.setCritical(in.readBoolean());
+            state.setPendingSince(in.readZigZagLong());
+            state.setLastTransitionAt(in.readZigZagLong());
+            return state;
+        };
+    }
+}
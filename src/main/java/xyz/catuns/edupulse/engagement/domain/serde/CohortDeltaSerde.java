@@ -0,0 +1,57 @@
+package xyz.catuns.edupulse.engagement.domain.serde;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.common.serialization.Serde;
+import org.apache.kafka.common.serialization.Serializer;
+import xyz.catuns.edupulse.engagement.domain.model.CohortDelta;
+
+/**
+ * Binary serde for {@link CohortDelta} on the {@code engagement-cohorts} repartition topic
+ */
+public class CohortDeltaSerde implements Serde<CohortDelta> {
+
+    static final byte VERSION = 1;
+
+    private static final int HAS_LEFT = 1;
+    private static final int HAS_JOINED = 1 << 1;
+
+    @Override
+    public Serializer<CohortDelta> serializer() {
+        return (topic, delta) -> {
+            if (delta == null) {
+                return null;
+            }
+            BinaryWriter out = new BinaryWriter(64);
+            out.writeByte(VERSION);
+            int flags = 0;
+            if (delta.getLeft() != null) flags |= HAS_LEFT;
+            if (delta.getJoined() != null) flags |= HAS_JOINED;
+            out.writeByte(flags);
+            if (delta.getLeft() != null) CohortMemberSerde.write(out, delta.getLeft());
+            if (delta.getJoined() != null) CohortMemberSerde.write(out, delta.getJoined());
+            out.writeZigZagLong(delta.getTimestamp());
+            return out.toByteArray();
+        };
+    }
+
+    @Override
+    public Deserializer<CohortDelta> deserializer() {
+        return (topic, data) -> {
+            if (data == null || data.length == 0) {
+                return null;
+            }
+            BinaryReader in = new BinaryReader(data);
+            int version = in.readByte();
+            if (version != VERSION) {
+                throw new SerializationException("Unsupported CohortDelta version: " + version);
+            }
+            int flags = in.readByte();
+            CohortDelta delta = new CohortDelta();
+            if ((flags & HAS_LEFT) != 0) delta.setLeft(CohortMemberSerde.read(in));
+            if ((flags & HAS_JOINED) != 0) delta.setJoined(CohortMemberSerde.read(in));
+            delta.setTimestamp(in.readZigZagLong());
+            return delta;
+        };
+    }
+}
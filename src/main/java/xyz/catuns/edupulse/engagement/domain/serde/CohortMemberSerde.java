@@ -0,0 +1,54 @@
+package xyz.catuns.edupulse.engagement.domain.serde;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.common.serialization.Serde;
+import org.apache.kafka.common.serialization.Serializer;
+import xyz.catuns.edupulse.engagement.domain.model.CohortMember;
+
+/**
+ * Binary serde for {@link CohortMember} in {@code engagement-cohort-member-store}
+ */
+public class CohortMemberSerde implements Serde<CohortMember> {
+
+    static final byte VERSION = 1;
+
+    @Override
+    public Serializer<CohortMember> serializer() {
+        return (topic, member) -> {
+            if (member == null) {
+                return null;
+            }
+            BinaryWriter out = new BinaryWriter(32);
+            out.writeByte(VERSION);
+            write(out, member);
+            return out.toByteArray();
+        };
+    }
+
+    @Override
+    public Deserializer<CohortMember> deserializer() {
+        return (topic, data) -> {
+            if (data == null || data.length == 0) {
+                return null;
+            }
+            BinaryReader in = new BinaryReader(data);
+            int version = in.readByte();
+            if (version != VERSION) {
+                throw new SerializationException("Unsupported CohortMember version: " + version);
+            }
+            return read(in);
+        };
+    }
+
+    static void write(BinaryWriter out, CohortMember member) {
+        out.writeString(member.getCohortId());
+        out.writeZigZagLong(member.getWindowStart());
+        out.writeDouble(member.getScore());
+        out.writeBoolean(member.isAtRisk());
+    }
+
+    static CohortMember read(BinaryReader in) {
+        return new CohortMember(in.readString(), in.readZigZagLong(), in.readDouble(), in.readBoolean());
+    }
+}
@@ -0,0 +1,62 @@
+package xyz.catuns.edupulse.engagement.domain.serde;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.common.serialization.Serde;
+import org.apache.kafka.common.serialization.Serializer;
+import xyz.catuns.edupulse.engagement.domain.model.CohortStats;
+
+/**
+ * Binary serde for {@link CohortStats} in {@code engagement-cohort-store}
+ */
+public class CohortStatsSerde implements Serde<CohortStats> {
+
+    static final byte VERSION = 1;
+
+    @Override
+    public Serializer<CohortStats> serializer() {
+        return (topic, stats) -> {
+            if (stats == null) {
+                return null;
+            }
+            BinaryWriter out = new BinaryWriter(64);
+            out.writeByte(VERSION);
+            out.writeString(stats.getCohortId());
+            out.writeVarInt(stats.getStudentCount());
+            out.writeZigZagLong(stats.getScoreSumMicros());
+            out.writeVarInt(stats.getDistribution().length);
+            for (int count : stats.getDistribution()) {
+                out.writeVarInt(count);
+            }
+            out.writeVarInt(stats.getAtRiskCount());
+            out.writeZigZagLong(stats.getUpdatedAt());
+            return out.toByteArray();
+        };
+    }
+
+    @Override
+    public Deserializer<CohortStats> deserializer() {
+        return (topic, data) -> {
+            if (data == null || data.length == 0) {
+                return null;
+            }
+            BinaryReader in = new BinaryReader(data);
+            int version = in.readByte();
+            if (version != VERSION) {
+                throw new SerializationException("Unsupported CohortStats version: " + version);
+            }
+            CohortStats stats = new CohortStats();
+            stats.setCohortId(in.readString());
+            stats.setStudentCount(in.readVarInt());
+            stats.setScoreSumMicros(in.readZigZagLong());
+            int[] distribution = new int[in.readVarInt()];
+            for (int i = 0; i < distribution.length; i++) {
+                distribution[i] = in.readVarInt();
+            }
+            stats.setDistribution(distribution);
+            stats.setAtRiskCount(in.readVarInt());
+            stats.setUpdatedAt(in.readZigZagLong());
+            return stats;
+        };
+    }
+}
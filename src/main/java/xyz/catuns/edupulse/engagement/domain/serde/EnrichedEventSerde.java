@@ -0,0 +1,160 @@
+package xyz.catuns.edupulse.engagement.domain.serde;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.common.serialization.Serde;
+import org.apache.kafka.common.serialization.Serializer;
+import xyz.catuns.edupulse.common.messaging.events.session.SessionEventType;
+import xyz.catuns.edupulse.engagement.domain.events.EnrichedEvent;
+import xyz.catuns.edupulse.engagement.domain.events.EventKind;
+
+import java.time.Instant;
+
+/**
+ * Tagged binary serde for {@link EnrichedEvent} on the internal repartition topic.
+ * <p>
+ * Layout: {@code VERSION, KIND, common fields, kind specific fields}. Only the fields
+ * the aggregator reads are written; quiz events carry no session fields and vice versa,
+ * and the student id is omitted because it is already the record key. Optional values
+ * are guarded by a presence bitmask instead of being written as nulls.
+ */
+public class EnrichedEventSerde implements Serde<EnrichedEvent> {
+
+    static final byte VERSION = 1;
+
+    // Quiz presence flags
+    private static final int HAS_CORRECT = 1;
+    private static final int IS_CORRECT = 1 << 1;
+    private static final int HAS_TIME_SPENT = 1 << 2;
+    private static final int HAS_HINTS = 1 << 3;
+    private static final int HAS_SKILL = 1 << 4;
+    private static final int HAS_QUESTION = 1 << 5;
+    private static final int HAS_DIFFICULTY = 1 << 6;
+
+    // Session presence flags
+    private static final int HAS_SESSION_TYPE = 1;
+    private static final int HAS_PAGE = 1 << 1;
+    private static final int HAS_DWELL = 1 << 2;
+
+    private static final EventKind[] KINDS = EventKind.values();
+
+    @Override
+    public Serializer<EnrichedEvent> serializer() {
+        return new EnrichedEventSerializer();
+    }
+
+    @Override
+    public Deserializer<EnrichedEvent> deserializer() {
+        return new EnrichedEventDeserializer();
+    }
+
+    static class EnrichedEventSerializer implements Serializer<EnrichedEvent> {
+
+        @Override
+        public byte[] serialize(String topic, EnrichedEvent event) {
+            if (event == null) {
+                return null;
+            }
+            if (event.getKind() == null) {
+                throw new SerializationException("EnrichedEvent without kind: " + event.getEventType());
+            }
+
+            BinaryWriter out = new BinaryWriter(64);
+            out.writeByte(VERSION).writeByte(event.getKind().ordinal());
+            out.writeString(event.getSessionId());
+            out.writeString(event.getEventType());
+            out.writeBoolean(event.getTimestamp() != null);
+            if (event.getTimestamp() != null) {
+                out.writeVarLong(event.getTimestamp().toEpochMilli());
+            }
+
+            switch (event.getKind()) {
+                case QUIZ_ANSWER -> writeQuizFields(out, event);
+                case SESSION -> writeSessionFields(out, event);
+            }
+            return out.toByteArray();
+        }
+
+        private static void writeQuizFields(BinaryWriter out, EnrichedEvent event) {
+            int flags = 0;
+            if (event.getIsCorrect() != null) flags |= HAS_CORRECT;
+            if (Boolean.TRUE.equals(event.getIsCorrect())) flags |= IS_CORRECT;
+            if (event.getTimeSpentMs() != null) flags |= HAS_TIME_SPENT;
+            if (event.getHintsUsed() != null) flags |= HAS_HINTS;
+            if (event.getSkillTag() != null) flags |= HAS_SKILL;
+            if (event.getQuestionId() != null) flags |= HAS_QUESTION;
+            if (event.getDifficultyLevel() != null) flags |= HAS_DIFFICULTY;
+            out.writeByte(flags);
+
+            if (event.getTimeSpentMs() != null) out.writeVarLong(event.getTimeSpentMs());
+            if (event.getHintsUsed() != null) out.writeVarInt(event.getHintsUsed());
+            if (event.getSkillTag() != null) out.writeString(event.getSkillTag());
+            if (event.getQuestionId() != null) out.writeString(event.getQuestionId());
+            if (event.getDifficultyLevel() != null) out.writeVarInt(event.getDifficultyLevel());
+        }
+
+        private static void writeSessionFields(BinaryWriter out, EnrichedEvent event) {
+            int flags = 0;
+            if (event.getSessionEventType() != null) flags |= HAS_SESSION_TYPE;
+            if (event.getPageId() != null) flags |= HAS_PAGE;
+            if (event.getDwellTimeMs() != null) flags |= HAS_DWELL;
+            out.writeByte(flags);
+
+            // Symbol name rather than ordinal so reordering the Avro enum cannot corrupt in-flight records
+            if (event.getSessionEventType() != null) out.writeString(event.getSessionEventType().name());
+            if (event.getPageId() != null) out.writeString(event.getPageId());
+            if (event.getDwellTimeMs() != null) out.writeVarLong(event.getDwellTimeMs());
+        }
+    }
+
+    static class EnrichedEventDeserializer implements Deserializer<EnrichedEvent> {
+
+        @Override
+        public EnrichedEvent deserialize(String topic, byte[] data) {
+            if (data == null || data.length == 0) {
+                return null;
+            }
+
+            BinaryReader in = new BinaryReader(data);
+            int version = in.readByte();
+            if (version != VERSION) {
+                throw new SerializationException("Unsupported EnrichedEvent version: " + version);
+            }
+            int kindOrdinal = in.readByte();
+            if (kindOrdinal >= KINDS.length) {
+                throw new SerializationException("Unknown EnrichedEvent kind: " + kindOrdinal);
+            }
+
+            EnrichedEvent event = new EnrichedEvent();
+            event.setKind(KINDS[kindOrdinal]);
+            event.setSessionId(in.readString());
+            event.setEventType(in.readString());
+            if (in.readBoolean()) {
+                event.setTimestamp(Instant.ofEpochMilli(in.readVarLong()));
+            }
+
+            switch (event.getKind()) {
+                case QUIZ_ANSWER -> readQuizFields(in, event);
+                case SESSION -> readSessionFields(in, event);
+            }
+            return event;
+        }
+
+        private static void readQuizFields(BinaryReader in, EnrichedEvent event) {
+            int flags = in.readByte();
+            if ((flags & HAS_CORRECT) != 0) event.setIsCorrect((flags & IS_CORRECT) != 0);
+            if ((flags & HAS_TIME_SPENT) != 0) event.setTimeSpentMs(in.readVarLong());
+            if ((flags & HAS_HINTS) != 0) event.setHintsUsed(in.readVarInt());
+            if ((flags & HAS_SKILL) != 0) event.setSkillTag(in.readString());
+            if ((flags & HAS_QUESTION) != 0) event.setQuestionId(in.readString());
+            if ((flags & HAS_DIFFICULTY) != 0) event.setDifficultyLevel(in.readVarInt());
+        }
+
+        private static void readSessionFields(BinaryReader in, EnrichedEvent event) {
+            int flags = in.readByte();
+            if ((flags & HAS_SESSION_TYPE) != 0) event.setSessionEventType(SessionEventType.valueOf(in.readString()));
+            if ((flags & HAS_PAGE) != 0) event.setPageId(in.readString());
+            if ((flags & HAS_DWELL) != 0) event.setDwellTimeMs(in.readVarLong());
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package xyz.catuns.edupulse.engagement.domain.serde;
+
+import lombok.Data;
+import xyz.catuns.edupulse.engagement.domain.model.RecentTimestamps;
+import xyz.catuns.edupulse.engagement.domain.model.SkillStats;
+import xyz.catuns.edupulse.engagement.domain.model.StudentEngagementState;
+
+import java.util.*;
+
+/**
+ * Pre-bounded shape of {@link StudentEngagementState} with unbounded timestamp / time-spent
+ * lists. Used only to read legacy JSON and binary v1 values, which are folded into the
+ * bounded representation by {@link #toState()}.
+ */
+@Data
+class LegacyStudentEngagementState {
+
+    private String studentId;
+    private String sessionId;
+    private Long windowStart;
+    private Long windowEnd;
+
+    private int totalAnswers;
+    private int correctAnswers;
+    private int incorrectAnswers;
+    private List<Long> answerTimestamps = new ArrayList<>();
+    private List<Long> timeSpentValues = new ArrayList<>();
+    private long totalTimeSpent;
+
+    private int navigationEvents;
+    private int pauseEvents;
+    private int resumeEvents;
+    private long totalDwellTime;
+    private Set<String> pagesVisited = new HashSet<>();
+
+    private int consecutiveIncorrect;
+    private int rapidSubmissions;
+
+    private Map<String, Integer> skillTagAttempts = new HashMap<>();
+
+    private Long firstEventTimestamp;
+    private Long lastEventTimestamp;
+
+    private int totalHintsUsed;
+
+    StudentEngagementState toState() {
+        RecentTimestamps recent = new RecentTimestamps();
+        for (Long timestamp : answerTimestamps) {
+            recent.add(timestamp);
+        }
+
+        Set<String> pages = new HashSet<>();
+        int untrackedPages = 0;
+        for (String pageId : pagesVisited) {
+            if (pages.size() < StudentEngagementState.MAX_TRACKED_PAGES) {
+                pages.add(pageId);
+            } else {
+                untrackedPages++;
+            }
+        }
+
+        SkillStats skills = new SkillStats(StudentEngagementState.MAX_TRACKED_SKILLS);
+        int untrackedSkills = addSkillAttempts(skills, skillTagAttempts);
+
+        return StudentEngagementState.builder()
+                .studentId(studentId)
+                .sessionId(sessionId)
+                .windowStart(windowStart)
+                .windowEnd(windowEnd)
+                .totalAnswers(totalAnswers)
+                .correctAnswers(correctAnswers)
+                .incorrectAnswers(incorrectAnswers)
+                .recentAnswerTimestamps(recent)
+                .timedAnswers(timeSpentValues.size())
+                .totalTimeSpent(totalTimeSpent)
+                .navigationEvents(navigationEvents)
+                .pauseEvents(pauseEvents)
+                .resumeEvents(resumeEvents)
+                .totalDwellTime(totalDwellTime)
+                .pagesVisited(pages)
+                .untrackedPageVisits(untrackedPages)
+                .consecutiveIncorrect(consecutiveIncorrect)
+                .rapidSubmissions(rapidSubmissions)
+                .skills(skills)
+                .untrackedSkillAttempts(untrackedSkills)
+                .firstEventTimestamp(firstEventTimestamp)
+                .lastEventTimestamp(lastEventTimestamp)
+                .totalHintsUsed(totalHintsUsed)
+                .build();
+    }
+
+    /**
+     * Dictionary-encode attempts of formats that keyed skills by tag; correctness and
+     * time per skill were not recorded
+     *
+     * @return attempts on skills beyond the capacity of {@code skills}
+     */
+    static int addSkillAttempts(SkillStats skills, Map<String, Integer> attemptsByTag) {
+        int untracked = 0;
+        for (Map.Entry<String, Integer> entry : attemptsByTag.entrySet()) {
+            if (!skills.add(SkillStats.idOf(entry.getKey()), entry.getValue(), 0, 0, 0L)) {
+                untracked += entry.getValue();
+            }
+        }
+        return untracked;
+    }
+}
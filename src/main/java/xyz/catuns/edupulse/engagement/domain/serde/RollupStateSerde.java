@@ -0,0 +1,66 @@
+package xyz.catuns.edupulse.engagement.domain.serde;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.common.serialization.Serde;
+import org.apache.kafka.common.serialization.Serializer;
+import xyz.catuns.edupulse.engagement.domain.model.RollupState;
+import xyz.catuns.edupulse.engagement.domain.model.StudentEngagementState;
+
+import java.util.Map;
+
+/**
+ * Binary serde for {@link RollupState} in {@code engagement-rollup-store}; the sealed and
+ * open pane states are nested in the {@link StudentEngagementStateSerde} encoding
+ */
+public class RollupStateSerde implements Serde<RollupState> {
+
+    static final byte VERSION = 1;
+
+    private final StudentEngagementStateSerializer stateSerializer = new StudentEngagementStateSerializer();
+    private final StudentEngagementStateDeserializer stateDeserializer = new StudentEngagementStateDeserializer();
+
+    @Override
+    public Serializer<RollupState> serializer() {
+        return (topic, rollup) -> {
+            if (rollup == null) {
+                return null;
+            }
+            BinaryWriter out = new BinaryWriter(256);
+            out.writeByte(VERSION);
+            out.writeZigZagLong(rollup.getWindowStart());
+            out.writeZigZagLong(rollup.getSealedThrough());
+            out.writeBytes(stateSerializer.serialize(topic, rollup.getSealed()));
+            out.writeVarInt(rollup.getOpenPanes().size());
+            for (Map.Entry<Long, StudentEngagementState> pane : rollup.getOpenPanes().entrySet()) {
+                out.writeZigZagLong(pane.getKey() - rollup.getWindowStart());
+                out.writeBytes(stateSerializer.serialize(topic, pane.getValue()));
+            }
+            return out.toByteArray();
+        };
+    }
+
+    @Override
+    public Deserializer<RollupState> deserializer() {
+        return (topic, data) -> {
+            if (data == null || data.length == 0) {
+                return null;
+            }
+            BinaryReader in = new BinaryReader(data);
+            int version = in.readByte();
+            if (version != VERSION) {
+                throw new SerializationException("Unsupported RollupState version: " + version);
+            }
+            RollupState rollup = new RollupState();
+            rollup.setWindowStart(in.readZigZagLong());
+            rollup.setSealedThrough(in.readZigZagLong());
+            rollup.setSealed(stateDeserializer.deserialize(topic, in.readBytes()));
+            int openPanes = in.readVarInt();
+            for (int i = 0; i < openPanes; i++) {
+                long paneStart = rollup.getWindowStart() + in.readZigZagLong();
+                rollup.getOpenPanes().put(paneStart, stateDeserializer.deserialize(topic, in.readBytes()));
+            }
+            return rollup;
+        };
+    }
+}
@@ -0,0 +1,66 @@
+package xyz.catuns.edupulse.engagement.domain.serde;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.common.serialization.Serde;
+import org.apache.kafka.common.serialization.Serializer;
+import xyz.catuns.edupulse.engagement.domain.model.RecentScores;
+import xyz.catuns.edupulse.engagement.domain.model.ScoreHistory;
+
+/**
+ * Binary serde for {@link ScoreHistory} in {@code engagement-score-history-store}
+ */
+public class ScoreHistorySerde implements Serde<ScoreHistory> {
+
+    static final byte VERSION = 1;
+
+    @Override
+    public Serializer<ScoreHistory> serializer() {
+        return (topic, history) -> {
+            if (history == null) {
+                return null;
+            }
+            RecentScores recent = history.getRecentScores();
+            BinaryWriter out = new BinaryWriter(48 + recent.size() * 8);
+            out.writeByte(VERSION);
+            out.writeZigZagLong(history.getCurrentWindowStart());
+            out.writeDouble(history.getCurrentWindowScore());
+            out.writeVarInt(history.getWindowCount());
+            out.writeDouble(history.getEwmaScore());
+            out.writeDouble(history.getEwmaSlope());
+            out.writeVarInt(recent.capacity());
+            out.writeVarInt(recent.size());
+            for (int i = 0; i < recent.size(); i++) {
+                out.writeDouble(recent.get(i));
+            }
+            return out.toByteArray();
+        };
+    }
+
+    @Override
+    public Deserializer<ScoreHistory> deserializer() {
+        return (topic, data) -> {
+            if (data == null || data.length == 0) {
+                return null;
+            }
+            BinaryReader in = new BinaryReader(data);
+            int version = in.readByte();
+            if (version != VERSION) {
+                throw new SerializationException("Unsupported ScoreHistory version: " + version);
+            }
+            ScoreHistory history = new ScoreHistory();
+            history.setCurrentWindowStart(in.readZigZagLong());
+            history.setCurrentWindowScore(in.readDouble());
+            history.setWindowCount(in.readVarInt());
+            history.setEwmaScore(in.readDouble());
+            history.setEwmaSlope(in.readDouble());
+            RecentScores recent = new RecentScores(in.readVarInt());
+            int size = in.readVarInt();
+            for (int i = 0; i < size; i++) {
+                recent.add(in.readDouble());
+            }
+            history.setRecentScores(recent);
+            return history;
+        };
+    }
+}
@@ -0,0 +1,222 @@
+package xyz.catuns.edupulse.engagement.domain.serde;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import xyz.catuns.edupulse.engagement.domain.model.HyperLogLog;
+import xyz.catuns.edupulse.engagement.domain.model.RecentTimestamps;
+import xyz.catuns.edupulse.engagement.domain.model.SkillStats;
+import xyz.catuns.edupulse.engagement.domain.model.StudentEngagementState;
+
+import java.util.*;
+
+import static xyz.catuns.edupulse.engagement.domain.serde.StudentEngagementStateSerde.MAGIC;
+import static xyz.catuns.edupulse.engagement.domain.serde.StudentEngagementStateSerializer.*;
+
+/**
+ * Reads binary encoded state of any known version, falling back to the legacy JSON
+ * format for values written before the binary serde was introduced.
+ */
+public class StudentEngagementStateDeserializer implements Deserializer<StudentEngagementState> {
+
+    private final JsonDeserializer<LegacyStudentEngagementState> legacyDeserializer = legacyJsonDeserializer();
+
+    @Override
+    public StudentEngagementState deserialize(String topic, byte[] data) {
+        if (data == null || data.length == 0) {
+            return null;
+        }
+        if (data[0] != MAGIC) {
+            return legacyDeserializer.deserialize(topic, data).toState();
+        }
+
+        BinaryReader in = new BinaryReader(data);
+        in.readByte(); // magic
+        int version = in.readByte();
+        return switch (version) {
+            case 1 -> readV1(in).toState();
+            case 2, 3, 4, 5 -> readBounded(in, version);
+            default -> throw new SerializationException("Unsupported StudentEngagementState version: " + version);
+        };
+    }
+
+    /**
+     * Versions 2 and later; version 3 appended the detected pattern bitmask, version 4
+     * replaced skill tag attempts with per-skill stats keyed by skill id, version 5
+     * appended the optional page sketch
+     */
+    private static StudentEngagementState readBounded(BinaryReader in, int version) {
+        StudentEngagementState state = new StudentEngagementState();
+
+        state.setStudentId(in.readString());
+        state.setSessionId(in.readString());
+
+        int flags = in.readByte();
+        if ((flags & HAS_WINDOW_START) != 0) state.setWindowStart(in.readZigZagLong());
+        if ((flags & HAS_WINDOW_END) != 0) state.setWindowEnd(in.readZigZagLong());
+        if ((flags & HAS_FIRST_EVENT) != 0) state.setFirstEventTimestamp(in.readZigZagLong());
+        if ((flags & HAS_LAST_EVENT) != 0) {
+            long base = state.getFirstEventTimestamp() != null ? state.getFirstEventTimestamp() : 0L;
+            state.setLastEventTimestamp(base + in.readZigZagLong());
+        }
+
+        state.setTotalAnswers(in.readVarInt());
+        state.setCorrectAnswers(in.readVarInt());
+        state.setIncorrectAnswers(in.readVarInt());
+        state.setTimedAnswers(in.readVarInt());
+        state.setTotalTimeSpent(in.readZigZagLong());
+
+        state.setNavigationEvents(in.readVarInt());
+        state.setPauseEvents(in.readVarInt());
+        state.setResumeEvents(in.readVarInt());
+        state.setTotalDwellTime(in.readZigZagLong());
+
+        state.setConsecutiveIncorrect(in.readVarInt());
+        state.setRapidSubmissions(in.readVarInt());
+        state.setTotalHintsUsed(in.readVarInt());
+
+        RecentTimestamps recent = new RecentTimestamps(in.readVarInt());
+        int recentCount = in.readVarInt();
+        long previous = 0L;
+        for (int i = 0; i < recentCount; i++) {
+            previous += in.readZigZagLong();
+            recent.add(previous);
+        }
+        state.setRecentAnswerTimestamps(recent);
+
+        int pageCount = in.readVarInt();
+        Set<String> pages = HashSet.newHashSet(pageCount);
+        for (int i = 0; i < pageCount; i++) {
+            pages.add(in.readString());
+        }
+        state.setPagesVisited(pages);
+        state.setUntrackedPageVisits(in.readVarInt());
+
+        SkillStats skills = new SkillStats(StudentEngagementState.MAX_TRACKED_SKILLS);
+        int skillCount = in.readVarInt();
+        int untrackedSkills = 0;
+        if (version >= 4) {
+            int skillId = 0;
+            for (int i = 0; i < skillCount; i++) {
+                skillId += in.readVarInt();
+                skills.add(skillId, in.readVarInt(), in.readVarInt(), in.readVarInt(), in.readZigZagLong());
+            }
+        } else {
+            Map<String, Integer> attemptsByTag = HashMap.newHashMap(skillCount);
+            for (int i = 0; i < skillCount; i++) {
+                attemptsByTag.put(in.readString(), in.readVarInt());
+            }
+            untrackedSkills = LegacyStudentEngagementState.addSkillAttempts(skills, attemptsByTag);
+        }
+        state.setSkills(skills);
+        state.setUntrackedSkillAttempts(untrackedSkills + in.readVarInt());
+
+        if (version >= 3) {
+            state.setDetectedPatterns(in.readVarInt());
+        }
+        if (version >= 5) {
+            state.setPageSketch(readPageSketch(in));
+        }
+
+        return state;
+    }
+
+    private static HyperLogLog readPageSketch(BinaryReader in) {
+        int precision = in.readByte();
+        if (precision == 0) {
+            return null;
+        }
+        if (precision < HyperLogLog.MIN_PRECISION || precision > HyperLogLog.MAX_PRECISION) {
+            throw new SerializationException("Unsupported page sketch precision: " + precision);
+        }
+        HyperLogLog sketch = new HyperLogLog(precision);
+        int nonZero = in.readVarInt();
+        if (isSparse(nonZero, sketch.size())) {
+            int index = 0;
+            for (int i = 0; i < nonZero; i++) {
+                index += in.readVarInt();
+                sketch.update(index, in.readByte());
+            }
+        } else {
+            for (int i = 0; i < sketch.size(); i++) {
+                sketch.update(i, in.readByte());
+            }
+        }
+        return sketch;
+    }
+
+    /**
+     * Version 1 stored the full answer timestamp and time-spent lists
+     */
+    private static LegacyStudentEngagementState readV1(BinaryReader in) {
+        LegacyStudentEngagementState state = new LegacyStudentEngagementState();
+
+        state.setStudentId(in.readString());
+        state.setSessionId(in.readString());
+
+        int flags = in.readByte();
+        if ((flags & HAS_WINDOW_START) != 0) state.setWindowStart(in.readZigZagLong());
+        if ((flags & HAS_WINDOW_END) != 0) state.setWindowEnd(in.readZigZagLong());
+        if ((flags & HAS_FIRST_EVENT) != 0) state.setFirstEventTimestamp(in.readZigZagLong());
+        if ((flags & HAS_LAST_EVENT) != 0) {
+            long base = state.getFirstEventTimestamp() != null ? state.getFirstEventTimestamp() : 0L;
+            state.setLastEventTimestamp(base + in.readZigZagLong());
+        }
+
+        state.setTotalAnswers(in.readVarInt());
+        state.setCorrectAnswers(in.readVarInt());
+        state.setIncorrectAnswers(in.readVarInt());
+        state.setTotalTimeSpent(in.readZigZagLong());
+
+        state.setNavigationEvents(in.readVarInt());
+        state.setPauseEvents(in.readVarInt());
+        state.setResumeEvents(in.readVarInt());
+        state.setTotalDwellTime(in.readZigZagLong());
+
+        state.setConsecutiveIncorrect(in.readVarInt());
+        state.setRapidSubmissions(in.readVarInt());
+        state.setTotalHintsUsed(in.readVarInt());
+
+        int timestampCount = in.readVarInt();
+        List<Long> timestamps = new ArrayList<>(timestampCount);
+        long previous = 0L;
+        for (int i = 0; i < timestampCount; i++) {
+            previous += in.readZigZagLong();
+            timestamps.add(previous);
+        }
+        state.setAnswerTimestamps(timestamps);
+
+        int timeSpentCount = in.readVarInt();
+        List<Long> timeSpent = new ArrayList<>(timeSpentCount);
+        for (int i = 0; i < timeSpentCount; i++) {
+            timeSpent.add(in.readZigZagLong());
+        }
+        state.setTimeSpentValues(timeSpent);
+
+        int pageCount = in.readVarInt();
+        Set<String> pages = HashSet.newHashSet(pageCount);
+        for (int i = 0; i < pageCount; i++) {
+            pages.add(in.readString());
+        }
+        state.setPagesVisited(pages);
+
+        int skillCount = in.readVarInt();
+        Map<String, Integer> skills = HashMap.newHashMap(skillCount);
+        for (int i = 0; i < skillCount; i++) {
+            skills.put(in.readString(), in.readVarInt());
+        }
+        state.setSkillTagAttempts(skills);
+
+        return state;
+    }
+
+    private static JsonDeserializer<LegacyStudentEngagementState> legacyJsonDeserializer() {
+        Map<String, Object> configs = new HashMap<>();
+        configs.put(JsonDeserializer.VALUE_DEFAULT_TYPE, LegacyStudentEngagementState.class.getName());
+        configs.put(JsonDeserializer.USE_TYPE_INFO_HEADERS, false);  // Ignore missing headers
+        configs.put(JsonDeserializer.TRUSTED_PACKAGES, "*");
+        JsonDeserializer<LegacyStudentEngagementState> deserializer = new JsonDeserializer<>(LegacyStudentEngagementState.class);
+        deserializer.configure(configs, false);  // false for value
+        return deserializer;
+    }
+}
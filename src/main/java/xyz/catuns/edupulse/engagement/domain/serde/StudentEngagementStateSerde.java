@@ -3,28 +3,41 @@ package xyz.catuns.edupulse.engagement.domain.serde;
 import org.apache.kafka.common.serialization.Deserializer;
 import org.apache.kafka.common.serialization.Serde;
 import org.apache.kafka.common.serialization.Serializer;
-import org.springframework.kafka.support.serializer.JsonDeserializer;
-import org.springframework.kafka.support.serializer.JsonSerializer;
 import xyz.catuns.edupulse.engagement.domain.model.StudentEngagementState;
 
-import java.util.HashMap;
-import java.util.Map;
-
+/**
+ * Compact, versioned binary serde for {@link StudentEngagementState}.
+ * <p>
+ * Layout: {@code MAGIC, VERSION, body}. Counters are varint packed, timestamps are
+ * delta encoded. Values without the magic byte are treated as the legacy JSON format
+ * so existing RocksDB / changelog entries remain readable during a migration.
+ */
 public class StudentEngagementStateSerde implements Serde<StudentEngagementState> {
 
+    /**
+     * First byte of every binary encoded state. Legacy JSON values start with '{'.
+     */
+    static final byte MAGIC = (byte) 0xE5;
+
+    /**
+     * Current schema version written by {@link StudentEngagementStateSerializer}.
+     * <ul>
+     *     <li>1 - initial binary layout with unbounded timestamp / time-spent lists</li>
+     *     <li>2 - bounded state: recent timestamp ring buffer, running time-spent count, capped pages / skills</li>
+     *     <li>3 - adds the detected behavioral pattern bitmask</li>
+     *     <li>4 - per-skill attempts, correct answers and time keyed by dictionary-encoded skill id</li>
+     *     <li>5 - optional HyperLogLog page sketch, sparse or dense registers</li>
+     * </ul>
+     */
+    static final byte VERSION = 5;
+
     @Override
     public Serializer<StudentEngagementState> serializer() {
-        return new JsonSerializer<>();
+        return new StudentEngagementStateSerializer();
     }
 
     @Override
     public Deserializer<StudentEngagementState> deserializer() {
-        Map<String, Object> configs = new HashMap<>();
-        configs.put(JsonDeserializer.VALUE_DEFAULT_TYPE, StudentEngagementState.class.getName());
-        configs.put(JsonDeserializer.USE_TYPE_INFO_HEADERS, false);  // Ignore missing headers
-        configs.put(JsonDeserializer.TRUSTED_PACKAGES, "*");
-        JsonDeserializer<StudentEngagementState> deserializer = new JsonDeserializer<>(StudentEngagementState.class);
-        deserializer.configure(configs, false);  // false for value
-        return deserializer;
+        return new StudentEngagementStateDeserializer();
     }
 }
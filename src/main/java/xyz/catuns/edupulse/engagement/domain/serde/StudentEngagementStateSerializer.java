@@ -0,0 +1,143 @@
+package xyz.catuns.edupulse.engagement.domain.serde;
+
+import org.apache.kafka.common.serialization.Serializer;
+import xyz.catuns.edupulse.engagement.domain.model.HyperLogLog;
+import xyz.catuns.edupulse.engagement.domain.model.RecentTimestamps;
+import xyz.catuns.edupulse.engagement.domain.model.SkillStats;
+import xyz.catuns.edupulse.engagement.domain.model.StudentEngagementState;
+
+import static xyz.catuns.edupulse.engagement.domain.serde.StudentEngagementStateSerde.MAGIC;
+import static xyz.catuns.edupulse.engagement.domain.serde.StudentEngagementStateSerde.VERSION;
+
+public class StudentEngagementStateSerializer implements Serializer<StudentEngagementState> {
+
+    // Presence flags for nullable timestamps
+    static final int HAS_WINDOW_START = 1;
+    static final int HAS_WINDOW_END = 1 << 1;
+    static final int HAS_FIRST_EVENT = 1 << 2;
+    static final int HAS_LAST_EVENT = 1 << 3;
+
+    @Override
+    public byte[] serialize(String topic, StudentEngagementState state) {
+        if (state == null) {
+            return null;
+        }
+
+        BinaryWriter out = new BinaryWriter(estimateSize(state));
+        out.writeByte(MAGIC).writeByte(VERSION);
+
+        // Identity
+        out.writeString(state.getStudentId());
+        out.writeString(state.getSessionId());
+
+        // Nullable timestamps
+        int flags = 0;
+        if (state.getWindowStart() != null) flags |= HAS_WINDOW_START;
+        if (state.getWindowEnd() != null) flags |= HAS_WINDOW_END;
+        if (state.getFirstEventTimestamp() != null) flags |= HAS_FIRST_EVENT;
+        if (state.getLastEventTimestamp() != null) flags |= HAS_LAST_EVENT;
+        out.writeByte(flags);
+        if (state.getWindowStart() != null) out.writeZigZagLong(state.getWindowStart());
+        if (state.getWindowEnd() != null) out.writeZigZagLong(state.getWindowEnd());
+        if (state.getFirstEventTimestamp() != null) out.writeZigZagLong(state.getFirstEventTimestamp());
+        if (state.getLastEventTimestamp() != null) {
+            long base = state.getFirstEventTimestamp() != null ? state.getFirstEventTimestamp() : 0L;
+            out.writeZigZagLong(state.getLastEventTimestamp() - base);
+        }
+
+        // Quiz answer counters
+        out.writeVarInt(state.getTotalAnswers());
+        out.writeVarInt(state.getCorrectAnswers());
+        out.writeVarInt(state.getIncorrectAnswers());
+        out.writeVarInt(state.getTimedAnswers());
+        out.writeZigZagLong(state.getTotalTimeSpent());
+
+        // Session activity counters
+        out.writeVarInt(state.getNavigationEvents());
+        out.writeVarInt(state.getPauseEvents());
+        out.writeVarInt(state.getResumeEvents());
+        out.writeZigZagLong(state.getTotalDwellTime());
+
+        // Pattern detection and hints
+        out.writeVarInt(state.getConsecutiveIncorrect());
+        out.writeVarInt(state.getRapidSubmissions());
+        out.writeVarInt(state.getTotalHintsUsed());
+
+        // Recent answer timestamps (oldest first), delta encoded against the previous entry
+        RecentTimestamps recent = state.getRecentAnswerTimestamps();
+        out.writeVarInt(recent.capacity());
+        out.writeVarInt(recent.size());
+        long previous = 0L;
+        for (int i = 0; i < recent.size(); i++) {
+            long timestamp = recent.get(i);
+            out.writeZigZagLong(timestamp - previous);
+            previous = timestamp;
+        }
+
+        out.writeVarInt(state.getPagesVisited().size());
+        for (String pageId : state.getPagesVisited()) {
+            out.writeString(pageId);
+        }
+        out.writeVarInt(state.getUntrackedPageVisits());
+
+        // Skills in ascending id order, ids delta encoded against the previous entry
+        SkillStats skills = state.getSkills();
+        out.writeVarInt(skills.size());
+        int previousId = 0;
+        for (int i = 0; i < skills.size(); i++) {
+            out.writeVarInt(skills.idAt(i) - previousId);
+            previousId = skills.idAt(i);
+            out.writeVarInt(skills.attemptsAt(i));
+            out.writeVarInt(skills.correctAt(i));
+            out.writeVarInt(skills.timedAt(i));
+            out.writeZigZagLong(skills.timeSpentMsAt(i));
+        }
+        out.writeVarInt(state.getUntrackedSkillAttempts());
+
+        out.writeVarInt(state.getDetectedPatterns());
+
+        writePageSketch(out, state.getPageSketch());
+
+        return out.toByteArray();
+    }
+
+    /**
+     * Precision (0 without a sketch), the non-zero register count, then either
+     * {@code (index delta, rank)} pairs when at most half the registers are set, or all registers
+     */
+    private static void writePageSketch(BinaryWriter out, HyperLogLog sketch) {
+        if (sketch == null) {
+            out.writeByte(0);
+            return;
+        }
+        out.writeByte(sketch.precision());
+        int nonZero = sketch.nonZeroRegisters();
+        out.writeVarInt(nonZero);
+        if (isSparse(nonZero, sketch.size())) {
+            int previous = 0;
+            for (int i = 0; i < sketch.size(); i++) {
+                if (sketch.register(i) != 0) {
+                    out.writeVarInt(i - previous);
+                    out.writeByte(sketch.register(i));
+                    previous = i;
+                }
+            }
+        } else {
+            for (int i = 0; i < sketch.size(); i++) {
+                out.writeByte(sketch.register(i));
+            }
+        }
+    }
+
+    static boolean isSparse(int nonZeroRegisters, int registers) {
+        return nonZeroRegisters * 2 <= registers;
+    }
+
+    private static int estimateSize(StudentEngagementState state) {
+        return 64
+                + state.getRecentAnswerTimestamps().size() * 3
+                + state.getPagesVisited().size() * 16
+                + state.getSkills().size() * 12
+                + (state.getPageSketch() != null ? state.getPageSketch().size() : 0);
+    }
+}
@@ -0,0 +1,74 @@
+package xyz.catuns.edupulse.engagement.domain.serde;
+
+import io.confluent.kafka.serializers.KafkaAvroDeserializer;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.common.serialization.Serde;
+import org.apache.kafka.common.serialization.Serializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+
+import java.util.Map;
+
+/**
+ * Key serde for co-partitioned input topics: reads an Avro record key and exposes only
+ * its student id field, so source streams are keyed by student without a {@code selectKey}
+ * (and therefore without a repartition topic). The serializer writes the plain string.
+ */
+public class StudentIdKeySerde implements Serde<String> {
+
+    private final Map<String, ?> schemaConfig;
+    private final String studentKeyField;
+
+    public StudentIdKeySerde(Map<String, ?> schemaConfig, String studentKeyField) {
+        this.schemaConfig = schemaConfig;
+        this.studentKeyField = studentKeyField;
+    }
+
+    @Override
+    public Serializer<String> serializer() {
+        return new StringSerializer();
+    }
+
+    @Override
+    public Deserializer<String> deserializer() {
+        KafkaAvroDeserializer avroDeserializer = new KafkaAvroDeserializer();
+        avroDeserializer.configure(schemaConfig, true);
+        return new StudentIdKeyDeserializer(avroDeserializer, studentKeyField);
+    }
+
+    static class StudentIdKeyDeserializer implements Deserializer<String> {
+
+        private final KafkaAvroDeserializer avroDeserializer;
+        private final String studentKeyField;
+
+        StudentIdKeyDeserializer(KafkaAvroDeserializer avroDeserializer, String studentKeyField) {
+            this.avroDeserializer = avroDeserializer;
+            this.studentKeyField = studentKeyField;
+        }
+
+        @Override
+        public String deserialize(String topic, byte[] data) {
+            if (data == null) {
+                return null;
+            }
+            Object key = avroDeserializer.deserialize(topic, data);
+            if (!(key instanceof GenericRecord record)) {
+                throw new SerializationException("Expected an Avro record key on " + topic + " but got " + key);
+            }
+            Schema.Field field = record.getSchema().getField(studentKeyField);
+            if (field == null) {
+                throw new SerializationException("Key schema " + record.getSchema().getFullName()
+                        + " on " + topic + " has no field '" + studentKeyField + "'");
+            }
+            Object studentId = record.get(field.pos());
+            return studentId != null ? studentId.toString() : null;
+        }
+
+        @Override
+        public void close() {
+            avroDeserializer.close();
+        }
+    }
+}
@@ -1,19 +1,40 @@
 package xyz.catuns.edupulse.engagement.exception;
 
+import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.streams.errors.DeserializationExceptionHandler;
 import org.apache.kafka.streams.errors.ErrorHandlerContext;
+import xyz.catuns.edupulse.engagement.service.quarantine.QuarantinePublisher;
 
 import java.util.Map;
 
+/**
+ * Skips records that cannot be deserialized after handing them to the {@link QuarantinePublisher}
+ * passed in the streams config under {@link #PUBLISHER_CONFIG} (see KafkaConfig). Without one,
+ * e.g. with quarantine disabled, each skipped record is logged.
+ */
+@Slf4j
 public class DefaultDeserializationExceptionHandler implements DeserializationExceptionHandler {
 
+    public static final String PUBLISHER_CONFIG = "engagement.quarantine.publisher";
+
+    private QuarantinePublisher publisher;
+
     @Override
     public DeserializationHandlerResponse handle(ErrorHandlerContext context, ConsumerRecord<byte[], byte[]> record, Exception exception) {
+        if (publisher != null) {
+            publisher.quarantine(record, String.valueOf(context.taskId()), exception);
+        } else {
+            log.warn("Skipping undeserializable record: topic={}, partition={}, offset={}",
+                    record.topic(), record.partition(), record.offset(), exception);
+        }
         return DeserializationHandlerResponse.CONTINUE;
     }
 
     @Override
     public void configure(Map<String, ?> map) {
+        if (map.get(PUBLISHER_CONFIG) instanceof QuarantinePublisher quarantinePublisher) {
+            this.publisher = quarantinePublisher;
+        }
     }
 }
@@ -6,21 +6,33 @@ import xyz.catuns.edupulse.common.messaging.events.EventEnvelope;
 import xyz.catuns.edupulse.common.messaging.events.engagement.EngagementScore;
 import xyz.catuns.edupulse.common.messaging.events.engagement.EngagementTrend;
 import xyz.catuns.edupulse.common.messaging.events.engagement.ScoreComponents;
-import xyz.catuns.edupulse.engagement.config.properties.ScoringProperties;
 import xyz.catuns.edupulse.engagement.domain.mapper.EventEnvelopeMapper;
+import xyz.catuns.edupulse.engagement.domain.model.ScoreHistory;
 import xyz.catuns.edupulse.engagement.domain.model.StudentEngagementState;
+import xyz.catuns.edupulse.engagement.service.pattern.PatternDetector;
+import xyz.catuns.edupulse.engagement.service.plan.ScoringPlan;
+import xyz.catuns.edupulse.engagement.service.plan.ScoringPlanRegistry;
 
 @Service
 @RequiredArgsConstructor
 public class EngagementScoringService {
 
-    private final ScoringProperties config;
+    private final ScoringPlanRegistry plans;
     private final EventEnvelopeMapper mapper;
 
     public EngagementScore calculate(StudentEngagementState aggregate) {
+        return calculate(aggregate, null);
+    }
+
+    /**
+     * @param history summary of the student's previous windows, or null when unknown
+     */
+    public EngagementScore calculate(StudentEngagementState aggregate, ScoreHistory history) {
+        // One snapshot per score, even if the plan is swapped meanwhile
+        ScoringPlan plan = plans.current();
         double accuracyScore = calculateAccuracyScore(aggregate);
-        double dwellScore = calculateDwellScore(aggregate);
-        double pacingScore = calculatePacingScore(aggregate);
+        double dwellScore = calculateDwellScore(plan, aggregate);
+        double pacingScore = calculatePacingScore(plan, aggregate);
 
         // Build score components
         ScoreComponents components = ScoreComponents.newBuilder()
@@ -31,19 +43,19 @@ public class EngagementScoringService {
                 .build();
 
         // Calculate weighted composite score
-        double compositeScore = calculateCompositeScore(accuracyScore, dwellScore, pacingScore);
+        double compositeScore = calculateCompositeScore(plan, accuracyScore, dwellScore, pacingScore);
 
         // Apply pattern-based penalties
-        double finalScore = applyPatternPenalties(compositeScore, aggregate);
+        double finalScore = compositeScore * plan.penaltyFor(PatternDetector.patternsOf(plan, aggregate));
 
         // Clamp to [0.0, 1.0]
         finalScore = Math.max(0.0, Math.min(1.0, finalScore));
 
         // Determine trend
-        EngagementTrend trend = determineTrend(finalScore, aggregate);
+        EngagementTrend trend = determineTrend(plan, finalScore, aggregate, history);
 
         // Check alert threshold
-        boolean alertCrossed = finalScore < config.getThresholds().getAlert();
+        boolean alertCrossed = finalScore < plan.alertThreshold();
 
         // Build EventEnvelope
         EventEnvelope envelope = mapper.envelopeBuilder()
@@ -63,23 +75,44 @@ public class EngagementScoringService {
                 .build();
     }
 
-    private EngagementTrend determineTrend(double score, StudentEngagementState aggregate) {
-        if (score < config.getThresholds().getAlert()) {
+    /**
+     * Behavioral patterns of the window under the plan in effect, as a {@link
+     * xyz.catuns.edupulse.engagement.domain.model.BehavioralPattern} mask
+     */
+    public int patternsOf(StudentEngagementState aggregate) {
+        return PatternDetector.patternsOf(plans.current(), aggregate);
+    }
+
+    private EngagementTrend determineTrend(ScoringPlan plan, double score, StudentEngagementState aggregate,
+                                           ScoreHistory history) {
+        if (score < plan.alertThreshold()) {
             return EngagementTrend.CRITICAL;
         }
 
         // Declining - warning zone
-        if (score < config.getThresholds().getYellow()) {
+        if (score < plan.yellowThreshold()) {
             return EngagementTrend.DECLINING;
         }
 
-        // For RISING vs STABLE, we'd need historical context
-        // For now, use heuristics based on current window
+        // Compare against previous windows once enough history exists
+        ScoringPlan.TrendRules trend = plan.trend();
+        if (history != null && history.getWindowCount() >= trend.minWindows()) {
+            double signal = (score - history.getEwmaScore()) + history.getEwmaSlope();
+            if (signal >= trend.minDelta()) {
+                return EngagementTrend.RISING;
+            }
+            if (signal <= -trend.minDelta()) {
+                return EngagementTrend.DECLINING;
+            }
+            return EngagementTrend.STABLE;
+        }
+
+        // Without history, use heuristics based on current window
 
         // Good performance indicators
         boolean goodAccuracy = aggregate.getCorrectnessRate() > 0.7;
-        boolean healthyPace = aggregate.getAverageTimeSpent() >= config.getThresholds().getTime().getRushingMs()
-                && aggregate.getAverageTimeSpent() <= config.getThresholds().getTime().getStrugglingMs();
+        boolean healthyPace = aggregate.getAverageTimeSpent() >= plan.rushingMs()
+                && aggregate.getAverageTimeSpent() <= plan.strugglingMs();
 
         if (goodAccuracy && healthyPace && score >= 0.8) {
             return EngagementTrend.RISING;
@@ -88,47 +121,15 @@ public class EngagementScoringService {
         return EngagementTrend.STABLE;
     }
 
-    private double applyPatternPenalties(double baseScore, StudentEngagementState aggregate) {
-        double adjustedScore = baseScore;
-
-        // Rapid incorrect submissions penalty
-//        if (aggregate.hasRapidIncorrectPattern()) {
-//            adjustedScore *= config.getRapidIncorrectPenalty();
-//            log.debug("Applied rapid incorrect penalty: {} -> {}", baseScore, adjustedScore);
-//        }
-
-        // Struggling penalty
-//        if (aggregate.isStrugglingPattern()) {
-//            adjustedScore *= config.getStrugglingPenalty();
-//            log.debug("Applied struggling penalty: {} -> {}", baseScore, adjustedScore);
-//        }
-
-        // Excessive hints penalty
-//        if (aggregate.getTotalAnswers() > 0) {
-//            double avgHints = (double) aggregate.getTotalHintsUsed() / aggregate.getTotalAnswers();
-//            if (avgHints >= config.getExcessiveHintsThreshold()) {
-//                adjustedScore *= config.getHintPenaltyFactor();
-//                log.debug("Applied excessive hints penalty: {} -> {}", baseScore, adjustedScore);
-//            }
-//        }
-
-        return adjustedScore;
-    }
-
-    private double calculatePacingScore(StudentEngagementState aggregate) {
+    private double calculatePacingScore(ScoringPlan plan, StudentEngagementState aggregate) {
         if (aggregate.getTotalAnswers() == 0) {
             return 1.0;  // Neutral if no data
         }
 
         double questionsPerMinute = aggregate.getQuestionsPerMinute();
-        double idealPace = config.getThresholds().getPacing().getExpectedQuestionsPerMinute();
-        double tolerance = config.getThresholds().getPacing().getTolerancePercent();
-
-        double lowerBound = idealPace * (1 - tolerance);
-        double upperBound = idealPace * (1 + tolerance);
 
         // Within tolerance
-        if (questionsPerMinute >= lowerBound && questionsPerMinute <= upperBound) {
+        if (questionsPerMinute >= plan.paceLower() && questionsPerMinute <= plan.paceUpper()) {
             return 1.0;
         }
 
@@ -136,7 +137,7 @@ public class EngagementScoringService {
         return 0.7;
     }
 
-    private double calculateDwellScore(StudentEngagementState aggregate) {
+    private double calculateDwellScore(ScoringPlan plan, StudentEngagementState aggregate) {
         if (aggregate.getTotalAnswers() == 0) {
             return 1.0;  // Neutral if no quiz data
         }
@@ -144,12 +145,12 @@ public class EngagementScoringService {
         double avgTimeSpent = aggregate.getAverageTimeSpent();
 
         // Too long (struggling)
-        if (avgTimeSpent > config.getThresholds().getTime().getStrugglingMs()) {
+        if (avgTimeSpent > plan.strugglingMs()) {
             return 0.3;
         }
 
         // Too fast (rushing)
-        if (avgTimeSpent < config.getThresholds().getTime().getRushingMs()) {
+        if (avgTimeSpent < plan.rushingMs()) {
             return 0.5;
         }
 
@@ -165,9 +166,10 @@ public class EngagementScoringService {
         return aggregate.getCorrectnessRate();
     }
 
-    private double calculateCompositeScore(double accuracyScore, double dwellScore, double pacingScore) {
-        return (accuracyScore * config.getWeights().getAccuracy()) +
-                (dwellScore * config.getWeights().getDwell()) +
-                (pacingScore * config.getWeights().getPacing());
+    private double calculateCompositeScore(ScoringPlan plan, double accuracyScore, double dwellScore,
+                                           double pacingScore) {
+        return (accuracyScore * plan.accuracyWeight()) +
+                (dwellScore * plan.dwellWeight()) +
+                (pacingScore * plan.pacingWeight());
     }
 }
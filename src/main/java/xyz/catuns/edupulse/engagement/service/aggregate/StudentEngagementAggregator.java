@@ -1,17 +1,36 @@
 package xyz.catuns.edupulse.engagement.service.aggregate;
 
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
+import xyz.catuns.edupulse.common.messaging.events.EventEnvelope;
+import xyz.catuns.edupulse.common.messaging.events.quiz.QuizAnswer;
+import xyz.catuns.edupulse.common.messaging.events.session.SessionEvent;
+import xyz.catuns.edupulse.common.messaging.events.session.SessionEventType;
+import xyz.catuns.edupulse.engagement.config.properties.ScoringProperties;
 import xyz.catuns.edupulse.engagement.domain.events.EnrichedEvent;
+import xyz.catuns.edupulse.engagement.domain.model.BehavioralPattern;
 import xyz.catuns.edupulse.engagement.domain.model.StudentEngagementState;
+import xyz.catuns.edupulse.engagement.service.metrics.EngagementMetrics;
+import xyz.catuns.edupulse.engagement.service.pattern.PatternDetector;
 
 /**
- * Aggregates quiz answers and session events into student engagement state
+ * Aggregates quiz answers and session events into student engagement state,
+ * evaluating behavioral pattern rules in the same pass.
+ * <p>
+ * Events arrive either as {@link EnrichedEvent}s (after the repartition hop), dispatched on their
+ * {@link xyz.catuns.edupulse.engagement.domain.events.EventKind}, or as the input Avro records
+ * when the topology aggregates them directly; both update the state from primitive values.
  */
 @Component
 @Slf4j
+@RequiredArgsConstructor
 public class StudentEngagementAggregator {
 
+    private final ScoringProperties config;
+    private final PatternDetector patternDetector;
+    private final EngagementMetrics metrics;
+
     /**
      * Aggregate incoming event into student engagement state
      *
@@ -25,27 +44,129 @@ public class StudentEngagementAggregator {
             EnrichedEvent event,
             StudentEngagementState state
     ) {
+        long timestamp = event.getTimestamp().toEpochMilli();
+        switch (event.getKind()) {
+            case QUIZ_ANSWER -> onQuizAnswer(studentId, state, event.getSessionId(), timestamp,
+                    Boolean.TRUE.equals(event.getIsCorrect()),
+                    event.getTimeSpentMs() != null ? event.getTimeSpentMs() : StudentEngagementState.NO_VALUE,
+                    event.getHintsUsed() != null ? event.getHintsUsed() : 0,
+                    event.getSkillTag());
+            case SESSION -> onSessionEvent(studentId, state, event.getSessionId(), timestamp,
+                    event.getSessionEventType(),
+                    event.getPageId(),
+                    event.getDwellTimeMs() != null ? event.getDwellTimeMs() : StudentEngagementState.NO_VALUE);
+        }
+        return state;
+    }
 
-        // Initialize state if empty
-        if (state.getStudentId() == null) {
-            state.setStudentId(studentId);
-            state.setSessionId(event.getSessionId());
+    /**
+     * Aggregate a quiz answer read straight from the input record, without an {@link EnrichedEvent}
+     */
+    public StudentEngagementState aggregateQuizAnswer(String studentId, QuizAnswer answer, StudentEngagementState state) {
+        EventEnvelope envelope = answer.getEnvelope();
+        Long timeSpentMs = answer.getTimeSpentMs();
+        var contextualData = answer.getContextualData();
+        Integer hintsUsed = contextualData != null ? contextualData.getHintsUsed() : null;
+        onQuizAnswer(studentId, state, envelope.getSessionId(), envelope.getTimestamp().toEpochMilli(),
+                Boolean.TRUE.equals(answer.getIsCorrect()),
+                timeSpentMs != null ? timeSpentMs : StudentEngagementState.NO_VALUE,
+                hintsUsed != null ? hintsUsed : 0,
+                answer.getSkillTag());
+        return state;
+    }
+
+    /**
+     * Aggregate a session event read straight from the input record, without an {@link EnrichedEvent}
+     */
+    public StudentEngagementState aggregateSessionEvent(String studentId, SessionEvent event, StudentEngagementState state) {
+        EventEnvelope envelope = event.getEnvelope();
+        Long dwellTimeMs = event.getDwellTimeMs();
+        onSessionEvent(studentId, state, envelope.getSessionId(), envelope.getTimestamp().toEpochMilli(),
+                event.getEventType(),
+                event.getPageId(),
+                dwellTimeMs != null ? dwellTimeMs : StudentEngagementState.NO_VALUE);
+        return state;
+    }
+
+    private void onQuizAnswer(String studentId, StudentEngagementState state, String sessionId, long timestamp,
+                              boolean isCorrect, long timeSpentMs, int hintsUsed, String skillTag) {
+        prepare(studentId, sessionId, state);
+        // Detect patterns against the updated counters; rate-based ones are not recorded in the
+        // state, only counted when this answer starts them
+        Long previousEventAt = state.getLastEventTimestamp();
+        Long previousAnswerAt = state.getRecentAnswerTimestamps().isEmpty()
+                ? null
+                : state.getRecentAnswerTimestamps().last();
+        int ratePatternsBefore = patternDetector.ratePatterns(state);
+        state.addQuizAnswer(timestamp, isCorrect, timeSpentMs, hintsUsed, skillTag,
+                patternDetector.rapidSubmissionMs());
+        int detected = patternDetector.onQuizAnswer(state, timestamp, isCorrect, previousAnswerAt, previousEventAt)
+                | (patternDetector.ratePatterns(state) & ~ratePatternsBefore);
+        if (detected != 0) {
+            onPatternsDetected(state, detected);
         }
 
-        // Process based on event type
-        if ("quiz.answered".equals(event.getEventType())) {
-            state.addQuizAnswer(event);
-        } else if (event.getEventType().startsWith("session.")) {
-            state.addSessionEvent(event);
+        log.debug("Aggregated quiz answer: studentId={}, totalAnswers={}",
+                state.getStudentId(),
+                state.getTotalAnswers()
+        );
+    }
+
+    private void onSessionEvent(String studentId, StudentEngagementState state, String sessionId, long timestamp,
+                                SessionEventType type, String pageId, long dwellTimeMs) {
+        prepare(studentId, sessionId, state);
+        Long previousEventAt = state.getLastEventTimestamp();
+        state.addSessionEvent(type, timestamp, pageId, dwellTimeMs);
+        int detected = patternDetector.onSessionEvent(state, timestamp, previousEventAt);
+        if (detected != 0) {
+            onPatternsDetected(state, detected);
         }
 
-        log.debug("Aggregated event: studentId={}, type={}, navigationEvents={}",
+        log.debug("Aggregated session event: studentId={}, type={}, navigationEvents={}",
                 state.getStudentId(),
-                event.getEventType(),
+                type,
                 state.getNavigationEvents()
         );
+    }
 
-        return state;
+    private void prepare(String studentId, String sessionId, StudentEngagementState state) {
+        // Initialize state if empty
+        if (state.getStudentId() == null) {
+            state.setStudentId(studentId);
+            state.setSessionId(sessionId);
+        }
+        // Also converts exact state written before APPROXIMATE mode was enabled
+        if (config.getPages().getMode() == ScoringProperties.PageTrackingMode.APPROXIMATE
+                && state.getPageSketch() == null) {
+            state.trackPagesApproximately(config.getPages().getSketchPrecision());
+        }
     }
 
+    private void onPatternsDetected(StudentEngagementState state, int detected) {
+        for (BehavioralPattern pattern : BehavioralPattern.fromMask(detected)) {
+            metrics.recordPattern(pattern);
+            log.debug("Pattern detected: studentId={}, pattern={}", state.getStudentId(), pattern);
+        }
+    }
+
+    /**
+     * Merge two session aggregates when an event bridges the inactivity gap between them.
+     * <p>
+     * Kafka Streams merges each overlapping session into a fresh, empty aggregate before
+     * applying the event, so the common case (an event extending a single session) returns
+     * the existing state as-is instead of copying it. Only genuinely separate sessions pay
+     * for {@link StudentEngagementState#mergeFrom}, folding the later into the earlier.
+     */
+    public StudentEngagementState merge(StudentEngagementState one, StudentEngagementState two) {
+        if (one.getFirstEventTimestamp() == null) {
+            return two;
+        }
+        if (two.getFirstEventTimestamp() == null) {
+            return one;
+        }
+        StudentEngagementState earlier = one.getFirstEventTimestamp() <= two.getFirstEventTimestamp() ? one : two;
+        StudentEngagementState later = earlier == one ? two : one;
+        earlier.mergeFrom(later, patternDetector.rapidSubmissionMs());
+        return earlier;
+    }
 }
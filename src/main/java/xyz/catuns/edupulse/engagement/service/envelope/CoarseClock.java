@@ -0,0 +1,52 @@
+package xyz.catuns.edupulse.engagement.service.envelope;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Clock that returns a shared {@link Instant} refreshed by a background daemon thread.
+ * <p>
+ * Reading it is a volatile load with no allocation, at the cost of lagging the system clock
+ * by up to the resolution (plus scheduling jitter). All stream threads read the same instance.
+ */
+public final class CoarseClock implements EnvelopeClock, AutoCloseable {
+
+    private final ScheduledExecutorService ticker;
+    private volatile Instant now;
+
+    public CoarseClock(Duration resolution) {
+        long resolutionMs = Math.max(1L, resolution.toMillis());
+        this.now = Instant.ofEpochMilli(System.currentTimeMillis());
+        this.ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "envelope-coarse-clock");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleAtFixedRate(this::tick, resolutionMs, resolutionMs, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Instant now() {
+        return now;
+    }
+
+    @Override
+    public long millis() {
+        return now.toEpochMilli();
+    }
+
+    private void tick() {
+        long millis = System.currentTimeMillis();
+        if (millis != now.toEpochMilli()) {
+            now = Instant.ofEpochMilli(millis);
+        }
+    }
+
+    @Override
+    public void close() {
+        ticker.shutdownNow();
+    }
+}
@@ -0,0 +1,36 @@
+package xyz.catuns.edupulse.engagement.service.envelope;
+
+import java.time.Instant;
+
+/**
+ * Source of envelope timestamps. Envelope timestamps are {@code timestamp-millis}, so anything
+ * finer than a millisecond is dropped on serialization anyway
+ */
+public interface EnvelopeClock {
+
+    Instant now();
+
+    long millis();
+
+    static EnvelopeClock system() {
+        return SystemClock.INSTANCE;
+    }
+
+    final class SystemClock implements EnvelopeClock {
+
+        private static final SystemClock INSTANCE = new SystemClock();
+
+        private SystemClock() {
+        }
+
+        @Override
+        public Instant now() {
+            return Instant.now();
+        }
+
+        @Override
+        public long millis() {
+            return System.currentTimeMillis();
+        }
+    }
+}
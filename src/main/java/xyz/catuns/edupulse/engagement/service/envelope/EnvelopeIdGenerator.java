@@ -0,0 +1,20 @@
+package xyz.catuns.edupulse.engagement.service.envelope;
+
+import java.util.UUID;
+
+/**
+ * Generates the {@code id} of the envelopes of emitted events
+ */
+@FunctionalInterface
+public interface EnvelopeIdGenerator {
+
+    String nextId();
+
+    /**
+     * Random v4 UUIDs. Every call draws from the JVM-wide {@code SecureRandom}, which stream
+     * threads contend on
+     */
+    static EnvelopeIdGenerator randomUuid() {
+        return () -> UUID.randomUUID().toString();
+    }
+}
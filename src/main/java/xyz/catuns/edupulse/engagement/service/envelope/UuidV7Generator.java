@@ -0,0 +1,37 @@
+package xyz.catuns.edupulse.engagement.service.envelope;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Time-ordered UUIDv7 ids (RFC 9562): 48 bits of Unix epoch milliseconds followed by 74 random bits.
+ * <p>
+ * Random bits come from {@link ThreadLocalRandom}, so stream threads never contend on a shared
+ * generator. The ids are unique, not unguessable, which is all an envelope id needs. Ids sort by
+ * creation millisecond; ids created within the same millisecond are unordered.
+ */
+public final class UuidV7Generator implements EnvelopeIdGenerator {
+
+    private static final long VERSION = 0x7000L;
+    private static final long VARIANT = 0x8000_0000_0000_0000L;
+    private static final long RAND_A_MASK = 0x0FFFL;
+    private static final long RAND_B_MASK = 0x3FFF_FFFF_FFFF_FFFFL;
+
+    private final EnvelopeClock clock;
+
+    public UuidV7Generator(EnvelopeClock clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public String nextId() {
+        return next().toString();
+    }
+
+    public UUID next() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long mostSigBits = (clock.millis() << 16) | VERSION | (random.nextInt() & RAND_A_MASK);
+        long leastSigBits = VARIANT | (random.nextLong() & RAND_B_MASK);
+        return new UUID(mostSigBits, leastSigBits);
+    }
+}
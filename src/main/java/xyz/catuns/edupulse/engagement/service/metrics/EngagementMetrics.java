@@ -0,0 +1,163 @@
+package xyz.catuns.edupulse.engagement.service.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import xyz.catuns.edupulse.common.messaging.events.engagement.EngagementScore;
+import xyz.catuns.edupulse.engagement.domain.dto.EngagementAlert;
+import xyz.catuns.edupulse.engagement.domain.dto.LateEvent;
+import xyz.catuns.edupulse.engagement.domain.events.EventKind;
+import xyz.catuns.edupulse.engagement.domain.model.BehavioralPattern;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custom engagement metrics, exposed through actuator / Prometheus.
+ * <p>
+ * All meters are registered up front and histograms use a small fixed set of buckets,
+ * so recording on the hot path is an enum-indexed counter / bucket increment without
+ * registry lookups or tag allocation.
+ */
+@Component
+public class EngagementMetrics {
+
+    /**
+     * Stream processing stages timed per record
+     */
+    public enum Stage {
+        AGGREGATE,
+        SCORE
+    }
+
+    private static final double[] SCORE_BUCKETS = {0.1, 0.2, 0.3, 0.4, 0.5, 0.6, 0.7, 0.8, 0.9, 1.0};
+
+    private final DistributionSummary scoreDistribution;
+    private final Counter scoresProduced;
+    private final Counter alertsTriggered;
+    private final Map<EngagementAlert.Type, Counter> alertTransitions = new EnumMap<>(EngagementAlert.Type.class);
+    private final Map<BehavioralPattern, Counter> patternsDetected = new EnumMap<>(BehavioralPattern.class);
+    private final Map<Stage, Timer> stageTimers = new EnumMap<>(Stage.class);
+    private final Timer eventToEmitLatency;
+    private final Map<EventKind, Timer> eventLateness = new EnumMap<>(EventKind.class);
+    private final Map<EventKind, Map<LateEvent.Action, Counter>> lateEvents = new EnumMap<>(EventKind.class);
+
+    public EngagementMetrics(MeterRegistry registry) {
+        this.scoreDistribution = DistributionSummary.builder("engagement.score")
+                .description("Distribution of computed engagement scores")
+                .serviceLevelObjectives(SCORE_BUCKETS)
+                .register(registry);
+
+        this.scoresProduced = Counter.builder("engagement.scores.produced")
+                .description("Engagement scores published")
+                .register(registry);
+
+        this.alertsTriggered = Counter.builder("engagement.alerts.triggered")
+                .description("Scores below the alert threshold")
+                .register(registry);
+
+        for (EngagementAlert.Type type : EngagementAlert.Type.values()) {
+            alertTransitions.put(type, Counter.builder("engagement.alerts.transitions")
+                    .description("Debounced alert transitions published")
+                    .tag("type", type.name().toLowerCase())
+                    .register(registry));
+        }
+
+        for (BehavioralPattern pattern : BehavioralPattern.values()) {
+            if (pattern == BehavioralPattern.NORMAL) {
+                continue;
+            }
+            patternsDetected.put(pattern, Counter.builder("engagement.patterns.detected")
+                    .description("Behavioral patterns newly detected in an aggregation window")
+                    .tag("pattern", pattern.getCode())
+                    .register(registry));
+        }
+
+        for (Stage stage : Stage.values()) {
+            stageTimers.put(stage, Timer.builder("engagement.stage.duration")
+                    .description("Processing time per record and stage")
+                    .tag("stage", stage.name().toLowerCase())
+                    .register(registry));
+        }
+
+        this.eventToEmitLatency = Timer.builder("engagement.event.to.emit.latency")
+                .description("Time from the newest event's envelope timestamp to score emission")
+                .serviceLevelObjectives(
+                        Duration.ofMillis(100), Duration.ofMillis(500), Duration.ofSeconds(1),
+                        Duration.ofSeconds(5), Duration.ofSeconds(15), Duration.ofSeconds(30),
+                        Duration.ofSeconds(60), Duration.ofSeconds(120))
+                .register(registry);
+
+        for (EventKind source : EventKind.values()) {
+            String tag = source.name().toLowerCase();
+            eventLateness.put(source, Timer.builder("engagement.event.lateness")
+                    .description("Stream time minus event time on arrival, per source topic")
+                    .tag("source", tag)
+                    .serviceLevelObjectives(
+                            Duration.ofMillis(100), Duration.ofMillis(500), Duration.ofSeconds(1),
+                            Duration.ofSeconds(2), Duration.ofSeconds(5), Duration.ofSeconds(10),
+                            Duration.ofSeconds(30), Duration.ofMinutes(1), Duration.ofMinutes(5))
+                    .register(registry));
+            Map<LateEvent.Action, Counter> counters = new EnumMap<>(LateEvent.Action.class);
+            for (LateEvent.Action action : LateEvent.Action.values()) {
+                counters.put(action, Counter.builder("engagement.events.late")
+                        .description("Events that arrived after their window closed")
+                        .tag("source", tag)
+                        .tag("action", action.name().toLowerCase())
+                        .register(registry));
+            }
+            lateEvents.put(source, counters);
+        }
+    }
+
+    public void recordScore(EngagementScore score) {
+        scoresProduced.increment();
+        scoreDistribution.record(score.getScore());
+        if (Boolean.TRUE.equals(score.getAlertThresholdCrossed())) {
+            alertsTriggered.increment();
+        }
+    }
+
+    public void recordAlertTransition(EngagementAlert.Type type) {
+        alertTransitions.get(type).increment();
+    }
+
+    public void recordPattern(BehavioralPattern pattern) {
+        Counter counter = patternsDetected.get(pattern);
+        if (counter != null) {
+            counter.increment();
+        }
+    }
+
+    /**
+     * @param startNanos value of {@link System#nanoTime()} taken when the stage started
+     */
+    public void recordStage(Stage stage, long startNanos) {
+        stageTimers.get(stage).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @param lastEventTimestamp epoch millis of the newest event folded into the scored window
+     */
+    public void recordEventToEmitLatency(Long lastEventTimestamp) {
+        if (lastEventTimestamp == null) {
+            return;
+        }
+        long latencyMs = System.currentTimeMillis() - lastEventTimestamp;
+        if (latencyMs >= 0) {
+            eventToEmitLatency.record(latencyMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public void recordLateness(EventKind source, long latenessMs) {
+        eventLateness.get(source).record(latenessMs, TimeUnit.MILLISECONDS);
+    }
+
+    public void recordLateEvent(EventKind source, LateEvent.Action action) {
+        lateEvents.get(source).get(action).increment();
+    }
+}
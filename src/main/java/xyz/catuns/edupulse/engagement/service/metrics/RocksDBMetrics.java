@@ -0,0 +1,47 @@
+package xyz.catuns.edupulse.engagement.service.metrics;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.rocksdb.Cache;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import xyz.catuns.edupulse.engagement.config.BoundedMemoryRocksDBConfigSetter;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Gauges for the instance-wide RocksDB memory pool installed by
+ * {@link BoundedMemoryRocksDBConfigSetter}. Per-store RocksDB properties (memtable size,
+ * table reader memory, ...) are already published by Kafka Streams under {@code kafka.stream.state.*}.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.rocksdb", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class RocksDBMetrics implements MeterBinder {
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("rocksdb.shared.cache.capacity", this,
+                        metrics -> (double) BoundedMemoryRocksDBConfigSetter.sharedCacheCapacity())
+                .description("Off-heap memory cap shared by all RocksDB stores")
+                .baseUnit("bytes")
+                .register(registry);
+
+        Gauge.builder("rocksdb.shared.cache.usage", this, cacheValue(Cache::getUsage))
+                .description("Memory used by the shared block cache, including memtables charged to it")
+                .baseUnit("bytes")
+                .register(registry);
+
+        Gauge.builder("rocksdb.shared.cache.pinned.usage", this, cacheValue(Cache::getPinnedUsage))
+                .description("Memory pinned in the shared block cache (index / filter blocks, entries in use)")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    private static ToDoubleFunction<RocksDBMetrics> cacheValue(ToDoubleFunction<Cache> value) {
+        return metrics -> {
+            Cache cache = BoundedMemoryRocksDBConfigSetter.sharedCache();
+            return cache != null ? value.applyAsDouble(cache) : Double.NaN;
+        };
+    }
+}
@@ -0,0 +1,126 @@
+package xyz.catuns.edupulse.engagement.service.pattern;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import xyz.catuns.edupulse.engagement.config.properties.ScoringProperties;
+import xyz.catuns.edupulse.engagement.domain.model.StudentEngagementState;
+import xyz.catuns.edupulse.engagement.service.plan.ScoringPlan;
+import xyz.catuns.edupulse.engagement.service.plan.ScoringPlanRegistry;
+
+import static xyz.catuns.edupulse.engagement.domain.model.BehavioralPattern.*;
+
+/**
+ * Evaluates the behavioral pattern rules of {@link ScoringProperties.Threshold.PatternThreshold}.
+ * <p>
+ * Every rule is a constant-time check against the running counters of the state (plus the
+ * previous event / answer timestamps), so scoring never rescans state. The event-local rules
+ * (rapid incorrect submissions, idle gaps, pause count) are evaluated once per aggregated event
+ * and stay set for the window, so merging panes or sessions is a bitwise OR of their
+ * {@link StudentEngagementState#getDetectedPatterns() detected patterns}. The rate-based rules
+ * (struggling, rushing, hints per answer) describe the window's averages, which later answers
+ * can bring back within bounds; they are evaluated from the counters whenever the window is
+ * scored, see {@link #patternsOf}. The rules are read from the {@link ScoringPlan} in effect,
+ * so a runtime change applies to the next event or score.
+ */
+@Component
+@RequiredArgsConstructor
+public class PatternDetector {
+
+    /**
+     * Patterns evaluated from the window's averages when it is scored instead of being recorded
+     */
+    public static final int RATE_BASED =
+            STRUGGLING_EXTENSIVELY.mask() | RUSHING_THROUGH.mask() | EXCESSIVE_HINTS.mask();
+
+    private final ScoringPlanRegistry plans;
+
+    /**
+     * Every pattern of a window under {@code plan}: the recorded event-local patterns plus the
+     * rate-based patterns its counters satisfy now
+     */
+    public static int patternsOf(ScoringPlan plan, StudentEngagementState state) {
+        // Rate-based bits recorded by earlier versions are ignored
+        return (state.getDetectedPatterns() & ~RATE_BASED) | ratePatterns(plan, state);
+    }
+
+    /**
+     * Rate-based patterns satisfied by the current counters of {@code state}
+     */
+    public static int ratePatterns(ScoringPlan plan, StudentEngagementState state) {
+        ScoringPlan.PatternRules rules = plan.patterns();
+        if (state.getTotalAnswers() < rules.minAnswers()) {
+            return 0;
+        }
+        int patterns = 0;
+        if (state.getTimedAnswers() > 0) {
+            double averageTime = state.getAverageTimeSpent();
+            if (averageTime > plan.strugglingMs()
+                    && state.getCorrectnessRate() < rules.strugglingMaxCorrectness()) {
+                patterns |= STRUGGLING_EXTENSIVELY.mask();
+            }
+            if (averageTime < plan.rushingMs()) {
+                patterns |= RUSHING_THROUGH.mask();
+            }
+        }
+        if ((double) state.getTotalHintsUsed() / state.getTotalAnswers() >= rules.excessiveHintsPerAnswer()) {
+            patterns |= EXCESSIVE_HINTS.mask();
+        }
+        return patterns;
+    }
+
+    /**
+     * Answers closer than this to the previous one count as rapid submissions
+     */
+    public long rapidSubmissionMs() {
+        return plans.current().patterns().rapidSubmissionMs();
+    }
+
+    /**
+     * Rate-based patterns the state satisfies under the plan in effect; call before and after
+     * an answer to see which ones it started
+     */
+    public int ratePatterns(StudentEngagementState state) {
+        return ratePatterns(plans.current(), state);
+    }
+
+    /**
+     * @param previousAnswerAt  timestamp of the previous answer in the window, or null
+     * @param previousEventAt   timestamp of the newest event before this one, or null
+     * @return event-local patterns newly detected by this answer
+     */
+    public int onQuizAnswer(StudentEngagementState state, long timestamp, boolean isCorrect,
+                            Long previousAnswerAt, Long previousEventAt) {
+        ScoringPlan.PatternRules rules = plans.current().patterns();
+        int detected = idleGap(rules, timestamp, previousEventAt);
+
+        if (!isCorrect
+                && previousAnswerAt != null
+                && timestamp - previousAnswerAt < rules.rapidSubmissionMs()
+                && state.getConsecutiveIncorrect() >= rules.consecutiveIncorrect()) {
+            detected |= RAPID_INCORRECT_SUBMISSIONS.mask();
+        }
+
+        return state.markDetected(detected);
+    }
+
+    /**
+     * @param previousEventAt timestamp of the newest event before this one, or null
+     * @return patterns newly detected by this session event
+     */
+    public int onSessionEvent(StudentEngagementState state, long timestamp, Long previousEventAt) {
+        ScoringPlan.PatternRules rules = plans.current().patterns();
+        int detected = idleGap(rules, timestamp, previousEventAt);
+
+        if (state.getPauseEvents() >= rules.frequentPauses()) {
+            detected |= FREQUENT_PAUSES.mask();
+        }
+
+        return state.markDetected(detected);
+    }
+
+    private static int idleGap(ScoringPlan.PatternRules rules, long timestamp, Long previousEventAt) {
+        return previousEventAt != null && timestamp - previousEventAt > rules.idleGapMs()
+                ? MINIMAL_ENGAGEMENT.mask()
+                : 0;
+    }
+}
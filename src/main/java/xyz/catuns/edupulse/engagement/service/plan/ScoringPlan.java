@@ -0,0 +1,266 @@
+package xyz.catuns.edupulse.engagement.service.plan;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import xyz.catuns.edupulse.engagement.config.properties.ScoringProperties;
+import xyz.catuns.edupulse.engagement.domain.model.BehavioralPattern;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Immutable, validated snapshot of the scoring parameters read by
+ * {@link xyz.catuns.edupulse.engagement.service.EngagementScoringService} on every score.
+ * <p>
+ * Compiled once per configuration version, so the hot path reads final fields of a single
+ * snapshot instead of walking nested {@link ScoringProperties} getters, and a score is never
+ * computed from a mix of two versions. Pattern penalties are flattened into an array indexed
+ * by pattern ordinal, i.e. by bit of the detected pattern mask. The pattern rules and trend
+ * settings are part of the plan too, so a new configuration also changes how patterns are
+ * detected and score history is folded and compared from then on.
+ *
+ * @param version    increases with every plan swapped in on this instance
+ * @param source     where the configuration came from, e.g. {@code properties} or {@code topic}
+ * @param paceLower  lowest questions per minute within tolerance of the expected pace
+ * @param paceUpper  highest questions per minute within tolerance of the expected pace
+ * @param patterns   rules of {@link xyz.catuns.edupulse.engagement.service.pattern.PatternDetector}
+ * @param trend      score history settings
+ */
+public record ScoringPlan(
+        long version,
+        String source,
+        double accuracyWeight,
+        double dwellWeight,
+        double pacingWeight,
+        double alertThreshold,
+        double yellowThreshold,
+        double greenThreshold,
+        long rushingMs,
+        long strugglingMs,
+        double paceLower,
+        double paceUpper,
+        double[] penalties,
+        PatternRules patterns,
+        TrendRules trend
+) {
+
+    /**
+     * Tolerance of the weight sum, which is configured as floats
+     */
+    static final double WEIGHT_SUM_TOLERANCE = 1e-3;
+
+    private static final BehavioralPattern[] PATTERNS = BehavioralPattern.values();
+
+    /**
+     * Validate a configuration and compile it into a plan
+     *
+     * @throws IllegalArgumentException listing every invalid parameter
+     */
+    public static ScoringPlan compile(long version, String source,
+                                      ScoringProperties.Weight weights,
+                                      ScoringProperties.Threshold thresholds,
+                                      ScoringProperties.Trend trend) {
+        StringBuilder errors = new StringBuilder();
+        if (weights == null || thresholds == null || trend == null) {
+            throw new IllegalArgumentException("Invalid scoring configuration: "
+                    + (weights == null ? "weights" : thresholds == null ? "thresholds" : "trend") + " must not be null");
+        }
+
+        double accuracy = weights.getAccuracy();
+        double dwell = weights.getDwell();
+        double pacing = weights.getPacing();
+        double attention = weights.getAttention();
+        if (accuracy < 0 || dwell < 0 || pacing < 0 || attention < 0) {
+            errors.append("; weights must not be negative");
+        }
+        double sum = accuracy + dwell + pacing + attention;
+        if (Math.abs(sum - 1.0) > WEIGHT_SUM_TOLERANCE) {
+            errors.append("; weights must add up to 1.0 but add up to ").append(sum);
+        }
+
+        double alert = thresholds.getAlert();
+        double yellow = thresholds.getYellow();
+        double green = thresholds.getGreen();
+        if (!(0.0 <= alert && alert <= yellow && yellow <= green && green <= 1.0)) {
+            errors.append("; thresholds must satisfy 0 <= alert <= yellow <= green <= 1");
+        }
+
+        ScoringProperties.Threshold.TimeThreshold time = thresholds.getTime();
+        if (time == null) {
+            errors.append("; thresholds.time must not be null");
+        } else if (time.getRushingMs() < 0 || time.getRushingMs() > time.getStrugglingMs()) {
+            errors.append("; time thresholds must satisfy 0 <= rushing-ms <= struggling-ms");
+        }
+
+        ScoringProperties.Threshold.PacingThreshold pace = thresholds.getPacing();
+        double expectedPace = 0;
+        double tolerance = 0;
+        if (pace == null) {
+            errors.append("; thresholds.pacing must not be null");
+        } else {
+            expectedPace = pace.getExpectedQuestionsPerMinute();
+            tolerance = pace.getTolerancePercent();
+            if (expectedPace <= 0) {
+                errors.append("; pacing.expected-questions-per-minute must be positive");
+            }
+            if (tolerance < 0 || tolerance >= 1) {
+                errors.append("; pacing.tolerance-percent must be within [0, 1)");
+            }
+        }
+
+        double[] penalties = new double[PATTERNS.length];
+        Arrays.fill(penalties, 1.0);
+        ScoringProperties.Threshold.PatternThreshold pattern = thresholds.getPattern();
+        if (pattern == null) {
+            errors.append("; thresholds.pattern must not be null");
+        } else {
+            validatePatternRules(pattern, errors);
+            Map<BehavioralPattern, Double> configured = pattern.getPenalties();
+            if (configured != null) {
+                configured.forEach((detected, penalty) -> {
+                    if (penalty == null || penalty < 0 || penalty > 1) {
+                        errors.append("; penalty of ").append(detected).append(" must be within [0, 1]");
+                    } else {
+                        penalties[detected.ordinal()] = penalty;
+                    }
+                });
+            }
+        }
+
+        validateTrend(trend, errors);
+
+        if (!errors.isEmpty()) {
+            throw new IllegalArgumentException("Invalid scoring configuration: " + errors.substring(2));
+        }
+        return new ScoringPlan(version, source, accuracy, dwell, pacing, alert, yellow, green,
+                time.getRushingMs(), time.getStrugglingMs(),
+                expectedPace * (1 - tolerance), expectedPace * (1 + tolerance), penalties,
+                PatternRules.of(pattern), TrendRules.of(trend));
+    }
+
+    private static void validateTrend(ScoringProperties.Trend trend, StringBuilder errors) {
+        if (!(trend.getEwmaAlpha() > 0 && trend.getEwmaAlpha() <= 1)) {
+            errors.append("; trend.ewma-alpha must be within (0, 1]");
+        }
+        if (trend.getMinDelta() < 0) {
+            errors.append("; trend.min-delta must not be negative");
+        }
+        if (trend.getMinWindows() < 1) {
+            errors.append("; trend.min-windows must be at least 1");
+        }
+        if (trend.getHistorySize() < 1) {
+            errors.append("; trend.history-size must be at least 1");
+        }
+    }
+
+    private static void validatePatternRules(ScoringProperties.Threshold.PatternThreshold pattern,
+                                             StringBuilder errors) {
+        if (pattern.getRapidSubmissionMs() < 0) {
+            errors.append("; pattern.rapid-submission-ms must not be negative");
+        }
+        if (pattern.getConsecutiveIncorrect() < 0) {
+            errors.append("; pattern.consecutive-incorrect must not be negative");
+        }
+        if (pattern.getMinAnswers() < 1) {
+            errors.append("; pattern.min-answers must be at least 1");
+        }
+        if (pattern.getStrugglingMaxCorrectness() < 0 || pattern.getStrugglingMaxCorrectness() > 1) {
+            errors.append("; pattern.struggling-max-correctness must be within [0, 1]");
+        }
+        if (pattern.getExcessiveHintsPerAnswer() < 0) {
+            errors.append("; pattern.excessive-hints-per-answer must not be negative");
+        }
+        if (pattern.getFrequentPauses() < 1) {
+            errors.append("; pattern.frequent-pauses must be at least 1");
+        }
+        if (pattern.getIdleGapMs() <= 0) {
+            errors.append("; pattern.idle-gap-ms must be positive");
+        }
+    }
+
+    public ScoringPlan {
+        penalties = penalties.clone();
+    }
+
+    /**
+     * Product of the penalties of every pattern in {@code detectedPatterns}
+     */
+    public double penaltyFor(int detectedPatterns) {
+        double penalty = 1.0;
+        int remaining = detectedPatterns;
+        while (remaining != 0) {
+            int ordinal = Integer.numberOfTrailingZeros(remaining);
+            if (ordinal < penalties.length) {
+                penalty *= penalties[ordinal];
+            }
+            remaining &= remaining - 1;
+        }
+        return penalty;
+    }
+
+    /**
+     * Penalties by pattern, for display
+     */
+    @JsonProperty("penalties")
+    public Map<BehavioralPattern, Double> penaltiesByPattern() {
+        Map<BehavioralPattern, Double> byPattern = new EnumMap<>(BehavioralPattern.class);
+        for (BehavioralPattern pattern : PATTERNS) {
+            if (penalties[pattern.ordinal()] != 1.0) {
+                byPattern.put(pattern, penalties[pattern.ordinal()]);
+            }
+        }
+        return Collections.unmodifiableMap(byPattern);
+    }
+
+    @JsonIgnore
+    @Override
+    public double[] penalties() {
+        return penalties.clone();
+    }
+
+    @Override
+    public String toString() {
+        return "ScoringPlan{version=" + version + ", source=" + source
+                + ", weights=[accuracy=" + accuracyWeight + ", dwell=" + dwellWeight + ", pacing=" + pacingWeight + "]"
+                + ", thresholds=[alert=" + alertThreshold + ", yellow=" + yellowThreshold + ", green=" + greenThreshold + "]"
+                + ", timeMs=[" + rushingMs + ", " + strugglingMs + "]"
+                + ", pace=[" + paceLower + ", " + paceUpper + "]"
+                + ", penalties=" + penaltiesByPattern()
+                + ", patterns=" + patterns
+                + ", trend=" + trend + '}';
+    }
+
+    /**
+     * Behavioral pattern rules, see {@link ScoringProperties.Threshold.PatternThreshold}
+     */
+    public record PatternRules(
+            long rapidSubmissionMs,
+            int consecutiveIncorrect,
+            int minAnswers,
+            double strugglingMaxCorrectness,
+            double excessiveHintsPerAnswer,
+            int frequentPauses,
+            long idleGapMs
+    ) {
+
+        static PatternRules of(ScoringProperties.Threshold.PatternThreshold pattern) {
+            return new PatternRules(pattern.getRapidSubmissionMs(), pattern.getConsecutiveIncorrect(),
+                    pattern.getMinAnswers(), pattern.getStrugglingMaxCorrectness(),
+                    pattern.getExcessiveHintsPerAnswer(), pattern.getFrequentPauses(), pattern.getIdleGapMs());
+        }
+    }
+
+    /**
+     * Score history settings, see {@link ScoringProperties.Trend}. The history size applies to
+     * histories created from then on; existing ones keep their capacity.
+     */
+    public record TrendRules(double ewmaAlpha, double minDelta, int minWindows, int historySize) {
+
+        static TrendRules of(ScoringProperties.Trend trend) {
+            return new TrendRules(trend.getEwmaAlpha(), trend.getMinDelta(), trend.getMinWindows(),
+                    trend.getHistorySize());
+        }
+    }
+}
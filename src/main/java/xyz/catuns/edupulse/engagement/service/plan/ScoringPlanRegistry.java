@@ -0,0 +1,88 @@
+package xyz.catuns.edupulse.engagement.service.plan;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import xyz.catuns.edupulse.engagement.config.properties.ScoringProperties;
+import xyz.catuns.edupulse.engagement.domain.dto.ScoringConfig;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holds the {@link ScoringPlan} in effect on this instance.
+ * <p>
+ * Starts from {@code app.scoring} and is replaced at runtime from the scoring config topic,
+ * without restarting Kafka Streams. A configuration is compiled and validated before the swap,
+ * so an invalid one leaves the current plan in place, and readers always see one complete plan.
+ */
+@Component
+@Slf4j
+public class ScoringPlanRegistry {
+
+    public static final String SOURCE_PROPERTIES = "properties";
+
+    private final ScoringProperties properties;
+    private final AtomicReference<ScoringPlan> current;
+    // The sections the current plan was compiled from
+    private volatile ScoringConfig currentConfig;
+
+    public ScoringPlanRegistry(ScoringProperties properties) {
+        this.properties = properties;
+        this.current = new AtomicReference<>(
+                ScoringPlan.compile(1, SOURCE_PROPERTIES,
+                        properties.getWeights(), properties.getThresholds(), properties.getTrend()));
+        this.currentConfig = new ScoringConfig(properties.getWeights(), properties.getThresholds(), properties.getTrend());
+    }
+
+    /**
+     * The plan to score with; read it once per score
+     */
+    public ScoringPlan current() {
+        return current.get();
+    }
+
+    /**
+     * Compile and swap in a configuration; sections it leaves out keep their {@code app.scoring} value
+     *
+     * @param config null to go back to {@code app.scoring}
+     * @throws IllegalArgumentException if the configuration is invalid; the current plan is kept
+     */
+    public synchronized ScoringPlan apply(String source, ScoringConfig config) {
+        ScoringProperties.Weight weights = weightsOf(config);
+        ScoringProperties.Threshold thresholds = thresholdsOf(config);
+        ScoringProperties.Trend trend = trendOf(config);
+        ScoringPlan plan = ScoringPlan.compile(current.get().version() + 1,
+                config == null ? SOURCE_PROPERTIES : source, weights, thresholds, trend);
+        currentConfig = new ScoringConfig(weights, thresholds, trend);
+        current.set(plan);
+        log.info("Scoring plan v{} in effect (source={}): {}", plan.version(), plan.source(), plan);
+        return plan;
+    }
+
+    /**
+     * The sections the current plan was compiled from; shared, so copy before changing them
+     */
+    public ScoringConfig currentConfig() {
+        return currentConfig;
+    }
+
+    /**
+     * Validate a configuration without applying it
+     *
+     * @throws IllegalArgumentException if the configuration is invalid
+     */
+    public void validate(ScoringConfig config) {
+        ScoringPlan.compile(0, "validation", weightsOf(config), thresholdsOf(config), trendOf(config));
+    }
+
+    private ScoringProperties.Weight weightsOf(ScoringConfig config) {
+        return config != null && config.getWeights() != null ? config.getWeights() : properties.getWeights();
+    }
+
+    private ScoringProperties.Threshold thresholdsOf(ScoringConfig config) {
+        return config != null && config.getThresholds() != null ? config.getThresholds() : properties.getThresholds();
+    }
+
+    private ScoringProperties.Trend trendOf(ScoringConfig config) {
+        return config != null && config.getTrend() != null ? config.getTrend() : properties.getTrend();
+    }
+}
@@ -0,0 +1,226 @@
+package xyz.catuns.edupulse.engagement.service.quarantine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import xyz.catuns.edupulse.engagement.config.properties.QuarantineProperties;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publishes records that could not be deserialized to the quarantine topic: the raw key and
+ * value bytes, the original headers and timestamp, plus {@code quarantine.*} error headers.
+ * <p>
+ * Stream threads only offer the record to a bounded queue; a dedicated sender thread hands
+ * it to this publisher's own producer, so a slow or unavailable broker never blocks stream
+ * processing and quarantine traffic never competes with the topology's producer. When the
+ * queue is full, or the publisher is closed, the record is dropped and counted. Warnings are
+ * rate limited to one per {@code log-interval}, reporting how many were suppressed since the
+ * previous one.
+ */
+@Slf4j
+public class QuarantinePublisher implements AutoCloseable {
+
+    public static final String SOURCE_TOPIC_HEADER = "quarantine.source.topic";
+    public static final String SOURCE_PARTITION_HEADER = "quarantine.source.partition";
+    public static final String SOURCE_OFFSET_HEADER = "quarantine.source.offset";
+    public static final String TASK_HEADER = "quarantine.task";
+    public static final String EXCEPTION_HEADER = "quarantine.exception";
+    public static final String CAUSE_HEADER = "quarantine.exception.cause";
+    public static final String MESSAGE_HEADER = "quarantine.exception.message";
+
+    private static final int MAX_MESSAGE_LENGTH = 1024;
+
+    private final String topic;
+    private final Producer<byte[], byte[]> producer;
+    private final BlockingQueue<ProducerRecord<byte[], byte[]>> buffer;
+    private final Duration closeTimeout;
+    private final Thread sender;
+    private volatile boolean running = true;
+
+    private final MeterRegistry registry;
+    private final Counter published;
+    private final Counter bufferFull;
+    private final Counter sendFailed;
+    private final Counter closed;
+
+    private final long logIntervalNanos;
+    private final AtomicLong nextLogAt;
+    private final AtomicLong suppressed = new AtomicLong();
+
+    public QuarantinePublisher(String topic,
+                               Producer<byte[], byte[]> producer,
+                               QuarantineProperties config,
+                               MeterRegistry registry) {
+        this.topic = topic;
+        this.producer = producer;
+        this.buffer = new ArrayBlockingQueue<>(config.getBufferCapacity());
+        this.closeTimeout = config.getCloseTimeout();
+        this.registry = registry;
+        this.logIntervalNanos = config.getLogInterval().toNanos();
+        this.nextLogAt = new AtomicLong(System.nanoTime());
+
+        this.published = Counter.builder("engagement.quarantine.published")
+                .description("Quarantined records acknowledged by the quarantine topic")
+                .register(registry);
+        this.bufferFull = dropped(registry, "buffer_full");
+        this.sendFailed = dropped(registry, "send_failed");
+        this.closed = dropped(registry, "closed");
+        Gauge.builder("engagement.quarantine.buffer.size", buffer, BlockingQueue::size)
+                .description("Quarantined records waiting for the quarantine producer")
+                .register(registry);
+
+        this.sender = new Thread(this::send, "quarantine-sender");
+        sender.setDaemon(true);
+        sender.start();
+    }
+
+    /**
+     * Queue a record for the quarantine topic without blocking
+     *
+     * @param taskId stream task that failed to deserialize the record
+     * @return false when the record was dropped because the buffer is full or the publisher closed
+     */
+    public boolean quarantine(ConsumerRecord<byte[], byte[]> record, String taskId, Exception exception) {
+        // Poison records are rare: meters are looked up per record rather than registered up front
+        Counter.builder("engagement.quarantine.records")
+                .description("Records that failed deserialization, by source topic and exception type")
+                .tag("topic", record.topic())
+                .tag("exception", exception.getClass().getSimpleName())
+                .register(registry)
+                .increment();
+
+        if (!running) {
+            closed.increment();
+            warn("Quarantine publisher closed, dropped undeserializable record: topic={}, partition={}, offset={}, exception={}",
+                    record.topic(), record.partition(), record.offset(), exception.toString());
+            return false;
+        }
+        boolean queued = buffer.offer(new ProducerRecord<>(
+                topic, null, record.timestamp(), record.key(), record.value(), headers(record, taskId, exception)));
+        if (queued) {
+            warn("Quarantined undeserializable record: topic={}, partition={}, offset={}, exception={}",
+                    record.topic(), record.partition(), record.offset(), exception.toString());
+        } else {
+            bufferFull.increment();
+            warn("Quarantine buffer full, dropped undeserializable record: topic={}, partition={}, offset={}, exception={}",
+                    record.topic(), record.partition(), record.offset(), exception.toString());
+        }
+        return queued;
+    }
+
+    private void send() {
+        while (running || !buffer.isEmpty()) {
+            ProducerRecord<byte[], byte[]> record;
+            try {
+                record = buffer.poll(100, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (record == null) {
+                continue;
+            }
+            try {
+                producer.send(record, (metadata, exception) -> {
+                    if (exception == null) {
+                        published.increment();
+                    } else {
+                        onSendFailed(exception);
+                    }
+                });
+            } catch (RuntimeException e) {
+                onSendFailed(e);
+            }
+        }
+    }
+
+    private void onSendFailed(Exception exception) {
+        sendFailed.increment();
+        warn("Failed to publish quarantined record to {}: {}", topic, exception.toString());
+    }
+
+    /**
+     * Log a warning unless one was logged within the log interval
+     */
+    private void warn(String format, Object... args) {
+        long now = System.nanoTime();
+        long next = nextLogAt.get();
+        if (now - next < 0 || !nextLogAt.compareAndSet(next, now + logIntervalNanos)) {
+            suppressed.incrementAndGet();
+            return;
+        }
+        long skipped = suppressed.getAndSet(0);
+        if (skipped > 0) {
+            log.warn("{} quarantine warnings suppressed in the last {}", skipped, Duration.ofNanos(logIntervalNanos));
+        }
+        log.warn(format, args);
+    }
+
+    private static Headers headers(ConsumerRecord<byte[], byte[]> record, String taskId, Exception exception) {
+        Headers headers = new RecordHeaders();
+        for (Header header : record.headers()) {
+            headers.add(header);
+        }
+        add(headers, SOURCE_TOPIC_HEADER, record.topic());
+        add(headers, SOURCE_PARTITION_HEADER, Integer.toString(record.partition()));
+        add(headers, SOURCE_OFFSET_HEADER, Long.toString(record.offset()));
+        add(headers, TASK_HEADER, taskId);
+        add(headers, EXCEPTION_HEADER, exception.getClass().getName());
+        if (exception.getCause() != null) {
+            add(headers, CAUSE_HEADER, exception.getCause().getClass().getName());
+        }
+        String message = exception.getMessage();
+        if (message != null) {
+            add(headers, MESSAGE_HEADER, message.length() > MAX_MESSAGE_LENGTH
+                    ? message.substring(0, MAX_MESSAGE_LENGTH)
+                    : message);
+        }
+        return headers;
+    }
+
+    private static void add(Headers headers, String key, String value) {
+        if (value != null) {
+            headers.add(key, value.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static Counter dropped(MeterRegistry registry, String reason) {
+        return Counter.builder("engagement.quarantine.dropped")
+                .description("Quarantined records that never reached the quarantine topic")
+                .tag("reason", reason)
+                .register(registry);
+    }
+
+    /**
+     * Stop accepting records, give buffered ones {@code close-timeout} to be sent, then close the producer
+     */
+    @Override
+    public void close() {
+        running = false;
+        try {
+            sender.join(closeTimeout.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        sender.interrupt();
+        producer.close(closeTimeout);
+        int remaining = buffer.size();
+        if (remaining > 0) {
+            closed.increment(remaining);
+            log.warn("Dropped {} quarantined records on shutdown", remaining);
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package xyz.catuns.edupulse.engagement.service.query;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.serialization.Serializer;
+import org.apache.kafka.streams.KeyValue;
+import org.apache.kafka.streams.kstream.Windowed;
+import org.apache.kafka.streams.state.HostInfo;
+import org.apache.kafka.streams.state.KeyValueIterator;
+import org.apache.kafka.streams.state.QueryableStoreTypes;
+import org.apache.kafka.streams.state.ReadOnlyKeyValueStore;
+import org.apache.kafka.streams.state.ReadOnlySessionStore;
+import org.apache.kafka.streams.state.ReadOnlyWindowStore;
+import org.apache.kafka.streams.state.WindowStoreIterator;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.kafka.streams.KafkaStreamsInteractiveQueryService;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClient;
+import xyz.catuns.edupulse.common.messaging.events.engagement.EngagementScore;
+import xyz.catuns.edupulse.engagement.config.properties.QueryProperties;
+import xyz.catuns.edupulse.engagement.config.properties.ScoringProperties;
+import xyz.catuns.edupulse.engagement.domain.dto.StudentEngagementView;
+import xyz.catuns.edupulse.engagement.domain.model.ScoreHistory;
+import xyz.catuns.edupulse.engagement.domain.model.StudentEngagementState;
+import xyz.catuns.edupulse.engagement.service.EngagementScoringService;
+import xyz.catuns.edupulse.engagement.service.plan.ScoringPlanRegistry;
+import xyz.catuns.edupulse.engagement.topology.SessionKeys;
+import xyz.catuns.edupulse.engagement.topology.StudentPartitioner;
+import xyz.catuns.edupulse.engagement.topology.WindowPanes;
+import xyz.catuns.edupulse.engagement.topology.processor.EngagementScoreProcessor;
+
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * Serves live per-student engagement state from the Kafka Streams state stores.
+ * <p>
+ * Keys owned by this instance are read from the local {@code engagement-aggregate-store};
+ * keys owned by another instance are forwarded to it using the streams metadata, looked up
+ * with the key bytes {@link StudentPartitioner} derives from the student id. Served
+ * views are cached for {@code app.query.cache-ttl} so polling dashboards do not hit RocksDB
+ * on every request.
+ */
+@Service
+@Slf4j
+public class EngagementQueryService {
+
+    public static final String AGGREGATE_STORE = "engagement-aggregate-store";
+    public static final String SESSION_STORE = "engagement-session-store";
+    public static final String STUDENTS_PATH = "/api/v1/engagement/students";
+
+    private final KafkaStreamsInteractiveQueryService queryService;
+    private final EngagementScoringService scoringService;
+    private final ScoringPlanRegistry plans;
+    private final ScoringProperties scoringProperties;
+    private final Serializer<String> keySerializer;  // hashes to the student's input partition
+    private final WindowPanes panes;  // null for SESSION windows
+    private final String stateStore;
+    private final Cache<String, StudentEngagementView> cache;
+    private final RestClient restClient;
+
+    public EngagementQueryService(KafkaStreamsInteractiveQueryService queryService,
+                                  EngagementScoringService scoringService,
+                                  ScoringPlanRegistry plans,
+                                  ScoringProperties scoringProperties,
+                                  QueryProperties queryProperties,
+                                  StudentPartitioner studentPartitioner,
+                                  RestClient.Builder restClientBuilder) {
+        this.queryService = queryService;
+        this.scoringService = scoringService;
+        this.plans = plans;
+        this.scoringProperties = scoringProperties;
+        this.keySerializer = studentPartitioner.keySerializer();
+        boolean sessionWindows = scoringProperties.getWindow().getType() == ScoringProperties.WindowType.SESSION;
+        this.panes = sessionWindows ? null : WindowPanes.of(scoringProperties.getWindow());
+        this.stateStore = sessionWindows ? SESSION_STORE : AGGREGATE_STORE;
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(queryProperties.getCacheTtl())
+                .maximumSize(queryProperties.getCacheMaxSize())
+                .build();
+
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(queryProperties.getRemoteTimeout());
+        requestFactory.setReadTimeout(queryProperties.getRemoteTimeout());
+        this.restClient = restClientBuilder.requestFactory(requestFactory).build();
+    }
+
+    /**
+     * @param localOnly true for requests forwarded by another instance; never forwards again
+     */
+    public Optional<StudentEngagementView> findStudent(String studentId, boolean localOnly) {
+        StudentEngagementView cached = cache.getIfPresent(studentId);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        HostInfo owner = queryService.getKafkaStreamsApplicationHostInfo(stateStore, studentId, keySerializer);
+        Optional<StudentEngagementView> view = localOnly || isLocal(owner)
+                ? findLocal(studentId)
+                : findRemote(owner, studentId);
+
+        view.ifPresent(found -> cache.put(studentId, found));
+        return view;
+    }
+
+    /**
+     * Resolves a batch of students with at most one forwarded request per owning instance
+     */
+    public List<StudentEngagementView> findStudents(Collection<String> studentIds, boolean localOnly) {
+        Map<String, StudentEngagementView> results = new LinkedHashMap<>(cache.getAllPresent(studentIds));
+
+        Map<HostInfo, List<String>> remoteByHost = new HashMap<>();
+        for (String studentId : studentIds) {
+            if (results.containsKey(studentId)) {
+                continue;
+            }
+            HostInfo owner = queryService.getKafkaStreamsApplicationHostInfo(stateStore, studentId, keySerializer);
+            if (localOnly || isLocal(owner)) {
+                findLocal(studentId).ifPresent(view -> results.put(studentId, view));
+            } else {
+                remoteByHost.computeIfAbsent(owner, host -> new ArrayList<>()).add(studentId);
+            }
+        }
+
+        remoteByHost.forEach((host, ids) -> findRemote(host, ids)
+                .forEach(view -> results.put(view.getStudentId(), view)));
+
+        results.forEach(cache::put);
+        return new ArrayList<>(results.values());
+    }
+
+    private Optional<StudentEngagementView> findLocal(String studentId) {
+        if (panes == null) {
+            return findLocalSession(studentId);
+        }
+
+        ReadOnlyWindowStore<String, StudentEngagementState> store =
+                queryService.retrieveQueryableStore(AGGREGATE_STORE, QueryableStoreTypes.windowStore());
+
+        // Newest pane first; retention is window size + grace so only a few panes exist per key
+        Instant to = Instant.now().plusSeconds(scoringProperties.getWindow().getDurationSeconds());
+        KeyValue<Long, StudentEngagementState> latest = null;
+        try (WindowStoreIterator<StudentEngagementState> windows = store.backwardFetch(studentId, Instant.EPOCH, to)) {
+            if (windows.hasNext()) {
+                latest = windows.next();
+            }
+        }
+        if (latest == null) {
+            return Optional.empty();
+        }
+
+        ReadOnlyKeyValueStore<String, ScoreHistory> historyStore = queryService.retrieveQueryableStore(
+                EngagementScoreProcessor.HISTORY_STORE, QueryableStoreTypes.keyValueStore());
+        ScoreHistory history = historyStore.get(studentId);
+
+        if (panes.isTumbling()) {
+            long windowStart = latest.key;
+            return Optional.of(toView(studentId, windowStart, windowStart + panes.windowSizeMs(), latest.value, history));
+        }
+
+        // Hopping / sliding: merge the panes of the window the newest pane reports under
+        long windowEnd = panes.windowEndFor(latest.key + panes.paneSizeMs());
+        long windowStart = panes.firstPaneStart(windowEnd);
+        long rapidSubmissionMs = plans.current().patterns().rapidSubmissionMs();
+        StudentEngagementState window = new StudentEngagementState();
+        try (WindowStoreIterator<StudentEngagementState> it = store.fetch(studentId,
+                Instant.ofEpochMilli(windowStart), Instant.ofEpochMilli(panes.lastPaneStart(windowEnd)))) {
+            it.forEachRemaining(pane -> window.mergeFrom(pane.value, rapidSubmissionMs));
+        }
+        return Optional.of(toView(studentId, windowStart, windowEnd, window, history));
+    }
+
+    /**
+     * Most recently active learning session of the student; sessions of a student share a key prefix
+     */
+    private Optional<StudentEngagementView> findLocalSession(String studentId) {
+        ReadOnlySessionStore<String, StudentEngagementState> store =
+                queryService.retrieveQueryableStore(SESSION_STORE, QueryableStoreTypes.sessionStore());
+
+        KeyValue<Windowed<String>, StudentEngagementState> latest = null;
+        try (KeyValueIterator<Windowed<String>, StudentEngagementState> sessions =
+                     store.fetch(SessionKeys.rangeFrom(studentId), SessionKeys.rangeTo(studentId))) {
+            while (sessions.hasNext()) {
+                KeyValue<Windowed<String>, StudentEngagementState> session = sessions.next();
+                if (latest == null || session.key.window().end() > latest.key.window().end()) {
+                    latest = session;
+                }
+            }
+        }
+        if (latest == null) {
+            return Optional.empty();
+        }
+
+        ReadOnlyKeyValueStore<String, ScoreHistory> historyStore = queryService.retrieveQueryableStore(
+                EngagementScoreProcessor.HISTORY_STORE, QueryableStoreTypes.keyValueStore());
+        return Optional.of(toView(studentId, latest.key.window().start(), latest.key.window().end(),
+                latest.value, historyStore.get(studentId)));
+    }
+
+    private Optional<StudentEngagementView> findRemote(HostInfo owner, String studentId) {
+        log.debug("Forwarding engagement query for student={} to {}:{}", studentId, owner.host(), owner.port());
+        return Optional.ofNullable(restClient.get()
+                .uri("http://{host}:{port}" + STUDENTS_PATH + "/{studentId}?local=true",
+                        owner.host(), owner.port(), studentId)
+                .retrieve()
+                .onStatus(status -> status.value() == 404, (request, response) -> {
+                })
+                .body(StudentEngagementView.class));
+    }
+
+    private List<StudentEngagementView> findRemote(HostInfo owner, List<String> studentIds) {
+        log.debug("Forwarding engagement batch query for {} students to {}:{}", studentIds.size(), owner.host(), owner.port());
+        List<StudentEngagementView> views = restClient.get()
+                .uri("http://{host}:{port}" + STUDENTS_PATH + "?local=true&ids={ids}",
+                        owner.host(), owner.port(), String.join(",", studentIds))
+                .retrieve()
+                .body(new ParameterizedTypeReference<>() {
+                });
+        return views != null ? views : List.of();
+    }
+
+    private boolean isLocal(HostInfo owner) {
+        return owner == null || owner.equals(queryService.getCurrentKafkaStreamsApplicationHostInfo());
+    }
+
+    private StudentEngagementView toView(String studentId, long windowStart, long windowEnd,
+                                         StudentEngagementState state, ScoreHistory history) {
+        EngagementScore score = scoringService.calculate(state, history);
+        HostInfo self = queryService.getCurrentKafkaStreamsApplicationHostInfo();
+
+        return StudentEngagementView.builder()
+                .studentId(studentId)
+                .sessionId(state.getSessionId())
+                .windowStart(windowStart)
+                .windowEnd(windowEnd)
+                .totalAnswers(state.getTotalAnswers())
+                .correctAnswers(state.getCorrectAnswers())
+                .correctnessRate(state.getCorrectnessRate())
+                .averageTimeSpentMs(state.getAverageTimeSpent())
+                .questionsPerMinute(state.getQuestionsPerMinute())
+                .navigationEvents(state.getNavigationEvents())
+                .pauseEvents(state.getPauseEvents())
+                .uniquePagesVisited(state.getUniquePagesVisited())
+                .totalHintsUsed(state.getTotalHintsUsed())
+                .lastEventTimestamp(state.getLastEventTimestamp())
+                .score(score.getScore())
+                .accuracyScore(score.getScoreComponents().getAccuracyScore())
+                .dwellScore(score.getScoreComponents().getDwellScore())
+                .pacingScore(score.getScoreComponents().getPacingScore())
+                .trend(score.getTrend().name())
+                .alertThresholdCrossed(score.getAlertThresholdCrossed())
+                .servedBy(self != null ? self.host() + ":" + self.port() : null)
+                .build();
+    }
+}
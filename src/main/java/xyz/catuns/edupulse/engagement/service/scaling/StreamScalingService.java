@@ -0,0 +1,146 @@
+package xyz.catuns.edupulse.engagement.service.scaling;
+
+import lombok.RequiredArgsConstructor;
+import org.apache.kafka.common.Metric;
+import org.apache.kafka.common.MetricName;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.streams.KafkaStreams;
+import org.apache.kafka.streams.TaskMetadata;
+import org.apache.kafka.streams.ThreadMetadata;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.config.StreamsBuilderFactoryBean;
+import org.springframework.stereotype.Service;
+import xyz.catuns.edupulse.engagement.config.properties.TopologyProperties;
+import xyz.catuns.edupulse.engagement.domain.dto.StreamScalingReport;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Reports how this instance's stream threads are sized, which tasks they run and how busy they
+ * are, read from the Kafka Streams thread metadata and client metrics, and the input partition
+ * count that load calls for (see {@link StreamThreadSizing#recommendedPartitions}).
+ */
+@Service
+@RequiredArgsConstructor
+public class StreamScalingService {
+
+    private static final String THREAD_METRICS_GROUP = "stream-thread-metrics";
+    private static final String FETCH_METRICS_GROUP = "consumer-fetch-manager-metrics";
+    private static final String CONSUMED_RATE = "records-consumed-rate";
+
+    private final StreamsBuilderFactoryBean streamsBuilderFactoryBean;
+    private final StreamThreadSizing sizing;
+    private final TopologyProperties topologyProperties;
+
+    @Value("${app.kafka.topics.answer}")
+    private String quizAnswersTopic;
+
+    @Value("${app.kafka.topics.session}")
+    private String sessionEventsTopic;
+
+    public StreamScalingReport report() {
+        StreamThreadSizing.Decision decision = sizing.decide();
+        double headroom = topologyProperties.getThreads().getHeadroom();
+        StreamScalingReport.StreamScalingReportBuilder report = StreamScalingReport.builder()
+                .threadMode(decision.mode().name())
+                .configuredThreads(decision.threads())
+                .availableProcessors(decision.availableProcessors())
+                .inputPartitions(decision.inputPartitions())
+                .inputPartitionsSource(decision.partitionsSource())
+                .headroom(headroom);
+
+        KafkaStreams streams = streamsBuilderFactoryBean.getKafkaStreams();
+        if (streams == null) {
+            return report
+                    .state("NOT_RUNNING")
+                    .threads(List.of())
+                    .recommendedPartitions(1)
+                    .build();
+        }
+
+        // Thread metrics by thread name, and the consumed rate of the input topics
+        Set<String> inputTopics = Set.of(
+                quizAnswersTopic, sessionEventsTopic,
+                // Fetch metrics tag topics with '.' replaced by '_'
+                quizAnswersTopic.replace('.', '_'), sessionEventsTopic.replace('.', '_'));
+        Map<String, Map<String, Double>> threadMetrics = new HashMap<>();
+        double inputEventRate = 0.0;
+        for (Metric metric : streams.metrics().values()) {
+            MetricName name = metric.metricName();
+            if (THREAD_METRICS_GROUP.equals(name.group()) && name.tags().containsKey("thread-id")) {
+                threadMetrics.computeIfAbsent(name.tags().get("thread-id"), thread -> new HashMap<>())
+                        .put(name.name(), value(metric));
+            } else if (FETCH_METRICS_GROUP.equals(name.group())
+                    && CONSUMED_RATE.equals(name.name())
+                    && inputTopics.contains(name.tags().get("topic"))) {
+                inputEventRate += value(metric);
+            }
+        }
+
+        List<StreamScalingReport.ThreadLoad> threads = new ArrayList<>();
+        Set<TopicPartition> localInputPartitions = new HashSet<>();
+        double busyThreads = 0.0;
+        double processRate = 0.0;
+        for (ThreadMetadata thread : streams.metadataForLocalThreads()) {
+            Map<String, Double> metrics = threadMetrics.getOrDefault(thread.threadName(), Map.of());
+            StreamScalingReport.ThreadLoad load = StreamScalingReport.ThreadLoad.builder()
+                    .name(thread.threadName())
+                    .state(thread.threadState())
+                    .activeTasks(tasks(thread.activeTasks()))
+                    .standbyTasks(tasks(thread.standbyTasks()))
+                    .processRate(metrics.getOrDefault("process-rate", 0.0))
+                    .processRatio(metrics.getOrDefault("process-ratio", 0.0))
+                    .pollRatio(metrics.getOrDefault("poll-ratio", 0.0))
+                    .commitRatio(metrics.getOrDefault("commit-ratio", 0.0))
+                    .build();
+            threads.add(load);
+            busyThreads += load.getProcessRatio();
+            processRate += load.getProcessRate();
+            for (TaskMetadata task : thread.activeTasks()) {
+                for (TopicPartition partition : task.topicPartitions()) {
+                    if (inputTopics.contains(partition.topic())) {
+                        localInputPartitions.add(partition);
+                    }
+                }
+            }
+        }
+        threads.sort(Comparator.comparing(StreamScalingReport.ThreadLoad::getName));
+
+        double localShare = StreamThreadSizing.localShare(localInputPartitions, decision.topicPartitions());
+        return report
+                .state(streams.state().name())
+                .localInputPartitions(localInputPartitions.size())
+                .localShare(localShare)
+                .threads(threads)
+                .inputEventRate(inputEventRate)
+                .estimatedTotalEventRate(localShare > 0.0 ? inputEventRate / localShare : inputEventRate)
+                .busyThreads(busyThreads)
+                .threadCapacity(busyThreads > 0.0 ? processRate / busyThreads : 0.0)
+                .recommendedPartitions(StreamThreadSizing.recommendedPartitions(busyThreads, localShare, headroom))
+                .build();
+    }
+
+    private static Map<String, List<String>> tasks(Set<TaskMetadata> tasks) {
+        Map<String, List<String>> byId = new TreeMap<>();
+        for (TaskMetadata task : tasks) {
+            byId.put(task.taskId().toString(), task.topicPartitions().stream()
+                    .map(TopicPartition::toString)
+                    .sorted()
+                    .toList());
+        }
+        return byId;
+    }
+
+    private static double value(Metric metric) {
+        return metric.metricValue() instanceof Number number && Double.isFinite(number.doubleValue())
+                ? number.doubleValue()
+                : 0.0;
+    }
+}
@@ -0,0 +1,154 @@
+package xyz.catuns.edupulse.engagement.service.scaling;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.admin.TopicDescription;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.stereotype.Component;
+import xyz.catuns.edupulse.engagement.config.properties.AppProperties;
+import xyz.catuns.edupulse.engagement.config.properties.TopologyProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Chooses {@code num.stream.threads} at startup from the input topic partitions and the cores
+ * available to the JVM (container CPU limits included).
+ * <p>
+ * A stream thread processes whole tasks, one per input partition and sub-topology; the
+ * aggregation has as many tasks as the larger input topic has partitions, so threads beyond
+ * that would mostly idle, and threads beyond the core count only contend for CPU.
+ * <p>
+ * With several threads, the serdes handed to the DSL are shared by every task on every thread,
+ * so they must not reuse buffers or other per-record state between calls.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StreamThreadSizing {
+
+    public static final String PARTITIONS_FROM_TOPICS = "topics";
+    public static final String PARTITIONS_FROM_PROPERTIES = "app.kafka.partitions";
+
+    private final TopologyProperties topologyProperties;
+    private final AppProperties appProperties;
+    private final KafkaAdmin kafkaAdmin;
+
+    @Value("${app.kafka.topics.answer}")
+    private String quizAnswersTopic;
+
+    @Value("${app.kafka.topics.session}")
+    private String sessionEventsTopic;
+
+    private Decision decision;
+
+    /**
+     * @param inputPartitions  partitions of the larger input topic
+     * @param topicPartitions  partitions of each input topic
+     * @param partitionsSource {@link #PARTITIONS_FROM_TOPICS}, or {@link #PARTITIONS_FROM_PROPERTIES}
+     *                         when the topics could not be described
+     */
+    public record Decision(
+            TopologyProperties.ThreadMode mode,
+            int threads,
+            int availableProcessors,
+            int inputPartitions,
+            Map<String, Integer> topicPartitions,
+            String partitionsSource
+    ) {
+    }
+
+    /**
+     * Sized once, when the streams config is built
+     */
+    public synchronized Decision decide() {
+        if (decision == null) {
+            decision = size();
+        }
+        return decision;
+    }
+
+    private Decision size() {
+        TopologyProperties.Threads config = topologyProperties.getThreads();
+        int availableProcessors = Runtime.getRuntime().availableProcessors();
+        Map<String, Integer> topicPartitions = new HashMap<>();
+        String partitionsSource;
+        try {
+            Map<String, TopicDescription> topics = kafkaAdmin.describeTopics(quizAnswersTopic, sessionEventsTopic);
+            topics.forEach((name, topic) -> topicPartitions.put(name, topic.partitions().size()));
+            partitionsSource = PARTITIONS_FROM_TOPICS;
+        } catch (RuntimeException e) {
+            topicPartitions.put(quizAnswersTopic, appProperties.getKafka().getPartitions());
+            topicPartitions.put(sessionEventsTopic, appProperties.getKafka().getPartitions());
+            partitionsSource = PARTITIONS_FROM_PROPERTIES;
+            log.warn("Cannot describe {} and {}, sizing stream threads for {}={}: {}",
+                    quizAnswersTopic, sessionEventsTopic, PARTITIONS_FROM_PROPERTIES,
+                    appProperties.getKafka().getPartitions(), e.toString());
+        }
+        int inputPartitions = topicPartitions.values().stream()
+                .mapToInt(Integer::intValue)
+                .max()
+                .orElse(1);
+
+        int threads = switch (config.getMode()) {
+            case AUTO -> autoThreads(availableProcessors, inputPartitions);
+            case FIXED -> Math.max(1, config.getCount());
+        };
+        log.info("Stream threads: {} ({}, {} available processors, {} input partitions from {})",
+                threads, config.getMode(), availableProcessors, inputPartitions, partitionsSource);
+        if (config.getMode() == TopologyProperties.ThreadMode.AUTO && inputPartitions < availableProcessors) {
+            log.info("Input topics have fewer partitions ({}) than available processors ({}); "
+                    + "more partitions would let this instance use more cores", inputPartitions, availableProcessors);
+        }
+        return new Decision(config.getMode(), threads, availableProcessors, inputPartitions,
+                Map.copyOf(topicPartitions), partitionsSource);
+    }
+
+    static int autoThreads(int availableProcessors, int inputPartitions) {
+        return Math.max(1, Math.min(availableProcessors, inputPartitions));
+    }
+
+    /**
+     * Fraction of the input this instance consumes: for each input topic, its partitions assigned
+     * here over all of its partitions, averaged over the topics. Partitions are told apart by
+     * topic, so partition 0 of both inputs counts once for each topic.
+     *
+     * @param localInputPartitions input topic partitions of this instance's active tasks
+     * @return 0 when nothing is assigned
+     */
+    static double localShare(Set<TopicPartition> localInputPartitions, Map<String, Integer> topicPartitions) {
+        double share = 0.0;
+        int topics = 0;
+        for (Map.Entry<String, Integer> topic : topicPartitions.entrySet()) {
+            if (topic.getValue() <= 0) {
+                continue;
+            }
+            long local = localInputPartitions.stream()
+                    .filter(partition -> partition.topic().equals(topic.getKey()))
+                    .count();
+            share += (double) local / topic.getValue();
+            topics++;
+        }
+        return topics > 0 ? share / topics : 0.0;
+    }
+
+    /**
+     * Partitions needed so the observed load fits with {@code headroom}, estimated from one instance.
+     * <p>
+     * A thread's process ratio is the fraction of time it spends processing, so the summed ratios
+     * are the number of fully busy threads the local load needs (the local record rate divided by
+     * the measured capacity of one thread). Assuming students are spread evenly over partitions,
+     * the whole input needs {@code 1 / localShare} times that, and each busy thread needs a
+     * partition of its own.
+     *
+     * @param busyThreads sum of the process ratios of the local stream threads
+     * @param localShare  see {@link #localShare}; 0 when unknown
+     */
+    static int recommendedPartitions(double busyThreads, double localShare, double headroom) {
+        double clusterBusyThreads = localShare > 0.0 ? busyThreads / localShare : busyThreads;
+        return Math.max(1, (int) Math.ceil(clusterBusyThreads * headroom));
+    }
+}
@@ -0,0 +1,57 @@
+package xyz.catuns.edupulse.engagement.service.skill;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import xyz.catuns.edupulse.engagement.domain.model.SkillStats;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Reverse mapping from {@link SkillStats#idOf(String) skill ids} to skill tags.
+ * <p>
+ * Encoding needs no lookup since ids are derived from the tag. Decoding happens when mastery
+ * is published, possibly on another instance than the one that saw the tag, so every tag this
+ * instance sees for the first time is published to the compacted skill dictionary topic,
+ * which all instances read back as the {@link #STORE} global store. This local map answers
+ * lookups for tags seen here and de-duplicates publishing.
+ */
+@Component
+@Slf4j
+public class SkillDictionary {
+
+    public static final String STORE = "skill-dictionary-store";
+
+    /**
+     * Upper bound on locally cached tags; tags beyond it are still encoded but not published
+     */
+    static final int MAX_CACHED_TAGS = 65_536;
+
+    private final ConcurrentMap<Integer, String> tags = new ConcurrentHashMap<>();
+
+    /**
+     * @return true the first time this instance sees {@code skillTag}, i.e. when the
+     *         entry should be published to the dictionary topic
+     */
+    public boolean register(String skillTag) {
+        int id = SkillStats.idOf(skillTag);
+        String known = tags.get(id);
+        if (known != null) {
+            if (!known.equals(skillTag)) {
+                log.warn("Skill id collision: id={} is shared by '{}' and '{}'", id, known, skillTag);
+            }
+            return false;
+        }
+        if (tags.size() >= MAX_CACHED_TAGS) {
+            return false;
+        }
+        return tags.putIfAbsent(id, skillTag) == null;
+    }
+
+    /**
+     * @return the tag of a skill id seen by this instance, or null
+     */
+    public String tagOf(int skillId) {
+        return tags.get(skillId);
+    }
+}
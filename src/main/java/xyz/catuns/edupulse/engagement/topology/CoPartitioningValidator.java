@@ -0,0 +1,75 @@
+package xyz.catuns.edupulse.engagement.topology;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.admin.TopicDescription;
+import org.apache.kafka.common.KafkaException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.stereotype.Component;
+import xyz.catuns.edupulse.engagement.config.properties.TopologyProperties;
+
+import java.util.Map;
+
+/**
+ * Fails startup when co-partitioned mode is enabled but the input topics cannot be
+ * aggregated without a repartition: both topics must exist and have the same number
+ * of partitions so partition N of each lands on the same stream task.
+ * <p>
+ * Producers must also use the same partitioner on the student id; that contract cannot
+ * be read from topic metadata and is documented in the README. {@link StudentPartitioner}
+ * assumes it when routing session keys and interactive queries.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CoPartitioningValidator {
+
+    private final TopologyProperties topologyProperties;
+    private final KafkaAdmin kafkaAdmin;
+
+    @Value("${app.kafka.topics.answer}")
+    private String quizAnswersTopic;
+
+    @Value("${app.kafka.topics.session}")
+    private String sessionEventsTopic;
+
+    @PostConstruct
+    void validate() {
+        if (!topologyProperties.getPartitioning().isCoPartitioned()) {
+            log.info("Co-partitioned mode disabled; input streams are repartitioned by studentId");
+            return;
+        }
+
+        Map<String, TopicDescription> topics;
+        try {
+            topics = kafkaAdmin.describeTopics(quizAnswersTopic, sessionEventsTopic);
+        } catch (KafkaException e) {
+            throw new IllegalStateException(String.format(
+                    "app.topology.partitioning.co-partitioned=true requires existing input topics, but %s and %s could not be described",
+                    quizAnswersTopic, sessionEventsTopic), e);
+        }
+        int quizPartitions = partitionCount(topics, quizAnswersTopic);
+        int sessionPartitions = partitionCount(topics, sessionEventsTopic);
+
+        if (quizPartitions != sessionPartitions) {
+            throw new IllegalStateException(String.format(
+                    "app.topology.partitioning.co-partitioned=true requires matching partition counts, but %s has %d and %s has %d",
+                    quizAnswersTopic, quizPartitions, sessionEventsTopic, sessionPartitions));
+        }
+
+        log.info("Co-partitioned mode enabled: {} and {} both have {} partitions; skipping repartition",
+                quizAnswersTopic, sessionEventsTopic, quizPartitions);
+    }
+
+    private static int partitionCount(Map<String, TopicDescription> topics, String topic) {
+        TopicDescription description = topics.get(topic);
+        if (description == null) {
+            throw new IllegalStateException(String.format(
+                    "app.topology.partitioning.co-partitioned=true requires existing input topics, but %s does not exist",
+                    topic));
+        }
+        return description.partitions().size();
+    }
+}
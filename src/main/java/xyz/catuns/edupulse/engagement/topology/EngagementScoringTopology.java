@@ -5,14 +5,17 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.common.serialization.Serde;
 import org.apache.kafka.common.serialization.Serdes;
+import org.apache.kafka.common.utils.Bytes;
 import org.apache.kafka.streams.KeyValue;
 import org.apache.kafka.streams.StreamsBuilder;
 import org.apache.kafka.streams.Topology;
 import org.apache.kafka.streams.kstream.*;
+import org.apache.kafka.streams.state.KeyValueStore;
+import org.apache.kafka.streams.state.SessionStore;
 import org.apache.kafka.streams.state.Stores;
+import org.apache.kafka.streams.state.WindowStore;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.kafka.support.serializer.JsonSerde;
 import org.springframework.stereotype.Component;
 import xyz.catuns.edupulse.common.messaging.events.engagement.EngagementScore;
 import xyz.catuns.edupulse.common.messaging.events.quiz.QuizAnswer;
@@ -20,13 +23,45 @@ import xyz.catuns.edupulse.common.messaging.events.quiz.QuizAnswerKey;
 import xyz.catuns.edupulse.common.messaging.events.session.SessionEvent;
 import xyz.catuns.edupulse.common.messaging.events.session.SessionEventKey;
 import xyz.catuns.edupulse.engagement.config.properties.ScoringProperties;
+import xyz.catuns.edupulse.engagement.config.properties.TopologyProperties;
+import xyz.catuns.edupulse.engagement.domain.dto.CohortEngagement;
+import xyz.catuns.edupulse.engagement.domain.dto.EngagementAlert;
+import xyz.catuns.edupulse.engagement.domain.dto.LateEvent;
+import xyz.catuns.edupulse.engagement.domain.dto.ScoringConfig;
+import xyz.catuns.edupulse.engagement.domain.dto.SkillMastery;
 import xyz.catuns.edupulse.engagement.domain.events.EnrichedEvent;
+import xyz.catuns.edupulse.engagement.domain.events.EventKind;
 import xyz.catuns.edupulse.engagement.domain.mapper.EnrichedEventMapper;
+import xyz.catuns.edupulse.engagement.domain.model.AlertState;
+import xyz.catuns.edupulse.engagement.domain.model.CohortDelta;
+import xyz.catuns.edupulse.engagement.domain.model.CohortMember;
+import xyz.catuns.edupulse.engagement.domain.model.CohortStats;
+import xyz.catuns.edupulse.engagement.domain.model.HyperLogLog;
+import xyz.catuns.edupulse.engagement.domain.model.RollupState;
+import xyz.catuns.edupulse.engagement.domain.model.ScoreHistory;
+import xyz.catuns.edupulse.engagement.domain.model.SkillStats;
 import xyz.catuns.edupulse.engagement.domain.model.StudentEngagementState;
+import xyz.catuns.edupulse.engagement.domain.serde.StudentIdKeySerde;
 import xyz.catuns.edupulse.engagement.service.EngagementScoringService;
 import xyz.catuns.edupulse.engagement.service.aggregate.StudentEngagementAggregator;
+import xyz.catuns.edupulse.engagement.service.metrics.EngagementMetrics;
+import xyz.catuns.edupulse.engagement.service.plan.ScoringPlanRegistry;
+import xyz.catuns.edupulse.engagement.service.query.EngagementQueryService;
+import xyz.catuns.edupulse.engagement.service.skill.SkillDictionary;
+import xyz.catuns.edupulse.engagement.topology.processor.AlertTransitionProcessor;
+import xyz.catuns.edupulse.engagement.topology.processor.CohortContributionProcessor;
+import xyz.catuns.edupulse.engagement.topology.processor.EngagementScoreProcessor;
+import xyz.catuns.edupulse.engagement.topology.processor.LateCorrectionProcessor;
+import xyz.catuns.edupulse.engagement.topology.processor.LateEventProcessor;
+import xyz.catuns.edupulse.engagement.topology.processor.ScoringConfigProcessor;
+import xyz.catuns.edupulse.engagement.topology.processor.SkillMasteryProcessor;
+import xyz.catuns.edupulse.engagement.topology.processor.WindowPaneProcessor;
+import xyz.catuns.edupulse.engagement.topology.processor.WindowRollupProcessor;
 
 import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 
 @Component
 @RequiredArgsConstructor
@@ -34,8 +69,12 @@ import java.time.Duration;
 public class EngagementScoringTopology {
 
     private final ScoringProperties scoringProperties;
+    private final TopologyProperties topologyProperties;
     private final StudentEngagementAggregator aggregator;
     private final EngagementScoringService scoringService;
+    private final ScoringPlanRegistry scoringPlans;
+    private final EngagementMetrics metrics;
+    private final SkillDictionary skillDictionary;
 
     // Mappers
     private final EnrichedEventMapper enrichedEventMapper;
@@ -47,6 +86,20 @@ public class EngagementScoringTopology {
     private final SpecificAvroSerde<SessionEventKey> sessionEventKeySerde;
     private final SpecificAvroSerde<EngagementScore> engagementScoreSerde;
     private final Serde<StudentEngagementState> stateSerde;
+    private final Serde<EnrichedEvent> enrichedEventSerde;
+    private final Serde<ScoreHistory> scoreHistorySerde;
+    private final Serde<RollupState> rollupStateSerde;
+    private final Serde<SkillMastery> skillMasterySerde;
+    private final Serde<CohortMember> cohortMemberSerde;
+    private final Serde<CohortDelta> cohortDeltaSerde;
+    private final Serde<CohortStats> cohortStatsSerde;
+    private final Serde<CohortEngagement> cohortEngagementSerde;
+    private final Serde<AlertState> alertStateSerde;
+    private final Serde<EngagementAlert> engagementAlertSerde;
+    private final Serde<ScoringConfig> scoringConfigSerde;
+    private final Serde<LateEvent> lateEventSerde;
+    private final StudentIdKeySerde studentIdKeySerde;
+    private final StudentPartitioner studentPartitioner;
 
     // Topics
     @Value("${app.kafka.topics.answer}")
@@ -58,6 +111,24 @@ public class EngagementScoringTopology {
     @Value("${app.kafka.topics.engagement}")
     private String engagementScoresTopic;
 
+    @Value("${app.kafka.topics.skill-mastery}")
+    private String skillMasteryTopic;
+
+    @Value("${app.kafka.topics.skill-dictionary}")
+    private String skillDictionaryTopic;
+
+    @Value("${app.kafka.topics.cohort}")
+    private String cohortEngagementTopic;
+
+    @Value("${app.kafka.topics.alerts}")
+    private String alertsTopic;
+
+    @Value("${app.kafka.topics.scoring-config}")
+    private String scoringConfigTopic;
+
+    @Value("${app.kafka.topics.late-events}")
+    private String lateEventsTopic;
+
 
     /**
      * Build Kafka Streams topology
@@ -65,58 +136,38 @@ public class EngagementScoringTopology {
     @Autowired
     public void buildTopology(StreamsBuilder builder) {
         log.info("Building Engagement Scoring topology...");
+        validatePageTracking();
 
         KStream<String, QuizAnswer> quizAnswerStream = quizAnswerByStudentKStream(builder);
         KStream<String, SessionEvent> sessionEventStream = sessionEventByStudentKStream(builder);
 
-        // 1. Merge both streams into a unified stream
-        KStream<String, EnrichedEvent> quizEnrichedStream = quizAnswerStream
-                .map((studentId, quizAnswer) -> KeyValue.pair(
-                        studentId,
-                        enrichedEventMapper.fromQuizAnswer(quizAnswer)
-                ));
-
-        KStream<String, EnrichedEvent> sessionEnrichedStream = sessionEventStream
-                .map((studentId, sessionEvent) -> KeyValue.pair(
-                        studentId,
-                        enrichedEventMapper.fromSessionEvent(sessionEvent)
-                ));
-
-        KStream<String, EnrichedEvent> mergedStream = quizEnrichedStream.merge(sessionEnrichedStream);
-
-        // 2. Group by studentId and window (tumbling/hopping)
-        KGroupedStream<String, EnrichedEvent> groupedStream = mergedStream
-                .groupByKey(Grouped.with(Serdes.String(), new JsonSerde<>(EnrichedEvent.class)));
-
-        TimeWindows timeWindows = TimeWindows.ofSizeAndGrace(
-                Duration.ofSeconds(scoringProperties.getWindow().getDurationSeconds()),
-                Duration.ofSeconds(scoringProperties.getWindow().getGracePeriodSeconds())
-        );
-
-        // 3. Aggregate events
-        KTable<Windowed<String>, StudentEngagementState> aggregatedState = groupedStream
-                .windowedBy(timeWindows)
-                .aggregate(
-                        // Initializer
-                        StudentEngagementState::new,
-                        // Aggregator
-                        aggregator::aggregate,
-                        // Materialized view configuration
-                        Materialized.<String, StudentEngagementState>as(
-                                        Stores.persistentWindowStore(
-                                                "engagement-aggregate-store",
-                                                Duration.ofSeconds(scoringProperties.getWindow().getDurationSeconds()),
-                                                Duration.ofSeconds(scoringProperties.getWindow().getDurationSeconds()),
-                                                false
-                                        ))
-                                .withKeySerde(Serdes.String())
-                                .withValueSerde(stateSerde)
-                                .withCachingEnabled()
-                );
-
-        // 6. Compute engagement scores
-        KStream<Windowed<String>, EngagementScore> engagementScoreStream = aggregatedState
-                .toStream()
+        // Publish skill tags seen for the first time, so every instance can decode skill ids
+        publishSkillDictionary(builder, quizAnswerStream);
+
+        // Runtime scoring config changes, applied to every instance without a restart
+        scoringConfig(builder);
+
+        TopologyProperties.Emit emit = topologyProperties.getEmit();
+        log.info("Engagement score emit mode: {}", emit.getMode());
+
+        // 2-6. Group, window and aggregate per student, or per learning session
+        boolean sessionWindows = scoringProperties.getWindow().getType() == ScoringProperties.WindowType.SESSION;
+        KStream<Windowed<String>, StudentEngagementState> windowedState = sessionWindows
+                ? sessionAggregates(enrich(quizAnswerStream, sessionEventStream), emit)
+                : timeWindowedAggregates(builder, quizAnswerStream, sessionEventStream, emit);
+
+        // Per-student summary of previous windows for trend detection
+        builder.addStateStore(Stores.keyValueStoreBuilder(
+                Stores.persistentKeyValueStore(EngagementScoreProcessor.HISTORY_STORE),
+                Serdes.String(),
+                scoreHistorySerde
+        ));
+        long windowSizeMs = sessionWindows
+                ? EngagementScoreProcessor.VARIABLE_WINDOW
+                : WindowPanes.of(scoringProperties.getWindow()).windowSizeMs();
+
+        // 7. Compute engagement scores
+        KStream<Windowed<String>, EngagementScore> engagementScoreStream = windowedState
                 .peek((windowedKey, aggregate) -> {
                     log.debug("Computing score for window: student={}, window=[{}-{}], totalAnswers={}, correctness={}",
                             windowedKey.key(),
@@ -125,7 +176,31 @@ public class EngagementScoringTopology {
                             aggregate.getTotalAnswers(),
                             aggregate.getCorrectnessRate());
                 })
-                .mapValues(this::computeEngagementScore, Named.as("compute-engagement-score"));
+                .processValues(
+                        () -> new EngagementScoreProcessor(
+                                scoringService, scoringPlans, metrics, windowSizeMs),
+                        Named.as("compute-engagement-score"),
+                        EngagementScoreProcessor.HISTORY_STORE
+                )
+                .peek(this::onEngagementScore, Named.as("engagement-score-alerts"));
+
+        // Debounced transitions into and out of CRITICAL, straight from the scorer
+        alertTransitions(builder, engagementScoreStream, windowSizeMs);
+
+        // Second stage: per-cohort statistics over each student's latest score
+        cohortRollup(builder, engagementScoreStream, windowSizeMs);
+
+        // Per-skill mastery of each base window
+        windowedState
+                .process(
+                        () -> new SkillMasteryProcessor(skillDictionary, windowSizeMs),
+                        Named.as("compute-skill-mastery")
+                )
+                .to(
+                        skillMasteryTopic,
+                        Produced.with(Serdes.String(), skillMasterySerde)
+                                .withName("skill-mastery-sink")
+                );
 
         // Rekey to student id
         KStream<String, EngagementScore> engagementScores = engagementScoreStream
@@ -145,7 +220,7 @@ public class EngagementScoringTopology {
                         score.getAlertThresholdCrossed()
                 ));
 
-        // 7. Produce to output topic
+        // 8. Produce to output topic
         engagementScores.to(
                 engagementScoresTopic,
                 Produced.with(Serdes.String(), engagementScoreSerde)
@@ -155,66 +230,553 @@ public class EngagementScoringTopology {
         log.info("Engagement Scoring topology built successfully");
     }
 
-    private EngagementScore computeEngagementScore(Windowed<String> windowedKey, StudentEngagementState aggregate) {
-        // Compute engagement score
-        EngagementScore score = scoringService.calculate(aggregate);
+    /**
+     * The page sketch is created by the aggregator on a stream thread; reject a bad precision
+     * at startup instead
+     */
+    private void validatePageTracking() {
+        int precision = scoringProperties.getPages().getSketchPrecision();
+        if (precision < HyperLogLog.MIN_PRECISION || precision > HyperLogLog.MAX_PRECISION) {
+            throw new IllegalArgumentException("app.scoring.pages.sketch-precision must be in ["
+                    + HyperLogLog.MIN_PRECISION + ", " + HyperLogLog.MAX_PRECISION + "], was " + precision);
+        }
+    }
 
-        // Record metrics
-//                    engagementScoreDistribution.record(score.getScore());
+    /**
+     * Alert consumers read only transitions, not every score update of every student
+     */
+    private void alertTransitions(
+            StreamsBuilder builder,
+            KStream<Windowed<String>, EngagementScore> engagementScoreStream,
+            long windowSizeMs
+    ) {
+        builder.addStateStore(Stores.keyValueStoreBuilder(
+                Stores.persistentKeyValueStore(AlertTransitionProcessor.STORE),
+                Serdes.String(),
+                alertStateSerde
+        ));
+
+        engagementScoreStream
+                .process(
+                        () -> new AlertTransitionProcessor(
+                                scoringPlans,
+                                scoringProperties.getAlerts(),
+                                metrics,
+                                windowSizeMs),
+                        Named.as("alert-transitions"),
+                        AlertTransitionProcessor.STORE
+                )
+                .to(
+                        alertsTopic,
+                        Produced.with(Serdes.String(), engagementAlertSerde)
+                                .withName("engagement-alerts-sink")
+                );
+    }
 
-        if (score.getAlertThresholdCrossed()) {
-//                        alertsTriggeredCounter.increment();
-            log.warn("ALERT: Low engagement detected for student={}, score={}, trend={}",
-                    windowedKey.key(), score.getScore(), score.getTrend());
+    /**
+     * Cohort statistics updated by delta, O(1) per score: each student's contribution is
+     * replaced in the cohort aggregate instead of recomputing it over all students
+     */
+    private void cohortRollup(
+            StreamsBuilder builder,
+            KStream<Windowed<String>, EngagementScore> engagementScoreStream,
+            long windowSizeMs
+    ) {
+        builder.addStateStore(Stores.keyValueStoreBuilder(
+                Stores.persistentKeyValueStore(CohortContributionProcessor.MEMBER_STORE),
+                Serdes.String(),
+                cohortMemberSerde
+        ));
+
+        engagementScoreStream
+                .process(
+                        () -> new CohortContributionProcessor(windowSizeMs),
+                        Named.as("cohort-contributions"),
+                        CohortContributionProcessor.MEMBER_STORE
+                )
+                .groupByKey(Grouped.with("engagement-cohorts", Serdes.String(), cohortDeltaSerde))
+                .aggregate(
+                        CohortStats::new,
+                        (cohortId, delta, stats) -> stats.apply(cohortId, delta),
+                        Named.as("aggregate-cohorts"),
+                        Materialized.<String, CohortStats, KeyValueStore<Bytes, byte[]>>as(CohortContributionProcessor.COHORT_STORE)
+                                .withKeySerde(Serdes.String())
+                                .withValueSerde(cohortStatsSerde)
+                )
+                .toStream(Named.as("cohort-updates"))
+                .mapValues(CohortEngagement::from, Named.as("to-cohort-engagement"))
+                .to(
+                        cohortEngagementTopic,
+                        Produced.with(Serdes.String(), cohortEngagementSerde)
+                                .withName("cohort-engagement-sink")
+                );
+    }
+
+    /**
+     * Every instance reads the compacted scoring config topic into a global store; its
+     * processor compiles each configuration into the {@link ScoringPlanRegistry}
+     */
+    private void scoringConfig(StreamsBuilder builder) {
+        builder.addGlobalStore(
+                Stores.keyValueStoreBuilder(
+                                Stores.inMemoryKeyValueStore(ScoringConfigProcessor.STORE),
+                                Serdes.String(),
+                                scoringConfigSerde)
+                        .withLoggingDisabled(),
+                scoringConfigTopic,
+                Consumed.with(Serdes.String(), scoringConfigSerde)
+                        .withName("scoring-config-source"),
+                () -> new ScoringConfigProcessor(scoringPlans)
+        );
+    }
+
+    /**
+     * Skill ids are derived from the tag, so the dictionary only serves decoding: new tags go
+     * to a compacted topic that every instance reads back into the {@link SkillDictionary#STORE}
+     * global store
+     */
+    private void publishSkillDictionary(StreamsBuilder builder, KStream<String, QuizAnswer> quizAnswerStream) {
+        quizAnswerStream
+                .filter(
+                        (studentId, answer) -> answer.getSkillTag() != null && skillDictionary.register(answer.getSkillTag()),
+                        Named.as("new-skill-tags")
+                )
+                .map(
+                        (studentId, answer) -> KeyValue.pair(SkillStats.idOf(answer.getSkillTag()), answer.getSkillTag()),
+                        Named.as("encode-skill-tags")
+                )
+                .to(
+                        skillDictionaryTopic,
+                        Produced.with(Serdes.Integer(), Serdes.String())
+                                .withName("skill-dictionary-sink")
+                );
+
+        builder.globalTable(
+                skillDictionaryTopic,
+                Consumed.with(Serdes.Integer(), Serdes.String())
+                        .withName("skill-dictionary-source"),
+                Materialized.<Integer, String, KeyValueStore<Bytes, byte[]>>as(SkillDictionary.STORE)
+                        .withKeySerde(Serdes.Integer())
+                        .withValueSerde(Serdes.String())
+        );
+    }
+
+    /**
+     * Merge both input streams into a unified {@link EnrichedEvent} stream, the format of the
+     * {@code engagement-events} repartition topic
+     */
+    private KStream<String, EnrichedEvent> enrich(
+            KStream<String, QuizAnswer> quizAnswerStream,
+            KStream<String, SessionEvent> sessionEventStream
+    ) {
+        KStream<String, EnrichedEvent> quizEnrichedStream = quizAnswerStream
+                .mapValues(enrichedEventMapper::fromQuizAnswer, Named.as("enrich-quiz-answers"));
+
+        KStream<String, EnrichedEvent> sessionEnrichedStream = sessionEventStream
+                .mapValues(enrichedEventMapper::fromSessionEvent, Named.as("enrich-session-events"));
+
+        return quizEnrichedStream.merge(sessionEnrichedStream);
+    }
+
+    /**
+     * Tumbling, hopping or sliding windows per student, aggregated into panes
+     */
+    private KStream<Windowed<String>, StudentEngagementState> timeWindowedAggregates(
+            StreamsBuilder builder,
+            KStream<String, QuizAnswer> quizAnswerStream,
+            KStream<String, SessionEvent> sessionEventStream,
+            TopologyProperties.Emit emit
+    ) {
+        // Hopping and sliding windows are aggregated into shared panes and combined on emit
+        WindowPanes panes = WindowPanes.of(scoringProperties.getWindow());
+        Duration paneSize = Duration.ofMillis(panes.paneSizeMs());
+        Duration windowSize = Duration.ofMillis(panes.windowSizeMs());
+        Duration gracePeriod = Duration.ofSeconds(scoringProperties.getWindow().getGracePeriodSeconds());
+        TimeWindows timeWindows = TimeWindows.ofSizeAndGrace(paneSize, gracePeriod);
+        log.info("Engagement window: type={}, size={}, pane={} ({} panes per window)",
+                panes.type(), windowSize, paneSize, panes.panesPerWindow());
+
+        // Closed windows can only be corrected while they are a single pane
+        TopologyProperties.LateEvents lateEvents = topologyProperties.getLateEvents();
+        boolean reportLateEvents = lateEvents.getMode() != TopologyProperties.LateEventMode.OFF;
+        boolean correcting = lateEvents.getMode() == TopologyProperties.LateEventMode.CORRECT;
+        if (correcting && !panes.isTumbling()) {
+            log.warn("app.topology.late-events.mode=CORRECT requires TUMBLING windows; late events are only reported");
+            correcting = false;
+        }
+        Duration correctionHorizon = correcting ? lateEvents.getCorrectionHorizon() : Duration.ZERO;
+        WindowClose windowClose = WindowClose.ofTimeWindows(panes.paneSizeMs(), gracePeriod.toMillis());
+        KStream<String, LateEvent> lateEventStream = null;
+
+        // Retain each pane until the last window covering it closes (size + grace), and closed
+        // windows for the correction horizon
+        Duration retention = windowSize.plus(gracePeriod).plus(correctionHorizon);
+        Materialized<String, StudentEngagementState, WindowStore<Bytes, byte[]>> materialized =
+                Materialized.<String, StudentEngagementState>as(
+                                Stores.persistentWindowStore(
+                                        EngagementQueryService.AGGREGATE_STORE,
+                                        retention,
+                                        paneSize,
+                                        false
+                                ))
+                        .withKeySerde(Serdes.String())
+                        .withValueSerde(stateSerde);
+        // Final results are emitted from the store on window close; the cache would only delay them
+        materialized = emit.getMode() == TopologyProperties.EmitMode.ON_WINDOW_CLOSE
+                ? materialized.withCachingDisabled()
+                : materialized.withCachingEnabled();
+
+        // 2-3. Group by studentId and window, and aggregate events
+        KTable<Windowed<String>, StudentEngagementState> aggregatedState;
+        if (topologyProperties.getPartitioning().isCoPartitioned()
+                && emit.getMode() != TopologyProperties.EmitMode.ON_WINDOW_CLOSE) {
+            // Inputs are already partitioned by student: aggregate the Avro records directly,
+            // without mapping every event into an EnrichedEvent first
+            log.info("Engagement aggregation: direct (cogrouped input records)");
+            if (reportLateEvents) {
+                lateEventStream = detectLateEvents(
+                        quizAnswerStream, "quiz-answers", windowClose, correctionHorizon,
+                        answer -> EventKind.QUIZ_ANSWER, enrichedEventMapper::fromQuizAnswer
+                ).merge(detectLateEvents(
+                        sessionEventStream, "session-events", windowClose, correctionHorizon,
+                        event -> EventKind.SESSION, enrichedEventMapper::fromSessionEvent
+                ), Named.as("merge-late-events"));
+            }
+            KGroupedStream<String, QuizAnswer> quizAnswers = quizAnswerStream
+                    .groupByKey(Grouped.with(Serdes.String(), quizAnswerSerde));
+            KGroupedStream<String, SessionEvent> sessionEvents = sessionEventStream
+                    .groupByKey(Grouped.with(Serdes.String(), sessionEventSerde));
+            aggregatedState = quizAnswers
+                    .cogroup(this::aggregateQuizAnswer)
+                    .cogroup(sessionEvents, this::aggregateSessionEvent)
+                    .windowedBy(timeWindows)
+                    .aggregate(
+                            StudentEngagementState::new,
+                            Named.as("aggregate-engagement"),
+                            materialized
+                    );
+        } else {
+            // Repartitions through engagement-events unless the inputs are co-partitioned by student;
+            // cogrouped windows do not support emit on window close
+            log.info("Engagement aggregation: enriched events");
+            KStream<String, EnrichedEvent> events = enrich(quizAnswerStream, sessionEventStream);
+            if (!topologyProperties.getPartitioning().isCoPartitioned()) {
+                // Explicit, so late events are detected after the hop, next to the aggregation
+                events = events.repartition(Repartitioned.<String, EnrichedEvent>as("engagement-events")
+                        .withKeySerde(Serdes.String())
+                        .withValueSerde(enrichedEventSerde));
+            }
+            if (reportLateEvents) {
+                lateEventStream = detectLateEvents(
+                        events, "engagement-events", windowClose, correctionHorizon,
+                        EnrichedEvent::getKind, Function.identity());
+            }
+            TimeWindowedKStream<String, EnrichedEvent> windowedStream = events
+                    .groupByKey(Grouped.with(Serdes.String(), enrichedEventSerde))
+                    .windowedBy(timeWindows);
+            if (emit.getMode() == TopologyProperties.EmitMode.ON_WINDOW_CLOSE) {
+                windowedStream = windowedStream.emitStrategy(EmitStrategy.onWindowClose());
+            }
+            aggregatedState = windowedStream
+                    .aggregate(
+                            // Initializer
+                            StudentEngagementState::new,
+                            // Aggregator
+                            this::aggregate,
+                            // Materialized view configuration
+                            materialized
+                    );
         }
 
-        // Detect and log patterns
-//                    BehavioralPattern pattern = detectBehavioralPattern(aggregate);
-//                    if (pattern != BehavioralPattern.NORMAL) {
-//                        patternsDetectedCounter.increment();
-//                        log.info("Pattern detected: student={}, pattern={}",
-//                                windowedKey.key(), pattern);
-//                    }
+        // 4. Rate-limit updates per student window
+        aggregatedState = rateLimit(aggregatedState, emit);
+
+        // 5. Combine panes into the configured window, plus any coarser roll-up resolutions
+        boolean emitOnWindowClose = emit.getMode() == TopologyProperties.EmitMode.ON_WINDOW_CLOSE;
+        KStream<Windowed<String>, StudentEngagementState> paneUpdates = aggregatedState.toStream();
+        KStream<Windowed<String>, StudentEngagementState> windowedState = paneUpdates;
+        if (!panes.isTumbling()) {
+            windowedState = paneUpdates.process(
+                    () -> new WindowPaneProcessor(
+                            scoringPlans,
+                            EngagementQueryService.AGGREGATE_STORE,
+                            panes,
+                            emitOnWindowClose),
+                    Named.as("combine-window-panes"),
+                    EngagementQueryService.AGGREGATE_STORE
+            );
+        }
 
-        return score;
+        List<Long> rollupsMs = panes.rollupsMs(scoringProperties.getWindow());
+        if (!rollupsMs.isEmpty()) {
+            log.info("Engagement roll-up resolutions: {}", rollupsMs.stream().map(Duration::ofMillis).toList());
+            builder.addStateStore(Stores.keyValueStoreBuilder(
+                    Stores.persistentKeyValueStore(WindowRollupProcessor.ROLLUP_STORE),
+                    Serdes.String(),
+                    rollupStateSerde
+            ));
+            KStream<Windowed<String>, StudentEngagementState> rollups = paneUpdates.process(
+                    () -> new WindowRollupProcessor(scoringPlans, panes, rollupsMs, gracePeriod.toMillis(), emitOnWindowClose),
+                    Named.as("rollup-resolutions"),
+                    WindowRollupProcessor.ROLLUP_STORE
+            );
+            windowedState = windowedState.merge(rollups, Named.as("merge-resolutions"));
+        }
+
+        if (lateEventStream != null) {
+            publishLateEvents(lateEventStream);
+            if (correcting) {
+                windowedState = correctLateEvents(builder, lateEventStream, windowedState, paneSize, retention);
+            }
+        }
+
+        return windowedState;
     }
 
-    private KStream<String, QuizAnswer> quizAnswerByStudentKStream(StreamsBuilder builder) {
+    /**
+     * One window per learning session: events are keyed by student and sessionId and
+     * windowed by inactivity gap, then re-keyed by student for scoring
+     */
+    private KStream<Windowed<String>, StudentEngagementState> sessionAggregates(
+            KStream<String, EnrichedEvent> mergedStream,
+            TopologyProperties.Emit emit
+    ) {
+        Duration inactivityGap = Duration.ofSeconds(scoringProperties.getWindow().getInactivityGapSeconds());
+        Duration gracePeriod = Duration.ofSeconds(scoringProperties.getWindow().getGracePeriodSeconds());
+        log.info("Engagement window: type=SESSION, inactivityGap={}", inactivityGap);
+        if (!scoringProperties.getWindow().getRollupSeconds().isEmpty()) {
+            log.warn("app.scoring.window.rollup-seconds is ignored for SESSION windows");
+        }
 
-        return builder.stream(
-                        quizAnswersTopic,
-                        Consumed.with(quizAnswerKeySerde, quizAnswerSerde)
-                                .withName("quiz-answers-source")
-                                .withOffsetResetPolicy(Topology.AutoOffsetReset.EARLIEST)
-                )
+        // 2. Key by student + session. The repartition still partitions by student only, so
+        //    score history and interactive queries stay co-located with the student
+        KStream<String, EnrichedEvent> sessionEvents = mergedStream
                 .selectKey(
-                        (key, value) -> value.getEnvelope().getStudentId(),
-                        Named.as("rekey-quiz-answers-by-student")
+                        (studentId, event) -> SessionKeys.of(studentId, event.getSessionId()),
+                        Named.as("key-by-session")
                 )
-                .peek((key, value) -> log.debug(
-                        "Consumed quiz answer: studentId={}, questionId={}, correct={}",
-                        key,
-                        value.getQuestionId(),
-                        value.getIsCorrect()
-                ));
+                .repartition(Repartitioned.<String, EnrichedEvent>as("engagement-events")
+                        .withKeySerde(Serdes.String())
+                        .withValueSerde(enrichedEventSerde)
+                        .withStreamPartitioner(SessionKeys.byStudent(studentPartitioner)));
+
+        TopologyProperties.LateEventMode lateEventMode = topologyProperties.getLateEvents().getMode();
+        if (lateEventMode == TopologyProperties.LateEventMode.CORRECT) {
+            log.warn("app.topology.late-events.mode=CORRECT requires TUMBLING windows; late events are only reported");
+        }
+        if (lateEventMode != TopologyProperties.LateEventMode.OFF) {
+            publishLateEvents(detectLateEvents(
+                    sessionEvents, "engagement-events",
+                    WindowClose.ofSessionWindows(inactivityGap.toMillis(), gracePeriod.toMillis()), Duration.ZERO,
+                    EnrichedEvent::getKind, Function.identity()));
+        }
+
+        SessionWindowedKStream<String, EnrichedEvent> sessionStream = sessionEvents
+                .groupByKey(Grouped.with(Serdes.String(), enrichedEventSerde))
+                .windowedBy(SessionWindows.ofInactivityGapAndGrace(inactivityGap, gracePeriod));
+        if (emit.getMode() == TopologyProperties.EmitMode.ON_WINDOW_CLOSE) {
+            sessionStream = sessionStream.emitStrategy(EmitStrategy.onWindowClose());
+        }
+
+        Materialized<String, StudentEngagementState, SessionStore<Bytes, byte[]>> materialized =
+                Materialized.<String, StudentEngagementState>as(
+                                Stores.persistentSessionStore(
+                                        EngagementQueryService.SESSION_STORE,
+                                        inactivityGap.plus(gracePeriod)
+                                ))
+                        .withKeySerde(Serdes.String())
+                        .withValueSerde(stateSerde);
+        materialized = emit.getMode() == TopologyProperties.EmitMode.ON_WINDOW_CLOSE
+                ? materialized.withCachingDisabled()
+                : materialized.withCachingEnabled();
+
+        // 3. Aggregate events; bridged sessions are merged without copying in the common case
+        KTable<Windowed<String>, StudentEngagementState> sessionState = sessionStream
+                .aggregate(
+                        StudentEngagementState::new,
+                        (sessionKey, event, state) -> aggregate(SessionKeys.studentId(sessionKey), event, state),
+                        (sessionKey, one, two) -> aggregator.merge(one, two),
+                        materialized
+                );
+
+        // 4. Rate-limit updates per session
+        sessionState = rateLimit(sessionState, emit);
+
+        // 5. Drop tombstones of sessions merged away and key by student for scoring
+        return sessionState
+                .toStream()
+                .filter((sessionKey, state) -> state != null, Named.as("drop-merged-sessions"))
+                .map((sessionKey, state) -> KeyValue.pair(
+                                new Windowed<>(state.getStudentId(), sessionKey.window()),
+                                state),
+                        Named.as("key-sessions-by-student"));
+    }
+
+    /**
+     * Events the windowed aggregation will drop, measured right before it; every event's
+     * lateness is recorded per source
+     */
+    private <V> KStream<String, LateEvent> detectLateEvents(
+            KStream<String, V> stream,
+            String name,
+            WindowClose windowClose,
+            Duration correctionHorizon,
+            Function<V, EventKind> kindOf,
+            Function<V, EnrichedEvent> toEvent
+    ) {
+        Map<EventKind, String> sourceTopics = Map.of(
+                EventKind.QUIZ_ANSWER, quizAnswersTopic,
+                EventKind.SESSION, sessionEventsTopic);
+        return stream.process(
+                () -> new LateEventProcessor<>(
+                        windowClose,
+                        correctionHorizon.toMillis(),
+                        sourceTopics,
+                        kindOf,
+                        toEvent,
+                        metrics),
+                Named.as("detect-late-" + name)
+        );
+    }
+
+    private void publishLateEvents(KStream<String, LateEvent> lateEventStream) {
+        lateEventStream.to(
+                lateEventsTopic,
+                Produced.with(Serdes.String(), lateEventSerde)
+                        .withName("late-events-sink")
+        );
+    }
+
+    /**
+     * Late events within the correction horizon are folded into their closed window, which
+     * is scored again like any other window update
+     */
+    private KStream<Windowed<String>, StudentEngagementState> correctLateEvents(
+            StreamsBuilder builder,
+            KStream<String, LateEvent> lateEventStream,
+            KStream<Windowed<String>, StudentEngagementState> windowedState,
+            Duration windowSize,
+            Duration retention
+    ) {
+        builder.addStateStore(Stores.windowStoreBuilder(
+                Stores.persistentWindowStore(LateCorrectionProcessor.STORE, retention, windowSize, false),
+                Serdes.String(),
+                stateSerde
+        ));
+
+        KStream<Windowed<String>, StudentEngagementState> corrections = lateEventStream.process(
+                () -> new LateCorrectionProcessor(EngagementQueryService.AGGREGATE_STORE, aggregator),
+                Named.as("correct-late-events"),
+                EngagementQueryService.AGGREGATE_STORE,
+                LateCorrectionProcessor.STORE
+        );
+        return windowedState.merge(corrections, Named.as("merge-late-corrections"));
+    }
+
+    private KTable<Windowed<String>, StudentEngagementState> rateLimit(
+            KTable<Windowed<String>, StudentEngagementState> aggregates,
+            TopologyProperties.Emit emit
+    ) {
+        if (emit.getMode() != TopologyProperties.EmitMode.INTERVAL) {
+            return aggregates;
+        }
+        return aggregates.suppress(
+                Suppressed.<Windowed<String>>untilTimeLimit(
+                                emit.getInterval(),
+                                Suppressed.BufferConfig.maxBytes(emit.getBufferMaxBytes().toBytes()).emitEarlyWhenFull())
+                        .withName("engagement-score-rate-limit"));
+    }
+
+    private StudentEngagementState aggregate(String studentId, EnrichedEvent event, StudentEngagementState state) {
+        long start = System.nanoTime();
+        StudentEngagementState updated = aggregator.aggregate(studentId, event, state);
+        metrics.recordStage(EngagementMetrics.Stage.AGGREGATE, start);
+        return updated;
+    }
+
+    private StudentEngagementState aggregateQuizAnswer(String studentId, QuizAnswer answer, StudentEngagementState state) {
+        long start = System.nanoTime();
+        StudentEngagementState updated = aggregator.aggregateQuizAnswer(studentId, answer, state);
+        metrics.recordStage(EngagementMetrics.Stage.AGGREGATE, start);
+        return updated;
+    }
+
+    private StudentEngagementState aggregateSessionEvent(String studentId, SessionEvent event, StudentEngagementState state) {
+        long start = System.nanoTime();
+        StudentEngagementState updated = aggregator.aggregateSessionEvent(studentId, event, state);
+        metrics.recordStage(EngagementMetrics.Stage.AGGREGATE, start);
+        return updated;
+    }
+
+    private void onEngagementScore(Windowed<String> windowedKey, EngagementScore score) {
+        // Score, alert and latency metrics are recorded by EngagementScoreProcessor,
+        // behavioral patterns by the aggregator as they are detected, alert transitions by
+        // AlertTransitionProcessor
+        if (Boolean.TRUE.equals(score.getAlertThresholdCrossed())) {
+            log.debug("Score below alert threshold: student={}, score={}, trend={}",
+                    windowedKey.key(), score.getScore(), score.getTrend());
+        }
+    }
+
+    private KStream<String, QuizAnswer> quizAnswerByStudentKStream(StreamsBuilder builder) {
+        KStream<String, QuizAnswer> stream;
+        if (topologyProperties.getPartitioning().isCoPartitioned()) {
+            // Already partitioned by student: key by the student id field of the record key
+            stream = builder.stream(
+                    quizAnswersTopic,
+                    Consumed.with(studentIdKeySerde, quizAnswerSerde)
+                            .withName("quiz-answers-source")
+                            .withOffsetResetPolicy(Topology.AutoOffsetReset.EARLIEST)
+            );
+        } else {
+            stream = builder.stream(
+                            quizAnswersTopic,
+                            Consumed.with(quizAnswerKeySerde, quizAnswerSerde)
+                                    .withName("quiz-answers-source")
+                                    .withOffsetResetPolicy(Topology.AutoOffsetReset.EARLIEST)
+                    )
+                    .selectKey(
+                            (key, value) -> value.getEnvelope().getStudentId(),
+                            Named.as("rekey-quiz-answers-by-student")
+                    );
+        }
+
+        return stream.peek((key, value) -> log.debug(
+                "Consumed quiz answer: studentId={}, questionId={}, correct={}",
+                key,
+                value.getQuestionId(),
+                value.getIsCorrect()
+        ));
     }
 
     private KStream<String, SessionEvent> sessionEventByStudentKStream(StreamsBuilder builder) {
-        return builder.stream(
-                        sessionEventsTopic,
-                        Consumed.with(sessionEventKeySerde, sessionEventSerde)
-                                .withName("session-events-source")
-                                .withOffsetResetPolicy(Topology.AutoOffsetReset.EARLIEST)
-                )
-                .selectKey(
-                        (key, value) -> value.getEnvelope().getStudentId(),
-                        Named.as("rekey-session-events-by-student")
-                )
-                .peek((key, value) -> log.debug(
-                        "Consumed session event: studentId={}, type={}",
-                        value.getEnvelope().getStudentId(),
-                        value.getEventType()
-                ));
+        KStream<String, SessionEvent> stream;
+        if (topologyProperties.getPartitioning().isCoPartitioned()) {
+            // Already partitioned by student: key by the student id field of the record key
+            stream = builder.stream(
+                    sessionEventsTopic,
+                    Consumed.with(studentIdKeySerde, sessionEventSerde)
+                            .withName("session-events-source")
+                            .withOffsetResetPolicy(Topology.AutoOffsetReset.EARLIEST)
+            );
+        } else {
+            stream = builder.stream(
+                            sessionEventsTopic,
+                            Consumed.with(sessionEventKeySerde, sessionEventSerde)
+                                    .withName("session-events-source")
+                                    .withOffsetResetPolicy(Topology.AutoOffsetReset.EARLIEST)
+                    )
+                    .selectKey(
+                            (key, value) -> value.getEnvelope().getStudentId(),
+                            Named.as("rekey-session-events-by-student")
+                    );
+        }
+
+        return stream.peek((key, value) -> log.debug(
+                "Consumed session event: studentId={}, type={}",
+                key,
+                value.getEventType()
+        ));
     }
 
 
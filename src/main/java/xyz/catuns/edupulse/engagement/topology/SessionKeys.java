@@ -0,0 +1,48 @@
+package xyz.catuns.edupulse.engagement.topology;
+
+import org.apache.kafka.streams.processor.StreamPartitioner;
+
+/**
+ * Composite {@code studentId + US + sessionId} keys used to aggregate one state per
+ * learning session. The ASCII unit separator cannot occur in ids, so the student id is
+ * recoverable and all of a student's sessions form one contiguous key range.
+ */
+public final class SessionKeys {
+
+    static final char SEPARATOR = '\u001F';
+
+    private SessionKeys() {
+    }
+
+    public static String of(String studentId, String sessionId) {
+        return studentId + SEPARATOR + (sessionId != null ? sessionId : "");
+    }
+
+    public static String studentId(String sessionKey) {
+        int separator = sessionKey.indexOf(SEPARATOR);
+        return separator < 0 ? sessionKey : sessionKey.substring(0, separator);
+    }
+
+    /**
+     * Inclusive lower bound of the key range holding every session of {@code studentId}
+     */
+    public static String rangeFrom(String studentId) {
+        return studentId + SEPARATOR;
+    }
+
+    /**
+     * Upper bound of the key range holding every session of {@code studentId}; no session key equals it
+     */
+    public static String rangeTo(String studentId) {
+        return studentId + (char) (SEPARATOR + 1);
+    }
+
+    /**
+     * Partitions session keys by student id only, on the partition {@code studentPartitioner}
+     * assigns the student. A student's sessions, score history and query routing therefore
+     * stay on the same partition as in the windowed modes.
+     */
+    public static <V> StreamPartitioner<String, V> byStudent(StudentPartitioner studentPartitioner) {
+        return (topic, key, value, numPartitions) -> studentPartitioner.partition(studentId(key), numPartitions);
+    }
+}
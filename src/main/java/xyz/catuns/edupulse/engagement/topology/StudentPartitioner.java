@@ -0,0 +1,78 @@
+package xyz.catuns.edupulse.engagement.topology;
+
+import io.confluent.kafka.streams.serdes.avro.SpecificAvroSerde;
+import org.apache.avro.Schema;
+import org.apache.avro.specific.SpecificData;
+import org.apache.kafka.clients.producer.internals.BuiltInPartitioner;
+import org.apache.kafka.common.serialization.Serdes;
+import org.apache.kafka.common.serialization.Serializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import xyz.catuns.edupulse.common.messaging.events.quiz.QuizAnswerKey;
+import xyz.catuns.edupulse.engagement.config.properties.TopologyProperties;
+
+/**
+ * The partition a student's state lives on, derived the way its records were partitioned.
+ * <p>
+ * When the inputs are repartitioned, the repartition topic is keyed by the plain student id
+ * and the default partitioner hashes its UTF-8 bytes. In co-partitioned mode the producers
+ * chose the partition: the default partitioner hashed the serialized Avro key of
+ * {@code quiz.answers} (magic byte, schema id and record), so the key is rebuilt from
+ * {@code student-key-field} and serialized with the same key serde. Session keys and
+ * interactive query routing both go through {@link #keySerializer()}, so they agree with the
+ * input partitioning in every mode.
+ */
+@Component
+public class StudentPartitioner {
+
+    private final Serializer<String> keySerializer;
+
+    public StudentPartitioner(TopologyProperties topologyProperties,
+                              SpecificAvroSerde<QuizAnswerKey> quizAnswerKeySerde,
+                              @Value("${app.kafka.topics.answer}") String quizAnswersTopic) {
+        TopologyProperties.Partitioning partitioning = topologyProperties.getPartitioning();
+        if (!partitioning.isCoPartitioned()) {
+            this.keySerializer = Serdes.String().serializer();
+            return;
+        }
+        Schema schema = QuizAnswerKey.getClassSchema();
+        String studentKeyField = partitioning.getStudentKeyField();
+        Schema.Field studentField = schema.getField(studentKeyField);
+        if (studentField == null) {
+            throw new IllegalStateException("app.topology.partitioning.student-key-field '" + studentKeyField
+                    + "' is not a field of " + schema.getFullName());
+        }
+        // Any other key field must take its default, or the rebuilt key cannot match the producers'
+        for (Schema.Field field : schema.getFields()) {
+            if (field != studentField && !field.hasDefaultValue()) {
+                throw new IllegalStateException("app.topology.partitioning.co-partitioned=true requires a "
+                        + schema.getFullName() + " key holding only the student id, but '" + field.name()
+                        + "' has no default");
+            }
+        }
+        Serializer<QuizAnswerKey> avroSerializer = quizAnswerKeySerde.serializer();
+        // The subject, and so the schema id in the hashed bytes, is always the quiz.answers key's
+        this.keySerializer = (topic, studentId) -> {
+            if (studentId == null) {
+                return null;
+            }
+            QuizAnswerKey key = new QuizAnswerKey();
+            for (Schema.Field field : schema.getFields()) {
+                key.put(field.pos(), field == studentField ? studentId : SpecificData.get().getDefaultValue(field));
+            }
+            return avroSerializer.serialize(quizAnswersTopic, key);
+        };
+    }
+
+    /**
+     * Student id to the key bytes the default partitioner hashed; pass it to
+     * {@code KafkaStreams#queryMetadataForKey} to find the instance owning a student
+     */
+    public Serializer<String> keySerializer() {
+        return keySerializer;
+    }
+
+    public int partition(String studentId, int numPartitions) {
+        return BuiltInPartitioner.partitionForKey(keySerializer.serialize(null, studentId), numPartitions);
+    }
+}
@@ -0,0 +1,43 @@
+package xyz.catuns.edupulse.engagement.topology;
+
+/**
+ * When the windowed aggregation stops accepting a record: the stream time from which Kafka
+ * Streams drops it as belonging to an expired window.
+ * <p>
+ * Time windows accept a record while their end is after {@code streamTime - grace}. A session
+ * window accepts it while the record's own session {@code [t, t]} ends no earlier than
+ * {@code streamTime - grace - gap}; a record that bridges into a later, still open session is
+ * accepted beyond that, so for sessions the close is a lower bound.
+ *
+ * @param sizeMs pane size of time windows, inactivity gap of session windows
+ */
+public record WindowClose(long sizeMs, long graceMs, boolean session) {
+
+    /**
+     * Tumbling windows, or the panes hopping and sliding windows are aggregated in
+     */
+    public static WindowClose ofTimeWindows(long sizeMs, long graceMs) {
+        return new WindowClose(sizeMs, graceMs, false);
+    }
+
+    public static WindowClose ofSessionWindows(long inactivityGapMs, long graceMs) {
+        return new WindowClose(inactivityGapMs, graceMs, true);
+    }
+
+    public long windowStart(long timestamp) {
+        return session ? timestamp : timestamp - Math.floorMod(timestamp, sizeMs);
+    }
+
+    public long windowEnd(long timestamp) {
+        return session ? timestamp : windowStart(timestamp) + sizeMs;
+    }
+
+    /**
+     * @return first stream time at which a record with {@code timestamp} is dropped
+     */
+    public long closesAt(long timestamp) {
+        return session
+                ? timestamp + sizeMs + graceMs + 1
+                : windowEnd(timestamp) + graceMs;
+    }
+}
@@ -0,0 +1,102 @@
+package xyz.catuns.edupulse.engagement.topology;
+
+import xyz.catuns.edupulse.engagement.config.properties.ScoringProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Geometry of the configured scoring window in terms of panes.
+ * <p>
+ * Events are aggregated once into non-overlapping panes of {@code gcd(duration, advance)};
+ * a hopping or sliding window is the merge of the {@link #panesPerWindow()} panes it
+ * covers. Per-event work and store writes are therefore the same as for a tumbling window,
+ * and the size/advance multiplier is only paid when a window is emitted. A tumbling window
+ * is the degenerate case of one pane per window.
+ */
+public record WindowPanes(ScoringProperties.WindowType type, long windowSizeMs, long advanceMs, long paneSizeMs) {
+
+    /**
+     * @throws IllegalArgumentException for SESSION windows, which have no fixed geometry
+     */
+    public static WindowPanes of(ScoringProperties.Window window) {
+        if (window.getType() == ScoringProperties.WindowType.SESSION) {
+            throw new IllegalArgumentException("SESSION windows are not pane based");
+        }
+        long windowSizeMs = window.getDurationSeconds() * 1000;
+        if (window.getType() == ScoringProperties.WindowType.TUMBLING) {
+            return new WindowPanes(window.getType(), windowSizeMs, windowSizeMs, windowSizeMs);
+        }
+
+        long advanceMs = window.getAdvanceSeconds() * 1000;
+        if (advanceMs <= 0 || advanceMs > windowSizeMs) {
+            throw new IllegalArgumentException("app.scoring.window.advance-seconds must be in (0, duration-seconds], was "
+                    + window.getAdvanceSeconds());
+        }
+        return new WindowPanes(window.getType(), windowSizeMs, advanceMs, gcd(windowSizeMs, advanceMs));
+    }
+
+    /**
+     * Sizes of the configured roll-up resolutions in milliseconds
+     *
+     * @throws IllegalArgumentException if a resolution is not a whole number of panes or duplicates the window size
+     */
+    public List<Long> rollupsMs(ScoringProperties.Window window) {
+        List<Long> rollups = new ArrayList<>();
+        for (long seconds : window.getRollupSeconds()) {
+            long rollupMs = seconds * 1000;
+            if (rollupMs <= 0 || rollupMs % paneSizeMs != 0 || rollupMs == windowSizeMs) {
+                throw new IllegalArgumentException("app.scoring.window.rollup-seconds entries must be positive multiples of the "
+                        + paneSizeMs / 1000 + "s pane and differ from duration-seconds, was " + seconds);
+            }
+            rollups.add(rollupMs);
+        }
+        return rollups;
+    }
+
+    public boolean isTumbling() {
+        return type == ScoringProperties.WindowType.TUMBLING;
+    }
+
+    public long panesPerWindow() {
+        return windowSizeMs / paneSizeMs;
+    }
+
+    /**
+     * End of the window a pane update is reported under: the next hop boundary for hopping
+     * windows, the pane itself for sliding windows (the trailing window ends with the newest pane)
+     */
+    public long windowEndFor(long paneEnd) {
+        if (type == ScoringProperties.WindowType.HOPPING) {
+            return Math.ceilDiv(paneEnd, advanceMs) * advanceMs;
+        }
+        return paneEnd;
+    }
+
+    /**
+     * Distance between the ends of consecutive windows that pane updates are reported under
+     */
+    public long windowStepMs() {
+        return type == ScoringProperties.WindowType.SLIDING ? paneSizeMs : advanceMs;
+    }
+
+    /**
+     * Start of the first and last pane (inclusive) covered by the window ending at {@code windowEnd}
+     */
+    public long firstPaneStart(long windowEnd) {
+        return windowEnd - windowSizeMs;
+    }
+
+    public long lastPaneStart(long windowEnd) {
+        return windowEnd - paneSizeMs;
+    }
+
+    private static long gcd(long a, long b) {
+        while (b != 0) {
+            long t = a % b;
+            a = b;
+            b = t;
+        }
+        return a;
+    }
+}
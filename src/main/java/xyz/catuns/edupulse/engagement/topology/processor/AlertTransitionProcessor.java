@@ -0,0 +1,127 @@
+package xyz.catuns.edupulse.engagement.topology.processor;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.streams.kstream.Windowed;
+import org.apache.kafka.streams.processor.api.Processor;
+import org.apache.kafka.streams.processor.api.ProcessorContext;
+import org.apache.kafka.streams.processor.api.Record;
+import org.apache.kafka.streams.state.KeyValueStore;
+import xyz.catuns.edupulse.common.messaging.events.engagement.EngagementScore;
+import xyz.catuns.edupulse.engagement.config.properties.ScoringProperties;
+import xyz.catuns.edupulse.engagement.domain.dto.EngagementAlert;
+import xyz.catuns.edupulse.engagement.domain.model.AlertState;
+import xyz.catuns.edupulse.engagement.service.metrics.EngagementMetrics;
+import xyz.catuns.edupulse.engagement.service.plan.ScoringPlanRegistry;
+
+/**
+ * Publishes a student's transitions into and out of CRITICAL engagement, keyed by student id.
+ * <p>
+ * A student enters CRITICAL when scores cross the alert threshold and leaves it once they
+ * reach {@code threshold + clear-margin}. Either condition must hold for the debounce period
+ * before the transition is published, and transitions of a student are at least the cooldown
+ * apart, so a score oscillating around the threshold does not page an instructor repeatedly.
+ * Only base-resolution scores are considered, and no late-event corrections; the state of
+ * each student is kept in {@link #STORE}.
+ */
+@Slf4j
+public class AlertTransitionProcessor
+        implements Processor<Windowed<String>, EngagementScore, String, EngagementAlert> {
+
+    public static final String STORE = "engagement-alert-state-store";
+
+    private final ScoringPlanRegistry plans;
+    private final double clearMargin;
+    private final long debounceMs;
+    private final long cooldownMs;
+    private final long windowSizeMs;
+    private final EngagementMetrics metrics;
+
+    private ProcessorContext<String, EngagementAlert> context;
+    private KeyValueStore<String, AlertState> store;
+
+    /**
+     * @param windowSizeMs base window size, or {@link EngagementScoreProcessor#VARIABLE_WINDOW}
+     */
+    public AlertTransitionProcessor(
+            ScoringPlanRegistry plans,
+            ScoringProperties.Alerts config,
+            EngagementMetrics metrics,
+            long windowSizeMs
+    ) {
+        this.plans = plans;
+        this.clearMargin = config.getClearMargin();
+        this.debounceMs = config.getDebounce().toMillis();
+        this.cooldownMs = config.getCooldown().toMillis();
+        this.metrics = metrics;
+        this.windowSizeMs = windowSizeMs;
+    }
+
+    @Override
+    public void init(ProcessorContext<String, EngagementAlert> context) {
+        this.context = context;
+        this.store = context.getStateStore(STORE);
+    }
+
+    @Override
+    public void process(Record<Windowed<String>, EngagementScore> record) {
+        EngagementScore score = record.value();
+        if (score == null) {
+            return;
+        }
+        // Corrections rescore a closed window; alerts follow the live score only
+        if (record.headers().lastHeader(LateCorrectionProcessor.CORRECTION_HEADER) != null) {
+            return;
+        }
+        if (windowSizeMs != EngagementScoreProcessor.VARIABLE_WINDOW
+                && record.key().window().end() - record.key().window().start() != windowSizeMs) {
+            return;
+        }
+
+        String studentId = record.key().key();
+        AlertState state = store.get(studentId);
+        if (state == null) {
+            state = new AlertState();
+        }
+        boolean changing = state.isCritical()
+                ? score.getScore() >= plans.current().alertThreshold() + clearMargin
+                : Boolean.TRUE.equals(score.getAlertThresholdCrossed());
+        long timestamp = record.timestamp();
+
+        if (!changing) {
+            if (state.getPendingSince() >= 0) {
+                state.setPendingSince(-1L);
+                store.put(studentId, state);
+            }
+            return;
+        }
+        if (state.getPendingSince() < 0) {
+            state.setPendingSince(timestamp);
+        }
+        if (timestamp - state.getPendingSince() < debounceMs
+                || (state.getLastTransitionAt() >= 0 && timestamp - state.getLastTransitionAt() < cooldownMs)) {
+            store.put(studentId, state);
+            return;
+        }
+
+        state.setCritical(!state.isCritical());
+        state.setPendingSince(-1L);
+        state.setLastTransitionAt(timestamp);
+        store.put(studentId, state);
+
+        EngagementAlert alert = EngagementAlert.builder()
+                .studentId(studentId)
+                .sessionId(score.getEnvelope().getSessionId())
+                .type(state.isCritical() ? EngagementAlert.Type.RAISED : EngagementAlert.Type.CLEARED)
+                .score(score.getScore())
+                .timestamp(timestamp)
+                .build();
+        metrics.recordAlertTransition(alert.getType());
+        if (state.isCritical()) {
+            log.warn("ALERT: Low engagement detected for student={}, score={}, trend={}",
+                    studentId, score.getScore(), score.getTrend());
+        } else {
+            log.info("Alert cleared for student={}, score={}", studentId, score.getScore());
+        }
+        context.forward(new Record<>(studentId, alert, timestamp, record.headers()));
+    }
+}
@@ -0,0 +1,92 @@
+package xyz.catuns.edupulse.engagement.topology.processor;
+
+import org.apache.kafka.streams.kstream.Windowed;
+import org.apache.kafka.streams.processor.api.Processor;
+import org.apache.kafka.streams.processor.api.ProcessorContext;
+import org.apache.kafka.streams.processor.api.Record;
+import org.apache.kafka.streams.state.KeyValueStore;
+import xyz.catuns.edupulse.common.messaging.events.engagement.EngagementScore;
+import xyz.catuns.edupulse.engagement.domain.model.CohortDelta;
+import xyz.catuns.edupulse.engagement.domain.model.CohortMember;
+
+import java.util.Objects;
+
+/**
+ * Turns per-student scores into {@link CohortDelta}s keyed by cohort (the session id of the score).
+ * <p>
+ * Each student's current contribution is kept in {@link #MEMBER_STORE}; a newer score replaces
+ * it with a single delta, or with one delta per cohort when the student moved to another
+ * session. Scores of windows older than the current contribution and roll-up resolutions are
+ * ignored, so a cohort counts each student once, with their latest base window.
+ */
+public class CohortContributionProcessor
+        implements Processor<Windowed<String>, EngagementScore, String, CohortDelta> {
+
+    public static final String MEMBER_STORE = "engagement-cohort-member-store";
+    public static final String COHORT_STORE = "engagement-cohort-store";
+
+    private final long windowSizeMs;
+
+    private ProcessorContext<String, CohortDelta> context;
+    private KeyValueStore<String, CohortMember> memberStore;
+
+    /**
+     * @param windowSizeMs base window size, or {@link EngagementScoreProcessor#VARIABLE_WINDOW}
+     */
+    public CohortContributionProcessor(long windowSizeMs) {
+        this.windowSizeMs = windowSizeMs;
+    }
+
+    @Override
+    public void init(ProcessorContext<String, CohortDelta> context) {
+        this.context = context;
+        this.memberStore = context.getStateStore(MEMBER_STORE);
+    }
+
+    @Override
+    public void process(Record<Windowed<String>, EngagementScore> record) {
+        EngagementScore score = record.value();
+        if (score == null) {
+            return;
+        }
+        long windowStart = record.key().window().start();
+        if (windowSizeMs != EngagementScoreProcessor.VARIABLE_WINDOW
+                && record.key().window().end() - windowStart != windowSizeMs) {
+            return;
+        }
+
+        String studentId = record.key().key();
+        CohortMember previous = memberStore.get(studentId);
+        if (previous != null && windowStart < previous.getWindowStart()) {
+            return;
+        }
+
+        String cohortId = score.getEnvelope().getSessionId();
+        CohortMember current = cohortId == null ? null : new CohortMember(
+                cohortId, windowStart, score.getScore(), Boolean.TRUE.equals(score.getAlertThresholdCrossed()));
+        if (Objects.equals(previous, current)) {
+            return;
+        }
+        if (current == null) {
+            memberStore.delete(studentId);
+        } else {
+            memberStore.put(studentId, current);
+        }
+
+        long timestamp = record.timestamp();
+        if (previous != null && current != null && previous.getCohortId().equals(current.getCohortId())) {
+            forward(cohortId, new CohortDelta(previous, current, timestamp), record);
+            return;
+        }
+        if (previous != null) {
+            forward(previous.getCohortId(), new CohortDelta(previous, null, timestamp), record);
+        }
+        if (current != null) {
+            forward(cohortId, new CohortDelta(null, current, timestamp), record);
+        }
+    }
+
+    private void forward(String cohortId, CohortDelta delta, Record<Windowed<String>, EngagementScore> record) {
+        context.forward(new Record<>(cohortId, delta, record.timestamp(), record.headers()));
+    }
+}
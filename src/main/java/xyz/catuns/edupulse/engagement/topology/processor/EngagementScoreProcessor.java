@@ -0,0 +1,121 @@
+package xyz.catuns.edupulse.engagement.topology.processor;
+
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.streams.kstream.Windowed;
+import org.apache.kafka.streams.processor.api.FixedKeyProcessor;
+import org.apache.kafka.streams.processor.api.FixedKeyProcessorContext;
+import org.apache.kafka.streams.processor.api.FixedKeyRecord;
+import org.apache.kafka.streams.state.KeyValueStore;
+import xyz.catuns.edupulse.common.messaging.events.engagement.EngagementScore;
+import xyz.catuns.edupulse.engagement.domain.model.BehavioralPattern;
+import xyz.catuns.edupulse.engagement.domain.model.RecentScores;
+import xyz.catuns.edupulse.engagement.domain.model.ScoreHistory;
+import xyz.catuns.edupulse.engagement.domain.model.StudentEngagementState;
+import xyz.catuns.edupulse.engagement.service.EngagementScoringService;
+import xyz.catuns.edupulse.engagement.service.metrics.EngagementMetrics;
+import xyz.catuns.edupulse.engagement.service.plan.ScoringPlan;
+import xyz.catuns.edupulse.engagement.service.plan.ScoringPlanRegistry;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.StringJoiner;
+
+/**
+ * Scores a windowed aggregate using the student's {@link ScoreHistory}, then records the
+ * score in the history store. One point lookup and one put per scored window, independent
+ * of how many windows the student has accumulated.
+ * <p>
+ * Scores are tagged with their window length in the {@link #RESOLUTION_HEADER} header;
+ * roll-up resolutions keep their own history under {@code studentId|seconds}. Session
+ * windows vary in length, are tagged {@code SESSION} and share the student's history.
+ * Behavioral patterns detected in the window are listed, comma separated, in the
+ * {@link #PATTERNS_HEADER} header.
+ */
+public class EngagementScoreProcessor
+        implements FixedKeyProcessor<Windowed<String>, StudentEngagementState, EngagementScore> {
+
+    public static final String HISTORY_STORE = "engagement-score-history-store";
+    public static final String RESOLUTION_HEADER = "engagement-resolution";
+    public static final String PATTERNS_HEADER = "engagement-patterns";
+    /**
+     * Window size for session windows, which have no fixed length
+     */
+    public static final long VARIABLE_WINDOW = -1L;
+
+    private final EngagementScoringService scoringService;
+    private final ScoringPlanRegistry plans;
+    private final EngagementMetrics metrics;
+    private final long windowSizeMs;
+
+    private FixedKeyProcessorContext<Windowed<String>, EngagementScore> context;
+    private KeyValueStore<String, ScoreHistory> historyStore;
+
+    public EngagementScoreProcessor(EngagementScoringService scoringService,
+                                    ScoringPlanRegistry plans,
+                                    EngagementMetrics metrics,
+                                    long windowSizeMs) {
+        this.scoringService = scoringService;
+        this.plans = plans;
+        this.metrics = metrics;
+        this.windowSizeMs = windowSizeMs;
+    }
+
+    @Override
+    public void init(FixedKeyProcessorContext<Windowed<String>, EngagementScore> context) {
+        this.context = context;
+        this.historyStore = context.getStateStore(HISTORY_STORE);
+    }
+
+    @Override
+    public void process(FixedKeyRecord<Windowed<String>, StudentEngagementState> record) {
+        if (record.value() == null) {
+            return;
+        }
+        long start = System.nanoTime();
+        String studentId = record.key().key();
+        long windowStart = record.key().window().start();
+        long resolutionMs = record.key().window().end() - windowStart;
+        boolean baseResolution = windowSizeMs == VARIABLE_WINDOW || resolutionMs == windowSizeMs;
+        String historyKey = baseResolution ? studentId : studentId + '|' + resolutionMs / 1000;
+
+        ScoringPlan.TrendRules trend = plans.current().trend();
+        ScoreHistory history = historyStore.get(historyKey);
+        if (history == null) {
+            history = new ScoreHistory();
+            history.setRecentScores(new RecentScores(trend.historySize()));
+        }
+
+        // Late update of an already superseded window: score it, but leave history untouched
+        boolean current = history.advanceTo(windowStart, trend.ewmaAlpha());
+        EngagementScore score = scoringService.calculate(record.value(), history);
+
+        if (current) {
+            history.setCurrentWindowScore(score.getScore());
+            historyStore.put(historyKey, history);
+        }
+
+        metrics.recordStage(EngagementMetrics.Stage.SCORE, start);
+        metrics.recordScore(score);
+        metrics.recordEventToEmitLatency(record.value().getLastEventTimestamp());
+        // Copy: the same upstream headers may also reach this processor through another resolution
+        Headers headers = new RecordHeaders(record.headers().toArray());
+        headers.remove(RESOLUTION_HEADER);
+        String resolution = windowSizeMs == VARIABLE_WINDOW ? "SESSION" : Duration.ofMillis(resolutionMs).toString();
+        headers.add(RESOLUTION_HEADER, resolution.getBytes(StandardCharsets.UTF_8));
+        headers.remove(PATTERNS_HEADER);
+        int patterns = scoringService.patternsOf(record.value());
+        if (patterns != 0) {
+            headers.add(PATTERNS_HEADER, patternCodes(patterns).getBytes(StandardCharsets.UTF_8));
+        }
+        context.forward(record.withValue(score).withHeaders(headers));
+    }
+
+    private static String patternCodes(int patterns) {
+        StringJoiner codes = new StringJoiner(",");
+        for (BehavioralPattern pattern : BehavioralPattern.fromMask(patterns)) {
+            codes.add(pattern.getCode());
+        }
+        return codes.toString();
+    }
+}
@@ -0,0 +1,86 @@
+package xyz.catuns.edupulse.engagement.topology.processor;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.streams.kstream.Windowed;
+import org.apache.kafka.streams.kstream.internals.TimeWindow;
+import org.apache.kafka.streams.processor.api.Processor;
+import org.apache.kafka.streams.processor.api.ProcessorContext;
+import org.apache.kafka.streams.processor.api.Record;
+import org.apache.kafka.streams.state.TimestampedWindowStore;
+import org.apache.kafka.streams.state.ValueAndTimestamp;
+import org.apache.kafka.streams.state.WindowStore;
+import xyz.catuns.edupulse.engagement.domain.dto.LateEvent;
+import xyz.catuns.edupulse.engagement.domain.model.StudentEngagementState;
+import xyz.catuns.edupulse.engagement.service.aggregate.StudentEngagementAggregator;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Folds late events into the closed tumbling window they belong to and forwards the corrected
+ * window for scoring, tagged with the {@link #CORRECTION_HEADER} header.
+ * <p>
+ * The first correction of a window starts from its final aggregate, which the aggregate store
+ * retains for the correction horizon, or from an empty state if it had no on-time event.
+ * Corrected windows are kept in {@link #STORE}, so further late events of the same window
+ * accumulate. The aggregate store itself is only read.
+ */
+@Slf4j
+public class LateCorrectionProcessor
+        implements Processor<String, LateEvent, Windowed<String>, StudentEngagementState> {
+
+    public static final String STORE = "engagement-late-correction-store";
+    public static final String CORRECTION_HEADER = "engagement-correction";
+
+    private static final byte[] CORRECTION = "true".getBytes(StandardCharsets.UTF_8);
+
+    private final String aggregateStoreName;
+    private final StudentEngagementAggregator aggregator;
+
+    private ProcessorContext<Windowed<String>, StudentEngagementState> context;
+    private TimestampedWindowStore<String, StudentEngagementState> aggregateStore;
+    private WindowStore<String, StudentEngagementState> correctionStore;
+
+    public LateCorrectionProcessor(String aggregateStoreName, StudentEngagementAggregator aggregator) {
+        this.aggregateStoreName = aggregateStoreName;
+        this.aggregator = aggregator;
+    }
+
+    @Override
+    public void init(ProcessorContext<Windowed<String>, StudentEngagementState> context) {
+        this.context = context;
+        this.aggregateStore = context.getStateStore(aggregateStoreName);
+        this.correctionStore = context.getStateStore(STORE);
+    }
+
+    @Override
+    public void process(Record<String, LateEvent> record) {
+        LateEvent late = record.value();
+        if (late == null || late.getAction() != LateEvent.Action.CORRECTED) {
+            return;
+        }
+        String studentId = record.key();
+        long windowStart = late.getWindowStart();
+
+        StudentEngagementState state = correctionStore.fetch(studentId, windowStart);
+        if (state == null) {
+            // Within the horizon the window is still retained; none means it had no on-time event
+            ValueAndTimestamp<StudentEngagementState> closed = aggregateStore.fetch(studentId, windowStart);
+            state = closed != null ? closed.value() : new StudentEngagementState();
+        }
+        aggregator.aggregate(studentId, late.getEvent(), state);
+        correctionStore.put(studentId, state, windowStart);
+        log.debug("Corrected closed window: student={}, window=[{}-{}], totalAnswers={}",
+                studentId, windowStart, late.getWindowEnd(), state.getTotalAnswers());
+
+        Headers headers = new RecordHeaders(record.headers().toArray());
+        headers.remove(CORRECTION_HEADER);
+        headers.add(CORRECTION_HEADER, CORRECTION);
+        context.forward(new Record<>(
+                new Windowed<>(studentId, new TimeWindow(windowStart, late.getWindowEnd())),
+                state,
+                record.timestamp(),
+                headers));
+    }
+}
@@ -0,0 +1,100 @@
+package xyz.catuns.edupulse.engagement.topology.processor;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.streams.processor.api.Processor;
+import org.apache.kafka.streams.processor.api.ProcessorContext;
+import org.apache.kafka.streams.processor.api.Record;
+import xyz.catuns.edupulse.engagement.domain.dto.LateEvent;
+import xyz.catuns.edupulse.engagement.domain.events.EnrichedEvent;
+import xyz.catuns.edupulse.engagement.domain.events.EventKind;
+import xyz.catuns.edupulse.engagement.service.metrics.EngagementMetrics;
+import xyz.catuns.edupulse.engagement.topology.WindowClose;
+
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Finds the events the windowed aggregation will drop because their window already closed.
+ * It runs in the aggregation's sub-topology, so it sees the same task stream time.
+ * <p>
+ * The lateness of every event (stream time minus record timestamp) is recorded per source,
+ * which is the distribution the grace period has to cover. On-time events are not forwarded;
+ * late ones are forwarded as a {@link LateEvent}, {@link LateEvent.Action#CORRECTED} while their
+ * window is within the correction horizon. Only late events are mapped to an {@link EnrichedEvent}.
+ */
+@Slf4j
+public class LateEventProcessor<V> implements Processor<String, V, String, LateEvent> {
+
+    private final WindowClose windowClose;
+    private final long correctionHorizonMs;
+    private final Map<EventKind, String> sourceTopics;
+    private final Function<V, EventKind> kindOf;
+    private final Function<V, EnrichedEvent> toEvent;
+    private final EngagementMetrics metrics;
+
+    private ProcessorContext<String, LateEvent> context;
+
+    /**
+     * @param correctionHorizonMs 0 when late events are only reported
+     */
+    public LateEventProcessor(
+            WindowClose windowClose,
+            long correctionHorizonMs,
+            Map<EventKind, String> sourceTopics,
+            Function<V, EventKind> kindOf,
+            Function<V, EnrichedEvent> toEvent,
+            EngagementMetrics metrics
+    ) {
+        this.windowClose = windowClose;
+        this.correctionHorizonMs = correctionHorizonMs;
+        this.sourceTopics = sourceTopics;
+        this.kindOf = kindOf;
+        this.toEvent = toEvent;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void init(ProcessorContext<String, LateEvent> context) {
+        this.context = context;
+    }
+
+    @Override
+    public void process(Record<String, V> record) {
+        V value = record.value();
+        if (value == null) {
+            return;
+        }
+        long timestamp = record.timestamp();
+        long streamTime = context.currentStreamTimeMs();
+        EventKind source = kindOf.apply(value);
+        long latenessMs = Math.max(0L, streamTime - timestamp);
+        metrics.recordLateness(source, latenessMs);
+
+        long closesAt = windowClose.closesAt(timestamp);
+        if (streamTime < closesAt) {
+            return;
+        }
+        LateEvent.Action action = streamTime - closesAt < correctionHorizonMs
+                ? LateEvent.Action.CORRECTED
+                : LateEvent.Action.DROPPED;
+        metrics.recordLateEvent(source, action);
+        // Keyed by student, also when the aggregation is keyed by session
+        EnrichedEvent event = toEvent.apply(value);
+        log.debug("Late event: student={}, source={}, lateness={}ms, action={}",
+                event.getStudentId(), source, latenessMs, action);
+
+        context.forward(record
+                .withKey(event.getStudentId())
+                .withValue(LateEvent.builder()
+                        .studentId(event.getStudentId())
+                        .topic(sourceTopics.get(source))
+                        .action(action)
+                        .eventTimestamp(timestamp)
+                        .streamTime(streamTime)
+                        .latenessMs(latenessMs)
+                        .windowStart(windowClose.windowStart(timestamp))
+                        .windowEnd(windowClose.windowEnd(timestamp))
+                        .event(event)
+                        .build()));
+    }
+}
@@ -0,0 +1,65 @@
+package xyz.catuns.edupulse.engagement.topology.processor;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.streams.processor.api.Processor;
+import org.apache.kafka.streams.processor.api.ProcessorContext;
+import org.apache.kafka.streams.processor.api.Record;
+import org.apache.kafka.streams.state.KeyValueStore;
+import xyz.catuns.edupulse.engagement.domain.dto.ScoringConfig;
+import xyz.catuns.edupulse.engagement.service.plan.ScoringPlanRegistry;
+
+/**
+ * Global store processor of the scoring config topic: applies each configuration to the
+ * {@link ScoringPlanRegistry} of every instance.
+ * <p>
+ * Only the {@link #KEY} record is used. An invalid configuration is logged and the plan in
+ * effect is kept; a tombstone reverts to {@code app.scoring}. The store is restored before
+ * {@link #init} runs, which re-applies the latest configuration on startup.
+ */
+@Slf4j
+public class ScoringConfigProcessor implements Processor<String, ScoringConfig, Void, Void> {
+
+    public static final String STORE = "scoring-config-store";
+    public static final String KEY = "scoring";
+    public static final String SOURCE = "topic";
+
+    private final ScoringPlanRegistry plans;
+
+    private KeyValueStore<String, ScoringConfig> store;
+
+    public ScoringConfigProcessor(ScoringPlanRegistry plans) {
+        this.plans = plans;
+    }
+
+    @Override
+    public void init(ProcessorContext<Void, Void> context) {
+        this.store = context.getStateStore(STORE);
+        ScoringConfig stored = store.get(KEY);
+        if (stored != null) {
+            apply(stored);
+        }
+    }
+
+    @Override
+    public void process(Record<String, ScoringConfig> record) {
+        if (!KEY.equals(record.key())) {
+            log.warn("Ignoring scoring config record with key={}, expected key={}", record.key(), KEY);
+            return;
+        }
+        if (record.value() == null) {
+            store.delete(KEY);
+            plans.apply(SOURCE, null);
+            return;
+        }
+        store.put(KEY, record.value());
+        apply(record.value());
+    }
+
+    private void apply(ScoringConfig config) {
+        try {
+            plans.apply(SOURCE, config);
+        } catch (IllegalArgumentException e) {
+            log.error("Rejected scoring config, keeping plan v{}: {}", plans.current().version(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package xyz.catuns.edupulse.engagement.topology.processor;
+
+import org.apache.kafka.streams.kstream.Windowed;
+import org.apache.kafka.streams.processor.api.Processor;
+import org.apache.kafka.streams.processor.api.ProcessorContext;
+import org.apache.kafka.streams.processor.api.Record;
+import org.apache.kafka.streams.state.TimestampedKeyValueStore;
+import org.apache.kafka.streams.state.ValueAndTimestamp;
+import xyz.catuns.edupulse.engagement.domain.dto.SkillMastery;
+import xyz.catuns.edupulse.engagement.domain.model.SkillStats;
+import xyz.catuns.edupulse.engagement.domain.model.StudentEngagementState;
+import xyz.catuns.edupulse.engagement.service.skill.SkillDictionary;
+
+/**
+ * Fans a windowed aggregate out into one {@link SkillMastery} per tracked skill, keyed by student.
+ * <p>
+ * Skill ids are decoded through the local {@link SkillDictionary}, falling back to the
+ * {@link SkillDictionary#STORE} global store for tags first seen by another instance; a skill
+ * whose tag is not known yet is published with its id only. Roll-up resolutions are skipped,
+ * their counters are sums of the base windows already published.
+ */
+public class SkillMasteryProcessor
+        implements Processor<Windowed<String>, StudentEngagementState, String, SkillMastery> {
+
+    private final SkillDictionary dictionary;
+    private final long windowSizeMs;
+
+    private ProcessorContext<String, SkillMastery> context;
+    private TimestampedKeyValueStore<Integer, String> dictionaryStore;
+
+    /**
+     * @param windowSizeMs base window size, or {@link EngagementScoreProcessor#VARIABLE_WINDOW}
+     */
+    public SkillMasteryProcessor(SkillDictionary dictionary, long windowSizeMs) {
+        this.dictionary = dictionary;
+        this.windowSizeMs = windowSizeMs;
+    }
+
+    @Override
+    public void init(ProcessorContext<String, SkillMastery> context) {
+        this.context = context;
+        this.dictionaryStore = context.getStateStore(SkillDictionary.STORE);
+    }
+
+    @Override
+    public void process(Record<Windowed<String>, StudentEngagementState> record) {
+        StudentEngagementState state = record.value();
+        if (state == null || state.getSkills().isEmpty()) {
+            return;
+        }
+        long windowStart = record.key().window().start();
+        long windowEnd = record.key().window().end();
+        if (windowSizeMs != EngagementScoreProcessor.VARIABLE_WINDOW && windowEnd - windowStart != windowSizeMs) {
+            return;
+        }
+
+        String studentId = record.key().key();
+        SkillStats skills = state.getSkills();
+        for (int i = 0; i < skills.size(); i++) {
+            int attempts = skills.attemptsAt(i);
+            int correct = skills.correctAt(i);
+            int timed = skills.timedAt(i);
+            SkillMastery mastery = SkillMastery.builder()
+                    .studentId(studentId)
+                    .skillId(skills.idAt(i))
+                    .skillTag(tagOf(skills.idAt(i)))
+                    .windowStart(windowStart)
+                    .windowEnd(windowEnd)
+                    .attempts(attempts)
+                    .correctAnswers(correct)
+                    .correctnessRate(attempts == 0 ? 0.0 : (double) correct / attempts)
+                    .averageTimeSpentMs(timed == 0 ? null : (double) skills.timeSpentMsAt(i) / timed)
+                    .mastery((correct + 1.0) / (attempts + 2.0))
+                    .build();
+            context.forward(new Record<>(studentId, mastery, record.timestamp(), record.headers()));
+        }
+    }
+
+    private String tagOf(int skillId) {
+        String tag = dictionary.tagOf(skillId);
+        if (tag != null) {
+            return tag;
+        }
+        ValueAndTimestamp<String> published = dictionaryStore.get(skillId);
+        return published != null ? published.value() : null;
+    }
+}
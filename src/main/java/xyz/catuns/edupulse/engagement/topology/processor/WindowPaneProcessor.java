@@ -0,0 +1,103 @@
+package xyz.catuns.edupulse.engagement.topology.processor;
+
+import org.apache.kafka.streams.KeyValue;
+import org.apache.kafka.streams.kstream.Windowed;
+import org.apache.kafka.streams.kstream.internals.TimeWindow;
+import org.apache.kafka.streams.processor.api.Processor;
+import org.apache.kafka.streams.processor.api.ProcessorContext;
+import org.apache.kafka.streams.processor.api.Record;
+import org.apache.kafka.streams.state.TimestampedWindowStore;
+import org.apache.kafka.streams.state.ValueAndTimestamp;
+import org.apache.kafka.streams.state.WindowStoreIterator;
+import xyz.catuns.edupulse.engagement.domain.model.StudentEngagementState;
+import xyz.catuns.edupulse.engagement.service.plan.ScoringPlanRegistry;
+import xyz.catuns.edupulse.engagement.topology.WindowPanes;
+
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Turns a pane update into updates of the hopping or sliding windows it belongs to, by
+ * merging their panes from the pane store. An in-order update only changes the newest window
+ * containing the pane; a late update of an older pane also re-emits every newer window that
+ * was already reported and covers it. Either way one range fetch serves all windows, rather
+ * than one aggregation per overlapping window.
+ */
+public class WindowPaneProcessor
+        implements Processor<Windowed<String>, StudentEngagementState, Windowed<String>, StudentEngagementState> {
+
+    private final ScoringPlanRegistry plans;
+    private final String paneStoreName;
+    private final WindowPanes panes;
+    private final boolean emitOnWindowClose;
+
+    private ProcessorContext<Windowed<String>, StudentEngagementState> context;
+    private TimestampedWindowStore<String, StudentEngagementState> paneStore;
+
+    /**
+     * @param emitOnWindowClose panes arrive once, on close; a hopping window is then only
+     *                          complete when its last pane closes
+     */
+    public WindowPaneProcessor(ScoringPlanRegistry plans, String paneStoreName, WindowPanes panes,
+                               boolean emitOnWindowClose) {
+        this.plans = plans;
+        this.paneStoreName = paneStoreName;
+        this.panes = panes;
+        this.emitOnWindowClose = emitOnWindowClose;
+    }
+
+    @Override
+    public void init(ProcessorContext<Windowed<String>, StudentEngagementState> context) {
+        this.context = context;
+        this.paneStore = context.getStateStore(paneStoreName);
+    }
+
+    @Override
+    public void process(Record<Windowed<String>, StudentEngagementState> record) {
+        if (record.value() == null) {
+            return;
+        }
+        String studentId = record.key().key();
+        long paneStart = record.key().window().start();
+        long paneEnd = record.key().window().end();
+        long firstWindowEnd = panes.windowEndFor(paneEnd);
+        if (emitOnWindowClose && firstWindowEnd != paneEnd) {
+            return;
+        }
+        // Panes arrive once, on close, when emitting on close; no newer window has been reported yet
+        long lastWindowEnd = firstWindowEnd;
+        while (!emitOnWindowClose && panes.firstPaneStart(lastWindowEnd + panes.windowStepMs()) <= paneStart) {
+            lastWindowEnd += panes.windowStepMs();
+        }
+
+        NavigableMap<Long, StudentEngagementState> covered = new TreeMap<>();
+        try (WindowStoreIterator<ValueAndTimestamp<StudentEngagementState>> it = paneStore.fetch(
+                studentId, panes.firstPaneStart(firstWindowEnd), panes.lastPaneStart(lastWindowEnd))) {
+            while (it.hasNext()) {
+                KeyValue<Long, ValueAndTimestamp<StudentEngagementState>> pane = it.next();
+                if (pane.value != null) {
+                    covered.put(pane.key, pane.value.value());
+                }
+            }
+        }
+
+        long rapidSubmissionMs = plans.current().patterns().rapidSubmissionMs();
+        for (long windowEnd = firstWindowEnd; windowEnd <= lastWindowEnd; windowEnd += panes.windowStepMs()) {
+            // A newer window was reported iff a pane reporting under it exists
+            if (windowEnd != firstWindowEnd && covered.subMap(
+                    windowEnd - panes.windowStepMs(), true, panes.lastPaneStart(windowEnd), true).isEmpty()) {
+                continue;
+            }
+            long windowStart = panes.firstPaneStart(windowEnd);
+            StudentEngagementState window = new StudentEngagementState();
+            covered.subMap(windowStart, true, panes.lastPaneStart(windowEnd), true).values()
+                    .forEach(pane -> window.mergeFrom(pane, rapidSubmissionMs));
+            window.setWindowStart(windowStart);
+            window.setWindowEnd(windowEnd);
+
+            context.forward(record
+                    .withKey(new Windowed<>(studentId, new TimeWindow(windowStart, windowEnd)))
+                    .withValue(window));
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package xyz.catuns.edupulse.engagement.topology.processor;
+
+import org.apache.kafka.streams.kstream.Windowed;
+import org.apache.kafka.streams.kstream.internals.TimeWindow;
+import org.apache.kafka.streams.processor.api.Processor;
+import org.apache.kafka.streams.processor.api.ProcessorContext;
+import org.apache.kafka.streams.processor.api.Record;
+import org.apache.kafka.streams.state.KeyValueStore;
+import xyz.catuns.edupulse.engagement.domain.model.RollupState;
+import xyz.catuns.edupulse.engagement.domain.model.StudentEngagementState;
+import xyz.catuns.edupulse.engagement.service.plan.ScoringPlanRegistry;
+import xyz.catuns.edupulse.engagement.topology.WindowPanes;
+
+import java.util.List;
+
+/**
+ * Rolls pane updates up into coarser tumbling windows (e.g. 5m and 30m on top of 1m panes)
+ * so every resolution is served from a single aggregation pass over the raw events.
+ * <p>
+ * Each resolution keeps a {@link RollupState} per student in {@link #ROLLUP_STORE}: closed
+ * panes are folded into a sealed prefix once, so an update costs one point lookup, one put
+ * and a merge of the handful of panes still within grace, per resolution.
+ */
+public class WindowRollupProcessor
+        implements Processor<Windowed<String>, StudentEngagementState, Windowed<String>, StudentEngagementState> {
+
+    public static final String ROLLUP_STORE = "engagement-rollup-store";
+
+    private final ScoringPlanRegistry plans;
+    private final WindowPanes panes;
+    private final List<Long> resolutionsMs;
+    private final long gracePeriodMs;
+    private final boolean emitOnWindowClose;
+
+    private ProcessorContext<Windowed<String>, StudentEngagementState> context;
+    private KeyValueStore<String, RollupState> rollupStore;
+
+    /**
+     * @param resolutionsMs     coarse window sizes, each a multiple of the pane size
+     * @param emitOnWindowClose only emit a coarse window once its last pane has closed
+     */
+    public WindowRollupProcessor(ScoringPlanRegistry plans, WindowPanes panes, List<Long> resolutionsMs,
+                                 long gracePeriodMs, boolean emitOnWindowClose) {
+        this.plans = plans;
+        this.panes = panes;
+        this.resolutionsMs = resolutionsMs;
+        this.gracePeriodMs = gracePeriodMs;
+        this.emitOnWindowClose = emitOnWindowClose;
+    }
+
+    @Override
+    public void init(ProcessorContext<Windowed<String>, StudentEngagementState> context) {
+        this.context = context;
+        this.rollupStore = context.getStateStore(ROLLUP_STORE);
+    }
+
+    @Override
+    public void process(Record<Windowed<String>, StudentEngagementState> record) {
+        if (record.value() == null) {
+            return;
+        }
+        String studentId = record.key().key();
+        long paneStart = record.key().window().start();
+        long paneEnd = record.key().window().end();
+        // Panes whose end + grace has passed can no longer be updated by the aggregation
+        long lastClosedPaneStart = context.currentStreamTimeMs() - gracePeriodMs - panes.paneSizeMs();
+        long rapidSubmissionMs = plans.current().patterns().rapidSubmissionMs();
+
+        for (long resolutionMs : resolutionsMs) {
+            String rollupKey = rollupKey(studentId, resolutionMs);
+            long windowStart = Math.floorDiv(paneStart, resolutionMs) * resolutionMs;
+            long windowEnd = windowStart + resolutionMs;
+
+            RollupState rollup = rollupStore.get(rollupKey);
+            if (rollup == null) {
+                rollup = new RollupState();
+            }
+            if (!rollup.advanceTo(windowStart) || !rollup.updatePane(paneStart, record.value())) {
+                continue;  // pane of a superseded coarse window, or already sealed
+            }
+            rollup.sealThrough(lastClosedPaneStart, panes.paneSizeMs(), rapidSubmissionMs);
+            rollupStore.put(rollupKey, rollup);
+
+            if (emitOnWindowClose && paneEnd != windowEnd) {
+                continue;
+            }
+            StudentEngagementState window = rollup.view(rapidSubmissionMs);
+            window.setWindowStart(windowStart);
+            window.setWindowEnd(windowEnd);
+            context.forward(record
+                    .withKey(new Windowed<>(studentId, new TimeWindow(windowStart, windowEnd)))
+                    .withValue(window));
+        }
+    }
+
+    private static String rollupKey(String studentId, long resolutionMs) {
+        return studentId + '|' + resolutionMs / 1000;
+    }
+}
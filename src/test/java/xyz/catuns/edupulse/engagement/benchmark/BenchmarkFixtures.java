@@ -0,0 +1,105 @@
+package xyz.catuns.edupulse.engagement.benchmark;
+
+import xyz.catuns.edupulse.common.messaging.events.EventEnvelope;
+import xyz.catuns.edupulse.common.messaging.events.quiz.QuizAnswer;
+import xyz.catuns.edupulse.common.messaging.events.session.SessionEvent;
+import xyz.catuns.edupulse.common.messaging.events.session.SessionEventType;
+import xyz.catuns.edupulse.engagement.domain.events.EnrichedEvent;
+import xyz.catuns.edupulse.engagement.domain.events.EventKind;
+import xyz.catuns.edupulse.engagement.domain.model.StudentEngagementState;
+
+import java.time.Instant;
+
+/**
+ * Deterministic events and states shared by the benchmarks
+ */
+final class BenchmarkFixtures {
+
+    static final long START = 1_700_000_000_000L;
+    static final String STUDENT_ID = "student-0001";
+    static final String SESSION_ID = "session-0001";
+    static final long RAPID_SUBMISSION_MS = 5_000L;
+
+    private static final SessionEventType[] SESSION_TYPES = {
+            SessionEventType.NAVIGATION, SessionEventType.DWELL, SessionEventType.PAUSED, SessionEventType.RESUMED
+    };
+
+    private BenchmarkFixtures() {
+    }
+
+    static EnrichedEvent quizEvent(int i) {
+        EnrichedEvent event = new EnrichedEvent();
+        event.setKind(EventKind.QUIZ_ANSWER);
+        event.setStudentId(STUDENT_ID);
+        event.setSessionId(SESSION_ID);
+        event.setEventType("quiz.answered");
+        event.setTimestamp(Instant.ofEpochMilli(START + i * 6_000L));
+        event.setQuestionId("q-" + i);
+        event.setIsCorrect(i % 3 != 0);
+        event.setTimeSpentMs(3_000L + (i * 7_919L) % 20_000L);
+        event.setHintsUsed(i % 5 == 0 ? 1 : 0);
+        event.setSkillTag("skill-" + (i % 40));
+        event.setDifficultyLevel(1 + i % 3);
+        return event;
+    }
+
+    static EnrichedEvent sessionEvent(int i) {
+        EnrichedEvent event = new EnrichedEvent();
+        event.setKind(EventKind.SESSION);
+        event.setStudentId(STUDENT_ID);
+        event.setSessionId(SESSION_ID);
+        event.setSessionEventType(SESSION_TYPES[i % SESSION_TYPES.length]);
+        event.setEventType("session." + event.getSessionEventType().name().toLowerCase());
+        event.setTimestamp(Instant.ofEpochMilli(START + i * 6_000L + 500));
+        event.setPageId("page-" + (i % 200));
+        event.setDwellTimeMs(2_000L + i % 4_000L);
+        return event;
+    }
+
+    /**
+     * Replays {@code events} quiz answers and session events through the state
+     */
+    static StudentEngagementState stateWithEvents(int events) {
+        StudentEngagementState state = new StudentEngagementState();
+        state.setStudentId(STUDENT_ID);
+        state.setSessionId(SESSION_ID);
+        for (int i = 0; i < events; i++) {
+            state.addQuizAnswer(quizEvent(i), RAPID_SUBMISSION_MS);
+            state.addSessionEvent(sessionEvent(i));
+        }
+        return state;
+    }
+
+    static EventEnvelope envelope(String type, int i) {
+        EventEnvelope envelope = new EventEnvelope();
+        envelope.setId("6f1c2a9e-5b7d-4d0e-9c1a-" + String.format("%012d", i));
+        envelope.setType(type);
+        envelope.setSource("benchmark");
+        envelope.setSpecversion("1.0");
+        envelope.setStudentId(STUDENT_ID);
+        envelope.setSessionId(SESSION_ID);
+        envelope.setTimestamp(Instant.ofEpochMilli(START + i * 6_000L));
+        return envelope;
+    }
+
+    static QuizAnswer quizAnswer(int i) {
+        QuizAnswer answer = new QuizAnswer();
+        answer.setEnvelope(envelope("quiz.answered", i));
+        answer.setQuestionId("q-" + i);
+        answer.setIsCorrect(i % 3 != 0);
+        answer.setTimeSpentMs(3_000L + (i * 7_919L) % 20_000L);
+        answer.setSkillTag("skill-" + (i % 40));
+        answer.setDifficultyLevel(1 + i % 3);
+        return answer;
+    }
+
+    static SessionEvent sessionEventRecord(int i) {
+        SessionEvent event = new SessionEvent();
+        SessionEventType type = SESSION_TYPES[i % SESSION_TYPES.length];
+        event.setEnvelope(envelope("session." + type.name().toLowerCase(), i));
+        event.setEventType(type);
+        event.setPageId("page-" + (i % 200));
+        event.setDwellTimeMs(2_000L + i % 4_000L);
+        return event;
+    }
+}
@@ -0,0 +1,60 @@
+package xyz.catuns.edupulse.engagement.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import xyz.catuns.edupulse.common.messaging.events.engagement.EngagementScore;
+import xyz.catuns.edupulse.engagement.config.properties.ScoringProperties;
+import xyz.catuns.edupulse.engagement.domain.mapper.EventEnvelopeMapperImpl;
+import xyz.catuns.edupulse.engagement.domain.model.ScoreHistory;
+import xyz.catuns.edupulse.engagement.domain.model.StudentEngagementState;
+import xyz.catuns.edupulse.engagement.service.EngagementScoringService;
+import xyz.catuns.edupulse.engagement.service.plan.ScoringPlanRegistry;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of turning one window aggregate into an {@link EngagementScore}, including envelope creation
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class EngagementScoringServiceBenchmark {
+
+    private EngagementScoringService scoringService;
+    private StudentEngagementState state;
+    private ScoreHistory history;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ScoringProperties properties = new ScoringProperties();
+        scoringService = new EngagementScoringService(new ScoringPlanRegistry(properties), new EventEnvelopeMapperImpl());
+        state = BenchmarkFixtures.stateWithEvents(20);
+
+        history = new ScoreHistory();
+        for (int window = 0; window < 10; window++) {
+            history.advanceTo(window * 60_000L, properties.getTrend().getEwmaAlpha());
+            history.setCurrentWindowScore(0.5 + window * 0.03);
+        }
+    }
+
+    @Benchmark
+    public EngagementScore calculateWithoutHistory() {
+        return scoringService.calculate(state);
+    }
+
+    @Benchmark
+    public EngagementScore calculateWithHistory() {
+        return scoringService.calculate(state, history);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(EngagementScoringServiceBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,52 @@
+package xyz.catuns.edupulse.engagement.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import xyz.catuns.edupulse.common.messaging.events.quiz.QuizAnswer;
+import xyz.catuns.edupulse.common.messaging.events.session.SessionEvent;
+import xyz.catuns.edupulse.engagement.domain.events.EnrichedEvent;
+import xyz.catuns.edupulse.engagement.domain.mapper.EnrichedEventMapper;
+import xyz.catuns.edupulse.engagement.domain.mapper.EnrichedEventMapperImpl;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of mapping the Avro input records into {@link EnrichedEvent}
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class EnrichedEventMapperBenchmark {
+
+    private final EnrichedEventMapper mapper = new EnrichedEventMapperImpl();
+
+    private QuizAnswer quizAnswer;
+    private SessionEvent sessionEvent;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        quizAnswer = BenchmarkFixtures.quizAnswer(1);
+        sessionEvent = BenchmarkFixtures.sessionEventRecord(1);
+    }
+
+    @Benchmark
+    public EnrichedEvent fromQuizAnswer() {
+        return mapper.fromQuizAnswer(quizAnswer);
+    }
+
+    @Benchmark
+    public EnrichedEvent fromSessionEvent() {
+        return mapper.fromSessionEvent(sessionEvent);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(EnrichedEventMapperBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,118 @@
+package xyz.catuns.edupulse.engagement.benchmark;
+
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.common.serialization.Serializer;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.kafka.support.serializer.JsonSerde;
+import xyz.catuns.edupulse.common.messaging.events.session.SessionEventType;
+import xyz.catuns.edupulse.engagement.domain.events.EnrichedEvent;
+import xyz.catuns.edupulse.engagement.domain.events.EventKind;
+import xyz.catuns.edupulse.engagement.domain.serde.EnrichedEventSerde;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the binary repartition format with the previous {@link JsonSerde} for a
+ * quiz answer and a session event. Bytes per event are printed once per trial.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class EnrichedEventSerdeBenchmark {
+
+    private static final String TOPIC = "engagement-events-repartition";
+
+    private EnrichedEvent quizAnswer;
+    private EnrichedEvent sessionEvent;
+
+    private Serializer<EnrichedEvent> binarySerializer;
+    private Deserializer<EnrichedEvent> binaryDeserializer;
+    private Serializer<EnrichedEvent> jsonSerializer;
+    private Deserializer<EnrichedEvent> jsonDeserializer;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        EnrichedEventSerde binary = new EnrichedEventSerde();
+        binarySerializer = binary.serializer();
+        binaryDeserializer = binary.deserializer();
+
+        try (JsonSerde<EnrichedEvent> json = new JsonSerde<>(EnrichedEvent.class)) {
+            jsonSerializer = json.serializer();
+            jsonDeserializer = json.deserializer();
+        }
+
+        quizAnswer = quizAnswer();
+        sessionEvent = sessionEvent();
+
+        System.out.printf("%nbytes/event quiz: binary=%d json=%d, session: binary=%d json=%d%n",
+                binarySerializer.serialize(TOPIC, quizAnswer).length,
+                jsonSerializer.serialize(TOPIC, quizAnswer).length,
+                binarySerializer.serialize(TOPIC, sessionEvent).length,
+                jsonSerializer.serialize(TOPIC, sessionEvent).length);
+    }
+
+    @Benchmark
+    public EnrichedEvent binaryQuizRoundTrip() {
+        return binaryDeserializer.deserialize(TOPIC, binarySerializer.serialize(TOPIC, quizAnswer));
+    }
+
+    @Benchmark
+    public EnrichedEvent jsonQuizRoundTrip() {
+        return jsonDeserializer.deserialize(TOPIC, jsonSerializer.serialize(TOPIC, quizAnswer));
+    }
+
+    @Benchmark
+    public EnrichedEvent binarySessionRoundTrip() {
+        return binaryDeserializer.deserialize(TOPIC, binarySerializer.serialize(TOPIC, sessionEvent));
+    }
+
+    @Benchmark
+    public EnrichedEvent jsonSessionRoundTrip() {
+        return jsonDeserializer.deserialize(TOPIC, jsonSerializer.serialize(TOPIC, sessionEvent));
+    }
+
+    private static EnrichedEvent quizAnswer() {
+        EnrichedEvent event = new EnrichedEvent();
+        event.setKind(EventKind.QUIZ_ANSWER);
+        event.setEventId("6f1c2a9e-5b7d-4d0e-9c1a-3f2b8e7d6c5a");
+        event.setStudentId("student-0001");
+        event.setSessionId("session-0001");
+        event.setEventType("quiz.answered");
+        event.setTimestamp(Instant.ofEpochMilli(1_700_000_000_000L));
+        event.setQuestionId("q-001");
+        event.setIsCorrect(true);
+        event.setTimeSpentMs(8_500L);
+        event.setHintsUsed(0);
+        event.setSkillTag("fractions");
+        event.setDifficultyLevel(2);
+        event.setSource("quiz-service");
+        return event;
+    }
+
+    private static EnrichedEvent sessionEvent() {
+        EnrichedEvent event = new EnrichedEvent();
+        event.setKind(EventKind.SESSION);
+        event.setEventId("0b8a7c6d-5e4f-4a3b-8c2d-1e0f9a8b7c6d");
+        event.setStudentId("student-0001");
+        event.setSessionId("session-0001");
+        event.setEventType("session.navigation");
+        event.setTimestamp(Instant.ofEpochMilli(1_700_000_004_000L));
+        event.setSessionEventType(SessionEventType.NAVIGATION);
+        event.setPageId("page-7");
+        event.setSource("session-service");
+        return event;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(EnrichedEventSerdeBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
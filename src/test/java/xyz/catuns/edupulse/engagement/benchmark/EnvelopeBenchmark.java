@@ -0,0 +1,81 @@
+package xyz.catuns.edupulse.engagement.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import xyz.catuns.edupulse.common.messaging.events.EventEnvelope;
+import xyz.catuns.edupulse.engagement.config.properties.EnvelopeProperties;
+import xyz.catuns.edupulse.engagement.domain.mapper.EventEnvelopeMapper;
+import xyz.catuns.edupulse.engagement.domain.mapper.EventEnvelopeMapperImpl;
+import xyz.catuns.edupulse.engagement.service.envelope.CoarseClock;
+import xyz.catuns.edupulse.engagement.service.envelope.EnvelopeClock;
+import xyz.catuns.edupulse.engagement.service.envelope.EnvelopeIdGenerator;
+import xyz.catuns.edupulse.engagement.service.envelope.UuidV7Generator;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-score cost of the envelope id and timestamp, from several threads at once like stream threads.
+ * {@code RANDOM_UUID} / {@code SYSTEM} is the previous behavior
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class EnvelopeBenchmark {
+
+    @Param({"RANDOM_UUID", "UUID_V7"})
+    private EnvelopeProperties.IdStrategy idStrategy;
+
+    @Param({"SYSTEM", "COARSE"})
+    private EnvelopeProperties.ClockMode clockMode;
+
+    private EnvelopeClock clock;
+    private EnvelopeIdGenerator idGenerator;
+    private EventEnvelopeMapper mapper;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        clock = clockMode == EnvelopeProperties.ClockMode.COARSE
+                ? new CoarseClock(Duration.ofMillis(1))
+                : EnvelopeClock.system();
+        idGenerator = idStrategy == EnvelopeProperties.IdStrategy.UUID_V7
+                ? new UuidV7Generator(clock)
+                : EnvelopeIdGenerator.randomUuid();
+        mapper = new EventEnvelopeMapperImpl();
+        mapper.setEnvelopeStrategy(idGenerator, clock);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (clock instanceof CoarseClock coarseClock) {
+            coarseClock.close();
+        }
+    }
+
+    @Benchmark
+    public String nextId() {
+        return idGenerator.nextId();
+    }
+
+    @Benchmark
+    public EventEnvelope envelope() {
+        return mapper.envelopeBuilder()
+                .setType("engagement.scored")
+                .setStudentId("student-1")
+                .setSessionId("session-1")
+                .setCorrelationId(null)
+                .build();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(EnvelopeBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
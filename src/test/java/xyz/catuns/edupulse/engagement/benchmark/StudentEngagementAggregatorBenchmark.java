@@ -0,0 +1,107 @@
+package xyz.catuns.edupulse.engagement.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import xyz.catuns.edupulse.common.messaging.events.quiz.QuizAnswer;
+import xyz.catuns.edupulse.common.messaging.events.session.SessionEvent;
+import xyz.catuns.edupulse.engagement.config.properties.ScoringProperties;
+import xyz.catuns.edupulse.engagement.domain.events.EnrichedEvent;
+import xyz.catuns.edupulse.engagement.domain.mapper.EnrichedEventMapper;
+import xyz.catuns.edupulse.engagement.domain.mapper.EnrichedEventMapperImpl;
+import xyz.catuns.edupulse.engagement.domain.model.StudentEngagementState;
+import xyz.catuns.edupulse.engagement.service.aggregate.StudentEngagementAggregator;
+import xyz.catuns.edupulse.engagement.service.metrics.EngagementMetrics;
+import xyz.catuns.edupulse.engagement.service.pattern.PatternDetector;
+import xyz.catuns.edupulse.engagement.service.plan.ScoringPlanRegistry;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of folding one event into a warm window state, the per-record hot path of the topology.
+ * {@code *Record} benchmarks aggregate the input Avro record directly (co-partitioned mode);
+ * {@code mapAndAggregate*} add the {@link EnrichedEvent} mapping that path skips
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class StudentEngagementAggregatorBenchmark {
+
+    private static final int EVENT_COUNT = 1024;  // power of two for cheap cycling
+
+    private final ScoringProperties config = new ScoringProperties();
+    private final StudentEngagementAggregator aggregator = new StudentEngagementAggregator(
+            config, new PatternDetector(new ScoringPlanRegistry(config)), new EngagementMetrics(new SimpleMeterRegistry()));
+
+    private final EnrichedEventMapper mapper = new EnrichedEventMapperImpl();
+
+    private EnrichedEvent[] quizEvents;
+    private EnrichedEvent[] sessionEvents;
+    private QuizAnswer[] quizRecords;
+    private SessionEvent[] sessionRecords;
+    private StudentEngagementState state;
+    private int index;
+
+    @Setup(Level.Trial)
+    public void setUpEvents() {
+        quizEvents = new EnrichedEvent[EVENT_COUNT];
+        sessionEvents = new EnrichedEvent[EVENT_COUNT];
+        quizRecords = new QuizAnswer[EVENT_COUNT];
+        sessionRecords = new SessionEvent[EVENT_COUNT];
+        for (int i = 0; i < EVENT_COUNT; i++) {
+            quizEvents[i] = BenchmarkFixtures.quizEvent(i);
+            sessionEvents[i] = BenchmarkFixtures.sessionEvent(i);
+            quizRecords[i] = BenchmarkFixtures.quizAnswer(i);
+            sessionRecords[i] = BenchmarkFixtures.sessionEventRecord(i);
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void setUpState() {
+        state = BenchmarkFixtures.stateWithEvents(100);
+        index = 0;
+    }
+
+    @Benchmark
+    public StudentEngagementState aggregateQuizAnswer() {
+        return aggregator.aggregate(BenchmarkFixtures.STUDENT_ID, quizEvents[index++ & (EVENT_COUNT - 1)], state);
+    }
+
+    @Benchmark
+    public StudentEngagementState aggregateSessionEvent() {
+        return aggregator.aggregate(BenchmarkFixtures.STUDENT_ID, sessionEvents[index++ & (EVENT_COUNT - 1)], state);
+    }
+
+    @Benchmark
+    public StudentEngagementState mapAndAggregateQuizAnswer() {
+        QuizAnswer answer = quizRecords[index++ & (EVENT_COUNT - 1)];
+        return aggregator.aggregate(BenchmarkFixtures.STUDENT_ID, mapper.fromQuizAnswer(answer), state);
+    }
+
+    @Benchmark
+    public StudentEngagementState mapAndAggregateSessionEvent() {
+        SessionEvent event = sessionRecords[index++ & (EVENT_COUNT - 1)];
+        return aggregator.aggregate(BenchmarkFixtures.STUDENT_ID, mapper.fromSessionEvent(event), state);
+    }
+
+    @Benchmark
+    public StudentEngagementState aggregateQuizAnswerRecord() {
+        return aggregator.aggregateQuizAnswer(BenchmarkFixtures.STUDENT_ID, quizRecords[index++ & (EVENT_COUNT - 1)], state);
+    }
+
+    @Benchmark
+    public StudentEngagementState aggregateSessionEventRecord() {
+        return aggregator.aggregateSessionEvent(BenchmarkFixtures.STUDENT_ID, sessionRecords[index++ & (EVENT_COUNT - 1)], state);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(StudentEngagementAggregatorBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,83 @@
+package xyz.catuns.edupulse.engagement.benchmark;
+
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.common.serialization.Serializer;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+import xyz.catuns.edupulse.engagement.domain.model.StudentEngagementState;
+import xyz.catuns.edupulse.engagement.domain.serde.StudentEngagementStateSerde;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the binary state serde with the previous Spring JSON serde.
+ * Bytes per state are printed once per trial; run with {@link #main(String[])} or the
+ * {@code benchmark} Maven profile.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class StudentEngagementStateSerdeBenchmark {
+
+    private static final String TOPIC = "engagement-aggregate-store-changelog";
+
+    /**
+     * Number of quiz answers / session events folded into the state
+     */
+    @Param({"10", "100", "1000"})
+    public int events;
+
+    private StudentEngagementState state;
+
+    private Serializer<StudentEngagementState> binarySerializer;
+    private Deserializer<StudentEngagementState> binaryDeserializer;
+    private Serializer<StudentEngagementState> jsonSerializer;
+    private Deserializer<StudentEngagementState> jsonDeserializer;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        StudentEngagementStateSerde serde = new StudentEngagementStateSerde();
+        binarySerializer = serde.serializer();
+        binaryDeserializer = serde.deserializer();
+
+        jsonSerializer = new JsonSerializer<>();
+        Map<String, Object> configs = new HashMap<>();
+        configs.put(JsonDeserializer.USE_TYPE_INFO_HEADERS, false);
+        configs.put(JsonDeserializer.TRUSTED_PACKAGES, "*");
+        JsonDeserializer<StudentEngagementState> deserializer = new JsonDeserializer<>(StudentEngagementState.class);
+        deserializer.configure(configs, false);
+        jsonDeserializer = deserializer;
+
+        state = BenchmarkFixtures.stateWithEvents(events);
+
+        System.out.printf("%n[events=%d] bytes/state: binary=%d json=%d%n",
+                events,
+                binarySerializer.serialize(TOPIC, state).length,
+                jsonSerializer.serialize(TOPIC, state).length);
+    }
+
+    @Benchmark
+    public StudentEngagementState binaryRoundTrip() {
+        return binaryDeserializer.deserialize(TOPIC, binarySerializer.serialize(TOPIC, state));
+    }
+
+    @Benchmark
+    public StudentEngagementState jsonRoundTrip() {
+        return jsonDeserializer.deserialize(TOPIC, jsonSerializer.serialize(TOPIC, state));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(StudentEngagementStateSerdeBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
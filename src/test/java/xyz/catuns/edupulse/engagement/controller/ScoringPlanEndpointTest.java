@@ -0,0 +1,83 @@
+package xyz.catuns.edupulse.engagement.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import xyz.catuns.edupulse.engagement.config.properties.ScoringProperties;
+import xyz.catuns.edupulse.engagement.domain.dto.ScoringConfig;
+import xyz.catuns.edupulse.engagement.service.plan.ScoringPlanRegistry;
+import xyz.catuns.edupulse.engagement.topology.processor.ScoringConfigProcessor;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ScoringPlanEndpointTest {
+
+    private static final String TOPIC = "engagement.scoring-config";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ScoringPlanRegistry plans = new ScoringPlanRegistry(new ScoringProperties());
+    @SuppressWarnings("unchecked")
+    private final KafkaTemplate<String, String> kafkaTemplate = mock(KafkaTemplate.class);
+    private final ScoringPlanEndpoint endpoint = new ScoringPlanEndpoint(plans, kafkaTemplate, objectMapper);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(endpoint, "scoringConfigTopic", TOPIC);
+        when(kafkaTemplate.send(anyString(), anyString(), any())).thenReturn(CompletableFuture.completedFuture(null));
+    }
+
+    @Test
+    void mergesPartialSectionsOntoThePlanInEffect() throws Exception {
+        ScoringProperties.Threshold inEffect = new ScoringProperties.Threshold();
+        inEffect.setAlert(0.3f);
+        inEffect.getTime().setStrugglingMs(20_000);
+        inEffect.getPattern().setFrequentPauses(4);
+        plans.apply(ScoringConfigProcessor.SOURCE, new ScoringConfig(null, inEffect, null));
+
+        endpoint.update(null, Map.of("pattern", Map.of("idleGapMs", 300_000)), Map.of("minDelta", 0.1));
+
+        ScoringConfig published = published();
+        assertThat(published.getThresholds().getPattern().getIdleGapMs()).isEqualTo(300_000L);
+        assertThat(published.getThresholds().getPattern().getFrequentPauses()).isEqualTo(4);
+        assertThat(published.getThresholds().getAlert()).isEqualTo(0.3f);
+        assertThat(published.getThresholds().getTime().getStrugglingMs()).isEqualTo(20_000L);
+        assertThat(published.getWeights()).isEqualTo(plans.currentConfig().getWeights());
+        assertThat(published.getTrend().getMinDelta()).isEqualTo(0.1);
+        assertThat(published.getTrend().getEwmaAlpha()).isEqualTo(plans.currentConfig().getTrend().getEwmaAlpha());
+        // The configuration in effect is copied, not changed
+        assertThat(plans.currentConfig().getThresholds().getPattern().getIdleGapMs()).isEqualTo(120_000L);
+    }
+
+    @Test
+    void rejectsNullSectionAsInvalidRequest() {
+        Map<String, Object> thresholds = new HashMap<>();
+        thresholds.put("time", null);
+
+        assertThatThrownBy(() -> endpoint.update(null, thresholds, null))
+                .isInstanceOf(InvalidEndpointRequestException.class)
+                .hasMessageContaining("thresholds.time must not be null");
+        verify(kafkaTemplate, never()).send(anyString(), anyString(), any());
+    }
+
+    private ScoringConfig published() throws Exception {
+        ArgumentCaptor<String> value = ArgumentCaptor.forClass(String.class);
+        verify(kafkaTemplate).send(eq(TOPIC), eq(ScoringConfigProcessor.KEY), value.capture());
+        return objectMapper.readValue(value.getValue(), ScoringConfig.class);
+    }
+}
@@ -0,0 +1,48 @@
+package xyz.catuns.edupulse.engagement.domain.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class CohortStatsTest {
+
+    private static final String COHORT = "session-456";
+
+    @Test
+    void replacesStudentContribution() {
+        CohortStats stats = new CohortStats();
+        CohortMember first = new CohortMember(COHORT, 0L, 0.35, true);
+        CohortMember second = new CohortMember(COHORT, 0L, 0.8, false);
+        CohortMember improved = new CohortMember(COHORT, 60_000L, 0.55, false);
+
+        stats.apply(COHORT, new CohortDelta(null, first, 1L));
+        stats.apply(COHORT, new CohortDelta(null, second, 2L));
+        stats.apply(COHORT, new CohortDelta(first, improved, 3L));
+
+        assertThat(stats.getStudentCount()).isEqualTo(2);
+        assertThat(stats.getMeanScore()).isCloseTo((0.8 + 0.55) / 2, within(1e-9));
+        assertThat(stats.getAtRiskCount()).isZero();
+        assertThat(stats.getDistribution()[3]).isZero();
+        assertThat(stats.getDistribution()[5]).isEqualTo(1);
+        assertThat(stats.getDistribution()[8]).isEqualTo(1);
+        assertThat(stats.getUpdatedAt()).isEqualTo(3L);
+    }
+
+    @Test
+    void removingEveryStudentLeavesNoResidue() {
+        CohortStats stats = new CohortStats();
+        CohortMember previous = null;
+        for (int i = 0; i < 1_000; i++) {
+            CohortMember next = new CohortMember(COHORT, i, (i * 0.618) % 1.0, i % 7 == 0);
+            stats.apply(COHORT, new CohortDelta(previous, next, i));
+            previous = next;
+        }
+        stats.apply(COHORT, new CohortDelta(previous, null, 1_000L));
+
+        assertThat(stats.getStudentCount()).isZero();
+        assertThat(stats.getScoreSumMicros()).isZero();
+        assertThat(stats.getAtRiskCount()).isZero();
+        assertThat(stats.getDistribution()).containsOnly(0);
+    }
+}
@@ -0,0 +1,61 @@
+package xyz.catuns.edupulse.engagement.domain.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class HyperLogLogTest {
+
+    @Test
+    void estimatesDistinctValuesWithinError() {
+        HyperLogLog sketch = new HyperLogLog(10);
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < 20_000; i++) {
+                sketch.add("page-" + i);
+            }
+        }
+
+        // Standard error at precision 10 is ~3.3%; allow three of them
+        assertThat((double) sketch.estimate()).isCloseTo(20_000, within(2_000.0));
+    }
+
+    @Test
+    void smallCardinalitiesAreNearlyExact() {
+        HyperLogLog sketch = new HyperLogLog();
+        for (int i = 0; i < 10; i++) {
+            sketch.add("page-" + i);
+        }
+
+        assertThat(sketch.estimate()).isBetween(9L, 11L);
+    }
+
+    @Test
+    void mergeMatchesSketchOfUnion() {
+        HyperLogLog first = new HyperLogLog();
+        HyperLogLog second = new HyperLogLog();
+        HyperLogLog union = new HyperLogLog();
+        for (int i = 0; i < 1_000; i++) {
+            (i % 3 == 0 ? first : second).add("page-" + i);
+            union.add("page-" + i);
+        }
+
+        assertThat(first.merge(second)).isEqualTo(union);
+    }
+
+    @Test
+    void mergeAcrossPrecisionsKeepsTheLowerOne() {
+        HyperLogLog coarse = new HyperLogLog(6);
+        HyperLogLog fine = new HyperLogLog(9);
+        HyperLogLog direct = new HyperLogLog(6);
+        for (int i = 0; i < 500; i++) {
+            (i % 2 == 0 ? coarse : fine).add("page-" + i);
+            direct.add("page-" + i);
+        }
+
+        HyperLogLog merged = fine.merge(coarse);
+
+        assertThat(merged.precision()).isEqualTo(6);
+        assertThat(merged).isEqualTo(direct);
+    }
+}
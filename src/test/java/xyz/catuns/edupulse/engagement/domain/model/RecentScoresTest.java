@@ -0,0 +1,47 @@
+package xyz.catuns.edupulse.engagement.domain.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RecentScoresTest {
+
+    @Test
+    void keepsTheNewestScoresOldestFirst() {
+        RecentScores scores = new RecentScores(3);
+        for (double score : new double[]{0.1, 0.2, 0.3, 0.4, 0.5}) {
+            scores.add(score);
+        }
+
+        assertThat(scores.size()).isEqualTo(3);
+        assertThat(scores.capacity()).isEqualTo(3);
+        assertThat(scores.get(0)).isEqualTo(0.3);
+        assertThat(scores.get(2)).isEqualTo(0.5);
+        assertThat(scores.toArray()).containsExactly(0.3, 0.4, 0.5);
+    }
+
+    @Test
+    void equalityIgnoresTheRingPosition() {
+        RecentScores wrapped = new RecentScores(2);
+        wrapped.add(0.9);
+        wrapped.add(0.1);
+        wrapped.add(0.2);
+        RecentScores filled = new RecentScores(2);
+        filled.add(0.1);
+        filled.add(0.2);
+
+        assertThat(wrapped).isEqualTo(filled).hasSameHashCodeAs(filled);
+        assertThat(wrapped).isNotEqualTo(new RecentScores(3));
+    }
+
+    @Test
+    void rejectsIndexesOutsideTheRetainedScores() {
+        RecentScores scores = new RecentScores(4);
+        scores.add(0.5);
+
+        assertThat(scores.isEmpty()).isFalse();
+        assertThatThrownBy(() -> scores.get(1)).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> new RecentScores(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,85 @@
+package xyz.catuns.edupulse.engagement.domain.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class ScoreHistoryTest {
+
+    private static final double ALPHA = 0.5;
+    private static final long WINDOW_MS = 60_000L;
+
+    @Test
+    void foldsOnlyTheLastScoreOfEachWindow() {
+        ScoreHistory history = new ScoreHistory();
+
+        score(history, 0, 0.4);
+        score(history, 0, 0.6);
+        assertThat(history.getWindowCount()).isZero();
+
+        score(history, WINDOW_MS, 0.8);
+
+        assertThat(history.getWindowCount()).isEqualTo(1);
+        assertThat(history.getEwmaScore()).isEqualTo(0.6);
+        assertThat(history.getEwmaSlope()).isZero();
+        assertThat(history.getRecentScores().toArray()).containsExactly(0.6);
+        assertThat(history.getCurrentWindowStart()).isEqualTo(WINDOW_MS);
+        assertThat(history.getCurrentWindowScore()).isEqualTo(0.8);
+    }
+
+    @Test
+    void tracksEwmaAndSlopeOfClosedWindows() {
+        ScoreHistory history = new ScoreHistory();
+
+        score(history, 0, 0.6);
+        score(history, WINDOW_MS, 0.8);
+        score(history, 2 * WINDOW_MS, 0.2);
+
+        // ewma = 0.5 * 0.8 + 0.5 * 0.6, slope = 0.5 * (0.7 - 0.6)
+        assertThat(history.getEwmaScore()).isCloseTo(0.7, within(1e-9));
+        assertThat(history.getEwmaSlope()).isCloseTo(0.05, within(1e-9));
+
+        history.advanceTo(3 * WINDOW_MS, ALPHA);
+
+        // ewma = 0.5 * 0.2 + 0.5 * 0.7, slope = 0.5 * (0.45 - 0.7) + 0.5 * 0.05
+        assertThat(history.getEwmaScore()).isCloseTo(0.45, within(1e-9));
+        assertThat(history.getEwmaSlope()).isCloseTo(-0.1, within(1e-9));
+        assertThat(history.getWindowCount()).isEqualTo(3);
+        assertThat(history.getRecentScores().toArray()).containsExactly(0.6, 0.8, 0.2);
+    }
+
+    @Test
+    void lateUpdateOfASupersededWindowLeavesHistoryUntouched() {
+        ScoreHistory history = new ScoreHistory();
+        score(history, 0, 0.6);
+        score(history, WINDOW_MS, 0.8);
+
+        assertThat(history.advanceTo(0, ALPHA)).isFalse();
+
+        assertThat(history.getCurrentWindowStart()).isEqualTo(WINDOW_MS);
+        assertThat(history.getCurrentWindowScore()).isEqualTo(0.8);
+        assertThat(history.getWindowCount()).isEqualTo(1);
+        assertThat(history.getEwmaScore()).isEqualTo(0.6);
+    }
+
+    @Test
+    void skippedWindowsAreNotFolded() {
+        ScoreHistory history = new ScoreHistory();
+        score(history, 0, 0.6);
+
+        // No activity for two windows
+        score(history, 3 * WINDOW_MS, 0.9);
+
+        assertThat(history.getWindowCount()).isEqualTo(1);
+        assertThat(history.getRecentScores().toArray()).containsExactly(0.6);
+    }
+
+    /**
+     * Scores an update of the window starting at {@code windowStart}, as the score processor does
+     */
+    private static void score(ScoreHistory history, long windowStart, double score) {
+        assertThat(history.advanceTo(windowStart, ALPHA)).isTrue();
+        history.setCurrentWindowScore(score);
+    }
+}
@@ -0,0 +1,45 @@
+package xyz.catuns.edupulse.engagement.domain.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SkillStatsTest {
+
+    @Test
+    void keepsSkillsSortedById() {
+        SkillStats skills = new SkillStats(8);
+        int[] ids = {42, 7, 1_000_000, 7, 13};
+        for (int id : ids) {
+            skills.record(id, id != 13, 2_000L);
+        }
+
+        assertThat(skills.size()).isEqualTo(4);
+        assertThat(new int[]{skills.idAt(0), skills.idAt(1), skills.idAt(2), skills.idAt(3)})
+                .containsExactly(7, 13, 42, 1_000_000);
+        assertThat(skills.attempts(7)).isEqualTo(2);
+        assertThat(skills.correctAt(1)).isZero();
+        assertThat(skills.timeSpentMsAt(0)).isEqualTo(4_000L);
+    }
+
+    @Test
+    void dropsSkillsBeyondCapacity() {
+        SkillStats skills = new SkillStats(2);
+
+        assertThat(skills.record(1, true, null)).isTrue();
+        assertThat(skills.record(2, true, null)).isTrue();
+        assertThat(skills.record(3, true, null)).isFalse();
+        assertThat(skills.record(1, false, null)).isTrue();
+
+        assertThat(skills.attempts(1)).isEqualTo(2);
+        assertThat(skills.attempts(3)).isZero();
+        assertThat(skills.timedAt(0)).isZero();
+    }
+
+    @Test
+    void idsAreStableAndNonNegative() {
+        assertThat(SkillStats.idOf("fractions")).isEqualTo(SkillStats.idOf(new String("fractions")));
+        assertThat(SkillStats.idOf("fractions")).isNotNegative();
+        assertThat(SkillStats.idOf("fractions")).isNotEqualTo(SkillStats.idOf("algebra"));
+    }
+}
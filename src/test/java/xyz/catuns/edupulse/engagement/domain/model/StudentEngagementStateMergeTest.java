@@ -0,0 +1,88 @@
+package xyz.catuns.edupulse.engagement.domain.model;
+
+import org.junit.jupiter.api.Test;
+import xyz.catuns.edupulse.common.messaging.events.session.SessionEventType;
+import xyz.catuns.edupulse.engagement.domain.events.EnrichedEvent;
+import xyz.catuns.edupulse.engagement.domain.events.EventKind;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StudentEngagementStateMergeTest {
+
+    private static final long START = 1_700_000_000_000L;
+    private static final long RAPID_SUBMISSION_MS = 5_000L;
+
+    @Test
+    void mergingPanesInOrderMatchesDirectAggregation() {
+        StudentEngagementState merged = assertMergeMatchesDirectAggregation(RAPID_SUBMISSION_MS);
+
+        assertThat(merged.getRapidSubmissions()).isEqualTo(5);
+    }
+
+    @Test
+    void stitchesRapidSubmissionsWithTheGivenThreshold() {
+        // Answers are 3s apart: none is rapid under a 2s threshold
+        StudentEngagementState merged = assertMergeMatchesDirectAggregation(2_000L);
+
+        assertThat(merged.getRapidSubmissions()).isZero();
+    }
+
+    private static StudentEngagementState assertMergeMatchesDirectAggregation(long rapidSubmissionMs) {
+        StudentEngagementState direct = new StudentEngagementState();
+        StudentEngagementState[] panes = {new StudentEngagementState(), new StudentEngagementState(), new StudentEngagementState()};
+
+        // Answers 3s apart, incorrect run spanning the pane boundaries
+        boolean[] correct = {true, false, false, false, true, false};
+        for (int i = 0; i < correct.length; i++) {
+            EnrichedEvent answer = quizAnswer(START + i * 3_000L, correct[i], "skill-" + (i % 2));
+            EnrichedEvent navigation = navigation(START + i * 3_000L + 500, "page-" + i);
+            StudentEngagementState pane = panes[i / 2];
+            direct.addQuizAnswer(answer, rapidSubmissionMs);
+            direct.addSessionEvent(navigation);
+            pane.addQuizAnswer(answer, rapidSubmissionMs);
+            pane.addSessionEvent(navigation);
+        }
+
+        StudentEngagementState merged = new StudentEngagementState();
+        for (StudentEngagementState pane : panes) {
+            merged.mergeFrom(pane, rapidSubmissionMs);
+        }
+
+        assertThat(merged).isEqualTo(direct);
+        return merged;
+    }
+
+    @Test
+    void mergingIntoEmptyStateCopiesPane() {
+        StudentEngagementState pane = new StudentEngagementState();
+        pane.addQuizAnswer(quizAnswer(START, false, "fractions"), RAPID_SUBMISSION_MS);
+
+        StudentEngagementState merged = new StudentEngagementState();
+        merged.mergeFrom(pane, RAPID_SUBMISSION_MS);
+
+        assertThat(merged).isEqualTo(pane);
+    }
+
+    private static EnrichedEvent quizAnswer(long timestamp, boolean correct, String skillTag) {
+        EnrichedEvent event = new EnrichedEvent();
+        event.setKind(EventKind.QUIZ_ANSWER);
+        event.setEventType("quiz.answered");
+        event.setTimestamp(Instant.ofEpochMilli(timestamp));
+        event.setIsCorrect(correct);
+        event.setTimeSpentMs(3_000L);
+        event.setSkillTag(skillTag);
+        return event;
+    }
+
+    private static EnrichedEvent navigation(long timestamp, String pageId) {
+        EnrichedEvent event = new EnrichedEvent();
+        event.setKind(EventKind.SESSION);
+        event.setEventType("session.navigation");
+        event.setSessionEventType(SessionEventType.NAVIGATION);
+        event.setTimestamp(Instant.ofEpochMilli(timestamp));
+        event.setPageId(pageId);
+        return event;
+    }
+}
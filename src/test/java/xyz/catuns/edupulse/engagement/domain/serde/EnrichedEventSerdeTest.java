@@ -0,0 +1,123 @@
+package xyz.catuns.edupulse.engagement.domain.serde;
+
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.common.serialization.Serializer;
+import org.junit.jupiter.api.Test;
+import xyz.catuns.edupulse.common.messaging.events.session.SessionEventType;
+import xyz.catuns.edupulse.engagement.domain.events.EnrichedEvent;
+import xyz.catuns.edupulse.engagement.domain.events.EventKind;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EnrichedEventSerdeTest {
+
+    private final EnrichedEventSerde serde = new EnrichedEventSerde();
+
+    @Test
+    void roundTripsQuizAnswerWithoutSessionFields() {
+        EnrichedEvent event = new EnrichedEvent();
+        event.setKind(EventKind.QUIZ_ANSWER);
+        event.setSessionId("session-456");
+        event.setEventType("quiz.answered");
+        event.setTimestamp(Instant.ofEpochMilli(1_700_000_000_000L));
+        event.setIsCorrect(false);
+        event.setTimeSpentMs(8_500L);
+        event.setHintsUsed(2);
+        event.setSkillTag("fractions");
+        event.setQuestionId("q-001");
+
+        EnrichedEvent decoded = roundTrip(event);
+
+        assertThat(decoded).isEqualTo(event);
+        assertThat(decoded.getSessionEventType()).isNull();
+    }
+
+    @Test
+    void roundTripsSessionEventWithoutQuizFields() {
+        EnrichedEvent event = new EnrichedEvent();
+        event.setKind(EventKind.SESSION);
+        event.setSessionId("session-456");
+        event.setEventType("session.navigation");
+        event.setTimestamp(Instant.ofEpochMilli(1_700_000_000_000L));
+        event.setSessionEventType(SessionEventType.NAVIGATION);
+        event.setPageId("page-7");
+
+        EnrichedEvent decoded = roundTrip(event);
+
+        assertThat(decoded).isEqualTo(event);
+        assertThat(decoded.getIsCorrect()).isNull();
+    }
+
+    @Test
+    void sharedSerializerIsSafeAcrossStreamThreads() throws Exception {
+        // The repartition sink gets one serializer at build time and every stream thread uses it
+        Serializer<EnrichedEvent> serializer = serde.serializer();
+        Deserializer<EnrichedEvent> deserializer = serde.deserializer();
+        int threads = 8;
+        int recordsPerThread = 20_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Integer>> mismatches = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                mismatches.add(executor.submit(() -> {
+                    start.await();
+                    int failed = 0;
+                    for (int i = 0; i < recordsPerThread; i++) {
+                        EnrichedEvent event = threadEvent(thread, i);
+                        byte[] bytes = serializer.serialize("engagement-events-repartition", event);
+                        if (!event.equals(deserializer.deserialize("engagement-events-repartition", bytes))) {
+                            failed++;
+                        }
+                    }
+                    return failed;
+                }));
+            }
+            start.countDown();
+            for (Future<Integer> failed : mismatches) {
+                assertThat(failed.get(30, TimeUnit.SECONDS)).isZero();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Events of different kinds and lengths per thread, so interleaved writes would show up
+     */
+    private static EnrichedEvent threadEvent(int thread, int i) {
+        EnrichedEvent event = new EnrichedEvent();
+        event.setSessionId("session-" + thread + "-" + "x".repeat(thread * 7));
+        event.setTimestamp(Instant.ofEpochMilli(1_700_000_000_000L + i));
+        if (thread % 2 == 0) {
+            event.setKind(EventKind.QUIZ_ANSWER);
+            event.setEventType("quiz.answered");
+            event.setIsCorrect(i % 3 == 0);
+            event.setTimeSpentMs((long) thread * 1_000 + i);
+            event.setSkillTag("skill-" + thread);
+            event.setQuestionId("q-" + i);
+        } else {
+            event.setKind(EventKind.SESSION);
+            event.setEventType("session.navigation");
+            event.setSessionEventType(SessionEventType.NAVIGATION);
+            event.setPageId("page-" + thread + "-" + i);
+            event.setDwellTimeMs((long) i);
+        }
+        return event;
+    }
+
+    private EnrichedEvent roundTrip(EnrichedEvent event) {
+        byte[] bytes = serde.serializer().serialize("engagement-events-repartition", event);
+        return serde.deserializer().deserialize("engagement-events-repartition", bytes);
+    }
+}
@@ -0,0 +1,62 @@
+package xyz.catuns.edupulse.engagement.domain.serde;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.junit.jupiter.api.Test;
+import xyz.catuns.edupulse.engagement.domain.model.RecentScores;
+import xyz.catuns.edupulse.engagement.domain.model.ScoreHistory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ScoreHistorySerdeTest {
+
+    private static final String TOPIC = "engagement-score-history-store-changelog";
+
+    private final ScoreHistorySerde serde = new ScoreHistorySerde();
+
+    @Test
+    void roundTripsHistoryWithWrappedRecentScores() {
+        ScoreHistory history = new ScoreHistory();
+        history.setRecentScores(new RecentScores(3));
+        double[] scores = {0.1, 0.2, 0.3, 0.4, 0.5, 0.6};
+        for (int window = 0; window < scores.length; window++) {
+            history.advanceTo(window * 60_000L, 0.3);
+            history.setCurrentWindowScore(scores[window]);
+        }
+
+        ScoreHistory decoded = roundTrip(history);
+
+        assertThat(decoded).isEqualTo(history);
+        assertThat(decoded.getRecentScores().capacity()).isEqualTo(3);
+        assertThat(decoded.getRecentScores().toArray()).containsExactly(0.3, 0.4, 0.5);
+    }
+
+    @Test
+    void roundTripsEmptyHistory() {
+        ScoreHistory history = new ScoreHistory();
+
+        ScoreHistory decoded = roundTrip(history);
+
+        assertThat(decoded).isEqualTo(history);
+        assertThat(decoded.getCurrentWindowStart()).isEqualTo(-1L);
+    }
+
+    @Test
+    void rejectsUnknownVersion() {
+        byte[] data = serde.serializer().serialize(TOPIC, new ScoreHistory());
+        data[0] = ScoreHistorySerde.VERSION + 1;
+
+        assertThatThrownBy(() -> serde.deserializer().deserialize(TOPIC, data))
+                .isInstanceOf(SerializationException.class);
+    }
+
+    @Test
+    void mapsNullToNull() {
+        assertThat(serde.serializer().serialize(TOPIC, null)).isNull();
+        assertThat(serde.deserializer().deserialize(TOPIC, null)).isNull();
+    }
+
+    private ScoreHistory roundTrip(ScoreHistory history) {
+        return serde.deserializer().deserialize(TOPIC, serde.serializer().serialize(TOPIC, history));
+    }
+}
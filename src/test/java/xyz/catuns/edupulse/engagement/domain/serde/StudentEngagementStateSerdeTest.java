@@ -0,0 +1,166 @@
+package xyz.catuns.edupulse.engagement.domain.serde;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+import xyz.catuns.edupulse.engagement.domain.events.EnrichedEvent;
+import xyz.catuns.edupulse.engagement.domain.model.HyperLogLog;
+import xyz.catuns.edupulse.engagement.domain.model.RecentTimestamps;
+import xyz.catuns.edupulse.engagement.domain.model.SkillStats;
+import xyz.catuns.edupulse.engagement.domain.model.StudentEngagementState;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StudentEngagementStateSerdeTest {
+
+    private final StudentEngagementStateSerde serde = new StudentEngagementStateSerde();
+
+    @Test
+    void roundTripsBinaryEncoding() {
+        StudentEngagementState state = sampleState();
+
+        byte[] bytes = serde.serializer().serialize("topic", state);
+        StudentEngagementState decoded = serde.deserializer().deserialize("topic", bytes);
+
+        assertThat(bytes[0]).isEqualTo(StudentEngagementStateSerde.MAGIC);
+        assertThat(decoded).isEqualTo(state);
+    }
+
+    @Test
+    void readsLegacyJsonEncoding() {
+        String legacy = """
+                {"studentId":"student-123","sessionId":"session-456",
+                 "totalAnswers":3,"correctAnswers":2,"incorrectAnswers":1,
+                 "answerTimestamps":[1700000000000,1700000004000,1700000011500],
+                 "timeSpentValues":[4000,7500,12250],"totalTimeSpent":23750,
+                 "pagesVisited":["page-1"],"skillTagAttempts":{"fractions":2},
+                 "rapidSubmissions":1,"correctnessRate":0.66}
+                """;
+
+        StudentEngagementState decoded = serde.deserializer()
+                .deserialize("topic", legacy.getBytes(StandardCharsets.UTF_8));
+
+        assertThat(decoded.getStudentId()).isEqualTo("student-123");
+        assertThat(decoded.getTimedAnswers()).isEqualTo(3);
+        assertThat(decoded.getAverageTimeSpent()).isEqualTo(23750 / 3.0);
+        assertThat(decoded.getRecentAnswerTimestamps().last()).isEqualTo(1_700_000_011_500L);
+        assertThat(decoded.getPagesVisited()).containsExactly("page-1");
+        assertThat(decoded.getSkills().attempts(SkillStats.idOf("fractions"))).isEqualTo(2);
+    }
+
+    @Test
+    void binaryIsSmallerThanJson() {
+        StudentEngagementState state = sampleState();
+
+        try (JsonSerializer<StudentEngagementState> json = new JsonSerializer<>()) {
+            assertThat(serde.serializer().serialize("topic", state).length)
+                    .isLessThan(json.serialize("topic", state).length);
+        }
+    }
+
+    @Test
+    void serializedSizeDoesNotGrowWithEventCount() {
+        StudentEngagementState small = stateWithAnswers(100);
+        StudentEngagementState large = stateWithAnswers(10_000);
+
+        int smallSize = serde.serializer().serialize("topic", small).length;
+        int largeSize = serde.serializer().serialize("topic", large).length;
+
+        assertThat(large.getRecentAnswerTimestamps().size()).isEqualTo(RecentTimestamps.DEFAULT_CAPACITY);
+        assertThat(large.getSkills().size()).isEqualTo(StudentEngagementState.MAX_TRACKED_SKILLS);
+        assertThat(largeSize).isLessThanOrEqualTo(smallSize + 16);
+    }
+
+    @Test
+    void roundTripsPageSketch() {
+        for (int pages : new int[]{5, 5_000}) {
+            StudentEngagementState state = sampleState();
+            state.trackPagesApproximately(HyperLogLog.DEFAULT_PRECISION);
+            for (int i = 0; i < pages; i++) {
+                state.getPageSketch().add("page-" + i);
+            }
+
+            byte[] bytes = serde.serializer().serialize("topic", state);
+
+            assertThat(serde.deserializer().deserialize("topic", bytes)).isEqualTo(state);
+            assertThat(bytes.length).isLessThan(HyperLogLog.DEFAULT_PRECISION * 64);
+        }
+    }
+
+    @Test
+    void rejectsOutOfRangeSketchPrecision() {
+        StudentEngagementState state = sampleState();
+        state.trackPagesApproximately(HyperLogLog.DEFAULT_PRECISION);
+        state.getPageSketch().add("page-1");
+        byte[] bytes = serde.serializer().serialize("topic", state);
+        // Without the sketch the last byte is its zero precision; with it, the precision sits there
+        state.setPageSketch(null);
+        int precisionAt = serde.serializer().serialize("topic", state).length - 1;
+        assertThat(bytes[precisionAt]).isEqualTo((byte) HyperLogLog.DEFAULT_PRECISION);
+
+        bytes[precisionAt] = (byte) (HyperLogLog.MAX_PRECISION + 1);
+
+        assertThatThrownBy(() -> serde.deserializer().deserialize("topic", bytes))
+                .isInstanceOf(SerializationException.class)
+                .hasMessageContaining("precision");
+    }
+
+    @Test
+    void nullPassesThrough() {
+        assertThat(serde.serializer().serialize("topic", null)).isNull();
+        assertThat(serde.deserializer().deserialize("topic", null)).isNull();
+    }
+
+    private static StudentEngagementState stateWithAnswers(int answers) {
+        StudentEngagementState state = new StudentEngagementState();
+        long start = 1_700_000_000_000L;
+        for (int i = 0; i < answers; i++) {
+            EnrichedEvent event = new EnrichedEvent();
+            event.setEventType("quiz.answered");
+            event.setTimestamp(Instant.ofEpochMilli(start + i * 1_000L));
+            event.setIsCorrect(i % 2 == 0);
+            event.setTimeSpentMs(1_000L);
+            event.setSkillTag("skill-" + i);
+            state.addQuizAnswer(event, 5_000L);
+        }
+        return state;
+    }
+
+    private static StudentEngagementState sampleState() {
+        long start = 1_700_000_000_000L;
+        Set<String> pages = new HashSet<>(Set.of("page-1", "page-2"));
+        SkillStats skills = new SkillStats(StudentEngagementState.MAX_TRACKED_SKILLS);
+        skills.add(SkillStats.idOf("fractions"), 2, 1, 2, 15_000L);
+        skills.add(SkillStats.idOf("algebra"), 1, 1, 1, 8_750L);
+
+        return StudentEngagementState.builder()
+                .studentId("student-123")
+                .sessionId("session-456")
+                .windowStart(start)
+                .windowEnd(start + 60_000)
+                .totalAnswers(3)
+                .correctAnswers(2)
+                .incorrectAnswers(1)
+                .recentAnswerTimestamps(RecentTimestamps.of(start, start + 4_000, start + 11_500))
+                .timedAnswers(3)
+                .totalTimeSpent(23_750L)
+                .navigationEvents(2)
+                .pauseEvents(1)
+                .totalDwellTime(9_000L)
+                .pagesVisited(pages)
+                .untrackedPageVisits(4)
+                .rapidSubmissions(1)
+                .skills(skills)
+                .untrackedSkillAttempts(2)
+                .firstEventTimestamp(start)
+                .lastEventTimestamp(start + 11_500)
+                .totalHintsUsed(1)
+                .build();
+    }
+}
@@ -0,0 +1,80 @@
+package xyz.catuns.edupulse.engagement.load;
+
+import org.apache.avro.LogicalType;
+import org.apache.avro.Schema;
+import org.apache.avro.specific.SpecificData;
+import org.apache.avro.specific.SpecificRecordBase;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+
+/**
+ * Fills required Avro fields the workload does not care about with schema defaults or
+ * neutral placeholders, so synthetic records serialize without hard-coding every field
+ * of the shared event schemas.
+ */
+public final class AvroRecords {
+
+    private AvroRecords() {
+    }
+
+    public static <T extends SpecificRecordBase> T complete(T record) {
+        for (Schema.Field field : record.getSchema().getFields()) {
+            Object value = record.get(field.pos());
+            if (value == null && !isNullable(field.schema())) {
+                record.put(field.pos(), field.hasDefaultValue()
+                        ? SpecificData.get().getDefaultValue(field)
+                        : placeholder(field.schema()));
+            } else if (value instanceof SpecificRecordBase nested) {
+                complete(nested);
+            }
+        }
+        return record;
+    }
+
+    private static boolean isNullable(Schema schema) {
+        return schema.getType() == Schema.Type.NULL
+                || (schema.getType() == Schema.Type.UNION
+                && schema.getTypes().stream().anyMatch(branch -> branch.getType() == Schema.Type.NULL));
+    }
+
+    private static Object placeholder(Schema schema) {
+        LogicalType logicalType = schema.getLogicalType();
+        if (logicalType != null) {
+            switch (logicalType.getName()) {
+                case "timestamp-millis", "timestamp-micros" -> {
+                    return Instant.EPOCH;
+                }
+                case "date" -> {
+                    return LocalDate.EPOCH;
+                }
+                case "time-millis", "time-micros" -> {
+                    return LocalTime.MIDNIGHT;
+                }
+                default -> {
+                    // fall through to the physical type
+                }
+            }
+        }
+
+        return switch (schema.getType()) {
+            case STRING -> "";
+            case INT -> 0;
+            case LONG -> 0L;
+            case FLOAT -> 0f;
+            case DOUBLE -> 0.0;
+            case BOOLEAN -> false;
+            case BYTES -> ByteBuffer.allocate(0);
+            case ENUM -> SpecificData.get().createEnum(schema.getEnumSymbols().get(0), schema);
+            case ARRAY -> new ArrayList<>();
+            case MAP -> new HashMap<>();
+            case RECORD -> complete((SpecificRecordBase) SpecificData.get().newRecord(null, schema));
+            case UNION -> placeholder(schema.getTypes().get(0));
+            default -> null;
+        };
+    }
+}
@@ -0,0 +1,63 @@
+package xyz.catuns.edupulse.engagement.load;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.streams.StreamsBuilder;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import xyz.catuns.edupulse.engagement.config.EnvelopeConfig;
+import xyz.catuns.edupulse.engagement.config.SerdeConfig;
+import xyz.catuns.edupulse.engagement.config.properties.EnvelopeProperties;
+import xyz.catuns.edupulse.engagement.config.properties.ScoringProperties;
+import xyz.catuns.edupulse.engagement.config.properties.TopologyProperties;
+import xyz.catuns.edupulse.engagement.domain.mapper.EnrichedEventMapperImpl;
+import xyz.catuns.edupulse.engagement.domain.mapper.EventEnvelopeMapperImpl;
+import xyz.catuns.edupulse.engagement.service.EngagementScoringService;
+import xyz.catuns.edupulse.engagement.service.aggregate.StudentEngagementAggregator;
+import xyz.catuns.edupulse.engagement.service.metrics.EngagementMetrics;
+import xyz.catuns.edupulse.engagement.service.pattern.PatternDetector;
+import xyz.catuns.edupulse.engagement.service.plan.ScoringPlanRegistry;
+import xyz.catuns.edupulse.engagement.service.skill.SkillDictionary;
+import xyz.catuns.edupulse.engagement.topology.EngagementScoringTopology;
+import xyz.catuns.edupulse.engagement.topology.StudentPartitioner;
+
+/**
+ * Wires the production topology and its collaborators without a broker, Kafka Streams
+ * lifecycle or web server; {@link EngagementScoringTopology#buildTopology} is invoked on
+ * the plain {@link StreamsBuilder} bean, which the harness (and topology tests) hand to a
+ * TopologyTestDriver
+ */
+@Configuration
+@EnableConfigurationProperties({
+        KafkaProperties.class,
+        ScoringProperties.class,
+        TopologyProperties.class,
+        EnvelopeProperties.class})
+@Import({
+        SerdeConfig.class,
+        EnvelopeConfig.class,
+        EnrichedEventMapperImpl.class,
+        EventEnvelopeMapperImpl.class,
+        PatternDetector.class,
+        SkillDictionary.class,
+        StudentEngagementAggregator.class,
+        ScoringPlanRegistry.class,
+        EngagementScoringService.class,
+        EngagementMetrics.class,
+        StudentPartitioner.class,
+        EngagementScoringTopology.class})
+public class LoadTestConfiguration {
+
+    @Bean
+    MeterRegistry meterRegistry() {
+        return new SimpleMeterRegistry();
+    }
+
+    @Bean
+    StreamsBuilder streamsBuilder() {
+        return new StreamsBuilder();
+    }
+}
@@ -0,0 +1,100 @@
+package xyz.catuns.edupulse.engagement.load;
+
+import xyz.catuns.edupulse.common.messaging.events.EventEnvelope;
+import xyz.catuns.edupulse.common.messaging.events.quiz.QuizAnswer;
+import xyz.catuns.edupulse.common.messaging.events.session.SessionEvent;
+import xyz.catuns.edupulse.common.messaging.events.session.SessionEventType;
+
+import java.time.Instant;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Deterministic stream of quiz answers and session events for a configurable student
+ * population, quiz/session mix, out-of-order ratio and burstiness
+ */
+class SyntheticWorkload {
+
+    /**
+     * One generated input record; exactly one of {@code quizAnswer} / {@code sessionEvent} is set
+     */
+    record Event(long timestamp, QuizAnswer quizAnswer, SessionEvent sessionEvent) {
+    }
+
+    private static final SessionEventType[] SESSION_TYPES = {
+            SessionEventType.NAVIGATION, SessionEventType.DWELL, SessionEventType.PAUSED, SessionEventType.RESUMED
+    };
+
+    private final WorkloadProfile profile;
+    private final SplittableRandom random;
+    private final double msPerEvent;
+
+    private final long startTimestamp;
+
+    private int generated;
+    private int currentStudent;
+
+    SyntheticWorkload(WorkloadProfile profile, long startTimestamp) {
+        this.profile = profile;
+        this.random = new SplittableRandom(profile.seed());
+        this.msPerEvent = 1000.0 / profile.eventsPerSecond();
+        this.startTimestamp = startTimestamp;
+    }
+
+    boolean hasNext() {
+        return generated < profile.events();
+    }
+
+    Event next() {
+        long eventTime = startTimestamp + (long) (generated * msPerEvent);
+        generated++;
+
+        if (random.nextDouble() >= profile.burstiness()) {
+            currentStudent = random.nextInt(profile.students());
+        }
+        if (random.nextDouble() < profile.outOfOrderRatio()) {
+            eventTime -= random.nextLong(profile.maxDelayMs() + 1);
+        }
+
+        String studentId = "student-" + currentStudent;
+        String sessionId = "session-" + currentStudent;
+
+        if (random.nextDouble() < profile.quizRatio()) {
+            return new Event(eventTime, quizAnswer(studentId, sessionId, eventTime), null);
+        }
+        return new Event(eventTime, null, sessionEvent(studentId, sessionId, eventTime));
+    }
+
+    private QuizAnswer quizAnswer(String studentId, String sessionId, long timestamp) {
+        QuizAnswer answer = new QuizAnswer();
+        answer.setEnvelope(envelope("quiz.answered", studentId, sessionId, timestamp));
+        answer.setQuestionId("q-" + random.nextInt(500));
+        answer.setIsCorrect(random.nextDouble() < 0.7);
+        answer.setTimeSpentMs(1_000L + random.nextLong(25_000));
+        answer.setSkillTag("skill-" + random.nextInt(200));
+        answer.setDifficultyLevel(1 + random.nextInt(3));
+        return AvroRecords.complete(answer);
+    }
+
+    private SessionEvent sessionEvent(String studentId, String sessionId, long timestamp) {
+        SessionEventType type = SESSION_TYPES[random.nextInt(SESSION_TYPES.length)];
+        SessionEvent event = new SessionEvent();
+        event.setEnvelope(envelope("session." + type.name().toLowerCase(), studentId, sessionId, timestamp));
+        event.setEventType(type);
+        event.setPageId("page-" + random.nextInt(1_000));
+        event.setDwellTimeMs(500L + random.nextLong(30_000));
+        return AvroRecords.complete(event);
+    }
+
+    private EventEnvelope envelope(String type, String studentId, String sessionId, long timestamp) {
+        EventEnvelope envelope = new EventEnvelope();
+        envelope.setId(new UUID(random.nextLong(), random.nextLong()).toString());
+        envelope.setType(type);
+        envelope.setSource("load-generator");
+        envelope.setSpecversion("1.0");
+        envelope.setStudentId(studentId);
+        envelope.setSessionId(sessionId);
+        envelope.setTimestamp(Instant.ofEpochMilli(timestamp));
+        return envelope;
+    }
+}
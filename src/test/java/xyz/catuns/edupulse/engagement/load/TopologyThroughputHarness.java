@@ -0,0 +1,206 @@
+package xyz.catuns.edupulse.engagement.load;
+
+import io.confluent.kafka.streams.serdes.avro.SpecificAvroSerde;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.serialization.Serde;
+import org.apache.kafka.common.serialization.Serdes;
+import org.apache.kafka.streams.KeyValue;
+import org.apache.kafka.streams.StreamsBuilder;
+import org.apache.kafka.streams.StreamsConfig;
+import org.apache.kafka.streams.TestInputTopic;
+import org.apache.kafka.streams.TestOutputTopic;
+import org.apache.kafka.streams.TopologyTestDriver;
+import org.apache.kafka.streams.kstream.Windowed;
+import org.apache.kafka.streams.state.KeyValueIterator;
+import org.apache.kafka.streams.state.KeyValueStore;
+import org.apache.kafka.streams.state.WindowStore;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+import xyz.catuns.edupulse.common.messaging.events.engagement.EngagementScore;
+import xyz.catuns.edupulse.common.messaging.events.quiz.QuizAnswer;
+import xyz.catuns.edupulse.common.messaging.events.quiz.QuizAnswerKey;
+import xyz.catuns.edupulse.common.messaging.events.session.SessionEvent;
+import xyz.catuns.edupulse.common.messaging.events.session.SessionEventKey;
+import xyz.catuns.edupulse.engagement.domain.model.ScoreHistory;
+import xyz.catuns.edupulse.engagement.domain.model.StudentEngagementState;
+import xyz.catuns.edupulse.engagement.service.metrics.EngagementMetrics;
+import xyz.catuns.edupulse.engagement.service.query.EngagementQueryService;
+import xyz.catuns.edupulse.engagement.topology.processor.EngagementScoreProcessor;
+
+import java.nio.file.Files;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Offline throughput harness: replays a {@link SyntheticWorkload} through the production
+ * topology in a TopologyTestDriver, with a mock:// schema registry and no broker.
+ * <p>
+ * Reports input throughput, p50/p99/max per-record processing latency (time for the
+ * driver to push one input record through aggregation, scoring and the sink) and the growth
+ * of the aggregate and history stores. Run with {@code ./mvnw -Pload-test verify}; the
+ * workload is tuned through {@code -Dload.*} properties (see {@link WorkloadProfile}) and any
+ * {@code app.*} setting can be overridden as a program argument, e.g.
+ * {@code -Dexec.args="--app.topology.emit.mode=ON_WINDOW_CLOSE"}.
+ */
+@Slf4j
+public class TopologyThroughputHarness {
+
+    private static final long START_TIMESTAMP = 1_700_000_000_000L;
+
+    private static final String[] HARNESS_ARGS = {
+            "--spring.main.banner-mode=off",
+            "--spring.kafka.properties.schema.registry.url=mock://engagement-load-test",
+            "--app.topology.partitioning.co-partitioned=false",
+            "--logging.level.xyz.catuns.edupulse.engagement=ERROR"
+    };
+
+    public static void main(String[] args) throws Exception {
+        WorkloadProfile profile = WorkloadProfile.fromSystemProperties();
+
+        String[] contextArgs = Arrays.copyOf(HARNESS_ARGS, HARNESS_ARGS.length + args.length);
+        System.arraycopy(args, 0, contextArgs, HARNESS_ARGS.length, args.length);
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(LoadTestConfiguration.class)
+                .web(WebApplicationType.NONE)
+                .run(contextArgs)) {
+            new TopologyThroughputHarness(context).run(profile);
+        }
+    }
+
+    private final ConfigurableApplicationContext context;
+
+    TopologyThroughputHarness(ConfigurableApplicationContext context) {
+        this.context = context;
+    }
+
+    @SuppressWarnings("unchecked")
+    void run(WorkloadProfile profile) throws Exception {
+        Environment env = context.getEnvironment();
+        SpecificAvroSerde<QuizAnswerKey> quizKeySerde = context.getBean("quizAnswerKeySpecificAvroSerde", SpecificAvroSerde.class);
+        SpecificAvroSerde<QuizAnswer> quizSerde = context.getBean("quizAnswerSpecificAvroSerde", SpecificAvroSerde.class);
+        SpecificAvroSerde<SessionEventKey> sessionKeySerde = context.getBean("sessionEventKeySpecificAvroSerde", SpecificAvroSerde.class);
+        SpecificAvroSerde<SessionEvent> sessionSerde = context.getBean("sessionEventSpecificAvroSerde", SpecificAvroSerde.class);
+        SpecificAvroSerde<EngagementScore> scoreSerde = context.getBean("engagementScoreSpecificAvroSerde", SpecificAvroSerde.class);
+        Serde<StudentEngagementState> stateSerde = context.getBean("studentEngagementStateSerde", Serde.class);
+
+        Properties props = new Properties();
+        props.put(StreamsConfig.APPLICATION_ID_CONFIG, "engagement-load-test");
+        props.put(StreamsConfig.BOOTSTRAP_SERVERS_CONFIG, "dummy:9092");
+        props.put(StreamsConfig.STATE_DIR_CONFIG, Files.createTempDirectory("engagement-load-test").toString());
+
+        StreamsBuilder builder = context.getBean(StreamsBuilder.class);
+
+        try (TopologyTestDriver driver = new TopologyTestDriver(builder.build(), props, Instant.ofEpochMilli(START_TIMESTAMP))) {
+            // Keys are not needed: outside co-partitioned mode the topology rekeys by envelope.studentId
+            TestInputTopic<QuizAnswerKey, QuizAnswer> quizTopic = driver.createInputTopic(
+                    env.getRequiredProperty("app.kafka.topics.answer"), quizKeySerde.serializer(), quizSerde.serializer());
+            TestInputTopic<SessionEventKey, SessionEvent> sessionTopic = driver.createInputTopic(
+                    env.getRequiredProperty("app.kafka.topics.session"), sessionKeySerde.serializer(), sessionSerde.serializer());
+            TestOutputTopic<String, EngagementScore> scoreTopic = driver.createOutputTopic(
+                    env.getRequiredProperty("app.kafka.topics.engagement"),
+                    Serdes.String().deserializer(), scoreSerde.deserializer());
+            // Drained only to bound the driver's output buffers
+            TestOutputTopic<String, byte[]> masteryTopic = driver.createOutputTopic(
+                    env.getRequiredProperty("app.kafka.topics.skill-mastery"),
+                    Serdes.String().deserializer(), Serdes.ByteArray().deserializer());
+            TestOutputTopic<String, byte[]> cohortTopic = driver.createOutputTopic(
+                    env.getRequiredProperty("app.kafka.topics.cohort"),
+                    Serdes.String().deserializer(), Serdes.ByteArray().deserializer());
+            TestOutputTopic<String, byte[]> alertsTopic = driver.createOutputTopic(
+                    env.getRequiredProperty("app.kafka.topics.alerts"),
+                    Serdes.String().deserializer(), Serdes.ByteArray().deserializer());
+            TestOutputTopic<String, byte[]> lateEventsTopic = driver.createOutputTopic(
+                    env.getRequiredProperty("app.kafka.topics.late-events"),
+                    Serdes.String().deserializer(), Serdes.ByteArray().deserializer());
+
+            log.info("Load profile: {}", profile);
+            System.out.printf("%n%12s %12s %14s %14s %16s %14s %12s%n",
+                    "events", "elapsed(s)", "events/s", "agg windows", "agg bytes", "history keys", "scores");
+
+            SyntheticWorkload workload = new SyntheticWorkload(profile, START_TIMESTAMP);
+            long[] latencies = new long[profile.events()];
+            long scores = 0;
+            int processed = 0;
+            long started = System.nanoTime();
+
+            while (workload.hasNext()) {
+                SyntheticWorkload.Event event = workload.next();
+                Instant timestamp = Instant.ofEpochMilli(event.timestamp());
+
+                long t0 = System.nanoTime();
+                if (event.quizAnswer() != null) {
+                    quizTopic.pipeInput(null, event.quizAnswer(), timestamp);
+                } else {
+                    sessionTopic.pipeInput(null, event.sessionEvent(), timestamp);
+                }
+                latencies[processed++] = System.nanoTime() - t0;
+
+                if (processed % profile.reportEvery() == 0 || !workload.hasNext()) {
+                    scores += scoreTopic.readValuesToList().size();
+                    masteryTopic.readValuesToList();
+                    cohortTopic.readValuesToList();
+                    alertsTopic.readValuesToList();
+                    lateEventsTopic.readValuesToList();
+                    report(driver, stateSerde, processed, System.nanoTime() - started, scores);
+                }
+            }
+
+            long elapsed = System.nanoTime() - started;
+            summarize(processed, elapsed, latencies);
+        }
+    }
+
+    private void report(TopologyTestDriver driver, Serde<StudentEngagementState> stateSerde,
+                        int processed, long elapsedNanos, long scores) {
+        long windows = 0;
+        long bytes = 0;
+        WindowStore<String, StudentEngagementState> aggregateStore =
+                driver.getWindowStore(EngagementQueryService.AGGREGATE_STORE);
+        if (aggregateStore != null) {  // absent for SESSION windows
+            try (KeyValueIterator<Windowed<String>, StudentEngagementState> it = aggregateStore.all()) {
+                while (it.hasNext()) {
+                    KeyValue<Windowed<String>, StudentEngagementState> entry = it.next();
+                    windows++;
+                    bytes += stateSerde.serializer().serialize(null, entry.value).length;
+                }
+            }
+        }
+        KeyValueStore<String, ScoreHistory> historyStore = driver.getKeyValueStore(EngagementScoreProcessor.HISTORY_STORE);
+
+        double seconds = elapsedNanos / 1e9;
+        System.out.printf("%12d %12.1f %14.0f %14d %16d %14d %12d%n",
+                processed, seconds, processed / seconds, windows, bytes, historyStore.approximateNumEntries(), scores);
+    }
+
+    private void summarize(int processed, long elapsedNanos, long[] latencies) {
+        long[] sorted = Arrays.copyOf(latencies, processed);
+        Arrays.sort(sorted);
+
+        System.out.printf("%nThroughput: %.0f events/s over %d events (%.1f s)%n",
+                processed / (elapsedNanos / 1e9), processed, elapsedNanos / 1e9);
+        System.out.printf("Per-record latency: p50=%.1f us, p99=%.1f us, max=%.1f us%n",
+                percentile(sorted, 0.50) / 1e3, percentile(sorted, 0.99) / 1e3, sorted[sorted.length - 1] / 1e3);
+
+        MeterRegistry registry = context.getBean(MeterRegistry.class);
+        for (EngagementMetrics.Stage stage : EngagementMetrics.Stage.values()) {
+            Timer timer = registry.find("engagement.stage.duration")
+                    .tag("stage", stage.name().toLowerCase())
+                    .timer();
+            if (timer != null) {
+                System.out.printf("Stage %-10s count=%d, mean=%.1f us, max=%.1f us%n",
+                        stage, timer.count(), timer.mean(TimeUnit.MICROSECONDS), timer.max(TimeUnit.MICROSECONDS));
+            }
+        }
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+}
@@ -0,0 +1,41 @@
+package xyz.catuns.edupulse.engagement.load;
+
+/**
+ * Shape of the synthetic workload, read from {@code -Dload.*} system properties
+ *
+ * @param students        distinct student ids
+ * @param events          total events to generate
+ * @param quizRatio       share of quiz answers; the rest are session events
+ * @param outOfOrderRatio share of events whose timestamp lags the event-time clock
+ * @param maxDelayMs      maximum lag of an out-of-order event
+ * @param burstiness      probability that the next event comes from the same student as the previous one
+ * @param eventsPerSecond event-time rate, which determines how fast windows open and close
+ * @param reportEvery     events between progress reports
+ * @param seed            random seed, for reproducible runs
+ */
+record WorkloadProfile(
+        int students,
+        int events,
+        double quizRatio,
+        double outOfOrderRatio,
+        long maxDelayMs,
+        double burstiness,
+        int eventsPerSecond,
+        int reportEvery,
+        long seed
+) {
+
+    static WorkloadProfile fromSystemProperties() {
+        return new WorkloadProfile(
+                Integer.getInteger("load.students", 10_000),
+                Integer.getInteger("load.events", 1_000_000),
+                Double.parseDouble(System.getProperty("load.quiz-ratio", "0.6")),
+                Double.parseDouble(System.getProperty("load.out-of-order-ratio", "0.05")),
+                Long.getLong("load.max-delay-ms", 10_000L),
+                Double.parseDouble(System.getProperty("load.burstiness", "0.3")),
+                Integer.getInteger("load.events-per-second", 2_000),
+                Integer.getInteger("load.report-every", 100_000),
+                Long.getLong("load.seed", 42L)
+        );
+    }
+}
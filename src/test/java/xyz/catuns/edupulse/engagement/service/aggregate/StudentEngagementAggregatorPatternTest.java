@@ -0,0 +1,146 @@
+package xyz.catuns.edupulse.engagement.service.aggregate;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import xyz.catuns.edupulse.common.messaging.events.session.SessionEventType;
+import xyz.catuns.edupulse.engagement.config.properties.ScoringProperties;
+import xyz.catuns.edupulse.engagement.domain.dto.ScoringConfig;
+import xyz.catuns.edupulse.engagement.domain.events.EnrichedEvent;
+import xyz.catuns.edupulse.engagement.domain.events.EventKind;
+import xyz.catuns.edupulse.engagement.domain.model.BehavioralPattern;
+import xyz.catuns.edupulse.engagement.domain.model.StudentEngagementState;
+import xyz.catuns.edupulse.engagement.service.metrics.EngagementMetrics;
+import xyz.catuns.edupulse.engagement.service.pattern.PatternDetector;
+import xyz.catuns.edupulse.engagement.service.plan.ScoringPlanRegistry;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StudentEngagementAggregatorPatternTest {
+
+    private static final long START = 1_700_000_000_000L;
+    private static final String STUDENT_ID = "student-123";
+
+    private final ScoringProperties config = new ScoringProperties();
+    private final ScoringPlanRegistry plans = new ScoringPlanRegistry(config);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final StudentEngagementAggregator aggregator = new StudentEngagementAggregator(
+            config, new PatternDetector(plans), new EngagementMetrics(registry));
+
+    @Test
+    void detectsRapidIncorrectRunOnce() {
+        StudentEngagementState state = new StudentEngagementState();
+        for (int i = 0; i < 5; i++) {
+            aggregator.aggregate(STUDENT_ID, quizAnswer(START + i * 2_000L, false, 1_000L), state);
+        }
+
+        assertThat(BehavioralPattern.fromMask(state.getDetectedPatterns()))
+                .containsExactly(BehavioralPattern.RAPID_INCORRECT_SUBMISSIONS);
+        assertThat(BehavioralPattern.fromMask(PatternDetector.patternsOf(plans.current(), state)))
+                .containsExactly(BehavioralPattern.RAPID_INCORRECT_SUBMISSIONS, BehavioralPattern.RUSHING_THROUGH);
+        assertThat(registry.get("engagement.patterns.detected")
+                .tag("pattern", BehavioralPattern.RAPID_INCORRECT_SUBMISSIONS.getCode())
+                .counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void detectsPausesAndIdleGap() {
+        StudentEngagementState state = new StudentEngagementState();
+        aggregator.aggregate(STUDENT_ID, quizAnswer(START, true, 8_000L), state);
+        for (int i = 1; i <= 3; i++) {
+            aggregator.aggregate(STUDENT_ID, pause(START + i * 1_000L), state);
+        }
+        aggregator.aggregate(STUDENT_ID, quizAnswer(START + 200_000L, true, 8_000L), state);
+
+        assertThat(BehavioralPattern.fromMask(state.getDetectedPatterns()))
+                .containsExactly(BehavioralPattern.FREQUENT_PAUSES, BehavioralPattern.MINIMAL_ENGAGEMENT);
+    }
+
+    @Test
+    void rateBasedPatternsClearWhenTheAveragesRecover() {
+        StudentEngagementState state = new StudentEngagementState();
+        for (int i = 0; i < 3; i++) {
+            aggregator.aggregate(STUDENT_ID, quizAnswer(START + i * 10_000L, true, 1_000L), state);
+        }
+        assertThat(BehavioralPattern.fromMask(PatternDetector.patternsOf(plans.current(), state)))
+                .containsExactly(BehavioralPattern.RUSHING_THROUGH);
+
+        // Average answer time rises to 7s, above rushing-ms
+        for (int i = 3; i < 6; i++) {
+            aggregator.aggregate(STUDENT_ID, quizAnswer(START + i * 10_000L, true, 13_000L), state);
+        }
+        assertThat(PatternDetector.patternsOf(plans.current(), state)).isZero();
+
+        // Back below rushing-ms: counted again as a new onset
+        for (int i = 6; i < 16; i++) {
+            aggregator.aggregate(STUDENT_ID, quizAnswer(START + i * 10_000L, true, 500L), state);
+        }
+        assertThat(BehavioralPattern.fromMask(PatternDetector.patternsOf(plans.current(), state)))
+                .containsExactly(BehavioralPattern.RUSHING_THROUGH);
+        assertThat(registry.get("engagement.patterns.detected")
+                .tag("pattern", BehavioralPattern.RUSHING_THROUGH.getCode())
+                .counter().count()).isEqualTo(2.0);
+    }
+
+    @Test
+    void ignoresRateBasedPatternsRecordedInTheState() {
+        StudentEngagementState state = new StudentEngagementState();
+        for (int i = 0; i < 3; i++) {
+            aggregator.aggregate(STUDENT_ID, quizAnswer(START + i * 10_000L, true, 8_000L), state);
+        }
+        state.markDetected(BehavioralPattern.RUSHING_THROUGH.mask() | BehavioralPattern.FREQUENT_PAUSES.mask());
+
+        assertThat(BehavioralPattern.fromMask(PatternDetector.patternsOf(plans.current(), state)))
+                .containsExactly(BehavioralPattern.FREQUENT_PAUSES);
+    }
+
+    @Test
+    void appliesPatternRulesOfThePlanInEffect() {
+        ScoringProperties.Threshold thresholds = new ScoringProperties.Threshold();
+        thresholds.getPattern().setFrequentPauses(5);
+        plans.apply("topic", new ScoringConfig(null, thresholds, null));
+
+        StudentEngagementState state = new StudentEngagementState();
+        for (int i = 1; i <= 3; i++) {
+            aggregator.aggregate(STUDENT_ID, pause(START + i * 1_000L), state);
+        }
+        assertThat(state.getDetectedPatterns()).isZero();
+
+        for (int i = 4; i <= 5; i++) {
+            aggregator.aggregate(STUDENT_ID, pause(START + i * 1_000L), state);
+        }
+        assertThat(BehavioralPattern.fromMask(state.getDetectedPatterns()))
+                .containsExactly(BehavioralPattern.FREQUENT_PAUSES);
+    }
+
+    @Test
+    void steadyCorrectAnswersDetectNothing() {
+        StudentEngagementState state = new StudentEngagementState();
+        for (int i = 0; i < 5; i++) {
+            aggregator.aggregate(STUDENT_ID, quizAnswer(START + i * 10_000L, true, 8_000L), state);
+        }
+
+        assertThat(state.getDetectedPatterns()).isZero();
+    }
+
+    private static EnrichedEvent quizAnswer(long timestamp, boolean correct, long timeSpentMs) {
+        EnrichedEvent event = new EnrichedEvent();
+        event.setKind(EventKind.QUIZ_ANSWER);
+        event.setEventType("quiz.answered");
+        event.setTimestamp(Instant.ofEpochMilli(timestamp));
+        event.setIsCorrect(correct);
+        event.setTimeSpentMs(timeSpentMs);
+        event.setHintsUsed(0);
+        return event;
+    }
+
+    private static EnrichedEvent pause(long timestamp) {
+        EnrichedEvent event = new EnrichedEvent();
+        event.setKind(EventKind.SESSION);
+        event.setEventType("session.paused");
+        event.setTimestamp(Instant.ofEpochMilli(timestamp));
+        event.setSessionEventType(SessionEventType.PAUSED);
+        return event;
+    }
+}
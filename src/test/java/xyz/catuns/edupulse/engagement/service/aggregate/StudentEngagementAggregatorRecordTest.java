@@ -0,0 +1,88 @@
+package xyz.catuns.edupulse.engagement.service.aggregate;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import xyz.catuns.edupulse.common.messaging.events.EventEnvelope;
+import xyz.catuns.edupulse.common.messaging.events.quiz.QuizAnswer;
+import xyz.catuns.edupulse.common.messaging.events.session.SessionEvent;
+import xyz.catuns.edupulse.common.messaging.events.session.SessionEventType;
+import xyz.catuns.edupulse.engagement.config.properties.ScoringProperties;
+import xyz.catuns.edupulse.engagement.domain.mapper.EnrichedEventMapper;
+import xyz.catuns.edupulse.engagement.domain.mapper.EnrichedEventMapperImpl;
+import xyz.catuns.edupulse.engagement.domain.model.StudentEngagementState;
+import xyz.catuns.edupulse.engagement.service.metrics.EngagementMetrics;
+import xyz.catuns.edupulse.engagement.service.pattern.PatternDetector;
+import xyz.catuns.edupulse.engagement.service.plan.ScoringPlanRegistry;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The direct (Avro record) aggregation path must build the same state as the EnrichedEvent path
+ */
+class StudentEngagementAggregatorRecordTest {
+
+    private static final long START = 1_700_000_000_000L;
+    private static final String STUDENT_ID = "student-123";
+    private static final SessionEventType[] SESSION_TYPES = {
+            SessionEventType.NAVIGATION, SessionEventType.DWELL, SessionEventType.PAUSED, SessionEventType.RESUMED
+    };
+
+    private final ScoringProperties config = new ScoringProperties();
+    private final StudentEngagementAggregator aggregator = new StudentEngagementAggregator(
+            config, new PatternDetector(new ScoringPlanRegistry(config)), new EngagementMetrics(new SimpleMeterRegistry()));
+    private final EnrichedEventMapper mapper = new EnrichedEventMapperImpl();
+
+    @Test
+    void directAggregationMatchesEnrichedEvents() {
+        StudentEngagementState direct = new StudentEngagementState();
+        StudentEngagementState enriched = new StudentEngagementState();
+
+        for (int i = 0; i < 40; i++) {
+            QuizAnswer answer = quizAnswer(i);
+            SessionEvent event = sessionEvent(i);
+            aggregator.aggregateQuizAnswer(STUDENT_ID, answer, direct);
+            aggregator.aggregateSessionEvent(STUDENT_ID, event, direct);
+            aggregator.aggregate(STUDENT_ID, mapper.fromQuizAnswer(answer), enriched);
+            aggregator.aggregate(STUDENT_ID, mapper.fromSessionEvent(event), enriched);
+        }
+
+        assertThat(direct).isEqualTo(enriched);
+        assertThat(direct.getTotalAnswers()).isEqualTo(40);
+        assertThat(direct.getTimedAnswers()).isEqualTo(20);
+        assertThat(direct.getNavigationEvents()).isEqualTo(10);
+        assertThat(direct.getDetectedPatterns()).isEqualTo(enriched.getDetectedPatterns()).isNotZero();
+    }
+
+    private static QuizAnswer quizAnswer(int i) {
+        QuizAnswer answer = new QuizAnswer();
+        answer.setEnvelope(envelope("quiz.answered", START + i * 4_000L));
+        answer.setQuestionId("q-" + i);
+        answer.setIsCorrect(i % 3 == 0);
+        // Every other answer without a reported time
+        answer.setTimeSpentMs(i % 2 == 0 ? 2_000L + i * 10L : null);
+        answer.setSkillTag(i % 4 == 0 ? null : "skill-" + (i % 5));
+        return answer;
+    }
+
+    private static SessionEvent sessionEvent(int i) {
+        SessionEvent event = new SessionEvent();
+        SessionEventType type = SESSION_TYPES[i % SESSION_TYPES.length];
+        event.setEnvelope(envelope("session." + type.name().toLowerCase(), START + i * 4_000L + 1_000L));
+        event.setEventType(type);
+        event.setPageId("page-" + (i % 7));
+        event.setDwellTimeMs(i % 8 == 1 ? null : 1_500L);
+        return event;
+    }
+
+    private static EventEnvelope envelope(String type, long timestamp) {
+        EventEnvelope envelope = new EventEnvelope();
+        envelope.setId("event-" + timestamp);
+        envelope.setType(type);
+        envelope.setStudentId(STUDENT_ID);
+        envelope.setSessionId("session-456");
+        envelope.setTimestamp(Instant.ofEpochMilli(timestamp));
+        return envelope;
+    }
+}
@@ -0,0 +1,52 @@
+package xyz.catuns.edupulse.engagement.service.envelope;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UuidV7GeneratorTest {
+
+    private static final long MILLIS = 1_700_000_000_123L;
+
+    @Test
+    void encodesVersionVariantAndTimestamp() {
+        UUID id = new UuidV7Generator(fixedClock(MILLIS)).next();
+
+        assertThat(id.version()).isEqualTo(7);
+        assertThat(id.variant()).isEqualTo(2);
+        assertThat(id.getMostSignificantBits() >>> 16).isEqualTo(MILLIS);
+    }
+
+    @Test
+    void sortsByMillisecondAndDoesNotRepeat() {
+        UUID earlier = new UuidV7Generator(fixedClock(MILLIS)).next();
+        UUID later = new UuidV7Generator(fixedClock(MILLIS + 1)).next();
+        assertThat(later.toString()).isGreaterThan(earlier.toString());
+
+        UuidV7Generator generator = new UuidV7Generator(fixedClock(MILLIS));
+        Set<String> ids = new HashSet<>();
+        for (int i = 0; i < 10_000; i++) {
+            ids.add(generator.nextId());
+        }
+        assertThat(ids).hasSize(10_000);
+    }
+
+    private static EnvelopeClock fixedClock(long millis) {
+        return new EnvelopeClock() {
+            @Override
+            public Instant now() {
+                return Instant.ofEpochMilli(millis);
+            }
+
+            @Override
+            public long millis() {
+                return millis;
+            }
+        };
+    }
+}
@@ -0,0 +1,121 @@
+package xyz.catuns.edupulse.engagement.service.plan;
+
+import org.junit.jupiter.api.Test;
+import xyz.catuns.edupulse.engagement.config.properties.ScoringProperties;
+import xyz.catuns.edupulse.engagement.domain.dto.ScoringConfig;
+import xyz.catuns.edupulse.engagement.domain.model.BehavioralPattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class ScoringPlanRegistryTest {
+
+    private final ScoringProperties properties = new ScoringProperties();
+    private final ScoringPlanRegistry registry = new ScoringPlanRegistry(properties);
+
+    @Test
+    void compilesPropertiesOnStartup() {
+        ScoringPlan plan = registry.current();
+
+        assertThat(plan.version()).isEqualTo(1L);
+        assertThat(plan.source()).isEqualTo(ScoringPlanRegistry.SOURCE_PROPERTIES);
+        assertThat(plan.accuracyWeight()).isCloseTo(0.4, within(1e-6));
+        assertThat(plan.paceLower()).isCloseTo(0.4, within(1e-6));
+        assertThat(plan.paceUpper()).isCloseTo(0.6, within(1e-6));
+        assertThat(plan.penaltyFor(0)).isEqualTo(1.0);
+        assertThat(plan.penaltyFor(BehavioralPattern.RAPID_INCORRECT_SUBMISSIONS.mask()
+                | BehavioralPattern.FREQUENT_PAUSES.mask())).isCloseTo(0.8 * 0.95, within(1e-9));
+    }
+
+    @Test
+    void swapsInValidConfigKeepingOmittedSections() {
+        ScoringProperties.Weight weights = new ScoringProperties.Weight();
+        weights.setAccuracy(0.6f);
+        weights.setDwell(0.2f);
+        weights.setPacing(0.2f);
+
+        ScoringPlan plan = registry.apply("topic", new ScoringConfig(weights, null, null));
+
+        assertThat(registry.current()).isSameAs(plan);
+        assertThat(plan.version()).isEqualTo(2L);
+        assertThat(plan.accuracyWeight()).isCloseTo(0.6, within(1e-6));
+        assertThat(plan.alertThreshold()).isCloseTo(properties.getThresholds().getAlert(), within(1e-6));
+
+        assertThat(registry.apply("topic", null).source()).isEqualTo(ScoringPlanRegistry.SOURCE_PROPERTIES);
+    }
+
+    @Test
+    void rejectsInvalidConfigAndKeepsCurrentPlan() {
+        ScoringPlan before = registry.current();
+        ScoringProperties.Weight weights = new ScoringProperties.Weight();
+        weights.setAccuracy(0.9f);
+        ScoringProperties.Threshold thresholds = new ScoringProperties.Threshold();
+        thresholds.setAlert(0.8f);
+
+        assertThatThrownBy(() -> registry.apply("topic", new ScoringConfig(weights, thresholds, null)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("weights must add up to 1.0")
+                .hasMessageContaining("alert <= yellow");
+        assertThat(registry.current()).isSameAs(before);
+    }
+
+    @Test
+    void compilesPatternRules() {
+        ScoringProperties.Threshold thresholds = new ScoringProperties.Threshold();
+        thresholds.getPattern().setIdleGapMs(300_000);
+        thresholds.getTime().setRushingMs(2_000);
+
+        ScoringPlan plan = registry.apply("topic", new ScoringConfig(null, thresholds, null));
+
+        assertThat(plan.patterns().idleGapMs()).isEqualTo(300_000L);
+        assertThat(plan.patterns().frequentPauses()).isEqualTo(3);
+        assertThat(plan.rushingMs()).isEqualTo(2_000L);
+        assertThat(registry.currentConfig().getThresholds()).isSameAs(thresholds);
+        assertThat(registry.currentConfig().getWeights()).isSameAs(properties.getWeights());
+    }
+
+    @Test
+    void rejectsMissingThresholdSectionsAndOutOfRangePatternRules() {
+        ScoringProperties.Threshold thresholds = new ScoringProperties.Threshold();
+        thresholds.setTime(null);
+        thresholds.setPattern(null);
+
+        assertThatThrownBy(() -> registry.validate(new ScoringConfig(null, thresholds, null)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("thresholds.time must not be null")
+                .hasMessageContaining("thresholds.pattern must not be null");
+
+        ScoringProperties.Threshold outOfRange = new ScoringProperties.Threshold();
+        outOfRange.getPattern().setMinAnswers(0);
+        outOfRange.getPattern().setStrugglingMaxCorrectness(1.5);
+
+        assertThatThrownBy(() -> registry.validate(new ScoringConfig(null, outOfRange, null)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("pattern.min-answers")
+                .hasMessageContaining("pattern.struggling-max-correctness");
+    }
+
+    @Test
+    void compilesTrendSettingsAndRejectsOutOfRangeOnes() {
+        ScoringProperties.Trend trend = new ScoringProperties.Trend();
+        trend.setEwmaAlpha(0.5);
+        trend.setHistorySize(16);
+
+        ScoringPlan plan = registry.apply("topic", new ScoringConfig(null, null, trend));
+
+        assertThat(plan.trend().ewmaAlpha()).isEqualTo(0.5);
+        assertThat(plan.trend().historySize()).isEqualTo(16);
+        assertThat(plan.trend().minWindows()).isEqualTo(properties.getTrend().getMinWindows());
+        assertThat(registry.currentConfig().getTrend()).isSameAs(trend);
+
+        ScoringProperties.Trend outOfRange = new ScoringProperties.Trend();
+        outOfRange.setEwmaAlpha(0);
+        outOfRange.setMinWindows(0);
+
+        assertThatThrownBy(() -> registry.validate(new ScoringConfig(null, null, outOfRange)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("trend.ewma-alpha")
+                .hasMessageContaining("trend.min-windows");
+    }
+}
@@ -0,0 +1,91 @@
+package xyz.catuns.edupulse.engagement.service.quarantine;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.record.TimestampType;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import xyz.catuns.edupulse.engagement.config.properties.QuarantineProperties;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QuarantinePublisherTest {
+
+    private static final String TOPIC = "engagement.quarantine";
+
+    private SimpleMeterRegistry registry;
+    private MockProducer<byte[], byte[]> producer;
+    private QuarantinePublisher publisher;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        producer = new MockProducer<>(true, new ByteArraySerializer(), new ByteArraySerializer());
+        publisher = new QuarantinePublisher(TOPIC, producer, new QuarantineProperties(), registry);
+    }
+
+    @Test
+    void publishesRawBytesWithErrorHeaders() {
+        ConsumerRecord<byte[], byte[]> record = record();
+        SerializationException exception = new SerializationException(
+                "Unknown magic byte!", new IllegalStateException("bad schema"));
+
+        assertThat(publisher.quarantine(record, "0_1", exception)).isTrue();
+        publisher.close();
+
+        assertThat(producer.history()).singleElement().satisfies(published -> {
+            assertThat(published.topic()).isEqualTo(TOPIC);
+            assertThat(published.key()).isEqualTo(record.key());
+            assertThat(published.value()).isEqualTo(record.value());
+            assertThat(published.timestamp()).isEqualTo(record.timestamp());
+            assertThat(header(published, "trace-id")).contains("abc");
+            assertThat(header(published, QuarantinePublisher.SOURCE_TOPIC_HEADER)).contains("quiz.answers");
+            assertThat(header(published, QuarantinePublisher.SOURCE_PARTITION_HEADER)).contains("1");
+            assertThat(header(published, QuarantinePublisher.SOURCE_OFFSET_HEADER)).contains("42");
+            assertThat(header(published, QuarantinePublisher.TASK_HEADER)).contains("0_1");
+            assertThat(header(published, QuarantinePublisher.EXCEPTION_HEADER))
+                    .contains(SerializationException.class.getName());
+            assertThat(header(published, QuarantinePublisher.CAUSE_HEADER))
+                    .contains(IllegalStateException.class.getName());
+            assertThat(header(published, QuarantinePublisher.MESSAGE_HEADER)).contains("Unknown magic byte!");
+        });
+        assertThat(registry.get("engagement.quarantine.records")
+                .tag("topic", "quiz.answers")
+                .tag("exception", "SerializationException")
+                .counter().count()).isEqualTo(1.0);
+        assertThat(registry.get("engagement.quarantine.published").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void dropsRecordsAfterClose() {
+        publisher.close();
+
+        assertThat(publisher.quarantine(record(), "0_1", new SerializationException("late"))).isFalse();
+        assertThat(registry.get("engagement.quarantine.dropped").tag("reason", "closed")
+                .counter().count()).isEqualTo(1.0);
+        assertThat(registry.get("engagement.quarantine.dropped").tag("reason", "buffer_full")
+                .counter().count()).isZero();
+        assertThat(producer.history()).isEmpty();
+    }
+
+    private static ConsumerRecord<byte[], byte[]> record() {
+        RecordHeaders headers = new RecordHeaders();
+        headers.add("trace-id", "abc".getBytes(StandardCharsets.UTF_8));
+        return new ConsumerRecord<>("quiz.answers", 1, 42L, 1_000L, TimestampType.CREATE_TIME,
+                3, 4, new byte[]{1, 2, 3}, new byte[]{0, 0, 0, 0}, headers, Optional.empty());
+    }
+
+    private static Optional<String> header(ProducerRecord<byte[], byte[]> record, String key) {
+        Header header = record.headers().lastHeader(key);
+        return Optional.ofNullable(header).map(h -> new String(h.value(), StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,122 @@
+package xyz.catuns.edupulse.engagement.service.query;
+
+import io.confluent.kafka.schemaregistry.testutil.MockSchemaRegistry;
+import io.confluent.kafka.serializers.AbstractKafkaSchemaSerDeConfig;
+import io.confluent.kafka.serializers.KafkaAvroSerializer;
+import io.confluent.kafka.streams.serdes.avro.SpecificAvroSerde;
+import org.apache.kafka.common.serialization.Serializer;
+import org.apache.kafka.streams.state.HostInfo;
+import org.apache.kafka.streams.state.ReadOnlyWindowStore;
+import org.apache.kafka.streams.state.WindowStoreIterator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.kafka.streams.KafkaStreamsInteractiveQueryService;
+import org.springframework.web.client.RestClient;
+import xyz.catuns.edupulse.common.messaging.events.quiz.QuizAnswerKey;
+import xyz.catuns.edupulse.engagement.config.properties.QueryProperties;
+import xyz.catuns.edupulse.engagement.config.properties.ScoringProperties;
+import xyz.catuns.edupulse.engagement.config.properties.TopologyProperties;
+import xyz.catuns.edupulse.engagement.domain.model.StudentEngagementState;
+import xyz.catuns.edupulse.engagement.load.AvroRecords;
+import xyz.catuns.edupulse.engagement.service.EngagementScoringService;
+import xyz.catuns.edupulse.engagement.service.plan.ScoringPlanRegistry;
+import xyz.catuns.edupulse.engagement.topology.StudentPartitioner;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class EngagementQueryServiceTest {
+
+    private static final String SCHEMA_REGISTRY_SCOPE = "engagement-query-test";
+    private static final Map<String, String> SCHEMA_CONFIG = Map.of(
+            AbstractKafkaSchemaSerDeConfig.SCHEMA_REGISTRY_URL_CONFIG, "mock://" + SCHEMA_REGISTRY_SCOPE);
+    private static final String QUIZ_ANSWERS = "quiz.answers";
+    private static final HostInfo SELF = new HostInfo("localhost", 8080);
+
+    private final KafkaStreamsInteractiveQueryService queryService = mock(KafkaStreamsInteractiveQueryService.class);
+
+    @AfterEach
+    void dropSchemaRegistry() {
+        MockSchemaRegistry.dropScope(SCHEMA_REGISTRY_SCOPE);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void coPartitionedLookupsHashTheProducersKey() {
+        TopologyProperties topologyProperties = new TopologyProperties();
+        topologyProperties.getPartitioning().setCoPartitioned(true);
+        EngagementQueryService service = queryService(topologyProperties);
+        ownsEveryStudentWithoutState();
+
+        assertThat(service.findStudent("student-1", false)).isEmpty();
+        assertThat(service.findStudents(List.of("student-2"), false)).isEmpty();
+
+        ArgumentCaptor<Serializer<String>> serializers = ArgumentCaptor.forClass(Serializer.class);
+        verify(queryService, times(2)).getKafkaStreamsApplicationHostInfo(
+                eq(EngagementQueryService.AGGREGATE_STORE), anyString(), serializers.capture());
+        String studentKeyField = topologyProperties.getPartitioning().getStudentKeyField();
+        try (KafkaAvroSerializer producerKeySerializer = new KafkaAvroSerializer()) {
+            producerKeySerializer.configure(SCHEMA_CONFIG, true);
+            for (Serializer<String> serializer : serializers.getAllValues()) {
+                QuizAnswerKey key = new QuizAnswerKey();
+                key.put(studentKeyField, "student-1");
+                // Kafka Streams passes whichever source topic has the most partitions
+                assertThat(serializer.serialize("engagement-aggregate-store-changelog", "student-1"))
+                        .isEqualTo(producerKeySerializer.serialize(QUIZ_ANSWERS, AvroRecords.complete(key)));
+            }
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void repartitionedLookupsHashThePlainStudentId() {
+        EngagementQueryService service = queryService(new TopologyProperties());
+        ownsEveryStudentWithoutState();
+
+        service.findStudent("student-1", false);
+
+        ArgumentCaptor<Serializer<String>> serializer = ArgumentCaptor.forClass(Serializer.class);
+        verify(queryService).getKafkaStreamsApplicationHostInfo(
+                eq(EngagementQueryService.AGGREGATE_STORE), eq("student-1"), serializer.capture());
+        assertThat(serializer.getValue().serialize("any", "student-1")).isEqualTo("student-1".getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * This instance owns every key and has no window for it, so lookups end in an empty local read
+     */
+    @SuppressWarnings("unchecked")
+    private void ownsEveryStudentWithoutState() {
+        when(queryService.getKafkaStreamsApplicationHostInfo(eq(EngagementQueryService.AGGREGATE_STORE), anyString(), any()))
+                .thenReturn(SELF);
+        when(queryService.getCurrentKafkaStreamsApplicationHostInfo()).thenReturn(SELF);
+        ReadOnlyWindowStore<String, StudentEngagementState> store = mock(ReadOnlyWindowStore.class);
+        when(store.backwardFetch(anyString(), any(Instant.class), any(Instant.class)))
+                .thenReturn(mock(WindowStoreIterator.class));
+        when(queryService.retrieveQueryableStore(eq(EngagementQueryService.AGGREGATE_STORE), any())).thenReturn(store);
+    }
+
+    private EngagementQueryService queryService(TopologyProperties topologyProperties) {
+        SpecificAvroSerde<QuizAnswerKey> keySerde = new SpecificAvroSerde<>();
+        keySerde.configure(SCHEMA_CONFIG, true);
+        return new EngagementQueryService(
+                queryService,
+                mock(EngagementScoringService.class),
+                new ScoringPlanRegistry(new ScoringProperties()),
+                new ScoringProperties(),
+                new QueryProperties(),
+                new StudentPartitioner(topologyProperties, keySerde, QUIZ_ANSWERS),
+                RestClient.builder());
+    }
+}
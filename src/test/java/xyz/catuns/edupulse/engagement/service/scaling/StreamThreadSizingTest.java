@@ -0,0 +1,44 @@
+package xyz.catuns.edupulse.engagement.service.scaling;
+
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StreamThreadSizingTest {
+
+    @Test
+    void autoThreadsAreBoundedByCoresAndPartitions() {
+        assertThat(StreamThreadSizing.autoThreads(8, 1)).isEqualTo(1);
+        assertThat(StreamThreadSizing.autoThreads(8, 6)).isEqualTo(6);
+        assertThat(StreamThreadSizing.autoThreads(4, 12)).isEqualTo(4);
+        assertThat(StreamThreadSizing.autoThreads(0, 12)).isEqualTo(1);
+    }
+
+    @Test
+    void localShareCountsPartitionsPerTopic() {
+        Map<String, Integer> topicPartitions = Map.of("quiz.answers", 12, "session.events", 12);
+
+        // p0 of both inputs is two partitions, not one: 1/12 of each topic
+        assertThat(StreamThreadSizing.localShare(Set.of(
+                new TopicPartition("quiz.answers", 0),
+                new TopicPartition("session.events", 0)), topicPartitions)).isEqualTo(1.0 / 12);
+        assertThat(StreamThreadSizing.localShare(Set.of(
+                new TopicPartition("quiz.answers", 0),
+                new TopicPartition("quiz.answers", 1),
+                new TopicPartition("quiz.answers", 2)), topicPartitions)).isEqualTo(3.0 / 24);
+        assertThat(StreamThreadSizing.localShare(Set.of(), topicPartitions)).isZero();
+    }
+
+    @Test
+    void recommendedPartitionsExtrapolateLocalLoadWithHeadroom() {
+        // 1.5 busy threads on a quarter of the input: 6 busy threads overall, 12 with 2x headroom
+        assertThat(StreamThreadSizing.recommendedPartitions(1.5, 0.25, 2.0)).isEqualTo(12);
+        // All of the input, 0.8 busy: 2 partitions leave room to double
+        assertThat(StreamThreadSizing.recommendedPartitions(0.8, 1.0, 2.0)).isEqualTo(2);
+        assertThat(StreamThreadSizing.recommendedPartitions(0.0, 0.0, 2.0)).isEqualTo(1);
+    }
+}
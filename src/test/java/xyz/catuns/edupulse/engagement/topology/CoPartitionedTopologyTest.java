@@ -0,0 +1,61 @@
+package xyz.catuns.edupulse.engagement.topology;
+
+import org.apache.kafka.streams.TestOutputTopic;
+import org.apache.kafka.streams.state.WindowStore;
+import org.junit.jupiter.api.Test;
+import xyz.catuns.edupulse.common.messaging.events.engagement.EngagementScore;
+import xyz.catuns.edupulse.common.messaging.events.session.SessionEventType;
+import xyz.catuns.edupulse.engagement.domain.model.StudentEngagementState;
+import xyz.catuns.edupulse.engagement.service.query.EngagementQueryService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The direct aggregation path of co-partitioned mode: both input streams are keyed by the
+ * student id field of their Avro keys and cogrouped into one window store, without a
+ * repartition topic
+ */
+class CoPartitionedTopologyTest {
+
+    // Start of a 60s tumbling window
+    private static final long WINDOW_START = 1_700_000_040_000L;
+    private static final long WINDOW_MS = 60_000L;
+    private static final String STUDENT_ID = "student-co-partitioned";
+    private static final String OTHER_STUDENT_ID = "student-other";
+
+    @Test
+    void cogroupsBothInputsByRecordKey() throws Exception {
+        try (TopologyFixture fixture = TopologyFixture.start(WINDOW_START,
+                "--app.topology.partitioning.co-partitioned=true",
+                "--app.topology.emit.mode=EVERY_UPDATE",
+                "--app.topology.late-events.mode=OFF",
+                "--app.scoring.window.type=TUMBLING",
+                "--app.scoring.window.duration-seconds=" + WINDOW_MS / 1000)) {
+            String description = fixture.topology().describe().toString();
+            assertThat(description).contains("cogroup");
+            assertThat(description).doesNotContain("engagement-events-repartition");
+
+            TestOutputTopic<String, EngagementScore> scores = fixture.scores();
+
+            fixture.answer(STUDENT_ID, true, WINDOW_START + 1_000L);
+            fixture.sessionEvent(STUDENT_ID, SessionEventType.NAVIGATION, WINDOW_START + 2_000L);
+            fixture.answer(OTHER_STUDENT_ID, false, WINDOW_START + 3_000L);
+            // Next window
+            fixture.answer(STUDENT_ID, false, WINDOW_START + WINDOW_MS + 1_000L);
+
+            // One score per update, keyed by the student id read from the record key
+            assertThat(scores.readKeyValuesToList())
+                    .extracting(record -> record.key)
+                    .containsExactly(STUDENT_ID, STUDENT_ID, OTHER_STUDENT_ID, STUDENT_ID);
+
+            WindowStore<String, StudentEngagementState> aggregates =
+                    fixture.driver().getWindowStore(EngagementQueryService.AGGREGATE_STORE);
+            StudentEngagementState first = aggregates.fetch(STUDENT_ID, WINDOW_START);
+            assertThat(first.getTotalAnswers()).isEqualTo(1);
+            assertThat(first.getCorrectAnswers()).isEqualTo(1);
+            assertThat(first.getNavigationEvents()).isEqualTo(1);
+            assertThat(aggregates.fetch(STUDENT_ID, WINDOW_START + WINDOW_MS).getIncorrectAnswers()).isEqualTo(1);
+            assertThat(aggregates.fetch(OTHER_STUDENT_ID, WINDOW_START).getNavigationEvents()).isZero();
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package xyz.catuns.edupulse.engagement.topology;
+
+import org.apache.kafka.clients.admin.TopicDescription;
+import org.apache.kafka.common.KafkaException;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.TopicPartitionInfo;
+import org.apache.kafka.common.errors.UnknownTopicOrPartitionException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.test.util.ReflectionTestUtils;
+import xyz.catuns.edupulse.engagement.config.properties.TopologyProperties;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class CoPartitioningValidatorTest {
+
+    private static final String QUIZ_ANSWERS = "quiz.answers";
+    private static final String SESSION_EVENTS = "session.events";
+
+    private final TopologyProperties topologyProperties = new TopologyProperties();
+    private final KafkaAdmin kafkaAdmin = mock(KafkaAdmin.class);
+    private final CoPartitioningValidator validator = new CoPartitioningValidator(topologyProperties, kafkaAdmin);
+
+    @BeforeEach
+    void setUp() {
+        topologyProperties.getPartitioning().setCoPartitioned(true);
+        ReflectionTestUtils.setField(validator, "quizAnswersTopic", QUIZ_ANSWERS);
+        ReflectionTestUtils.setField(validator, "sessionEventsTopic", SESSION_EVENTS);
+    }
+
+    @Test
+    void skipsTopicMetadataWhenRepartitioning() {
+        topologyProperties.getPartitioning().setCoPartitioned(false);
+
+        validator.validate();
+
+        verifyNoInteractions(kafkaAdmin);
+    }
+
+    @Test
+    void acceptsMatchingPartitionCounts() {
+        when(kafkaAdmin.describeTopics(QUIZ_ANSWERS, SESSION_EVENTS)).thenReturn(Map.of(
+                QUIZ_ANSWERS, topic(QUIZ_ANSWERS, 6),
+                SESSION_EVENTS, topic(SESSION_EVENTS, 6)));
+
+        assertThatCode(validator::validate).doesNotThrowAnyException();
+    }
+
+    @Test
+    void rejectsMismatchedPartitionCounts() {
+        when(kafkaAdmin.describeTopics(QUIZ_ANSWERS, SESSION_EVENTS)).thenReturn(Map.of(
+                QUIZ_ANSWERS, topic(QUIZ_ANSWERS, 6),
+                SESSION_EVENTS, topic(SESSION_EVENTS, 3)));
+
+        assertThatThrownBy(validator::validate)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("quiz.answers has 6 and session.events has 3");
+    }
+
+    @Test
+    void rejectsMissingTopic() {
+        when(kafkaAdmin.describeTopics(QUIZ_ANSWERS, SESSION_EVENTS)).thenReturn(Map.of(
+                QUIZ_ANSWERS, topic(QUIZ_ANSWERS, 6)));
+
+        assertThatThrownBy(validator::validate)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("session.events does not exist");
+    }
+
+    @Test
+    void rejectsTopicsThatCannotBeDescribed() {
+        when(kafkaAdmin.describeTopics(QUIZ_ANSWERS, SESSION_EVENTS)).thenThrow(
+                new KafkaException("Failed to obtain topic descriptions",
+                        new UnknownTopicOrPartitionException("This server does not host this topic-partition.")));
+
+        assertThatThrownBy(validator::validate)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("could not be described")
+                .hasCauseInstanceOf(KafkaException.class);
+    }
+
+    private static TopicDescription topic(String name, int partitions) {
+        Node node = new Node(0, "localhost", 9092);
+        return new TopicDescription(name, false, IntStream.range(0, partitions)
+                .mapToObj(partition -> new TopicPartitionInfo(partition, node, List.of(node), List.of(node)))
+                .toList());
+    }
+}
@@ -0,0 +1,84 @@
+package xyz.catuns.edupulse.engagement.topology;
+
+import org.apache.kafka.streams.TestOutputTopic;
+import org.junit.jupiter.api.Test;
+import xyz.catuns.edupulse.common.messaging.events.engagement.EngagementScore;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@code app.topology.emit.mode} through the production topology, on 60s tumbling windows
+ */
+class EmitModeTopologyTest {
+
+    // Start of a 60s tumbling window
+    private static final long WINDOW_START = 1_700_000_040_000L;
+    private static final long WINDOW_MS = 60_000L;
+    private static final long GRACE_MS = 5_000L;
+    private static final long INTERVAL_MS = 10_000L;
+    private static final String STUDENT_ID = "student-emit";
+
+    @Test
+    void intervalScoresEachWindowAtMostOncePerInterval() throws Exception {
+        try (TopologyFixture fixture = start("INTERVAL")) {
+            TestOutputTopic<String, EngagementScore> scores = fixture.scores();
+
+            fixture.answer(STUDENT_ID, true, WINDOW_START + 1_000L);
+            fixture.answer(STUDENT_ID, false, WINDOW_START + 3_000L);
+            fixture.answer(STUDENT_ID, true, WINDOW_START + 5_000L);
+            assertThat(scores.isEmpty()).isTrue();
+
+            // Stream time reaches the first buffered update + interval
+            fixture.answer(STUDENT_ID, true, WINDOW_START + 1_000L + INTERVAL_MS);
+            assertThat(scores.readKeyValuesToList())
+                    .extracting(record -> record.key)
+                    .containsExactly(STUDENT_ID);
+
+            // Buffered again, for another interval
+            fixture.answer(STUDENT_ID, false, WINDOW_START + 12_000L);
+            fixture.answer(STUDENT_ID, true, WINDOW_START + 20_000L);
+            assertThat(scores.isEmpty()).isTrue();
+
+            fixture.answer(STUDENT_ID, true, WINDOW_START + 12_000L + INTERVAL_MS);
+            assertThat(scores.readKeyValuesToList()).hasSize(1);
+        }
+    }
+
+    @Test
+    void onWindowCloseScoresEachWindowOnceAfterGrace() throws Exception {
+        try (TopologyFixture fixture = start("ON_WINDOW_CLOSE")) {
+            TestOutputTopic<String, EngagementScore> scores = fixture.scores();
+
+            fixture.answer(STUDENT_ID, true, WINDOW_START + 1_000L);
+            fixture.answer(STUDENT_ID, false, WINDOW_START + 2_000L);
+            // Next window, but the first one is still within grace
+            fixture.answer(STUDENT_ID, true, WINDOW_START + WINDOW_MS + 2_000L);
+            assertThat(scores.isEmpty()).isTrue();
+
+            // Final results are checked at most once per emit.interval.ms.on.window.close of wall-clock time
+            fixture.driver().advanceWallClockTime(Duration.ofSeconds(1));
+            fixture.answer(STUDENT_ID, true, WINDOW_START + WINDOW_MS + GRACE_MS + 1_000L);
+
+            assertThat(scores.readKeyValuesToList())
+                    .extracting(record -> record.key)
+                    .containsExactly(STUDENT_ID);
+
+            // Still open: the second window is not scored yet
+            fixture.driver().advanceWallClockTime(Duration.ofSeconds(1));
+            fixture.answer(STUDENT_ID, false, WINDOW_START + WINDOW_MS + 30_000L);
+            assertThat(scores.isEmpty()).isTrue();
+        }
+    }
+
+    private static TopologyFixture start(String emitMode) throws Exception {
+        return TopologyFixture.start(WINDOW_START,
+                "--app.topology.emit.mode=" + emitMode,
+                "--app.topology.emit.interval=" + INTERVAL_MS / 1000 + "s",
+                "--app.topology.late-events.mode=OFF",
+                "--app.scoring.window.type=TUMBLING",
+                "--app.scoring.window.duration-seconds=" + WINDOW_MS / 1000,
+                "--app.scoring.window.grace-period-seconds=" + GRACE_MS / 1000);
+    }
+}
@@ -0,0 +1,81 @@
+package xyz.catuns.edupulse.engagement.topology;
+
+import org.apache.kafka.streams.TestOutputTopic;
+import org.apache.kafka.streams.state.WindowStore;
+import org.apache.kafka.streams.test.TestRecord;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import xyz.catuns.edupulse.common.messaging.events.engagement.EngagementScore;
+import xyz.catuns.edupulse.engagement.domain.dto.EngagementAlert;
+import xyz.catuns.edupulse.engagement.domain.dto.LateEvent;
+import xyz.catuns.edupulse.engagement.domain.model.StudentEngagementState;
+import xyz.catuns.edupulse.engagement.topology.processor.LateCorrectionProcessor;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@code app.topology.late-events.mode=CORRECT} through the production topology, on both the
+ * direct (co-partitioned, cogrouped) and the repartitioned enriched aggregation path
+ */
+class LateEventCorrectionTopologyTest {
+
+    // Start of a 60s tumbling window
+    private static final long WINDOW_START = 1_700_000_040_000L;
+    private static final long WINDOW_MS = 60_000L;
+    private static final long GRACE_MS = 5_000L;
+    private static final String STUDENT_ID = "student-late";
+    private static final String OTHER_STUDENT_ID = "student-on-time";
+
+    @ParameterizedTest(name = "co-partitioned={0}")
+    @ValueSource(booleans = {false, true})
+    void correctsClosedWindowWithoutAlerting(boolean coPartitioned) throws Exception {
+        try (TopologyFixture fixture = TopologyFixture.start(WINDOW_START,
+                "--app.topology.partitioning.co-partitioned=" + coPartitioned,
+                "--app.topology.emit.mode=EVERY_UPDATE",
+                "--app.topology.late-events.mode=CORRECT",
+                "--app.topology.late-events.correction-horizon=1h",
+                "--app.scoring.window.type=TUMBLING",
+                "--app.scoring.window.duration-seconds=" + WINDOW_MS / 1000,
+                "--app.scoring.window.grace-period-seconds=" + GRACE_MS / 1000,
+                // Every score is CRITICAL, so any score the alerts consider raises after the debounce
+                "--app.scoring.thresholds.alert=1.0",
+                "--app.scoring.thresholds.yellow=1.0",
+                "--app.scoring.thresholds.green=1.0",
+                "--app.scoring.alerts.debounce=30s",
+                "--app.scoring.alerts.cooldown=0s")) {
+            TestOutputTopic<String, EngagementScore> scores = fixture.scores();
+            TestOutputTopic<String, EngagementAlert> alerts = fixture.alerts();
+            TestOutputTopic<String, LateEvent> lateEvents = fixture.lateEvents();
+
+            // On time: pending CRITICAL since +1s, within the debounce
+            fixture.answer(STUDENT_ID, false, WINDOW_START + 1_000L);
+            // Another student moves stream time past window end + grace
+            fixture.answer(OTHER_STUDENT_ID, false, WINDOW_START + WINDOW_MS + GRACE_MS + 5_000L);
+            // Late for the closed window; scored live at +50s it would raise after the 30s debounce
+            fixture.answer(STUDENT_ID, false, WINDOW_START + 50_000L);
+
+            assertThat(lateEvents.readValuesToList()).singleElement().satisfies(late -> {
+                assertThat(late.getStudentId()).isEqualTo(STUDENT_ID);
+                assertThat(late.getAction()).isEqualTo(LateEvent.Action.CORRECTED);
+                assertThat(late.getWindowStart()).isEqualTo(WINDOW_START);
+            });
+
+            List<TestRecord<String, EngagementScore>> studentScores = scores.readRecordsToList().stream()
+                    .filter(score -> STUDENT_ID.equals(score.key()))
+                    .toList();
+            assertThat(studentScores).hasSize(2);
+            assertThat(studentScores.get(0).headers().lastHeader(LateCorrectionProcessor.CORRECTION_HEADER)).isNull();
+            assertThat(studentScores.get(1).headers().lastHeader(LateCorrectionProcessor.CORRECTION_HEADER)).isNotNull();
+            assertThat(studentScores.get(1).timestamp()).isEqualTo(WINDOW_START + 50_000L);
+
+            // Seeded from the closed window in the aggregate store, not from an empty state
+            WindowStore<String, StudentEngagementState> corrections =
+                    fixture.driver().getWindowStore(LateCorrectionProcessor.STORE);
+            assertThat(corrections.fetch(STUDENT_ID, WINDOW_START).getTotalAnswers()).isEqualTo(2);
+
+            assertThat(alerts.readValuesToList()).isEmpty();
+        }
+    }
+}
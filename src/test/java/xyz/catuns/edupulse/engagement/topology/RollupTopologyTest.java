@@ -0,0 +1,79 @@
+package xyz.catuns.edupulse.engagement.topology;
+
+import org.apache.kafka.streams.TestOutputTopic;
+import org.apache.kafka.streams.state.KeyValueStore;
+import org.apache.kafka.streams.test.TestRecord;
+import org.junit.jupiter.api.Test;
+import xyz.catuns.edupulse.common.messaging.events.engagement.EngagementScore;
+import xyz.catuns.edupulse.engagement.domain.model.RollupState;
+import xyz.catuns.edupulse.engagement.domain.model.ScoreHistory;
+import xyz.catuns.edupulse.engagement.topology.processor.EngagementScoreProcessor;
+import xyz.catuns.edupulse.engagement.topology.processor.WindowRollupProcessor;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@code app.scoring.window.rollup-seconds} through the production topology: a 5-minute
+ * resolution rolled up from the 1-minute windows, sealing panes once their grace has passed
+ */
+class RollupTopologyTest {
+
+    // Start of a 5m roll-up window, and of its first 60s base window
+    private static final long ROLLUP_START = 1_700_000_100_000L;
+    private static final long WINDOW_MS = 60_000L;
+    private static final long ROLLUP_MS = 300_000L;
+    private static final long GRACE_MS = 5_000L;
+    private static final String STUDENT_ID = "student-rollup";
+    private static final String ROLLUP_KEY = STUDENT_ID + "|300";
+
+    @Test
+    void scoresEveryResolutionFromOneAggregation() throws Exception {
+        try (TopologyFixture fixture = TopologyFixture.start(ROLLUP_START,
+                "--app.topology.emit.mode=EVERY_UPDATE",
+                "--app.topology.late-events.mode=OFF",
+                "--app.scoring.window.type=TUMBLING",
+                "--app.scoring.window.duration-seconds=" + WINDOW_MS / 1000,
+                "--app.scoring.window.grace-period-seconds=" + GRACE_MS / 1000,
+                "--app.scoring.window.rollup-seconds=" + ROLLUP_MS / 1000)) {
+            TestOutputTopic<String, EngagementScore> scores = fixture.scores();
+            KeyValueStore<String, RollupState> rollups =
+                    fixture.driver().getKeyValueStore(WindowRollupProcessor.ROLLUP_STORE);
+
+            fixture.answer(STUDENT_ID, true, ROLLUP_START + 1_000L);
+            fixture.answer(STUDENT_ID, false, ROLLUP_START + WINDOW_MS + 1_000L);
+            // Stream time passes end + grace of the first two base windows
+            fixture.answer(STUDENT_ID, true, ROLLUP_START + 2 * WINDOW_MS + 10_000L);
+
+            RollupState rollup = rollups.get(ROLLUP_KEY);
+            assertThat(rollup.getWindowStart()).isEqualTo(ROLLUP_START);
+            assertThat(rollup.getSealed().getTotalAnswers()).isEqualTo(2);
+            assertThat(rollup.getSealedThrough()).isEqualTo(ROLLUP_START + 2 * WINDOW_MS);
+            assertThat(rollup.getOpenPanes()).containsOnlyKeys(ROLLUP_START + 2 * WINDOW_MS);
+            assertThat(rollup.view(5_000L).getTotalAnswers()).isEqualTo(3);
+            assertThat(rollup.view(5_000L).getCorrectAnswers()).isEqualTo(2);
+
+            // First base window of the next roll-up window
+            fixture.answer(STUDENT_ID, false, ROLLUP_START + ROLLUP_MS + 1_000L);
+
+            assertThat(rollups.get(ROLLUP_KEY).getWindowStart()).isEqualTo(ROLLUP_START + ROLLUP_MS);
+            assertThat(rollups.get(ROLLUP_KEY).view(5_000L).getTotalAnswers()).isEqualTo(1);
+
+            // One score per resolution and update
+            List<TestRecord<String, EngagementScore>> records = scores.readRecordsToList();
+            assertThat(records)
+                    .extracting(record -> new String(record.headers()
+                            .lastHeader(EngagementScoreProcessor.RESOLUTION_HEADER).value(), StandardCharsets.UTF_8))
+                    .containsExactlyInAnyOrder("PT1M", "PT1M", "PT1M", "PT1M", "PT5M", "PT5M", "PT5M", "PT5M");
+
+            // Each resolution keeps its own history
+            KeyValueStore<String, ScoreHistory> history =
+                    fixture.driver().getKeyValueStore(EngagementScoreProcessor.HISTORY_STORE);
+            assertThat(history.get(STUDENT_ID).getWindowCount()).isEqualTo(3);
+            assertThat(history.get(ROLLUP_KEY).getWindowCount()).isEqualTo(1);
+            assertThat(history.get(ROLLUP_KEY).getCurrentWindowStart()).isEqualTo(ROLLUP_START + ROLLUP_MS);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package xyz.catuns.edupulse.engagement.topology;
+
+import org.apache.kafka.streams.KeyValue;
+import org.apache.kafka.streams.TestOutputTopic;
+import org.apache.kafka.streams.kstream.Windowed;
+import org.apache.kafka.streams.state.KeyValueIterator;
+import org.apache.kafka.streams.state.SessionStore;
+import org.junit.jupiter.api.Test;
+import xyz.catuns.edupulse.common.messaging.events.engagement.EngagementScore;
+import xyz.catuns.edupulse.engagement.domain.model.StudentEngagementState;
+import xyz.catuns.edupulse.engagement.service.query.EngagementQueryService;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * SESSION windows through the production topology: an event bridging the inactivity gap
+ * merges two sessions with {@code StudentEngagementAggregator.merge}
+ */
+class SessionWindowTopologyTest {
+
+    private static final long START = 1_700_000_040_000L;
+    private static final long INACTIVITY_GAP_MS = 60_000L;
+    private static final long RAPID_SUBMISSION_MS = 120_000L;
+    private static final String STUDENT_ID = "student-session";
+
+    @Test
+    void bridgingEventMergesSessions() throws Exception {
+        try (TopologyFixture fixture = TopologyFixture.start(START,
+                "--app.topology.emit.mode=EVERY_UPDATE",
+                "--app.topology.late-events.mode=OFF",
+                "--app.scoring.window.type=SESSION",
+                "--app.scoring.window.inactivity-gap-seconds=" + INACTIVITY_GAP_MS / 1000,
+                "--app.scoring.window.grace-period-seconds=5",
+                "--app.scoring.thresholds.pattern.rapid-submission-ms=" + RAPID_SUBMISSION_MS)) {
+            TestOutputTopic<String, EngagementScore> scores = fixture.scores();
+
+            fixture.answer(STUDENT_ID, true, START);
+            // Beyond the inactivity gap: a second session
+            fixture.answer(STUDENT_ID, false, START + 100_000L);
+            assertThat(sessions(fixture)).hasSize(2);
+
+            // Within the gap of both sessions
+            fixture.answer(STUDENT_ID, true, START + 50_000L);
+
+            List<KeyValue<Windowed<String>, StudentEngagementState>> sessions = sessions(fixture);
+            assertThat(sessions).singleElement().satisfies(session -> {
+                assertThat(session.key.window().start()).isEqualTo(START);
+                assertThat(session.key.window().end()).isEqualTo(START + 100_000L);
+                StudentEngagementState merged = session.value;
+                assertThat(merged.getStudentId()).isEqualTo(STUDENT_ID);
+                assertThat(merged.getTotalAnswers()).isEqualTo(3);
+                assertThat(merged.getCorrectAnswers()).isEqualTo(2);
+                assertThat(merged.getFirstEventTimestamp()).isEqualTo(START);
+                assertThat(merged.getLastEventTimestamp()).isEqualTo(START + 100_000L);
+                // Stitched across the merged sessions with the configured threshold, plus the bridging answer
+                assertThat(merged.getRapidSubmissions()).isEqualTo(2);
+            });
+
+            // Tombstones of the merged-away sessions are not scored
+            assertThat(scores.readKeyValuesToList())
+                    .extracting(record -> record.key)
+                    .containsExactly(STUDENT_ID, STUDENT_ID, STUDENT_ID);
+        }
+    }
+
+    private static List<KeyValue<Windowed<String>, StudentEngagementState>> sessions(TopologyFixture fixture) {
+        SessionStore<String, StudentEngagementState> store =
+                fixture.driver().getSessionStore(EngagementQueryService.SESSION_STORE);
+        List<KeyValue<Windowed<String>, StudentEngagementState>> sessions = new ArrayList<>();
+        try (KeyValueIterator<Windowed<String>, StudentEngagementState> it =
+                     store.fetch(SessionKeys.rangeFrom(STUDENT_ID), SessionKeys.rangeTo(STUDENT_ID))) {
+            it.forEachRemaining(sessions::add);
+        }
+        return sessions;
+    }
+}
@@ -0,0 +1,96 @@
+package xyz.catuns.edupulse.engagement.topology;
+
+import io.confluent.kafka.schemaregistry.testutil.MockSchemaRegistry;
+import io.confluent.kafka.serializers.AbstractKafkaSchemaSerDeConfig;
+import io.confluent.kafka.serializers.KafkaAvroSerializer;
+import io.confluent.kafka.streams.serdes.avro.SpecificAvroSerde;
+import org.apache.kafka.common.utils.Utils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import xyz.catuns.edupulse.common.messaging.events.quiz.QuizAnswerKey;
+import xyz.catuns.edupulse.engagement.config.properties.TopologyProperties;
+import xyz.catuns.edupulse.engagement.load.AvroRecords;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StudentPartitionerTest {
+
+    private static final String SCHEMA_REGISTRY_SCOPE = "student-partitioner-test";
+    private static final Map<String, String> SCHEMA_CONFIG = Map.of(
+            AbstractKafkaSchemaSerDeConfig.SCHEMA_REGISTRY_URL_CONFIG, "mock://" + SCHEMA_REGISTRY_SCOPE);
+    private static final String QUIZ_ANSWERS = "quiz.answers";
+    private static final int PARTITIONS = 12;
+
+    @AfterEach
+    void dropSchemaRegistry() {
+        MockSchemaRegistry.dropScope(SCHEMA_REGISTRY_SCOPE);
+    }
+
+    @Test
+    void repartitionedStudentsHashThePlainStudentId() {
+        StudentPartitioner partitioner = new StudentPartitioner(new TopologyProperties(), keySerde(), QUIZ_ANSWERS);
+
+        for (int i = 0; i < 100; i++) {
+            String studentId = "student-" + i;
+            assertThat(partitioner.partition(studentId, PARTITIONS)).isEqualTo(
+                    Utils.toPositive(Utils.murmur2(studentId.getBytes(StandardCharsets.UTF_8))) % PARTITIONS);
+        }
+    }
+
+    @Test
+    void coPartitionedStudentsLandOnTheProducersPartition() {
+        TopologyProperties topologyProperties = new TopologyProperties();
+        topologyProperties.getPartitioning().setCoPartitioned(true);
+        StudentPartitioner partitioner = new StudentPartitioner(topologyProperties, keySerde(), QUIZ_ANSWERS);
+        String studentKeyField = topologyProperties.getPartitioning().getStudentKeyField();
+
+        // What a producer of quiz.answers sends and the default partitioner hashes
+        try (KafkaAvroSerializer producerKeySerializer = new KafkaAvroSerializer()) {
+            producerKeySerializer.configure(SCHEMA_CONFIG, true);
+            for (int i = 0; i < 100; i++) {
+                String studentId = "student-" + i;
+                QuizAnswerKey key = new QuizAnswerKey();
+                key.put(studentKeyField, studentId);
+                byte[] producerKey = producerKeySerializer.serialize(QUIZ_ANSWERS, AvroRecords.complete(key));
+
+                // The topic passed by Kafka Streams does not change the subject
+                assertThat(partitioner.keySerializer().serialize("engagement-aggregate-store", studentId))
+                        .isEqualTo(producerKey);
+                assertThat(partitioner.partition(studentId, PARTITIONS))
+                        .isEqualTo(Utils.toPositive(Utils.murmur2(producerKey)) % PARTITIONS);
+            }
+        }
+    }
+
+    @Test
+    void sessionKeysFollowTheirStudent() {
+        TopologyProperties topologyProperties = new TopologyProperties();
+        topologyProperties.getPartitioning().setCoPartitioned(true);
+        StudentPartitioner partitioner = new StudentPartitioner(topologyProperties, keySerde(), QUIZ_ANSWERS);
+
+        assertThat(SessionKeys.<Object>byStudent(partitioner)
+                .partition("engagement-events", SessionKeys.of("student-7", "session-a"), null, PARTITIONS))
+                .isEqualTo(partitioner.partition("student-7", PARTITIONS));
+    }
+
+    @Test
+    void rejectsUnknownStudentKeyField() {
+        TopologyProperties topologyProperties = new TopologyProperties();
+        topologyProperties.getPartitioning().setCoPartitioned(true);
+        topologyProperties.getPartitioning().setStudentKeyField("learnerId");
+
+        assertThatThrownBy(() -> new StudentPartitioner(topologyProperties, keySerde(), QUIZ_ANSWERS))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("learnerId");
+    }
+
+    private static SpecificAvroSerde<QuizAnswerKey> keySerde() {
+        SpecificAvroSerde<QuizAnswerKey> serde = new SpecificAvroSerde<>();
+        serde.configure(SCHEMA_CONFIG, true);
+        return serde;
+    }
+}
@@ -0,0 +1,179 @@
+package xyz.catuns.edupulse.engagement.topology;
+
+import io.confluent.kafka.schemaregistry.testutil.MockSchemaRegistry;
+import io.confluent.kafka.streams.serdes.avro.SpecificAvroSerde;
+import org.apache.kafka.common.serialization.Serde;
+import org.apache.kafka.common.serialization.Serdes;
+import org.apache.kafka.streams.StreamsBuilder;
+import org.apache.kafka.streams.StreamsConfig;
+import org.apache.kafka.streams.TestInputTopic;
+import org.apache.kafka.streams.TestOutputTopic;
+import org.apache.kafka.streams.Topology;
+import org.apache.kafka.streams.TopologyTestDriver;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+import xyz.catuns.edupulse.common.messaging.events.EventEnvelope;
+import xyz.catuns.edupulse.common.messaging.events.engagement.EngagementScore;
+import xyz.catuns.edupulse.common.messaging.events.quiz.QuizAnswer;
+import xyz.catuns.edupulse.common.messaging.events.quiz.QuizAnswerKey;
+import xyz.catuns.edupulse.common.messaging.events.session.SessionEvent;
+import xyz.catuns.edupulse.common.messaging.events.session.SessionEventKey;
+import xyz.catuns.edupulse.common.messaging.events.session.SessionEventType;
+import xyz.catuns.edupulse.engagement.domain.dto.EngagementAlert;
+import xyz.catuns.edupulse.engagement.domain.dto.LateEvent;
+import xyz.catuns.edupulse.engagement.load.AvroRecords;
+import xyz.catuns.edupulse.engagement.load.LoadTestConfiguration;
+
+import java.nio.file.Files;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Properties;
+import java.util.UUID;
+
+/**
+ * The production topology on a {@link TopologyTestDriver}, wired by {@link LoadTestConfiguration}
+ * with the given {@code --app...} overrides, plus builders for the input records. Keys are written
+ * the way co-partitioned producers write them and are ignored otherwise.
+ */
+final class TopologyFixture implements AutoCloseable {
+
+    private static final String SCHEMA_REGISTRY_SCOPE = "engagement-topology-test";
+
+    private final ConfigurableApplicationContext context;
+    private final Topology topology;
+    private final TopologyTestDriver driver;
+    private final String studentKeyField;
+    private final TestInputTopic<QuizAnswerKey, QuizAnswer> answers;
+    private final TestInputTopic<SessionEventKey, SessionEvent> sessionEvents;
+
+    @SuppressWarnings("unchecked")
+    private TopologyFixture(ConfigurableApplicationContext context, long startTimestamp) throws Exception {
+        this.context = context;
+        Environment env = context.getEnvironment();
+        this.studentKeyField = env.getRequiredProperty("app.topology.partitioning.student-key-field");
+
+        Properties props = new Properties();
+        props.put(StreamsConfig.APPLICATION_ID_CONFIG, "engagement-topology-test");
+        props.put(StreamsConfig.BOOTSTRAP_SERVERS_CONFIG, "dummy:9092");
+        props.put(StreamsConfig.STATE_DIR_CONFIG, Files.createTempDirectory("engagement-topology-test").toString());
+        props.put(StreamsConfig.STATESTORE_CACHE_MAX_BYTES_CONFIG, 0);
+
+        this.topology = context.getBean(StreamsBuilder.class).build();
+        this.driver = new TopologyTestDriver(topology, props, Instant.ofEpochMilli(startTimestamp));
+
+        SpecificAvroSerde<QuizAnswerKey> quizKeySerde = context.getBean("quizAnswerKeySpecificAvroSerde", SpecificAvroSerde.class);
+        SpecificAvroSerde<QuizAnswer> quizSerde = context.getBean("quizAnswerSpecificAvroSerde", SpecificAvroSerde.class);
+        SpecificAvroSerde<SessionEventKey> sessionKeySerde = context.getBean("sessionEventKeySpecificAvroSerde", SpecificAvroSerde.class);
+        SpecificAvroSerde<SessionEvent> sessionSerde = context.getBean("sessionEventSpecificAvroSerde", SpecificAvroSerde.class);
+        this.answers = driver.createInputTopic(
+                env.getRequiredProperty("app.kafka.topics.answer"), quizKeySerde.serializer(), quizSerde.serializer());
+        this.sessionEvents = driver.createInputTopic(
+                env.getRequiredProperty("app.kafka.topics.session"), sessionKeySerde.serializer(), sessionSerde.serializer());
+    }
+
+    static TopologyFixture start(long startTimestamp, String... appArgs) throws Exception {
+        String[] args = Arrays.copyOf(new String[]{
+                "--spring.main.banner-mode=off",
+                "--spring.kafka.properties.schema.registry.url=mock://" + SCHEMA_REGISTRY_SCOPE
+        }, 2 + appArgs.length);
+        System.arraycopy(appArgs, 0, args, 2, appArgs.length);
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(LoadTestConfiguration.class)
+                .web(WebApplicationType.NONE)
+                .run(args);
+        try {
+            return new TopologyFixture(context, startTimestamp);
+        } catch (Exception | Error e) {
+            context.close();
+            MockSchemaRegistry.dropScope(SCHEMA_REGISTRY_SCOPE);
+            throw e;
+        }
+    }
+
+    ConfigurableApplicationContext context() {
+        return context;
+    }
+
+    Topology topology() {
+        return topology;
+    }
+
+    TopologyTestDriver driver() {
+        return driver;
+    }
+
+    @SuppressWarnings("unchecked")
+    TestOutputTopic<String, EngagementScore> scores() {
+        SpecificAvroSerde<EngagementScore> scoreSerde = context.getBean("engagementScoreSpecificAvroSerde", SpecificAvroSerde.class);
+        return driver.createOutputTopic(context.getEnvironment().getRequiredProperty("app.kafka.topics.engagement"),
+                Serdes.String().deserializer(), scoreSerde.deserializer());
+    }
+
+    @SuppressWarnings("unchecked")
+    TestOutputTopic<String, EngagementAlert> alerts() {
+        Serde<EngagementAlert> alertSerde = context.getBean("engagementAlertSerde", Serde.class);
+        return driver.createOutputTopic(context.getEnvironment().getRequiredProperty("app.kafka.topics.alerts"),
+                Serdes.String().deserializer(), alertSerde.deserializer());
+    }
+
+    @SuppressWarnings("unchecked")
+    TestOutputTopic<String, LateEvent> lateEvents() {
+        Serde<LateEvent> lateEventSerde = context.getBean("lateEventSerde", Serde.class);
+        return driver.createOutputTopic(context.getEnvironment().getRequiredProperty("app.kafka.topics.late-events"),
+                Serdes.String().deserializer(), lateEventSerde.deserializer());
+    }
+
+    /**
+     * An answer taking 10s on skill {@code fractions}
+     */
+    void answer(String studentId, boolean correct, long timestamp) {
+        QuizAnswerKey key = new QuizAnswerKey();
+        key.put(studentKeyField, studentId);
+
+        QuizAnswer answer = new QuizAnswer();
+        answer.setEnvelope(envelope("quiz.answered", studentId, timestamp));
+        answer.setQuestionId("q-1");
+        answer.setIsCorrect(correct);
+        answer.setTimeSpentMs(10_000L);
+        answer.setSkillTag("fractions");
+        answer.setDifficultyLevel(2);
+
+        answers.pipeInput(AvroRecords.complete(key), AvroRecords.complete(answer), Instant.ofEpochMilli(timestamp));
+    }
+
+    void sessionEvent(String studentId, SessionEventType type, long timestamp) {
+        SessionEventKey key = new SessionEventKey();
+        key.put(studentKeyField, studentId);
+
+        SessionEvent event = new SessionEvent();
+        event.setEnvelope(envelope("session." + type.name().toLowerCase(), studentId, timestamp));
+        event.setEventType(type);
+        event.setPageId("page-1");
+        event.setDwellTimeMs(1_000L);
+
+        sessionEvents.pipeInput(AvroRecords.complete(key), AvroRecords.complete(event), Instant.ofEpochMilli(timestamp));
+    }
+
+    private static EventEnvelope envelope(String type, String studentId, long timestamp) {
+        EventEnvelope envelope = new EventEnvelope();
+        envelope.setId(UUID.randomUUID().toString());
+        envelope.setType(type);
+        envelope.setSource("topology-test");
+        envelope.setSpecversion("1.0");
+        envelope.setStudentId(studentId);
+        envelope.setSessionId("session-" + studentId);
+        envelope.setTimestamp(Instant.ofEpochMilli(timestamp));
+        return envelope;
+    }
+
+    @Override
+    public void close() {
+        try {
+            driver.close();
+            context.close();
+        } finally {
+            MockSchemaRegistry.dropScope(SCHEMA_REGISTRY_SCOPE);
+        }
+    }
+}
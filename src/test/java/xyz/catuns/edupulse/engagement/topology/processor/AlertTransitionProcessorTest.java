@@ -0,0 +1,136 @@
+package xyz.catuns.edupulse.engagement.topology.processor;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.common.serialization.Serdes;
+import org.apache.kafka.streams.kstream.Windowed;
+import org.apache.kafka.streams.kstream.internals.TimeWindow;
+import org.apache.kafka.streams.processor.api.MockProcessorContext;
+import org.apache.kafka.streams.processor.api.Record;
+import org.apache.kafka.streams.state.KeyValueStore;
+import org.apache.kafka.streams.state.Stores;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import xyz.catuns.edupulse.common.messaging.events.EventEnvelope;
+import xyz.catuns.edupulse.common.messaging.events.engagement.EngagementScore;
+import xyz.catuns.edupulse.engagement.config.properties.ScoringProperties;
+import xyz.catuns.edupulse.engagement.domain.dto.EngagementAlert;
+import xyz.catuns.edupulse.engagement.domain.model.AlertState;
+import xyz.catuns.edupulse.engagement.domain.serde.AlertStateSerde;
+import xyz.catuns.edupulse.engagement.service.metrics.EngagementMetrics;
+import xyz.catuns.edupulse.engagement.service.plan.ScoringPlanRegistry;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class AlertTransitionProcessorTest {
+
+    private static final long WINDOW_MS = 60_000L;
+    private static final String STUDENT_ID = "student-123";
+
+    private MockProcessorContext<String, EngagementAlert> context;
+    private AlertTransitionProcessor processor;
+
+    @BeforeEach
+    void setUp() {
+        ScoringProperties.Alerts config = new ScoringProperties.Alerts();
+        config.setDebounce(Duration.ofSeconds(30));
+        config.setCooldown(Duration.ofMinutes(5));
+        config.setClearMargin(0.05);
+
+        KeyValueStore<String, AlertState> store = Stores.keyValueStoreBuilder(
+                        Stores.inMemoryKeyValueStore(AlertTransitionProcessor.STORE),
+                        Serdes.String(),
+                        new AlertStateSerde())
+                .withLoggingDisabled()
+                .build();
+        context = new MockProcessorContext<>();
+        store.init(context.getStateStoreContext(), store);
+        context.addStateStore(store);
+
+        ScoringPlanRegistry plans = new ScoringPlanRegistry(new ScoringProperties());
+        processor = new AlertTransitionProcessor(plans, config, new EngagementMetrics(new SimpleMeterRegistry()), WINDOW_MS);
+        processor.init(context);
+    }
+
+    @Test
+    void raisesOnceAfterDebounce() {
+        process(0.3, 0L);
+        process(0.2, 10_000L);
+        assertThat(context.forwarded()).isEmpty();
+
+        process(0.3, 30_000L);
+        process(0.1, 40_000L);
+
+        assertThat(alerts()).singleElement().satisfies(alert -> {
+            assertThat(alert.getType()).isEqualTo(EngagementAlert.Type.RAISED);
+            assertThat(alert.getStudentId()).isEqualTo(STUDENT_ID);
+            assertThat(alert.getSessionId()).isEqualTo("session-456");
+            assertThat(alert.getTimestamp()).isEqualTo(30_000L);
+        });
+    }
+
+    @Test
+    void recoveryInterruptsDebounce() {
+        process(0.3, 0L);
+        process(0.6, 20_000L);
+        process(0.3, 40_000L);
+        process(0.3, 60_000L);
+
+        assertThat(context.forwarded()).isEmpty();
+    }
+
+    @Test
+    void clearsAboveMarginAfterCooldown() {
+        process(0.3, 0L);
+        process(0.3, 30_000L);
+        // Within the hysteresis band: still CRITICAL
+        process(0.42, 60_000L);
+        process(0.42, 120_000L);
+        // Recovered, but inside the cooldown of the raise
+        process(0.6, 150_000L);
+        process(0.6, 200_000L);
+        process(0.6, 330_000L);
+
+        assertThat(alerts())
+                .extracting(EngagementAlert::getType, EngagementAlert::getTimestamp)
+                .containsExactly(
+                        tuple(EngagementAlert.Type.RAISED, 30_000L),
+                        tuple(EngagementAlert.Type.CLEARED, 330_000L));
+    }
+
+    @Test
+    void ignoresRollupResolutions() {
+        for (long t = 0; t <= 60_000L; t += 30_000L) {
+            processor.process(new Record<>(
+                    new Windowed<>(STUDENT_ID, new TimeWindow(0L, 5 * WINDOW_MS)), score(0.1), t));
+        }
+
+        assertThat(context.forwarded()).isEmpty();
+    }
+
+    private void process(double value, long timestamp) {
+        long windowStart = timestamp - timestamp % WINDOW_MS;
+        processor.process(new Record<>(
+                new Windowed<>(STUDENT_ID, new TimeWindow(windowStart, windowStart + WINDOW_MS)), score(value), timestamp));
+    }
+
+    private List<EngagementAlert> alerts() {
+        return context.forwarded().stream()
+                .map(forwarded -> forwarded.record().value())
+                .toList();
+    }
+
+    private static EngagementScore score(double value) {
+        EventEnvelope envelope = new EventEnvelope();
+        envelope.setStudentId(STUDENT_ID);
+        envelope.setSessionId("session-456");
+        EngagementScore score = new EngagementScore();
+        score.setEnvelope(envelope);
+        score.setScore(value);
+        score.setAlertThresholdCrossed(value < 0.4);
+        return score;
+    }
+}
@@ -0,0 +1,100 @@
+package xyz.catuns.edupulse.engagement.topology.processor;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.streams.processor.api.MockProcessorContext;
+import org.apache.kafka.streams.processor.api.Record;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import xyz.catuns.edupulse.engagement.domain.dto.LateEvent;
+import xyz.catuns.edupulse.engagement.domain.events.EnrichedEvent;
+import xyz.catuns.edupulse.engagement.domain.events.EventKind;
+import xyz.catuns.edupulse.engagement.service.metrics.EngagementMetrics;
+import xyz.catuns.edupulse.engagement.topology.WindowClose;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LateEventProcessorTest {
+
+    private static final long WINDOW_MS = 60_000L;
+    private static final long GRACE_MS = 5_000L;
+    private static final String STUDENT_ID = "student-123";
+
+    private SimpleMeterRegistry registry;
+    private MockProcessorContext<String, LateEvent> context;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        context = new MockProcessorContext<>();
+    }
+
+    @Test
+    void eventsBeforeWindowCloseAreNotForwarded() {
+        LateEventProcessor<EnrichedEvent> processor = processor(0L);
+
+        process(processor, 10_000L, WINDOW_MS + GRACE_MS - 1);
+
+        assertThat(context.forwarded()).isEmpty();
+        assertThat(registry.get("engagement.event.lateness").tag("source", "quiz_answer").timer()
+                .totalTime(TimeUnit.MILLISECONDS)).isEqualTo(WINDOW_MS + GRACE_MS - 1 - 10_000L);
+    }
+
+    @Test
+    void eventsAfterWindowCloseAreReportedAsDropped() {
+        LateEventProcessor<EnrichedEvent> processor = processor(0L);
+
+        process(processor, 10_000L, WINDOW_MS + GRACE_MS);
+
+        assertThat(context.forwarded()).singleElement().satisfies(forwarded -> {
+            assertThat(forwarded.record().key()).isEqualTo(STUDENT_ID);
+            LateEvent late = forwarded.record().value();
+            assertThat(late.getAction()).isEqualTo(LateEvent.Action.DROPPED);
+            assertThat(late.getTopic()).isEqualTo("quiz.answers");
+            assertThat(late.getLatenessMs()).isEqualTo(WINDOW_MS + GRACE_MS - 10_000L);
+            assertThat(late.getWindowStart()).isZero();
+            assertThat(late.getWindowEnd()).isEqualTo(WINDOW_MS);
+            assertThat(late.getEvent().getStudentId()).isEqualTo(STUDENT_ID);
+        });
+        assertThat(registry.get("engagement.events.late")
+                .tag("source", "quiz_answer").tag("action", "dropped").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void lateEventsWithinHorizonAreCorrected() {
+        LateEventProcessor<EnrichedEvent> processor = processor(WINDOW_MS);
+
+        process(processor, 10_000L, WINDOW_MS + GRACE_MS + WINDOW_MS - 1);
+        process(processor, 10_000L, WINDOW_MS + GRACE_MS + WINDOW_MS);
+
+        assertThat(context.forwarded())
+                .extracting(forwarded -> forwarded.record().value().getAction())
+                .containsExactly(LateEvent.Action.CORRECTED, LateEvent.Action.DROPPED);
+    }
+
+    private LateEventProcessor<EnrichedEvent> processor(long correctionHorizonMs) {
+        LateEventProcessor<EnrichedEvent> processor = new LateEventProcessor<>(
+                WindowClose.ofTimeWindows(WINDOW_MS, GRACE_MS),
+                correctionHorizonMs,
+                Map.of(EventKind.QUIZ_ANSWER, "quiz.answers", EventKind.SESSION, "session.events"),
+                EnrichedEvent::getKind,
+                Function.identity(),
+                new EngagementMetrics(registry));
+        processor.init(context);
+        return processor;
+    }
+
+    private void process(LateEventProcessor<EnrichedEvent> processor, long timestamp, long streamTime) {
+        context.setCurrentStreamTimeMs(streamTime);
+        EnrichedEvent event = new EnrichedEvent();
+        event.setStudentId(STUDENT_ID);
+        event.setKind(EventKind.QUIZ_ANSWER);
+        event.setTimestamp(Instant.ofEpochMilli(timestamp));
+        event.setIsCorrect(true);
+        processor.process(new Record<>(STUDENT_ID, event, timestamp));
+    }
+}
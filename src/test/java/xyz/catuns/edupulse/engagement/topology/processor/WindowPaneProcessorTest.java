@@ -0,0 +1,155 @@
+package xyz.catuns.edupulse.engagement.topology.processor;
+
+import org.apache.kafka.common.serialization.Serdes;
+import org.apache.kafka.streams.kstream.Windowed;
+import org.apache.kafka.streams.kstream.internals.TimeWindow;
+import org.apache.kafka.streams.processor.api.MockProcessorContext;
+import org.apache.kafka.streams.processor.api.Record;
+import org.apache.kafka.streams.state.Stores;
+import org.apache.kafka.streams.state.TimestampedWindowStore;
+import org.apache.kafka.streams.state.ValueAndTimestamp;
+import org.assertj.core.groups.Tuple;
+import org.junit.jupiter.api.Test;
+import xyz.catuns.edupulse.engagement.config.properties.ScoringProperties;
+import xyz.catuns.edupulse.engagement.domain.model.StudentEngagementState;
+import xyz.catuns.edupulse.engagement.domain.serde.StudentEngagementStateSerde;
+import xyz.catuns.edupulse.engagement.service.plan.ScoringPlanRegistry;
+import xyz.catuns.edupulse.engagement.topology.WindowPanes;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class WindowPaneProcessorTest {
+
+    private static final String STORE = "pane-store";
+    private static final String STUDENT_ID = "student-123";
+    // Pane aligned start; 60s windows over 20s panes
+    private static final long START = 1_700_000_040_000L;
+    private static final long PANE_MS = 20_000L;
+
+    private MockProcessorContext<Windowed<String>, StudentEngagementState> context;
+    private TimestampedWindowStore<String, StudentEngagementState> paneStore;
+
+    @Test
+    void slidingLateUpdateReEmitsEveryReportedWindowCoveringThePane() {
+        WindowPaneProcessor processor = processor(ScoringProperties.WindowType.SLIDING, 20, false);
+        putPane(START, 1);
+        putPane(START + PANE_MS, 1);
+        putPane(START + 2 * PANE_MS, 1);
+
+        // Late answer into the oldest pane
+        process(processor, START, 2);
+
+        assertThat(windows()).containsExactly(
+                tuple(START - 2 * PANE_MS, START + PANE_MS, 2),
+                tuple(START - PANE_MS, START + 2 * PANE_MS, 3),
+                tuple(START, START + 3 * PANE_MS, 4));
+    }
+
+    @Test
+    void slidingUpdateOfTheNewestPaneEmitsOneWindow() {
+        WindowPaneProcessor processor = processor(ScoringProperties.WindowType.SLIDING, 20, false);
+        putPane(START, 1);
+        putPane(START + PANE_MS, 1);
+
+        process(processor, START + PANE_MS, 2);
+
+        assertThat(windows()).containsExactly(tuple(START - PANE_MS, START + 2 * PANE_MS, 3));
+    }
+
+    @Test
+    void skipsNewerWindowsThatWereNeverReported() {
+        WindowPaneProcessor processor = processor(ScoringProperties.WindowType.SLIDING, 20, false);
+        putPane(START, 1);
+        // No activity in the next pane
+        putPane(START + 2 * PANE_MS, 1);
+
+        process(processor, START, 2);
+
+        assertThat(windows()).containsExactly(
+                tuple(START - 2 * PANE_MS, START + PANE_MS, 2),
+                tuple(START, START + 3 * PANE_MS, 3));
+    }
+
+    @Test
+    void hoppingLateUpdateReEmitsNewerHopsCoveringThePane() {
+        // 60s windows every 40s over 20s panes; hops end on multiples of 40s
+        WindowPaneProcessor processor = processor(ScoringProperties.WindowType.HOPPING, 40, false);
+        long hopEnd = START + 2 * PANE_MS;
+        putPane(hopEnd - PANE_MS, 1);
+        putPane(hopEnd, 1);
+
+        process(processor, hopEnd - PANE_MS, 2);
+
+        assertThat(windows()).containsExactly(
+                tuple(hopEnd - 3 * PANE_MS, hopEnd, 2),
+                tuple(hopEnd - PANE_MS, hopEnd + 2 * PANE_MS, 3));
+    }
+
+    @Test
+    void emitOnWindowCloseOnlyEmitsTheWindowEndingWithThePane() {
+        WindowPaneProcessor processor = processor(ScoringProperties.WindowType.SLIDING, 20, true);
+        putPane(START, 1);
+        putPane(START + PANE_MS, 1);
+
+        process(processor, START, 1);
+
+        assertThat(windows()).containsExactly(tuple(START - 2 * PANE_MS, START + PANE_MS, 1));
+    }
+
+    private WindowPaneProcessor processor(ScoringProperties.WindowType type, long advanceSeconds,
+                                          boolean emitOnWindowClose) {
+        ScoringProperties.Window window = new ScoringProperties.Window();
+        window.setType(type);
+        window.setDurationSeconds(60);
+        window.setAdvanceSeconds(advanceSeconds);
+        WindowPanes panes = WindowPanes.of(window);
+
+        paneStore = Stores.timestampedWindowStoreBuilder(
+                        Stores.inMemoryWindowStore(STORE, Duration.ofHours(1), Duration.ofMillis(panes.paneSizeMs()), false),
+                        Serdes.String(),
+                        new StudentEngagementStateSerde())
+                .withLoggingDisabled()
+                .build();
+        context = new MockProcessorContext<>();
+        paneStore.init(context.getStateStoreContext(), paneStore);
+        context.addStateStore(paneStore);
+
+        WindowPaneProcessor processor = new WindowPaneProcessor(
+                new ScoringPlanRegistry(new ScoringProperties()), STORE, panes, emitOnWindowClose);
+        processor.init(context);
+        return processor;
+    }
+
+    private void putPane(long paneStart, int answers) {
+        paneStore.put(STUDENT_ID, ValueAndTimestamp.make(pane(answers), paneStart), paneStart);
+    }
+
+    /**
+     * Stores the updated pane, as the aggregation does, and processes its update
+     */
+    private void process(WindowPaneProcessor processor, long paneStart, int answers) {
+        putPane(paneStart, answers);
+        processor.process(new Record<>(
+                new Windowed<>(STUDENT_ID, new TimeWindow(paneStart, paneStart + PANE_MS)), pane(answers), paneStart));
+    }
+
+    private static StudentEngagementState pane(int answers) {
+        StudentEngagementState state = new StudentEngagementState();
+        state.setStudentId(STUDENT_ID);
+        state.setTotalAnswers(answers);
+        return state;
+    }
+
+    private List<Tuple> windows() {
+        return context.forwarded().stream()
+                .map(forward -> tuple(
+                        forward.record().key().window().start(),
+                        forward.record().key().window().end(),
+                        forward.record().value().getTotalAnswers()))
+                .toList();
+    }
+}